@@ -4,6 +4,8 @@ plugins {
 
 minecraft {
     javaCompatibilityVersion = 25
+    // For VectorNoise, see below
+    extraRunJvmArguments.addAll("--add-modules", "jdk.incubator.vector")
 }
 
 java {
@@ -18,3 +20,35 @@ java {
 tasks.withType<JavaCompile>().configureEach {
     options.compilerArgs.add("--enable-preview")
 }//*/
+
+// VectorNoise uses the Vector API, which is still incubating. Without the lint flag javac warns on every compile.
+tasks.withType<JavaCompile>().configureEach {
+    options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector", "-Xlint:-incubating"))
+}
+
+// Every libCursor variant rides along in the jar, NativeLoader picks one at runtime. CI doesn't have zig, so they're
+// only built when it's on the PATH or with -PbuildNatives=true; jars without them fall back to Java noise.
+val zigOnPath = System.getenv("PATH").orEmpty()
+    .split(File.pathSeparator)
+    .any { File(it, "zig").canExecute() || File(it, "zig.exe").canExecute() }
+val wantNatives = providers.gradleProperty("buildNatives")
+    .map { it.toBoolean() }
+    .getOrElse(zigOnPath)
+
+val buildNatives = tasks.register<Exec>("buildNatives") {
+    group = "build"
+    description = "Cross-compiles the libCursor variants that get packaged into the jar"
+
+    commandLine = listOf("zig", "build", "natives")
+    inputs.dir("src/zig")
+    inputs.file("build.zig")
+    outputs.dir("zig-out/natives")
+}
+
+if (wantNatives) {
+    tasks.processResources {
+        from(buildNatives) {
+            into("natives")
+        }
+    }
+}
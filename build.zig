@@ -1,5 +1,17 @@
 const std = @import("std");
 
+/// x86-64 feature levels that get their own library. Keep the names in sync with NativeLoader.
+const native_levels = [_]struct { name: []const u8, model: *const std.Target.Cpu.Model }{
+    // SSE4.2 and POPCNT, anything from the last fifteen years or so
+    .{ .name = "v2", .model = &std.Target.x86.cpu.x86_64_v2 },
+    // AVX2, FMA and BMI2
+    .{ .name = "v3", .model = &std.Target.x86.cpu.x86_64_v3 },
+    // AVX-512 F/BW/CD/DQ/VL
+    .{ .name = "v4", .model = &std.Target.x86.cpu.x86_64_v4 },
+};
+
+const native_oses = [_]std.Target.Os.Tag{ .linux, .windows };
+
 // Although this function looks imperative, note that its job is to
 // declaratively construct a build graph that will be executed by an external
 // runner.
@@ -50,6 +62,34 @@ pub fn build(b: *std.Build) void {
     b.installArtifact(libJ);
     b.installArtifact(exe);
 
+    // `zig build natives` cross-compiles one ReleaseFast libCursor per x86-64 feature level for every OS we ship on.
+    // They end up in zig-out/natives/<os>-x86_64/<level>/, which is the layout NativeNoise expects inside the jar.
+    const natives_step = b.step("natives", "Build the libCursor variants packaged into the mod jar");
+    for (native_oses) |os| {
+        for (native_levels) |level| {
+            const variant = b.addLibrary(.{
+                .name = "Cursor",
+                .root_module = b.createModule(.{
+                    .root_source_file = b.path("src/zig/root.zig"),
+                    .target = b.resolveTargetQuery(.{
+                        .cpu_arch = .x86_64,
+                        .os_tag = os,
+                        .cpu_model = .{ .explicit = level.model },
+                    }),
+                    .optimize = .ReleaseFast,
+                }),
+                .linkage = .dynamic,
+            });
+
+            const install = b.addInstallArtifact(variant, .{
+                .dest_dir = .{ .override = .{ .custom = b.fmt("natives/{s}-x86_64/{s}", .{ @tagName(os), level.name }) } },
+                .implib_dir = .disabled,
+                .pdb_dir = .disabled,
+            });
+            natives_step.dependOn(&install.step);
+        }
+    }
+
     // This *creates* a Run step in the build graph, to be executed when another
     // step is evaluated that depends on it. The next line below will establish
     // such a dependency.
@@ -11,6 +11,11 @@ repositories {
 dependencies {
     implementation("org.openjdk.jol:jol-core:0.10")
     implementation(rootProject.sourceSets["patchedMc"].output)
+    implementation(rootProject.sourceSets["main"].output)
+    // NativeNoise logs through it, MC's copy isn't on this classpath
+    implementation("org.apache.logging.log4j:log4j-api:2.0-beta9")
+    // Loading a save reaches into Forge, which wants MC's libraries (Guava and friends) at runtime
+    runtimeOnly(rootProject.sourceSets["patchedMc"].compileClasspath)
 }
 
 java {
@@ -19,6 +24,10 @@ java {
     }
 }
 
+tasks.withType<JavaCompile>().configureEach {
+    options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector", "-Xlint:-incubating"))
+}
+
 application {
     applicationName = "inspector"
     mainClass = "klaxon.klaxon.inspector.Inspector"
@@ -60,6 +69,82 @@ tasks.register<JavaExec>("runInspector") {
     jvmArgs = listOf("-Djdk.attach.allowAttachSelf", "-XX:+EnableDynamicAgentLoading", "-Djol.tryWithSudo=true")
 }
 
+tasks.register<JavaExec>("checkImprovedNoise") {
+    group = "verification"
+    description = "Compares libCursor's IMPROVED backend with NoiseGeneratorImproved, bit for bit"
+
+    javaLauncher = javaToolchains.launcherFor {
+        languageVersion.set(JavaLanguageVersion.of(25))
+    }
+
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass = "klaxon.klaxon.inspector.ImprovedCheck"
+
+    jvmArgs = listOf("--enable-native-access=ALL-UNNAMED", "-Dcursor.libLoc=build/libCursor.so")
+    dependsOn += copyZigNatives
+}
+
+tasks.register<JavaExec>("checkVectorNoise") {
+    group = "verification"
+    description = "Compares the Vector API fallback with libCursor, within float rounding"
+
+    javaLauncher = javaToolchains.launcherFor {
+        languageVersion.set(JavaLanguageVersion.of(25))
+    }
+
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass = "klaxon.klaxon.inspector.VectorNoiseCheck"
+
+    jvmArgs = listOf(
+        "--enable-native-access=ALL-UNNAMED",
+        "--add-modules=jdk.incubator.vector",
+        "-Dcursor.libLoc=build/libCursor.so"
+    )
+    dependsOn += copyZigNatives
+}
+
+tasks.register<JavaExec>("checkAdaptiveDensity") {
+    group = "verification"
+    description = "Checks adaptive density grids keep the sign of every sample the full evaluation has"
+
+    javaLauncher = javaToolchains.launcherFor {
+        languageVersion.set(JavaLanguageVersion.of(25))
+    }
+
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass = "klaxon.klaxon.inspector.AdaptiveCheck"
+
+    jvmArgs = listOf("--enable-native-access=ALL-UNNAMED", "-Dcursor.libLoc=build/libCursor.so")
+    dependsOn += copyZigNatives
+}
+
+tasks.register<JavaExec>("checkCarvers") {
+    group = "verification"
+    description = "Checks the carver cache never skips a cave or ravine that carves into its target chunk"
+
+    javaLauncher = javaToolchains.launcherFor {
+        languageVersion.set(JavaLanguageVersion.of(25))
+    }
+
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass = "klaxon.klaxon.inspector.CarverCheck"
+}
+
+tasks.register<JavaExec>("checkBiomes") {
+    group = "verification"
+    description = "Compares libCursor's GenLayer chains with the Java ones, id for id, over many seeds"
+
+    javaLauncher = javaToolchains.launcherFor {
+        languageVersion.set(JavaLanguageVersion.of(25))
+    }
+
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass = "klaxon.klaxon.inspector.BiomeCheck"
+
+    jvmArgs = listOf("--enable-native-access=ALL-UNNAMED", "-Dcursor.libLoc=build/libCursor.so")
+    dependsOn += copyZigNatives
+}
+
 jmh {
     // These arguments cause the JVM to print assembly output for compiled functions
     /*jvmArgs = listOf(
@@ -69,7 +154,16 @@ jmh {
         "-XX:PrintAssemblyOptions=intel"
     )*/
 
-    jvmArgs = listOf("--enable-native-access=ALL-UNNAMED", "-Dcursor.libLoc=build/libCursor.so")
+    // Diff the JSON between releases to spot regressions
+    resultFormat = "JSON"
+    resultsFile = project.layout.buildDirectory.file("results/jmh/results.json")
+    profilers = listOf("gc")
+
+    jvmArgs = listOf(
+        "--enable-native-access=ALL-UNNAMED",
+        "--add-modules=jdk.incubator.vector",
+        "-Dcursor.libLoc=build/libCursor.so"
+    )
 }
 
 tasks["compileJmhJava"].dependsOn(copyZigNatives)
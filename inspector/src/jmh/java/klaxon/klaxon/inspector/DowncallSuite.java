@@ -0,0 +1,89 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.inspector;
+
+import static java.lang.foreign.FunctionDescriptor.ofVoid;
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SymbolLookup;
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * What crossing into libCursor costs before any noise gets computed. Anything in {@link NoiseSuite} that doesn't beat
+ * this by a wide margin on the small shapes is really measuring FFM.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+public class DowncallSuite {
+
+    private static final SymbolLookup LIB = SymbolLookup
+        .libraryLookup(System.getProperty("cursor.libLoc", "inspector/build/libCursor.so"), Arena.global());
+
+    private static final MethodHandle NOOP = Linker.nativeLinker()
+        .downcallHandle(LIB.findOrThrow("noop"), ofVoid());
+    private static final MethodHandle NOOP_CRITICAL = Linker.nativeLinker()
+        .downcallHandle(LIB.findOrThrow("noop"), ofVoid(), Linker.Option.critical(false));
+    private static final MethodHandle NOOP_ARRAY = Linker.nativeLinker()
+        .downcallHandle(LIB.findOrThrow("noopArray"), ofVoid(ADDRESS, JAVA_INT), Linker.Option.critical(true));
+
+    /** As big as a density grid */
+    private final double[] heap = new double[5 * 33 * 5];
+    private final MemorySegment offHeap = Arena.ofAuto()
+        .allocate(JAVA_DOUBLE, heap.length);
+
+    @Benchmark
+    public void plain() throws Throwable {
+        NOOP.invokeExact();
+    }
+
+    @Benchmark
+    public void critical() throws Throwable {
+        NOOP_CRITICAL.invokeExact();
+    }
+
+    /** What every mc_ export pays: pinning a heap array for the call */
+    @Benchmark
+    public void criticalHeapArray() throws Throwable {
+        NOOP_ARRAY.invokeExact(MemorySegment.ofArray(heap), heap.length);
+    }
+
+    @Benchmark
+    public void criticalOffHeap() throws Throwable {
+        NOOP_ARRAY.invokeExact(offHeap, heap.length);
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.inspector;
+
+import java.lang.reflect.Field;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import klaxon.klaxon.cursor.noise.NativeImproved;
+import klaxon.klaxon.cursor.noise.NativeNoise;
+import klaxon.klaxon.cursor.noise.NoiseBackend;
+import klaxon.klaxon.cursor.noise.VectorNoise;
+import net.minecraft.world.gen.NoiseGeneratorImproved;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Every backend through the same entry points the mixins use, over the request shapes that actually show up in game.
+ * {@link Target} is for poking at the raw exports; this one is for picking a backend and catching regressions.
+ * Run with {@code ./gradlew :inspector:jmh}, results land in inspector/build/results/jmh/results.json.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+public class NoiseSuite {
+
+    /** ChunkProviderGenerate's density grid, a 2D surface noise slice, and a pregen-sized block */
+    @Param({ "5x33x5", "16x1x16", "128x64x128" })
+    public String shape;
+
+    @Param({ "VANILLA", "IMPROVED", "OPENSIMPLEX", "LAZY", "FNL", "JAVA_SIMPLEX" })
+    public NoiseBackend backend;
+
+    private int xSize, ySize, zSize;
+    private double[] noise;
+    private NoiseGeneratorImproved vanilla;
+    private int[] permutations;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException {
+        final String[] dims = shape.split("x");
+        xSize = Integer.parseInt(dims[0]);
+        ySize = Integer.parseInt(dims[1]);
+        zSize = Integer.parseInt(dims[2]);
+        noise = new double[xSize * ySize * zSize];
+
+        vanilla = new NoiseGeneratorImproved(new Random(1337));
+        seed = NativeNoise.seedOf(vanilla.xCoord, vanilla.yCoord, vanilla.zCoord);
+        final Field perm = NoiseGeneratorImproved.class.getDeclaredField("permutations");
+        perm.setAccessible(true);
+        permutations = (int[]) perm.get(vanilla);
+
+        // A backend that silently did nothing would look very fast
+        if (backend.isNative() && !NativeNoise.isAvailable(backend)) {
+            throw new IllegalStateException("libCursor didn't load, is -Dcursor.libLoc right?");
+        }
+        if (backend == NoiseBackend.IMPROVED && !NativeImproved.isAvailable()) {
+            throw new IllegalStateException("libCursor didn't load, is -Dcursor.libLoc right?");
+        }
+        if (backend == NoiseBackend.JAVA_SIMPLEX && !VectorNoise.isAvailable()) {
+            throw new IllegalStateException("Needs --add-modules jdk.incubator.vector");
+        }
+    }
+
+    /** Same arguments NoiseGeneratorOctaves passes for ChunkProviderGenerate's main noise */
+    private void populate() {
+        final double scale = 684.412 / 80;
+        final double x = vanilla.xCoord, y = vanilla.yCoord, z = vanilla.zCoord;
+        switch (backend) {
+            case VANILLA -> vanilla.populateNoiseArray(noise, 0, 0, 0, xSize, ySize, zSize, scale, scale, scale, 1.0);
+            case IMPROVED -> NativeImproved.populateNoiseArray(permutations, noise, x, y, z, 0, 0, 0,
+                xSize, ySize, zSize, scale, scale, scale, 1.0);
+            case JAVA_SIMPLEX -> VectorNoise.populateNoiseArray(backend, noise, x, y, z,
+                xSize, ySize, zSize, scale, scale, scale, 1.0, seed);
+            default -> NativeNoise.populateNoiseArray(backend, noise, x, y, z,
+                xSize, ySize, zSize, scale, scale, scale, 1.0, seed);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void populate(Blackhole bh) {
+        populate();
+        bh.consume(noise);
+    }
+
+    /** Every core at once, to show what sharing caches and memory bandwidth does to each backend */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void populateAllCores(Blackhole bh) {
+        populate();
+        bh.consume(noise);
+    }
+}
@@ -1,6 +1,6 @@
 /**
  * This file is part of Cursor - a mod that _runs_.
- * Copyright (C) 2025 ah-OOG-ah
+ * Copyright (C) 2025-2026 ah-OOG-ah
  *
  * Cursor is free software: you can redistribute it and/or modify
  * it under the terms of the GNU Lesser General Public License as published by
@@ -39,6 +39,9 @@ import java.util.Arrays;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import javax.imageio.ImageIO;
+import klaxon.klaxon.cursor.noise.NoiseBackend;
+import klaxon.klaxon.cursor.noise.NoiseContext;
+import klaxon.klaxon.cursor.noise.VectorNoise;
 import net.minecraft.world.gen.NoiseGeneratorImproved;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -61,12 +64,17 @@ import org.openjdk.jmh.infra.Blackhole;
 public class Target {
 
     private static MethodHandle zmh_populateNoiseArray;
+    private static MethodHandle zmh_vec_populateNoiseArray;
     private static MethodHandle zmh_FNL_populateNoiseArray;
     private static MethodHandle zmh_lazy_populateNoiseArray;
+    private static MethodHandle zmh_vec_populateNoiseArrayF32;
+    private static MethodHandle zmh_lazy_populateNoiseArrayF32;
+    private static NoiseContext fnlContext;
     private static NoiseGeneratorImproved noiseGen = null;
     private static final int XZS = 33;
     private static final int YS = 5;
     private static final double[] NOISE = new double[XZS * YS * XZS];
+    private static final float[] NOISE_F32 = new float[XZS * YS * XZS];
 
     private static final boolean[][] NUMBERS = {{
             true, true, true,
@@ -137,6 +145,19 @@ public class Target {
         noiseGen.populateNoiseArray(Noise, 0.0, init * SCALE, 0.0, SIZE, thith, SIZE, SCALE, SCALE, SCALE, 1.0);
         writeNoiseAsPNG(Noise, new File("mc_y0.png"), SIZE, thith, SIZE);
         Arrays.fill(Noise, 0.0);
+
+        // The Java fallback is compared with libCursor by checkVectorNoise, which fails past its tolerance
+        final var zigNoise = new double[SIZE * thith * SIZE];
+        vec_populateNoiseArray(zigNoise, 0, 0, 0, SIZE, thith, SIZE, SCALE, YSCALE, SCALE, 1.0, 1337);
+
+        // Same layout this time, so only the rounding on the way out differs
+        final var f32Noise = new float[SIZE * thith * SIZE];
+        vec_populateNoiseArrayF32(f32Noise, 0, 0, 0, SIZE, thith, SIZE, SCALE, YSCALE, SCALE, 1.0, 1337);
+        double maxF32Error = 0;
+        for (int i = 0; i < f32Noise.length; ++i) {
+            maxF32Error = max(maxF32Error, Math.abs(zigNoise[i] - f32Noise[i]));
+        }
+        System.out.printf("Max f32 error: %g\n", maxF32Error);
     }
 
     @SuppressWarnings("SameParameterValue")
@@ -252,6 +273,16 @@ public class Target {
             Linker.Option.critical(true)
         );
 
+        zmh_vec_populateNoiseArray = linker.downcallHandle(
+            zig.findOrThrow("vec_populateNoiseArray"),
+            ofVoid(ADDRESS,
+                JAVA_DOUBLE, JAVA_DOUBLE, JAVA_DOUBLE,
+                JAVA_INT, JAVA_INT, JAVA_INT,
+                JAVA_DOUBLE, JAVA_DOUBLE, JAVA_DOUBLE,
+                JAVA_DOUBLE, JAVA_LONG),
+            Linker.Option.critical(true)
+        );
+
         zmh_lazy_populateNoiseArray = linker.downcallHandle(
             zig.findOrThrow("lazy_populateNoiseArray"),
             ofVoid(ADDRESS,
@@ -271,6 +302,31 @@ public class Target {
                 JAVA_DOUBLE, JAVA_LONG),
             Linker.Option.critical(true)
         );
+
+        fnlContext = new NoiseContext.Builder(NoiseBackend.FNL, 1337)
+            .scales(0.1, 0.1, 0.1)
+            .noiseScale(1.1)
+            .build(globalArena);
+
+        zmh_vec_populateNoiseArrayF32 = linker.downcallHandle(
+            zig.findOrThrow("vec_populateNoiseArrayF32"),
+            ofVoid(ADDRESS,
+                JAVA_DOUBLE, JAVA_DOUBLE, JAVA_DOUBLE,
+                JAVA_INT, JAVA_INT, JAVA_INT,
+                JAVA_DOUBLE, JAVA_DOUBLE, JAVA_DOUBLE,
+                JAVA_DOUBLE, JAVA_LONG),
+            Linker.Option.critical(true)
+        );
+
+        zmh_lazy_populateNoiseArrayF32 = linker.downcallHandle(
+            zig.findOrThrow("lazy_populateNoiseArrayF32"),
+            ofVoid(ADDRESS,
+                JAVA_DOUBLE, JAVA_DOUBLE, JAVA_DOUBLE,
+                JAVA_INT, JAVA_INT, JAVA_INT,
+                JAVA_DOUBLE, JAVA_DOUBLE, JAVA_DOUBLE,
+                JAVA_DOUBLE, JAVA_LONG),
+            Linker.Option.critical(true)
+        );
     }
 
     public static void populateNoiseArray(
@@ -298,6 +354,31 @@ public class Target {
         }
     }
 
+    public static void vec_populateNoiseArray(
+        double[] noiseArray,
+        double xOffset, double yOffset, double zOffset,
+        int xSize, int ySize, int zSize,
+        double xScale, double yScale, double zScale,
+        double noiseScale, long seed) {
+
+        final MemorySegment wrappedNoise = MemorySegment.ofArray(noiseArray);
+        // Required to make output characteristics match MC's. It's not *that* close, but it's close enough... probably
+        noiseScale = 1.0 / noiseScale;
+        xScale *= 0.7;
+        yScale *= 0.7;
+        zScale *= 0.7;
+
+        try {
+            zmh_vec_populateNoiseArray.invokeExact(wrappedNoise,
+                xOffset, yOffset, zOffset,
+                xSize, ySize, zSize,
+                xScale, yScale, zScale,
+                noiseScale, seed);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public static void FNL_populateNoiseArray(
         double[] noiseArray,
         double xOffset, double yOffset, double zOffset,
@@ -348,6 +429,56 @@ public class Target {
         }
     }
 
+    public static void vec_populateNoiseArrayF32(
+        float[] noiseArray,
+        double xOffset, double yOffset, double zOffset,
+        int xSize, int ySize, int zSize,
+        double xScale, double yScale, double zScale,
+        double noiseScale, long seed) {
+
+        final MemorySegment wrappedNoise = MemorySegment.ofArray(noiseArray);
+        // Required to make output characteristics match MC's. It's not *that* close, but it's close enough... probably
+        noiseScale = 1.0 / noiseScale;
+        xScale *= 0.7;
+        yScale *= 0.7;
+        zScale *= 0.7;
+
+        try {
+            zmh_vec_populateNoiseArrayF32.invokeExact(wrappedNoise,
+                xOffset, yOffset, zOffset,
+                xSize, ySize, zSize,
+                xScale, yScale, zScale,
+                noiseScale, seed);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static void lazy_populateNoiseArrayF32(
+        float[] noiseArray,
+        double xOffset, double yOffset, double zOffset,
+        int xSize, int ySize, int zSize,
+        double xScale, double yScale, double zScale,
+        double noiseScale, long seed) {
+
+        final MemorySegment wrappedNoise = MemorySegment.ofArray(noiseArray);
+        // Required to make output characteristics match MC's. It's not *that* close, but it's close enough... probably
+        noiseScale = 1.0 / noiseScale;
+        xScale *= 0.7;
+        yScale *= 0.7;
+        zScale *= 0.7;
+
+        try {
+            zmh_lazy_populateNoiseArrayF32.invokeExact(wrappedNoise,
+                xOffset, yOffset, zOffset,
+                xSize, ySize, zSize,
+                xScale, yScale, zScale,
+                noiseScale, seed);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Benchmark
     public static void noiseGenImproved(Blackhole bh) {
         noiseGen.populateNoiseArray(NOISE, 0, 0, 0, XZS, YS, XZS, 0.1, 0.1, 0.1, 1.1);
@@ -360,10 +491,47 @@ public class Target {
         bh.consume(NOISE);
     }
 
+    @Benchmark
+    public static void vecSimplex(Blackhole bh) {
+        vec_populateNoiseArray(NOISE, 0, 0, 0, XZS, YS, XZS, 0.1, 0.1, 0.1, 1.1, 1337);
+        bh.consume(NOISE);
+    }
+
+    @Benchmark
+    public static void javaSimplex(Blackhole bh) {
+        VectorNoise.populateNoiseArray(NoiseBackend.JAVA_SIMPLEX, NOISE, 0, 0, 0, XZS, YS, XZS, 0.1, 0.1, 0.1, 1.1, 1337);
+        bh.consume(NOISE);
+    }
+
     @Benchmark
     public static void lazySimplex(Blackhole bh) {
         lazy_populateNoiseArray(NOISE, 0, 0, 0, XZS, YS, XZS, 0.1, 0.1, 0.1, 1.1, 1337);
         bh.consume(NOISE);
     }
+
+    @Benchmark
+    public static void vecSimplexF32(Blackhole bh) {
+        vec_populateNoiseArrayF32(NOISE_F32, 0, 0, 0, XZS, YS, XZS, 0.1, 0.1, 0.1, 1.1, 1337);
+        bh.consume(NOISE_F32);
+    }
+
+    @Benchmark
+    public static void lazySimplexF32(Blackhole bh) {
+        lazy_populateNoiseArrayF32(NOISE_F32, 0, 0, 0, XZS, YS, XZS, 0.1, 0.1, 0.1, 1.1, 1337);
+        bh.consume(NOISE_F32);
+    }
+
+    @Benchmark
+    public static void fastNoiseLite(Blackhole bh) {
+        FNL_populateNoiseArray(NOISE, 0, 0, 0, XZS, YS, XZS, 0.1, 0.1, 0.1, 1.1, 1337);
+        bh.consume(NOISE);
+    }
+
+    /** Same noise as fastNoiseLite, but through a context, so only the position and size cross over */
+    @Benchmark
+    public static void contextFastNoiseLite(Blackhole bh) {
+        fnlContext.populateNoiseArray(NOISE, 0, 0, 0, XZS, YS, XZS);
+        bh.consume(NOISE);
+    }
 }
 
@@ -0,0 +1,160 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.inspector;
+
+import static java.lang.System.err;
+import static java.lang.System.out;
+
+import java.lang.reflect.Field;
+import java.util.Random;
+
+import net.minecraft.world.gen.NoiseGeneratorImproved;
+
+import klaxon.klaxon.cursor.noise.FusedDensity;
+import klaxon.klaxon.cursor.noise.NativeImproved;
+import klaxon.klaxon.cursor.noise.NoiseBackend;
+
+/**
+ * Fills density grids with and without adaptive sampling and compares the sign of every sample, which is all blocks
+ * depend on. Covers every backend with a noise bound, over random seeds, chunks and biome heights. Stops at the first
+ * flipped sign and exits with 1.
+ * <p>
+ * {@code ./gradlew :inspector:checkAdaptiveDensity --args="[seeds]"}
+ */
+public class AdaptiveCheck {
+
+    private static final int DEFAULT_SEEDS = 200;
+    private static final int CHUNKS_PER_SEED = 16;
+
+    /** FNL has no bound, so adaptive mode never skips anything there */
+    private static final NoiseBackend[] BACKENDS = { NoiseBackend.OPENSIMPLEX, NoiseBackend.LAZY,
+        NoiseBackend.IMPROVED };
+
+    /** rootHeight and heightVariation of each of BiomeGenBase's Height presets */
+    private static final float[][] HEIGHTS = { { 0.1F, 0.2F }, { -0.5F, 0.0F }, { -1.0F, 0.1F }, { -1.8F, 0.1F },
+        { 0.125F, 0.05F }, { 0.2F, 0.2F }, { 0.45F, 0.3F }, { 1.5F, 0.025F }, { 1.0F, 0.5F }, { 0.0F, 0.025F },
+        { 0.1F, 0.8F }, { 0.2F, 0.3F }, { -0.2F, 0.1F } };
+
+    private static final Field PERMUTATIONS;
+
+    static {
+        try {
+            PERMUTATIONS = NoiseGeneratorImproved.class.getDeclaredField("permutations");
+            PERMUTATIONS.setAccessible(true);
+        } catch (NoSuchFieldException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public static void main(String[] args) {
+        for (NoiseBackend backend : BACKENDS) {
+            if (!FusedDensity.isAvailable(backend)) {
+                err.println("libCursor didn't load " + backend + ", is -Dcursor.libLoc right?");
+                System.exit(2);
+            }
+        }
+
+        final int seeds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SEEDS;
+        final Random random = new Random(0);
+        final double[] full = new double[FusedDensity.GRID_LEN], adaptive = new double[FusedDensity.GRID_LEN];
+        final float[] rootHeights = new float[FusedDensity.BIOME_SIZE * FusedDensity.BIOME_SIZE];
+        final float[] heightVariations = new float[rootHeights.length];
+        long samples = 0, estimated = 0;
+
+        for (int s = 0; s < seeds; ++s) {
+            // Sized like ChunkProviderGenerate's sets
+            final Random world = new Random(random.nextLong());
+            final NoiseGeneratorImproved[] minLimit = octaves(world, 16), maxLimit = octaves(world, 16);
+            final NoiseGeneratorImproved[] main = octaves(world, 8), depth = octaves(world, 16);
+            final boolean amplified = random.nextInt(4) == 0;
+
+            for (NoiseBackend backend : BACKENDS) {
+                final FusedDensity exact = new FusedDensity(main, minLimit, maxLimit, depth, backend, amplified, false,
+                    0);
+                final FusedDensity coarse = new FusedDensity(main, minLimit, maxLimit, depth, backend, amplified, true,
+                    0);
+
+                for (int c = 0; c < CHUNKS_PER_SEED; ++c) {
+                    final int xPos = (random.nextInt(60000) - 30000) * 4, zPos = (random.nextInt(60000) - 30000) * 4;
+                    // Mostly one biome with others mixed in, so there are both flat runs and steep edges
+                    final float[] mostly = HEIGHTS[random.nextInt(HEIGHTS.length)];
+                    for (int i = 0; i < rootHeights.length; ++i) {
+                        final float[] height = random.nextInt(3) == 0 ? HEIGHTS[random.nextInt(HEIGHTS.length)]
+                            : mostly;
+                        rootHeights[i] = height[0];
+                        heightVariations[i] = height[1];
+                    }
+
+                    exact.fill(full, xPos, zPos, rootHeights, heightVariations);
+                    coarse.fill(adaptive, xPos, zPos, rootHeights, heightVariations);
+
+                    for (int i = 0; i < full.length; ++i) {
+                        if (Double.doubleToRawLongBits(full[i]) != Double.doubleToRawLongBits(adaptive[i])) {
+                            ++estimated;
+                        }
+                        if (full[i] > 0.0 == adaptive[i] > 0.0) continue;
+
+                        err.printf(
+                            "Seed #%d, %s%s, grid at %d, %d: index %d is %s adaptive, %s in full%n",
+                            s,
+                            backend,
+                            amplified ? " amplified" : "",
+                            xPos,
+                            zPos,
+                            i,
+                            adaptive[i],
+                            full[i]);
+                        System.exit(1);
+                    }
+                    samples += full.length;
+                }
+            }
+        }
+
+        out.printf(
+            "%d seeds, %d samples, %d of them estimated (%.1f%%), every sign matches%n",
+            seeds,
+            samples,
+            estimated,
+            100.0 * estimated / samples);
+    }
+
+    private static NoiseGeneratorImproved[] octaves(Random random, int count) {
+        final NoiseGeneratorImproved[] octaves = new NoiseGeneratorImproved[count];
+        for (int i = 0; i < count; ++i) octaves[i] = new Permuted(random);
+        return octaves;
+    }
+
+    /** What MixinNoiseGeneratorImproved adds, which isn't applied here */
+    private static final class Permuted extends NoiseGeneratorImproved implements NativeImproved.Permuted {
+
+        Permuted(Random random) {
+            super(random);
+        }
+
+        @Override
+        public int[] cursor$getPermutations() {
+            try {
+                return (int[]) PERMUTATIONS.get(this);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.inspector;
+
+import static java.lang.System.err;
+import static java.lang.System.out;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import net.minecraft.world.WorldType;
+import net.minecraft.world.gen.layer.GenLayer;
+import net.minecraft.world.gen.layer.GenLayerBiome;
+import net.minecraft.world.gen.layer.GenLayerEdge;
+import net.minecraft.world.gen.layer.GenLayerHills;
+import net.minecraft.world.gen.layer.GenLayerRiverMix;
+import net.minecraft.world.gen.layer.IntCache;
+import net.minecraftforge.common.BiomeManager;
+
+import klaxon.klaxon.cursor.noise.NativeBiomes;
+
+/**
+ * Compares {@link NativeBiomes} with the Java GenLayers, id for id, over random seeds and areas. Covers both chains a
+ * WorldChunkManager has, the 1:4 one chunk generation reads and the per-block one, for the default and large biome
+ * world types. The game only checks a few fixed areas before trusting a chain, this is the wider net. Stops at the
+ * first difference and exits with 1.
+ * <p>
+ * {@code ./gradlew :inspector:checkBiomes --args="[seeds]"}
+ */
+public class BiomeCheck {
+
+    private static final int DEFAULT_SEEDS = 100;
+    private static final int AREAS_PER_CHAIN = 64;
+    /** In each chain's own units, so the block chain covers less ground */
+    private static final int SPREAD = 30000;
+
+    private static final WorldType[] TYPES = { WorldType.DEFAULT, WorldType.LARGE_BIOMES };
+
+    public static void main(String[] args) throws ReflectiveOperationException {
+        if (!NativeBiomes.isAvailable()) {
+            err.println("libCursor didn't load, is -Dcursor.libLoc right?");
+            System.exit(2);
+        }
+
+        final int seeds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SEEDS;
+        final Reflected fields = new Reflected();
+
+        final Random random = new Random(0);
+        long points = 0;
+        for (int s = 0; s < seeds; ++s) {
+            final long seed = random.nextLong();
+            for (WorldType type : TYPES) {
+                // The same two WorldChunkManager keeps, minus Forge's InitBiomeGens event
+                final GenLayer[] layers = GenLayer.initializeAllBiomeGenerators(seed, type);
+                final GenLayer genBiomes = layers[0], biomeIndexLayer = layers[1];
+
+                final NativeBiomes biomes = NativeBiomes.compile(genBiomes, biomeIndexLayer, fields);
+                if (biomes == null) {
+                    err.printf("Seed %d, %s: the chains didn't compile, or failed the startup check%n", seed,
+                        type.getWorldTypeName());
+                    System.exit(1);
+                }
+
+                points += sweep(biomes, genBiomes, "genBiomes", seed, type, random, 10);
+                points += sweep(biomes, biomeIndexLayer, "biomeIndexLayer", seed, type, random, 16);
+            }
+        }
+
+        out.printf("%d seeds, %d biome ids, all identical%n", seeds, points);
+    }
+
+    /**
+     * Half the areas are the size the game asks for most, the rest anything up to twice that, so the edges of every
+     * zoom get a look in
+     */
+    private static long sweep(NativeBiomes biomes, GenLayer layer, String name, long seed, WorldType type,
+        Random random, int usual) {
+        long points = 0;
+        for (int i = 0; i < AREAS_PER_CHAIN; ++i) {
+            final int x = random.nextInt(2 * SPREAD) - SPREAD, z = random.nextInt(2 * SPREAD) - SPREAD;
+            final int width = i % 2 == 0 ? usual : 1 + random.nextInt(2 * usual);
+            final int depth = i % 2 == 0 ? usual : 1 + random.nextInt(2 * usual);
+
+            IntCache.resetIntCache();
+            final int[] expected = Arrays.copyOf(layer.getInts(x, z, width, depth), width * depth);
+            final int[] actual = new int[width * depth];
+            if (!biomes.getInts(layer, x, z, width, depth, actual) || !Arrays.equals(expected, actual)) {
+                err.printf("Seed %d, %s, %s at %d, %d, %dx%d differs%n", seed, type.getWorldTypeName(), name, x, z,
+                    width, depth);
+                for (int j = 0; j < expected.length; ++j) {
+                    if (expected[j] != actual[j]) {
+                        err.printf("  first at %d, %d: expected %d, got %d%n", j % width, j / width, expected[j],
+                            actual[j]);
+                        break;
+                    }
+                }
+                System.exit(1);
+            }
+            points += expected.length;
+        }
+        return points;
+    }
+
+    /** What the accessor mixins read in game, which aren't applied here */
+    private static final class Reflected implements NativeBiomes.Fields {
+
+        private final Field parent = field(GenLayer.class, "parent");
+        private final Field worldGenSeed = field(GenLayer.class, "worldGenSeed");
+        private final Field biomeLists = field(GenLayerBiome.class, "biomes");
+        private final Field mode = field(GenLayerEdge.class, "field_151627_c");
+        private final Field hillsRivers = field(GenLayerHills.class, "field_151628_d");
+        private final Field mixBiomes = field(GenLayerRiverMix.class, "biomePatternGeneratorChain");
+        private final Field mixRivers = field(GenLayerRiverMix.class, "riverPatternGeneratorChain");
+        private final Method compareBiomesById;
+
+        Reflected() throws ReflectiveOperationException {
+            compareBiomesById = GenLayer.class.getDeclaredMethod("compareBiomesById", int.class, int.class);
+            compareBiomesById.setAccessible(true);
+        }
+
+        private static Field field(Class<?> owner, String name) {
+            try {
+                final Field field = owner.getDeclaredField(name);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static Object get(Field field, Object owner) {
+            try {
+                return field.get(owner);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public GenLayer parent(GenLayer layer) {
+            return (GenLayer) get(parent, layer);
+        }
+
+        @Override
+        public long worldGenSeed(GenLayer layer) {
+            return (long) get(worldGenSeed, layer);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<BiomeManager.BiomeEntry>[] biomes(GenLayerBiome layer) {
+            return (List<BiomeManager.BiomeEntry>[]) get(biomeLists, layer);
+        }
+
+        @Override
+        public GenLayerEdge.Mode mode(GenLayerEdge layer) {
+            return (GenLayerEdge.Mode) get(mode, layer);
+        }
+
+        @Override
+        public GenLayer rivers(GenLayerHills layer) {
+            return (GenLayer) get(hillsRivers, layer);
+        }
+
+        @Override
+        public GenLayer biomes(GenLayerRiverMix layer) {
+            return (GenLayer) get(mixBiomes, layer);
+        }
+
+        @Override
+        public GenLayer rivers(GenLayerRiverMix layer) {
+            return (GenLayer) get(mixRivers, layer);
+        }
+
+        @Override
+        public boolean compareBiomesById(int a, int b) {
+            try {
+                return (boolean) compareBiomesById.invoke(null, a, b);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
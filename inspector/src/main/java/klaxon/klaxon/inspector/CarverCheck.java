@@ -0,0 +1,172 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.inspector;
+
+import static java.lang.System.err;
+import static java.lang.System.out;
+
+import java.util.Random;
+
+import net.minecraft.block.Block;
+import net.minecraft.world.gen.MapGenCaves;
+import net.minecraft.world.gen.MapGenRavine;
+
+import klaxon.klaxon.cursor.gen.CarverStarts;
+
+/**
+ * Checks that {@link CarverStarts.Tunnel#reaches} never skips a tunnel vanilla carves with, by rolling MapGenCaves and
+ * MapGenRavine for every target chunk in a patch and noting which top-level calls get as far as the ocean test that
+ * comes before every carve. Prints how many calls the cache gets to skip, and exits with 1 on the first miss.
+ * <p>
+ * {@code ./gradlew :inspector:checkCarvers --args="[seeds]"}
+ */
+public class CarverCheck {
+
+    private static final int DEFAULT_SEEDS = 40;
+    /** Targets per seed, in chunks along each side */
+    private static final int PATCH = 16;
+    /** Nothing to carve, the ocean test is overridden before anything's read */
+    private static final Block[] BLOCKS = new Block[65536];
+
+    private static long calls, reaching, carving;
+
+    public static void main(String[] args) {
+        final int seeds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SEEDS;
+
+        final Random random = new Random(0);
+        for (int s = 0; s < seeds; ++s) {
+            final long worldSeed = random.nextLong();
+            final int originX = random.nextInt(20000) - 10000, originZ = random.nextInt(20000) - 10000;
+            final Caves caves = new Caves();
+            final Ravines ravines = new Ravines();
+
+            for (int x = originX; x < originX + PATCH; ++x) {
+                for (int z = originZ; z < originZ + PATCH; ++z) {
+                    caves.roll(worldSeed, x, z);
+                    ravines.roll(worldSeed, x, z);
+                }
+            }
+        }
+
+        out.printf(
+            "%d seeds, %d tunnel calls: %d reach their target (%.1f%%), %d of those carve, none missed%n",
+            seeds,
+            calls,
+            reaching,
+            100.0 * reaching / calls,
+            carving);
+    }
+
+    /** Called once a top-level tunnel call returns */
+    private static void finish(CarverStarts.Tunnel tunnel, boolean carved, int chunkX, int chunkZ) {
+        ++calls;
+        final boolean reaches = tunnel.reaches(chunkX, chunkZ);
+        if (reaches) ++reaching;
+        if (carved) ++carving;
+        if (carved && !reaches) {
+            err.printf(
+                "Tunnel from %s, %s with seed %d carves chunk %d, %d but would've been skipped%n",
+                tunnel.x,
+                tunnel.z,
+                tunnel.seed,
+                chunkX,
+                chunkZ);
+            System.exit(1);
+        }
+    }
+
+    private static final class Caves extends MapGenCaves {
+
+        private int depth;
+        private boolean carved;
+
+        /** MapGenBase.func_151539_a, without a world */
+        void roll(long worldSeed, int chunkX, int chunkZ) {
+            rand.setSeed(worldSeed);
+            final long a = rand.nextLong(), b = rand.nextLong();
+            for (int x = chunkX - range; x <= chunkX + range; ++x) {
+                for (int z = chunkZ - range; z <= chunkZ + range; ++z) {
+                    rand.setSeed((long) x * a ^ (long) z * b ^ worldSeed);
+                    func_151538_a(null, x, z, chunkX, chunkZ, BLOCKS);
+                }
+            }
+        }
+
+        @Override
+        protected void func_151541_a(long seed, int chunkX, int chunkZ, Block[] blocks, double x, double y, double z,
+            float width, float yaw, float pitch, int step, int steps, double scaleY) {
+            if (depth > 0) {
+                super.func_151541_a(seed, chunkX, chunkZ, blocks, x, y, z, width, yaw, pitch, step, steps, scaleY);
+                return;
+            }
+
+            final CarverStarts.Tunnel tunnel = CarverStarts
+                .cave(range, seed, x, y, z, width, yaw, pitch, step, steps, scaleY);
+            carved = false;
+            ++depth;
+            try {
+                super.func_151541_a(seed, chunkX, chunkZ, blocks, x, y, z, width, yaw, pitch, step, steps, scaleY);
+            } finally {
+                --depth;
+            }
+            finish(tunnel, carved, chunkX, chunkZ);
+        }
+
+        /** Every carve checks for water first. Saying there is keeps the world and block registry out of it */
+        @Override
+        protected boolean isOceanBlock(Block[] data, int index, int x, int y, int z, int chunkX, int chunkZ) {
+            carved = true;
+            return true;
+        }
+    }
+
+    private static final class Ravines extends MapGenRavine {
+
+        private boolean carved;
+
+        /** MapGenBase.func_151539_a, without a world */
+        void roll(long worldSeed, int chunkX, int chunkZ) {
+            rand.setSeed(worldSeed);
+            final long a = rand.nextLong(), b = rand.nextLong();
+            for (int x = chunkX - range; x <= chunkX + range; ++x) {
+                for (int z = chunkZ - range; z <= chunkZ + range; ++z) {
+                    rand.setSeed((long) x * a ^ (long) z * b ^ worldSeed);
+                    func_151538_a(null, x, z, chunkX, chunkZ, BLOCKS);
+                }
+            }
+        }
+
+        /** Ravines don't branch, so every call is a top-level one */
+        @Override
+        protected void func_151540_a(long seed, int chunkX, int chunkZ, Block[] blocks, double x, double y, double z,
+            float width, float yaw, float pitch, int step, int steps, double scaleY) {
+            final CarverStarts.Tunnel tunnel = CarverStarts
+                .ravine(range, seed, x, y, z, width, yaw, pitch, step, steps, scaleY);
+            carved = false;
+            super.func_151540_a(seed, chunkX, chunkZ, blocks, x, y, z, width, yaw, pitch, step, steps, scaleY);
+            finish(tunnel, carved, chunkX, chunkZ);
+        }
+
+        @Override
+        protected boolean isOceanBlock(Block[] data, int index, int x, int y, int z, int chunkX, int chunkZ) {
+            carved = true;
+            return true;
+        }
+    }
+}
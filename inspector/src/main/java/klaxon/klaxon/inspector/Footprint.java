@@ -0,0 +1,259 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.inspector;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+
+/**
+ * Where the memory of loaded chunks goes, as measured by JOL on the live object graphs. Each part is measured as its
+ * own graph, so anything two parts share is counted in both; the deduplicated total at the end is the real figure.
+ */
+public class Footprint {
+
+    /** How many rows the per-class and largest-chunk tables get */
+    private static final int TOP = 15;
+
+    /** Objects and bytes of one kind of thing */
+    private static class Tally {
+
+        long count, bytes;
+
+        void add(long bytes) {
+            ++count;
+            this.bytes += bytes;
+        }
+    }
+
+    private final List<WorldSave.LoadedChunk> chunks;
+    private final long[] chunkBytes;
+
+    private final Tally populated = new Tally(), empty = new Tally();
+    private long absentSections;
+    /** Every section's parts, populated or not */
+    private final Map<String, Tally> sectionParts = new HashMap<>();
+    private final Map<String, Tally> tileEntities = new HashMap<>();
+    private final Map<String, Tally> entities = new HashMap<>();
+    /** Anything that couldn't be rebuilt, by its saved id */
+    private final Map<String, Tally> unknown = new HashMap<>();
+    /** Whatever's left of each chunk: the Chunk itself, its height map, biomes and collections */
+    private final Tally chunkRest = new Tally();
+
+    public Footprint(List<WorldSave.LoadedChunk> chunks) {
+        this.chunks = chunks;
+        chunkBytes = new long[chunks.size()];
+
+        for (int i = 0; i < chunks.size(); ++i) {
+            final WorldSave.LoadedChunk loaded = chunks.get(i);
+            final Chunk chunk = loaded.chunk;
+            chunkBytes[i] = GraphLayout.parseInstance(chunk)
+                .totalSize();
+
+            long parts = 0;
+            for (ExtendedBlockStorage ebs : chunk.getBlockStorageArray()) {
+                if (ebs == null) {
+                    ++absentSections;
+                    continue;
+                }
+                final long size = GraphLayout.parseInstance(ebs)
+                    .totalSize();
+                (isAir(ebs) ? empty : populated).add(size);
+                parts += size;
+
+                tally(sectionParts, "section object", sizeOf(ebs));
+                tally(sectionParts, "block ids (LSB)", sizeOf(ebs.getBlockLSBArray()));
+                tallyNibbles("block ids (MSB)", ebs.getBlockMSBArray());
+                tallyNibbles("metadata", ebs.getMetadataArray());
+                tallyNibbles("block light", ebs.getBlocklightArray());
+                tallyNibbles("sky light", ebs.getSkylightArray());
+            }
+
+            for (Object o : chunk.chunkTileEntityMap.values()) {
+                final TileEntity te = (TileEntity) o;
+                final long size = GraphLayout.parseInstance(te)
+                    .totalSize();
+                tally(tileEntities, te.getClass()
+                    .getSimpleName(), size);
+                parts += size;
+            }
+
+            for (List<?> list : chunk.entityLists) {
+                for (Object o : list) {
+                    final Entity entity = (Entity) o;
+                    final long size = GraphLayout.parseInstance(entity)
+                        .totalSize();
+                    tally(entities, entity.getClass()
+                        .getSimpleName(), size);
+                    parts += size;
+                }
+            }
+
+            for (NBTTagCompound tag : loaded.unknownTileEntities) tallyUnknown("tile entity", tag);
+            for (NBTTagCompound tag : loaded.unknownEntities) tallyUnknown("entity", tag);
+
+            chunkRest.add(chunkBytes[i] - parts);
+        }
+    }
+
+    /** Vanilla drops sections once they're all air, but only when something's removed; saves are full of them */
+    private static boolean isAir(ExtendedBlockStorage ebs) {
+        for (byte b : ebs.getBlockLSBArray()) {
+            if (b != 0) return false;
+        }
+        final NibbleArray msb = ebs.getBlockMSBArray();
+        if (msb != null) {
+            for (byte b : msb.data) {
+                if (b != 0) return false;
+            }
+        }
+        return true;
+    }
+
+    private static void tally(Map<String, Tally> tallies, String key, long bytes) {
+        tallies.computeIfAbsent(key, k -> new Tally())
+            .add(bytes);
+    }
+
+    private void tallyNibbles(String key, NibbleArray nibbles) {
+        if (nibbles == null) return;
+        tally(sectionParts, key, sizeOf(nibbles) + sizeOf(nibbles.data));
+    }
+
+    /** Just the object, nothing it points to */
+    private static long sizeOf(Object o) {
+        return VM.current()
+            .sizeOf(o);
+    }
+
+    private void tallyUnknown(String kind, NBTTagCompound tag) {
+        tally(unknown, kind + " " + tag.getString("id"), GraphLayout.parseInstance(tag)
+            .totalSize());
+    }
+
+    public void print(PrintStream out) {
+        if (chunks.isEmpty()) {
+            out.println("No chunks loaded");
+            return;
+        }
+
+        final long[] sorted = chunkBytes.clone();
+        Arrays.sort(sorted);
+        final long sum = Arrays.stream(sorted)
+            .sum();
+        out.printf("%d chunks, %s as separate graphs%n", chunks.size(), bytes(sum));
+        out.printf("Per chunk: min %s, median %s, mean %s, max %s%n",
+            bytes(sorted[0]),
+            bytes(sorted[sorted.length / 2]),
+            bytes(sum / sorted.length),
+            bytes(sorted[sorted.length - 1]));
+        out.println();
+
+        final long sections = populated.count + empty.count + absentSections;
+        out.println("Sections");
+        printRow(out, "populated", populated);
+        printRow(out, "empty (all air)", empty);
+        out.printf("  %-32s %9d  (%d%% of slots)%n", "absent", absentSections, absentSections * 100 / sections);
+        out.println();
+
+        printTable(out, "Section parts", sectionParts);
+        printTable(out, "Tile entities", tileEntities);
+        printTable(out, "Entities", entities);
+        printTable(out, "Not rebuildable, measured as NBT", unknown);
+
+        out.println("Rest of the chunk");
+        printRow(out, "Chunk, height map, biomes, maps", chunkRest);
+        out.println();
+
+        out.println("Largest chunks");
+        final List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < chunkBytes.length; ++i) order.add(i);
+        order.sort(Comparator.comparingLong(i -> -chunkBytes[i]));
+        for (int i : order.subList(0, Math.min(TOP, order.size()))) {
+            final Chunk chunk = chunks.get(i).chunk;
+            out.printf("  %6d, %-6d %12s  %d tile entities%n",
+                chunk.xPosition,
+                chunk.zPosition,
+                bytes(chunkBytes[i]),
+                chunk.chunkTileEntityMap.size());
+        }
+        out.println();
+
+        // Parsed as one graph, so shared objects only count once
+        final GraphLayout all = GraphLayout.parseInstance(chunks.stream()
+            .map(c -> c.chunk)
+            .toArray());
+        out.printf("All chunks as one graph: %s, %s per chunk%n",
+            bytes(all.totalSize()),
+            bytes(all.totalSize() / chunks.size()));
+        out.println(all.toFootprint());
+    }
+
+    private static void printTable(PrintStream out, String title, Map<String, Tally> tallies) {
+        if (tallies.isEmpty()) return;
+
+        out.println(title);
+        final List<Map.Entry<String, Tally>> rows = new ArrayList<>(tallies.entrySet());
+        rows.sort(Comparator.comparingLong(e -> -e.getValue().bytes));
+        final Tally rest = new Tally();
+        for (int i = 0; i < rows.size(); ++i) {
+            final Tally tally = rows.get(i)
+                .getValue();
+            if (i < TOP) {
+                printRow(out,
+                    rows.get(i)
+                        .getKey(),
+                    tally);
+            } else {
+                rest.count += tally.count;
+                rest.bytes += tally.bytes;
+            }
+        }
+        if (rest.count > 0) printRow(out, "(" + (rows.size() - TOP) + " more)", rest);
+        out.println();
+    }
+
+    private static void printRow(PrintStream out, String name, Tally tally) {
+        out.printf("  %-32s %9d %12s %12s each%n",
+            name,
+            tally.count,
+            bytes(tally.bytes),
+            bytes(tally.count == 0 ? 0 : tally.bytes / tally.count));
+    }
+
+    private static String bytes(long bytes) {
+        if (bytes < 10 * 1024) return bytes + " B";
+        if (bytes < 10 * 1024 * 1024) return bytes / 1024 + " KB";
+        return bytes / (1024 * 1024) + " MB";
+    }
+}
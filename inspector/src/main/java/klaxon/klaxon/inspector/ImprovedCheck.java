@@ -0,0 +1,130 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.inspector;
+
+import static java.lang.System.err;
+import static java.lang.System.out;
+
+import java.lang.reflect.Field;
+import java.util.Random;
+
+import net.minecraft.world.gen.NoiseGeneratorImproved;
+
+import klaxon.klaxon.cursor.noise.NativeImproved;
+
+/**
+ * Compares {@link NativeImproved} with NoiseGeneratorImproved itself, bit for bit, over random seeds, offsets, scales
+ * and shapes. Stops at the first difference and exits with 1.
+ * <p>
+ * {@code ./gradlew :inspector:checkImprovedNoise --args="[seeds]"}
+ */
+public class ImprovedCheck {
+
+    private static final int DEFAULT_SEEDS = 2000;
+
+    /**
+     * ChunkProviderGenerate's 3D and depth octaves, a surface sized 2D slice, and odd sizes so the vector loops' tails
+     * get a look in
+     */
+    private static final int[][] SHAPES = { { 5, 33, 5 }, { 5, 1, 5 }, { 16, 1, 16 }, { 17, 9, 3 }, { 1, 1, 1 },
+        { 3, 64, 13 }, { 7, 1, 9 } };
+
+    /** The scales vanilla generators pass, before the octave's frequency */
+    private static final double[] SCALES = { 684.412, 8.555150000000001, 4.277575000000001, 200.0, 1.0, 0.0625 };
+
+    public static void main(String[] args) throws ReflectiveOperationException {
+        if (!NativeImproved.isAvailable()) {
+            err.println("libCursor didn't load, is -Dcursor.libLoc right?");
+            System.exit(2);
+        }
+
+        final int seeds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SEEDS;
+        final Field permutations = NoiseGeneratorImproved.class.getDeclaredField("permutations");
+        permutations.setAccessible(true);
+
+        final Random random = new Random(0);
+        long points = 0;
+        for (int s = 0; s < seeds; ++s) {
+            final NoiseGeneratorImproved generator = new NoiseGeneratorImproved(new Random(random.nextLong()));
+            final int[] perm = (int[]) permutations.get(generator);
+
+            for (int[] shape : SHAPES) {
+                final int xSize = shape[0], ySize = shape[1], zSize = shape[2];
+                final double x = offset(random), y = offset(random), z = offset(random);
+                final double frequency = 1.0 / (1 << random.nextInt(16));
+                final double xScale = scale(random) * frequency;
+                final double yScale = scale(random) * frequency;
+                final double zScale = scale(random) * frequency;
+
+                // MC adds onto whatever's there, so start from something
+                final double[] expected = new double[xSize * ySize * zSize];
+                for (int i = 0; i < expected.length; ++i) expected[i] = random.nextGaussian();
+                final double[] actual = expected.clone();
+
+                generator.populateNoiseArray(expected, x, y, z, xSize, ySize, zSize, xScale, yScale, zScale,
+                    frequency);
+                NativeImproved.populateNoiseArray(perm, actual,
+                    generator.xCoord, generator.yCoord, generator.zCoord,
+                    x, y, z,
+                    xSize, ySize, zSize,
+                    xScale, yScale, zScale,
+                    frequency);
+
+                for (int i = 0; i < expected.length; ++i) {
+                    if (Double.doubleToRawLongBits(expected[i]) == Double.doubleToRawLongBits(actual[i])) continue;
+
+                    err.printf("Seed #%d, %dx%dx%d at %s, %s, %s scaled %s, %s, %s: index %d is %s, MC has %s%n",
+                        s,
+                        xSize,
+                        ySize,
+                        zSize,
+                        x,
+                        y,
+                        z,
+                        xScale,
+                        yScale,
+                        zScale,
+                        i,
+                        actual[i],
+                        expected[i]);
+                    System.exit(1);
+                }
+                points += expected.length;
+            }
+        }
+
+        out.printf("%d seeds, %d points, all identical%n", seeds, points);
+    }
+
+    /** Small, huge, negative, and right on cell borders, where the floors are easiest to get wrong */
+    private static double offset(Random random) {
+        return switch (random.nextInt(5)) {
+            case 0 -> random.nextDouble() * 2048 - 1024;
+            // NoiseGeneratorOctaves keeps them under 2^24
+            case 1 -> (random.nextDouble() * 2 - 1) * 16777216;
+            case 2 -> random.nextInt(4096) - 2048;
+            case 3 -> Math.nextDown((double) (random.nextInt(512) - 256));
+            default -> -random.nextDouble();
+        };
+    }
+
+    private static double scale(Random random) {
+        return random.nextInt(4) == 0 ? random.nextDouble() * 1000 : SCALES[random.nextInt(SCALES.length)];
+    }
+}
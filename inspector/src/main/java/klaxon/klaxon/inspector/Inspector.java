@@ -1,6 +1,6 @@
 /**
  * This file is part of Cursor - a mod that _runs_.
- * Copyright (C) 2025 ah-OOG-ah
+ * Copyright (C) 2025-2026 ah-OOG-ah
  *
  * Cursor is free software: you can redistribute it and/or modify
  * it under the terms of the GNU Lesser General Public License as published by
@@ -20,12 +20,40 @@ package klaxon.klaxon.inspector;
 
 import static java.lang.System.out;
 
-import org.openjdk.jol.info.ClassLayout;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
 import org.openjdk.jol.vm.VM;
 
+/**
+ * Memory footprint of a world's chunks, for deciding which structures to shrink. Loads chunks straight out of a save,
+ * no server needed:
+ * <p>
+ * {@code ./gradlew :inspector:runInspector --args="<save dir> [dimension] [max chunks]"}
+ */
 public class Inspector {
-    public static void main(String[] args) {
+
+    private static final int DEFAULT_MAX_CHUNKS = 1024;
+
+    public static void main(String[] args) throws IOException {
         out.println(VM.current().details());
-        out.println(ClassLayout.parseClass(int[].class).toPrintable());
+        if (args.length == 0) {
+            out.println("Usage: inspector <save dir> [dimension] [max chunks]");
+            return;
+        }
+
+        final File saveDir = new File(args[0]);
+        final int dimension = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        final int max = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_CHUNKS;
+
+        final long start = System.nanoTime();
+        final List<WorldSave.LoadedChunk> chunks = new WorldSave(saveDir, dimension).load(max);
+        out.printf("Loaded %d chunks of dimension %d in %d ms%n%n",
+            chunks.size(),
+            dimension,
+            (System.nanoTime() - start) / 1_000_000);
+
+        new Footprint(chunks).print(out);
     }
 }
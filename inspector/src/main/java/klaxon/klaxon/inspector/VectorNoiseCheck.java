@@ -0,0 +1,117 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.inspector;
+
+import static java.lang.System.err;
+import static java.lang.System.out;
+
+import java.util.Random;
+
+import klaxon.klaxon.cursor.noise.NativeNoise;
+import klaxon.klaxon.cursor.noise.NoiseBackend;
+import klaxon.klaxon.cursor.noise.VectorNoise;
+
+/**
+ * Compares {@link VectorNoise}, the Java fallback, with libCursor for every backend it stands in for, over random
+ * seeds, offsets, scales and shapes. They run the same f32 arithmetic in a different order here and there, so they
+ * may differ by rounding, but no further than {@link #TOLERANCE}. Exits with 1 at the first point past it.
+ * <p>
+ * {@code ./gradlew :inspector:checkVectorNoise --args="[seeds]"}
+ */
+public class VectorNoiseCheck {
+
+    private static final int DEFAULT_SEEDS = 500;
+
+    /** Largest difference allowed, relative to one octave's amplitude (1 / noiseScale) */
+    private static final double TOLERANCE = 1.0e-5;
+
+    private static final NoiseBackend[] BACKENDS = { NoiseBackend.OPENSIMPLEX, NoiseBackend.LAZY };
+
+    /** ChunkProviderGenerate's 3D and depth octaves, and odd sizes so the vector loops' tails get a look in */
+    private static final int[][] SHAPES = { { 5, 33, 5 }, { 5, 1, 5 }, { 16, 1, 16 }, { 17, 9, 3 }, { 1, 1, 1 },
+        { 3, 64, 13 } };
+
+    public static void main(String[] args) {
+        for (NoiseBackend backend : BACKENDS) {
+            if (!NativeNoise.isAvailable(backend)) {
+                err.println("libCursor didn't load " + backend + ", is -Dcursor.libLoc right?");
+                System.exit(2);
+            }
+            if (!VectorNoise.isAvailable(backend)) {
+                err.println("The Vector API is missing, run with --add-modules jdk.incubator.vector");
+                System.exit(2);
+            }
+        }
+
+        final int seeds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SEEDS;
+        final Random random = new Random(0);
+        double worst = 0.0;
+        long points = 0;
+
+        for (int s = 0; s < seeds; ++s) {
+            final long seed = random.nextLong();
+            for (NoiseBackend backend : BACKENDS) {
+                for (int[] shape : SHAPES) {
+                    final int xSize = shape[0], ySize = shape[1], zSize = shape[2];
+                    final double x = (random.nextDouble() * 2 - 1) * 65536;
+                    final double y = random.nextDouble() * 256;
+                    final double z = (random.nextDouble() * 2 - 1) * 65536;
+                    final double noiseScale = 1.0 / (1 << random.nextInt(16));
+                    final double xScale = random.nextDouble() * 700 * noiseScale;
+                    final double yScale = random.nextDouble() * 700 * noiseScale;
+                    final double zScale = random.nextDouble() * 700 * noiseScale;
+
+                    final double[] expected = new double[xSize * ySize * zSize];
+                    final double[] actual = new double[expected.length];
+                    NativeNoise.populateNoiseArray(backend, expected, x, y, z, xSize, ySize, zSize, xScale, yScale,
+                        zScale, noiseScale, seed);
+                    VectorNoise.populateNoiseArray(backend, actual, x, y, z, xSize, ySize, zSize, xScale, yScale,
+                        zScale, noiseScale, seed);
+
+                    for (int i = 0; i < expected.length; ++i) {
+                        final double error = Math.abs(expected[i] - actual[i]) * noiseScale;
+                        worst = Math.max(worst, error);
+                        if (error <= TOLERANCE) continue;
+
+                        err.printf(
+                            "%s seed %d, %dx%dx%d at %s, %s, %s scaled %s, %s, %s: index %d is %s, libCursor has %s%n",
+                            backend,
+                            seed,
+                            xSize,
+                            ySize,
+                            zSize,
+                            x,
+                            y,
+                            z,
+                            xScale,
+                            yScale,
+                            zScale,
+                            i,
+                            actual[i],
+                            expected[i]);
+                        System.exit(1);
+                    }
+                    points += expected.length;
+                }
+            }
+        }
+
+        out.printf("%d seeds, %d points, largest difference %g of %g allowed%n", seeds, points, worst, TOLERANCE);
+    }
+}
@@ -0,0 +1,178 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.inspector;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityList;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.ChunkPosition;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraft.world.chunk.storage.RegionFile;
+
+/**
+ * Reads chunks out of a world save the way AnvilChunkLoader.readChunkFromNBT does, minus everything that needs a World
+ * or a running game. There's no FML here, so nothing outside vanilla is registered: tile entities and entities that
+ * can't be rebuilt are kept as the NBT they were saved as, which is the best stand-in for their size we have.
+ */
+public class WorldSave {
+
+    private static final Pattern REGION = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.mca");
+
+    /** A chunk as far as it could be loaded */
+    public static class LoadedChunk {
+
+        public final Chunk chunk;
+        public final List<NBTTagCompound> unknownTileEntities = new ArrayList<>();
+        public final List<NBTTagCompound> unknownEntities = new ArrayList<>();
+
+        LoadedChunk(Chunk chunk) {
+            this.chunk = chunk;
+        }
+    }
+
+    private final File regionDir;
+
+    /** Dimension 0 lives in the save's own region folder, everything else in DIM<id> */
+    public WorldSave(File saveDir, int dimension) {
+        regionDir = dimension == 0 ? new File(saveDir, "region") : new File(saveDir, "DIM" + dimension + "/region");
+    }
+
+    /** Up to max chunks, region by region */
+    public List<LoadedChunk> load(int max) throws IOException {
+        final File[] files = regionDir.listFiles();
+        if (files == null) throw new IOException("No region folder at " + regionDir);
+
+        final List<LoadedChunk> chunks = new ArrayList<>();
+        for (File file : files) {
+            final Matcher m = REGION.matcher(file.getName());
+            if (!m.matches()) continue;
+
+            final int regionX = Integer.parseInt(m.group(1));
+            final int regionZ = Integer.parseInt(m.group(2));
+            final RegionFile region = new RegionFile(file);
+            try {
+                for (int x = 0; x < 32; ++x) {
+                    for (int z = 0; z < 32; ++z) {
+                        if (chunks.size() >= max) return chunks;
+                        if (!region.chunkExists(x, z)) continue;
+
+                        final DataInputStream in = region.getChunkDataInputStream(x, z);
+                        if (in == null) continue;
+
+                        final NBTTagCompound tag;
+                        try (in) {
+                            tag = CompressedStreamTools.read(in);
+                        }
+                        if (!tag.hasKey("Level", 10)) continue;
+
+                        chunks.add(read(tag.getCompoundTag("Level"), regionX * 32 + x, regionZ * 32 + z));
+                    }
+                }
+            } finally {
+                region.close();
+            }
+        }
+        return chunks;
+    }
+
+    private static LoadedChunk read(NBTTagCompound level, int chunkX, int chunkZ) {
+        final Chunk chunk = new Chunk(null, chunkX, chunkZ);
+        final LoadedChunk loaded = new LoadedChunk(chunk);
+        chunk.heightMap = level.getIntArray("HeightMap");
+        chunk.isTerrainPopulated = level.getBoolean("TerrainPopulated");
+        chunk.isLightPopulated = level.getBoolean("LightPopulated");
+        chunk.inhabitedTime = level.getLong("InhabitedTime");
+
+        final ExtendedBlockStorage[] storage = new ExtendedBlockStorage[16];
+        final NBTTagList sections = level.getTagList("Sections", 10);
+        for (int i = 0; i < sections.tagCount(); ++i) {
+            final NBTTagCompound section = sections.getCompoundTagAt(i);
+            final byte y = section.getByte("Y");
+            final boolean sky = section.hasKey("SkyLight", 7);
+
+            final ExtendedBlockStorage ebs = new ExtendedBlockStorage(y << 4, sky);
+            ebs.setBlockLSBArray(section.getByteArray("Blocks"));
+            if (section.hasKey("Add", 7)) ebs.setBlockMSBArray(new NibbleArray(section.getByteArray("Add"), 4));
+            ebs.setBlockMetadataArray(new NibbleArray(section.getByteArray("Data"), 4));
+            ebs.setBlocklightArray(new NibbleArray(section.getByteArray("BlockLight"), 4));
+            if (sky) ebs.setSkylightArray(new NibbleArray(section.getByteArray("SkyLight"), 4));
+            // No removeInvalidBlocks, the block registry is empty. Footprint works out emptiness from the arrays.
+            storage[y] = ebs;
+        }
+        chunk.setStorageArrays(storage);
+
+        if (level.hasKey("Biomes", 7)) chunk.setBiomeArray(level.getByteArray("Biomes"));
+
+        final NBTTagList tileEntities = level.getTagList("TileEntities", 10);
+        for (int i = 0; i < tileEntities.tagCount(); ++i) {
+            final NBTTagCompound tag = tileEntities.getCompoundTagAt(i);
+            final TileEntity te = createTileEntity(tag);
+            if (te == null) {
+                loaded.unknownTileEntities.add(tag);
+                continue;
+            }
+            // Chunk.addTileEntity wants a world, go around it
+            chunk.chunkTileEntityMap.put(new ChunkPosition(te.xCoord & 15, te.yCoord, te.zCoord & 15), te);
+        }
+
+        final NBTTagList entities = level.getTagList("Entities", 10);
+        for (int i = 0; i < entities.tagCount(); ++i) {
+            final NBTTagCompound tag = entities.getCompoundTagAt(i);
+            final Entity entity = createEntity(tag);
+            if (entity == null) {
+                loaded.unknownEntities.add(tag);
+                continue;
+            }
+            final int section = Math.max(0, Math.min(15, (int) Math.floor(entity.posY / 16.0D)));
+            chunk.entityLists[section].add(entity);
+        }
+
+        return loaded;
+    }
+
+    private static TileEntity createTileEntity(NBTTagCompound tag) {
+        try {
+            return TileEntity.createAndLoadEntity(tag);
+        } catch (Throwable e) {
+            // Anything that reaches for the world or a registry we don't have
+            return null;
+        }
+    }
+
+    private static Entity createEntity(NBTTagCompound tag) {
+        try {
+            return EntityList.createEntityFromNBT(tag, null);
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+}
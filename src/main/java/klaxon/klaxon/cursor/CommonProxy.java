@@ -1,6 +1,6 @@
 /**
  * This file is part of Cursor - a mod that _runs_.
- * Copyright (C) 2025 ah-OOG-ah
+ * Copyright (C) 2025-2026 ah-OOG-ah
  *
  * Cursor is free software: you can redistribute it and/or modify
  * it under the terms of the GNU Lesser General Public License as published by
@@ -20,6 +20,18 @@ package klaxon.klaxon.cursor;
 
 import cpw.mods.fml.common.FMLCommonHandler;
 import cpw.mods.fml.common.event.FMLPreInitializationEvent;
+import cpw.mods.fml.common.event.FMLServerStartingEvent;
+import klaxon.klaxon.cursor.command.CursorCommand;
+import klaxon.klaxon.cursor.config.CursorConfig;
+import klaxon.klaxon.cursor.gen.ChunkPrefetch;
+import klaxon.klaxon.cursor.gen.DensityPrefetcher;
+import klaxon.klaxon.cursor.gen.Pregen;
+import klaxon.klaxon.cursor.gen.ThreadIntCache;
+import klaxon.klaxon.cursor.io.RegionIO;
+import klaxon.klaxon.cursor.noise.NativeNoise;
+import klaxon.klaxon.cursor.noise.NoiseBackend;
+import klaxon.klaxon.cursor.noise.NoiseBufferPool;
+import klaxon.klaxon.cursor.stats.GenStats;
 import net.minecraftforge.common.MinecraftForge;
 
 public class CommonProxy {
@@ -28,5 +40,39 @@ public class CommonProxy {
             .bus()
             .register(this);
         MinecraftForge.EVENT_BUS.register(this);
+
+        NativeNoise.setParallelism(CursorConfig.noiseThreads, CursorConfig.parallelNoiseThreshold);
+        ThreadIntCache.setRetained(CursorConfig.intCacheRetained);
+        NoiseBufferPool.setRetained(CursorConfig.noiseBuffersRetained);
+        NoiseBufferPool.setMaxRetainedBytes((long) CursorConfig.noiseBuffersRetainedMiB << 20);
+        GenStats.setEnabled(CursorConfig.telemetry, CursorConfig.noiseBackend);
+        RegionIO.setThreads(CursorConfig.regionIoThreads);
+
+        // Everything built on the fused grid quietly does nothing without it, so say so
+        if (!CursorConfig.noiseBackend.canFuse()) {
+            Cursor.LOG.info("noiseBackend {} can't fuse density grids: no prefetching, adaptive density, column sharing "
+                + "or threaded pregen", CursorConfig.noiseBackend);
+        } else if (CursorConfig.noiseBackend == NoiseBackend.IMPROVED && CursorConfig.densityColumnCache > 0) {
+            Cursor.LOG.info("densityColumnCache is unused with IMPROVED, shared columns wouldn't match MC's");
+        }
+
+        DensityPrefetcher.setWorkers(CursorConfig.prefetchThreads, CursorConfig.prefetchMaxChunks);
+        if (DensityPrefetcher.isEnabled()) {
+            final ChunkPrefetch prefetch = new ChunkPrefetch(CursorConfig.prefetchLookahead);
+            FMLCommonHandler.instance()
+                .bus()
+                .register(prefetch);
+            MinecraftForge.EVENT_BUS.register(prefetch);
+        }
+
+        final Pregen pregen = new Pregen(CursorConfig.pregenTickBudget);
+        FMLCommonHandler.instance()
+            .bus()
+            .register(pregen);
+        MinecraftForge.EVENT_BUS.register(pregen);
+    }
+
+    public void serverStarting(FMLServerStartingEvent event) {
+        event.registerServerCommand(new CursorCommand());
     }
 }
@@ -1,6 +1,6 @@
 /**
  * This file is part of Cursor - a mod that _runs_.
- * Copyright (C) 2025 ah-OOG-ah
+ * Copyright (C) 2025-2026 ah-OOG-ah
  *
  * Cursor is free software: you can redistribute it and/or modify
  * it under the terms of the GNU Lesser General Public License as published by
@@ -24,6 +24,7 @@ import org.apache.logging.log4j.Logger;
 import cpw.mods.fml.common.Mod;
 import cpw.mods.fml.common.SidedProxy;
 import cpw.mods.fml.common.event.FMLPreInitializationEvent;
+import cpw.mods.fml.common.event.FMLServerStartingEvent;
 
 @Mod(modid = Cursor.MODID, version = Tags.VERSION, name = "Cursor", acceptedMinecraftVersions = "[1.7.10]")
 public class Cursor {
@@ -38,4 +39,9 @@ public class Cursor {
     public void preInit(FMLPreInitializationEvent event) {
         proxy.preInit(event);
     }
+
+    @Mod.EventHandler
+    public void serverStarting(FMLServerStartingEvent event) {
+        proxy.serverStarting(event);
+    }
 }
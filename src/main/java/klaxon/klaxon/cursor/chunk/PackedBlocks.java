@@ -0,0 +1,180 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.chunk;
+
+import net.minecraft.world.chunk.NibbleArray;
+
+/**
+ * The block ids and metadata of one ExtendedBlockStorage, packed: a palette of the id and meta pairs that occur in it,
+ * and an index into it for each of its 4096 blocks, bit packed into longs. A section of nothing but stone or air keeps
+ * a one-entry palette and no indices at all, instead of 6 KB of arrays.
+ * <p>
+ * Immutable, so readers on other threads can't see one half-built. A section that gets written to goes back to
+ * vanilla's arrays until it's packed again.
+ */
+public final class PackedBlocks {
+
+    public static final int BLOCKS = 4096;
+
+    /** Past this, 8 bit indices plus the palette wouldn't be any smaller than vanilla's arrays */
+    private static final int MAX_PALETTE = 256;
+    /** Open addressing, kept at most a quarter full */
+    private static final int TABLE = 1024;
+
+    /** id << 4 | meta */
+    private final char[] palette;
+    /** Null with a single entry palette */
+    private final long[] indices;
+    /** Bits per index is 1 << log2Bits, which always divides 64 so no index straddles two longs */
+    private final int log2Bits;
+    private final boolean hasMsb;
+
+    private PackedBlocks(char[] palette, long[] indices, int log2Bits) {
+        this.palette = palette;
+        this.indices = indices;
+        this.log2Bits = log2Bits;
+
+        boolean hasMsb = false;
+        for (char value : palette) hasMsb |= value >> 4 > 255;
+        this.hasMsb = hasMsb;
+    }
+
+    /** Implemented by ExtendedBlockStorage */
+    public interface Section {
+
+        /** Packs the blocks if they're not already, and if it saves anything */
+        void cursor$pack();
+
+        /** The LSB array, rebuilt if packed. Only for reading, writes may not stick. */
+        byte[] cursor$readBlockLSB();
+
+        /** The MSB array or null, rebuilt if packed. Only for reading, writes may not stick. */
+        NibbleArray cursor$readBlockMSB();
+
+        /** The metadata array, rebuilt if packed. Only for reading, writes may not stick. */
+        NibbleArray cursor$readMetadata();
+    }
+
+    /** Index of the block at x, y, z in vanilla's arrays, and here */
+    public static int index(int x, int y, int z) {
+        return y << 8 | z << 4 | x;
+    }
+
+    /**
+     * @param msb May be null, like ExtendedBlockStorage's
+     * @return Null if packing wouldn't save anything
+     */
+    public static PackedBlocks pack(byte[] lsb, NibbleArray msb, NibbleArray meta) {
+        final char[] palette = new char[MAX_PALETTE];
+        final int[] keys = new int[TABLE];
+        final int[] slots = new int[TABLE];
+        final int[] index = new int[BLOCKS];
+        int size = 0;
+
+        int last = -1, lastSlot = 0;
+        for (int i = 0; i < BLOCKS; ++i) {
+            final int value = value(lsb, msb, meta, i);
+            // Runs of one block are the common case
+            if (value == last) {
+                index[i] = lastSlot;
+                continue;
+            }
+
+            int h = (value * 0x9E3779B9) >>> 22;
+            while (keys[h] != 0 && keys[h] != value + 1) h = (h + 1) & (TABLE - 1);
+            if (keys[h] == 0) {
+                if (size == MAX_PALETTE) return null;
+                keys[h] = value + 1;
+                slots[h] = size;
+                palette[size++] = (char) value;
+            }
+
+            index[i] = slots[h];
+            last = value;
+            lastSlot = slots[h];
+        }
+
+        final char[] trimmed = new char[size];
+        System.arraycopy(palette, 0, trimmed, 0, size);
+        if (size == 1) return new PackedBlocks(trimmed, null, 0);
+
+        final int log2Bits = size <= 2 ? 0 : size <= 4 ? 1 : size <= 16 ? 2 : 3;
+        final int perLong = 64 >> log2Bits;
+        final long[] indices = new long[BLOCKS / perLong];
+        for (int i = 0; i < BLOCKS; ++i) {
+            indices[i / perLong] |= (long) index[i] << ((i % perLong) << log2Bits);
+        }
+        return new PackedBlocks(trimmed, indices, log2Bits);
+    }
+
+    private static int value(byte[] lsb, NibbleArray msb, NibbleArray meta, int i) {
+        int id = lsb[i] & 255;
+        if (msb != null) id |= nibble(msb, i) << 8;
+        return id << 4 | nibble(meta, i);
+    }
+
+    private static int nibble(NibbleArray array, int i) {
+        return array.data[i >> 1] >> ((i & 1) << 2) & 15;
+    }
+
+    /** id << 4 | meta of the block at index */
+    public int get(int index) {
+        if (indices == null) return palette[0];
+
+        final int perLongShift = 6 - log2Bits;
+        final int mask = (1 << (1 << log2Bits)) - 1;
+        final long word = indices[index >>> perLongShift];
+        return palette[(int) (word >>> ((index & ((1 << perLongShift) - 1)) << log2Bits)) & mask];
+    }
+
+    public int getId(int index) {
+        return get(index) >> 4;
+    }
+
+    public int getMeta(int index) {
+        return get(index) & 15;
+    }
+
+    /** A fresh copy of what blockLSBArray would hold */
+    public byte[] toBlockLSB() {
+        final byte[] lsb = new byte[BLOCKS];
+        for (int i = 0; i < BLOCKS; ++i) lsb[i] = (byte) getId(i);
+        return lsb;
+    }
+
+    /** A fresh copy of what blockMSBArray would hold, which is null if no id needs it */
+    public NibbleArray toBlockMSB() {
+        if (!hasMsb) return null;
+
+        final NibbleArray msb = new NibbleArray(BLOCKS, 4);
+        for (int i = 0; i < BLOCKS; ++i) setNibble(msb, i, getId(i) >> 8);
+        return msb;
+    }
+
+    /** A fresh copy of what blockMetadataArray would hold */
+    public NibbleArray toMetadata() {
+        final NibbleArray meta = new NibbleArray(BLOCKS, 4);
+        for (int i = 0; i < BLOCKS; ++i) setNibble(meta, i, getMeta(i));
+        return meta;
+    }
+
+    private static void setNibble(NibbleArray array, int i, int value) {
+        array.data[i >> 1] |= (byte) ((value & 15) << ((i & 1) << 2));
+    }
+}
@@ -0,0 +1,184 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.command;
+
+import java.util.List;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.ChatComponentText;
+import net.minecraft.util.ChunkCoordinates;
+import net.minecraft.util.EnumChatFormatting;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.DimensionManager;
+
+import klaxon.klaxon.cursor.gen.DensityPrefetcher;
+import klaxon.klaxon.cursor.gen.Pregen;
+import klaxon.klaxon.cursor.gen.PregenJob;
+import klaxon.klaxon.cursor.noise.NoiseBufferPool;
+import klaxon.klaxon.cursor.stats.GenStage;
+import klaxon.klaxon.cursor.stats.GenStats;
+import klaxon.klaxon.cursor.stats.Histogram;
+
+/**
+ * {@code /cursor}, registered on server start from {@link klaxon.klaxon.cursor.CommonProxy}.
+ */
+public class CursorCommand extends CommandBase {
+
+    private static final double MS = 1e6;
+
+    @Override
+    public String getCommandName() {
+        return "cursor";
+    }
+
+    @Override
+    public String getCommandUsage(ICommandSender sender) {
+        return "/cursor stats [reset] | /cursor pregen <radius|stop|status> [dimension]";
+    }
+
+    @Override
+    public int getRequiredPermissionLevel() {
+        return 2;
+    }
+
+    @Override
+    public void processCommand(ICommandSender sender, String[] args) {
+        if (args.length == 0) throw new WrongUsageException(getCommandUsage(sender));
+
+        switch (args[0]) {
+            case "stats" -> stats(sender, args);
+            case "pregen" -> pregen(sender, args);
+            default -> throw new WrongUsageException(getCommandUsage(sender));
+        }
+    }
+
+    @Override
+    public List<String> addTabCompletionOptions(ICommandSender sender, String[] args) {
+        if (args.length == 1) return getListOfStringsMatchingLastWord(args, "stats", "pregen");
+        if (args.length == 2 && args[0].equals("stats")) return getListOfStringsMatchingLastWord(args, "reset");
+        if (args.length == 2 && args[0].equals("pregen")) {
+            return getListOfStringsMatchingLastWord(args, "stop", "status");
+        }
+        return null;
+    }
+
+    private static void stats(ICommandSender sender, String[] args) {
+        if (args.length > 1 && args[1].equals("reset")) {
+            GenStats.reset();
+            send(sender, "Worldgen stats reset");
+            return;
+        }
+
+        if (!GenStats.isEnabled()) {
+            send(sender, EnumChatFormatting.RED + "Worldgen telemetry is off, see the telemetry option in cursor.cfg");
+            return;
+        }
+
+        send(sender, EnumChatFormatting.GOLD + "Worldgen stage timings, in ms:");
+        boolean any = false;
+        for (GenStage stage : GenStage.values()) {
+            final Histogram.Snapshot s = stage.snapshot();
+            if (s.count == 0) continue;
+
+            any = true;
+            send(
+                sender,
+                String.format(
+                    "%s%s%s: %d calls, %.1f total, mean %.3f, p50 %.3f, p90 %.3f, p99 %.3f, max %.3f",
+                    EnumChatFormatting.YELLOW,
+                    stage.label,
+                    EnumChatFormatting.RESET,
+                    s.count,
+                    s.totalNanos / MS,
+                    s.meanNanos() / MS,
+                    s.percentile(0.5) / MS,
+                    s.percentile(0.9) / MS,
+                    s.percentile(0.99) / MS,
+                    s.maxNanos / MS));
+        }
+        if (!any) send(sender, "Nothing generated yet");
+
+        send(
+            sender,
+            String.format(
+                "Noise buffers: %d leased, %d leaked, %.1f MiB off-heap, %.1f MiB of it free",
+                NoiseBufferPool.leased(),
+                NoiseBufferPool.leaked(),
+                NoiseBufferPool.allocatedBytes() / (1024.0 * 1024.0),
+                NoiseBufferPool.retainedBytes() / (1024.0 * 1024.0)));
+    }
+
+    private void pregen(ICommandSender sender, String[] args) {
+        if (args.length < 2) throw new WrongUsageException(getCommandUsage(sender));
+
+        if (args[1].equals("status")) {
+            final List<WorldServer> running = Pregen.running();
+            if (running.isEmpty()) send(sender, "No pre-generation running");
+            for (WorldServer world : running) send(sender, Pregen.describe(world, Pregen.get(world)));
+            return;
+        }
+
+        final WorldServer world = args.length > 2 ? DimensionManager.getWorld(parseInt(sender, args[2]))
+            : (WorldServer) sender.getEntityWorld();
+        if (world == null) throw new CommandException("Dimension " + args[2] + " isn't loaded");
+
+        if (args[1].equals("stop")) {
+            send(sender, Pregen.stop(world) ? "Pre-generation stopped" : "No pre-generation running there");
+            return;
+        }
+
+        final int radius = parseIntBounded(sender, args[1], 0, 4096);
+        final int centerX, centerZ;
+        if (sender instanceof EntityPlayer player && player.worldObj == world) {
+            centerX = MathHelper.floor_double(player.posX) >> 4;
+            centerZ = MathHelper.floor_double(player.posZ) >> 4;
+        } else {
+            final ChunkCoordinates spawn = world.getSpawnPoint();
+            centerX = spawn.posX >> 4;
+            centerZ = spawn.posZ >> 4;
+        }
+
+        final PregenJob job = Pregen.start(world, centerX, centerZ, radius, sender);
+        send(
+            sender,
+            String.format(
+                "Pre-generating %d chunks around chunk %d, %d in dimension %d",
+                job.total(),
+                centerX,
+                centerZ,
+                world.provider.dimensionId));
+        if (!(world.theChunkProviderServer.currentChunkProvider instanceof DensityPrefetcher.Owner)) {
+            send(
+                sender,
+                EnumChatFormatting.YELLOW
+                    + "This dimension's generator can't prefetch, so everything runs on the server thread");
+        } else if (!DensityPrefetcher.isEnabled()) {
+            send(sender, EnumChatFormatting.YELLOW + "Prefetching is off, so everything runs on the server thread");
+        }
+    }
+
+    private static void send(ICommandSender sender, String message) {
+        sender.addChatMessage(new ChatComponentText(message));
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.config;
+
+import com.gtnewhorizon.gtnhlib.config.Config;
+
+import klaxon.klaxon.cursor.Cursor;
+import klaxon.klaxon.cursor.noise.NoiseBackend;
+
+/**
+ * Registered from {@link klaxon.klaxon.cursor.core.CursorCore}, since the mixin list depends on it.
+ */
+@Config(modid = Cursor.MODID)
+public class CursorConfig {
+
+    @Config.Comment("Which implementation NoiseGeneratorImproved.populateNoiseArray uses. Anything but VANILLA and IMPROVED changes terrain, so expect seams against chunks generated before switching. IMPROVED is MC's own noise computed in libCursor, identical to VANILLA to the bit, so it's the default and the one to use on existing worlds. If libCursor can't be loaded, OPENSIMPLEX and LAZY fall back to Java versions (JAVA_SIMPLEX picks that outright), which need --add-modules jdk.incubator.vector; without either, this acts like VANILLA.")
+    @Config.DefaultEnum("IMPROVED")
+    @Config.RequiresMcRestart
+    public static NoiseBackend noiseBackend;
+
+    @Config.Comment("Let the Twilight Forest's terrain noise go through noiseBackend too. It builds its own NoiseGeneratorOctaves, so otherwise it gets whatever the overworld gets; off keeps its dimension looking the way the mod intends.")
+    @Config.DefaultBoolean(true)
+    @Config.RequiresMcRestart
+    public static boolean twilightForestNoise;
+
+    @Config.Comment("Compute ChunkProviderGenerate's whole density grid in one native call, instead of once per octave. Used with IMPROVED, OPENSIMPLEX, LAZY or FNL; with IMPROVED, the first chunk of each world is checked against MC's own grid before switching over. Prefetching and /cursor pregen's worker threads need it.")
+    @Config.DefaultBoolean(true)
+    @Config.RequiresMcRestart
+    public static boolean fuseDensity;
+
+    @Config.Comment("With fuseDensity, only sample the quietest octaves where they could change a block. Blocks come out the same; the density values far from the surface don't, which only matters to mods that read them directly.")
+    @Config.DefaultBoolean(true)
+    @Config.RequiresMcRestart
+    public static boolean adaptiveDensity;
+
+    @Config.Comment("With fuseDensity, how many density grid columns on chunk borders each dimension keeps for the chunk on the other side, which then doesn't sample them again. Each is about 350 bytes. Sampling every column from its own position moves the values by a rounding error against 0, which never shows up as a seam, but is more than IMPROVED allows, so it doesn't share. 0 turns sharing off.")
+    @Config.DefaultInt(8192)
+    @Config.RangeInt(min = 0)
+    @Config.RequiresMcRestart
+    public static int densityColumnCache;
+
+    @Config.Comment("Interpolate ChunkProviderGenerate's density grid into blocks in libCursor. Produces exactly the same terrain as vanilla, with any noiseBackend.")
+    @Config.DefaultBoolean(true)
+    @Config.RequiresMcRestart
+    public static boolean nativeTerrain;
+
+    @Config.Comment("Run the GenLayer biome chain in libCursor. Produces exactly the same biomes as vanilla; chains from biome mods are left alone.")
+    @Config.DefaultBoolean(true)
+    @Config.RequiresMcRestart
+    public static boolean nativeBiomes;
+
+    @Config.Comment("Compute NoiseGeneratorPerlin's 2D octave noise (the stone depth under every biome's surface) in libCursor, a whole area per call. Each generator is checked against Java before switching, and the values match to the bit.")
+    @Config.DefaultBoolean(true)
+    @Config.RequiresMcRestart
+    public static boolean nativeSurfaceNoise;
+
+    @Config.Comment("How many source chunks' cave and ravine starts each world remembers, so the 17x17 chunks around every new chunk don't all have to be re-rolled, and tunnels that can't reach a chunk aren't walked for it. Carves exactly the same blocks. 0 turns the cache off.")
+    @Config.DefaultInt(4096)
+    @Config.RangeInt(min = 0)
+    @Config.RequiresMcRestart
+    public static int carverCacheSize;
+
+    @Config.Comment("Split single large noise requests (pregen, big mod volumes) across this many threads. 1 or less keeps every request on the calling thread. The output is identical either way.")
+    @Config.DefaultInt(1)
+    @Config.RangeInt(min = 0, max = 256)
+    public static int noiseThreads;
+
+    @Config.Comment("Requests with fewer points than this stay on the calling thread even when noiseThreads is above 1. A vanilla density grid is 825 points.")
+    @Config.DefaultInt(32768)
+    @Config.RangeInt(min = 0)
+    public static int parallelNoiseThreshold;
+
+    @Config.Comment("Replace the global IntCache used by biome generation with one pool per thread. Needed for generating chunks on more than one thread.")
+    @Config.DefaultBoolean(true)
+    @Config.RequiresMcRestart
+    public static boolean threadIntCache;
+
+    @Config.Comment("How many arrays of each size a thread's IntCache pool keeps between resets. Anything beyond that is left to the GC.")
+    @Config.DefaultInt(64)
+    @Config.RangeInt(min = 0)
+    public static int intCacheRetained;
+
+    @Config.Comment("How many free off-heap noise buffers of each size a thread keeps for reuse. Anything beyond that is left to the GC.")
+    @Config.DefaultInt(16)
+    @Config.RangeInt(min = 0)
+    public static int noiseBuffersRetained;
+
+    @Config.Comment("Most memory, in MiB, that free noise buffers may hold across all threads. Buffers closed past that are left to the GC.")
+    @Config.DefaultInt(64)
+    @Config.RangeInt(min = 0)
+    public static int noiseBuffersRetainedMiB;
+
+    @Config.Comment("Threads that compute density grids for chunks players are heading towards, ahead of time. 0 turns prefetching off. Needs fuseDensity and threadIntCache.")
+    @Config.DefaultInt(2)
+    @Config.RangeInt(min = 0, max = 64)
+    @Config.RequiresMcRestart
+    public static int prefetchThreads;
+
+    @Config.Comment("How many ticks ahead player movement is extrapolated when picking chunks to prefetch.")
+    @Config.DefaultInt(40)
+    @Config.RangeInt(min = 1, max = 1200)
+    @Config.RequiresMcRestart
+    public static int prefetchLookahead;
+
+    @Config.Comment("Most prefetched density grids kept per dimension, queued or finished. Each one is about 7 KB.")
+    @Config.DefaultInt(256)
+    @Config.RangeInt(min = 1)
+    @Config.RequiresMcRestart
+    public static int prefetchMaxChunks;
+
+    @Config.Comment("Threads that compress chunks being saved. Saves are also queued in a map and written in batches, one region at a time, which keeps big autosaves off the server thread. 0 leaves chunk saving to vanilla.")
+    @Config.DefaultInt(2)
+    @Config.RangeInt(min = 0, max = 64)
+    @Config.RequiresMcRestart
+    public static int regionIoThreads;
+
+    @Config.Comment("Keep the blocks of loaded chunk sections as a palette of the blocks in them plus bit packed indices, instead of about 6 KB of arrays each. Sections are packed as chunks are loaded and saved, and go back to plain arrays when written to. Server only. Turns itself off next to extended block id mods (NotEnoughIDs, EndlessIDs), which replace how sections store block ids.")
+    @Config.DefaultBoolean(false)
+    @Config.RequiresMcRestart
+    public static boolean packSections;
+
+    @Config.Comment("Milliseconds of each server tick /cursor pregen may spend generating, split between dimensions. A tick is 50 ms; the rest is left for the server.")
+    @Config.DefaultInt(25)
+    @Config.RangeInt(min = 1, max = 1000)
+    @Config.RequiresMcRestart
+    public static int pregenTickBudget;
+
+    @Config.Comment("Time each stage of world generation into histograms, shown by /cursor stats, and emit them as JFR events (cursor.GenerationStage). Costs a couple of clock reads per stage.")
+    @Config.DefaultBoolean(true)
+    @Config.RequiresMcRestart
+    public static boolean telemetry;
+}
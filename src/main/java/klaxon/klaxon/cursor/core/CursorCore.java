@@ -1,6 +1,6 @@
 /**
  * This file is part of Cursor - a mod that _runs_.
- * Copyright (C) 2025 ah-OOG-ah
+ * Copyright (C) 2025-2026 ah-OOG-ah
  *
  * Cursor is free software: you can redistribute it and/or modify
  * it under the terms of the GNU Lesser General Public License as published by
@@ -25,14 +25,25 @@ import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.gtnewhorizon.gtnhlib.config.ConfigException;
+import com.gtnewhorizon.gtnhlib.config.ConfigurationManager;
 import com.gtnewhorizon.gtnhmixins.IEarlyMixinLoader;
 
 import cpw.mods.fml.relauncher.IFMLLoadingPlugin;
+import klaxon.klaxon.cursor.config.CursorConfig;
 
 public class CursorCore implements IFMLLoadingPlugin, IEarlyMixinLoader {
 
     public static final Logger EARLY_LOG = LogManager.getLogger("CursorCore");
 
+    static {
+        try {
+            ConfigurationManager.registerConfig(CursorConfig.class);
+        } catch (ConfigException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public String getMixinConfig() {
         return "mixins.cursor.early.json";
@@ -1,6 +1,6 @@
 /**
  * This file is part of Cursor - a mod that _runs_.
- * Copyright (C) 2023-2025 ah-OOG-ah
+ * Copyright (C) 2023-2026 ah-OOG-ah
  * Copyright (C) 2021-2024 various authors (from Hodgepodge)
  *
  * Cursor is free software: you can redistribute it and/or modify
@@ -30,8 +30,83 @@ import java.util.Set;
 import java.util.function.Supplier;
 
 import cpw.mods.fml.relauncher.FMLLaunchHandler;
+import klaxon.klaxon.cursor.config.CursorConfig;
+import klaxon.klaxon.cursor.noise.NoiseBackend;
 
 public enum Mixins {
+
+    NATIVE_NOISE(new Builder("Route NoiseGeneratorImproved through libCursor")
+        .addMixinClasses("early.minecraft.AccessorNoiseGeneratorOctaves", "early.minecraft.MixinNoiseGeneratorImproved")
+        .setPhase(Phase.EARLY)
+        .setApplyIf(() -> CursorConfig.noiseBackend != NoiseBackend.VANILLA)
+        .addTargetedMod(TargetedMod.VANILLA)),
+    FUSED_DENSITY(new Builder("Compute ChunkProviderGenerate's density grid in one native call")
+        .addMixinClasses("early.minecraft.AccessorPlayerManager", "early.minecraft.MixinChunkProviderGenerate")
+        .setPhase(Phase.EARLY)
+        .setApplyIf(() -> CursorConfig.noiseBackend.canFuse() && CursorConfig.fuseDensity)
+        .addTargetedMod(TargetedMod.VANILLA)),
+    NATIVE_TERRAIN(new Builder("Interpolate ChunkProviderGenerate's density grid into blocks natively")
+        .addMixinClasses("early.minecraft.MixinChunkProviderGenerateTerrain")
+        .setPhase(Phase.EARLY)
+        .setApplyIf(() -> CursorConfig.nativeTerrain)
+        .addTargetedMod(TargetedMod.VANILLA)),
+    NATIVE_SURFACE_NOISE(new Builder("Compute NoiseGeneratorPerlin's 2D noise in libCursor")
+        .addMixinClasses("early.minecraft.MixinNoiseGeneratorPerlin", "early.minecraft.MixinNoiseGeneratorSimplex")
+        .setPhase(Phase.EARLY)
+        .setApplyIf(() -> CursorConfig.nativeSurfaceNoise)
+        .addTargetedMod(TargetedMod.VANILLA)),
+    NATIVE_BIOMES(new Builder("Run the GenLayer biome chain in libCursor")
+        .addMixinClasses(
+            "early.minecraft.AccessorGenLayer",
+            "early.minecraft.AccessorGenLayerBiome",
+            "early.minecraft.AccessorGenLayerEdge",
+            "early.minecraft.AccessorGenLayerHills",
+            "early.minecraft.AccessorGenLayerRiverMix",
+            "early.minecraft.MixinWorldChunkManager")
+        .setPhase(Phase.EARLY)
+        .setApplyIf(() -> CursorConfig.nativeBiomes)
+        .addTargetedMod(TargetedMod.VANILLA)),
+    CARVER_CACHE(new Builder("Remember where caves and ravines start and reach in each source chunk")
+        .addMixinClasses("early.minecraft.MixinMapGenCaves", "early.minecraft.MixinMapGenRavine")
+        .setPhase(Phase.EARLY)
+        .setApplyIf(() -> CursorConfig.carverCacheSize > 0)
+        .addTargetedMod(TargetedMod.VANILLA)),
+    THREAD_INT_CACHE(new Builder("Give every thread its own IntCache pool")
+        .addMixinClasses("early.minecraft.MixinIntCache")
+        .setPhase(Phase.EARLY)
+        .setApplyIf(() -> CursorConfig.threadIntCache)
+        .addTargetedMod(TargetedMod.VANILLA)),
+    REGION_IO(new Builder("Save chunks in compressed batches")
+        .addMixinClasses("early.minecraft.AccessorRegionFile", "early.minecraft.MixinAnvilChunkLoader")
+        .setPhase(Phase.EARLY)
+        .setApplyIf(() -> CursorConfig.regionIoThreads > 0)
+        .addTargetedMod(TargetedMod.VANILLA)),
+    PACKED_SECTIONS(new Builder("Keep chunk sections' blocks palette packed")
+        .addMixinClasses(
+            "early.minecraft.MixinAnvilChunkLoaderPacked",
+            "early.minecraft.MixinExtendedBlockStorage",
+            "early.minecraft.MixinS21PacketChunkData")
+        .setPhase(Phase.EARLY)
+        .setApplyIf(() -> CursorConfig.packSections)
+        .addTargetedMod(TargetedMod.VANILLA)
+        // Both overwrite the same ExtendedBlockStorage getters, and store ids past 4095 where the palette can't
+        .addExcludedMod(TargetedMod.NOT_ENOUGH_IDS)
+        .addExcludedMod(TargetedMod.ENDLESS_IDS)),
+    TELEMETRY(new Builder("Time the stages of world generation")
+        .addMixinClasses(
+            "early.minecraft.MixinChunk",
+            "early.minecraft.MixinChunkProviderGenerateTelemetry",
+            "early.minecraft.MixinNoiseGeneratorOctaves")
+        .setPhase(Phase.EARLY)
+        .setApplyIf(() -> CursorConfig.telemetry)
+        .addTargetedMod(TargetedMod.VANILLA)),
+
+    // Late, for mods
+    TWILIGHT_FOREST_VANILLA_NOISE(new Builder("Keep the Twilight Forest on vanilla noise")
+        .addMixinClasses("late.twilightforest.MixinChunkProviderTwilightForest")
+        .setPhase(Phase.LATE)
+        .setApplyIf(() -> CursorConfig.noiseBackend != NoiseBackend.VANILLA && !CursorConfig.twilightForestNoise)
+        .addTargetedMod(TargetedMod.TWILIGHT_FOREST)),
     ;
 
     private final List<String> mixinClasses;
@@ -1,6 +1,6 @@
 /**
  * This file is part of Cursor - a mod that _runs_.
- * Copyright (C) 2022-2025 ah-OOG-ah
+ * Copyright (C) 2022-2026 ah-OOG-ah
  * Copyright (C) 2021-2023 various authors (from Hodgepodge)
  *
  * Cursor is free software: you can redistribute it and/or modify
@@ -21,7 +21,11 @@ package klaxon.klaxon.cursor.core;
 
 public enum TargetedMod {
 
-    VANILLA("Minecraft", null);
+    VANILLA("Minecraft", null),
+    TWILIGHT_FOREST("The Twilight Forest", null, "TwilightForest"),
+    // Extended block id mods, they rewrite how ExtendedBlockStorage keeps ids
+    NOT_ENOUGH_IDS("NotEnoughIDs", "com.gtnewhorizons.neid.core.NEIDCore", "neid"),
+    ENDLESS_IDS("EndlessIDs", "com.falsepattern.endlessids.asm.EndlessIDsCore", "endlessids");
 
     /** The "name" in the @Mod annotation */
     public final String modName;
@@ -0,0 +1,41 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.core.mixins.early.minecraft;
+
+import net.minecraft.world.gen.layer.GenLayer;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+@Mixin(GenLayer.class)
+public interface AccessorGenLayer {
+
+    @Accessor("parent")
+    GenLayer cursor$getParent();
+
+    /** Set by initWorldGenSeed */
+    @Accessor("worldGenSeed")
+    long cursor$getWorldGenSeed();
+
+    @Invoker("compareBiomesById")
+    static boolean cursor$compareBiomesById(int a, int b) {
+        throw new AssertionError();
+    }
+}
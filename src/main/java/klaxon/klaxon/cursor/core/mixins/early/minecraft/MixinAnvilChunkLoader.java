@@ -0,0 +1,166 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.core.mixins.early.minecraft;
+
+import static klaxon.klaxon.cursor.Cursor.LOG;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraft.world.storage.ThreadedFileIOBase;
+
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import klaxon.klaxon.cursor.io.RegionIO;
+
+/**
+ * Replaces the pending-save list with a map, and saves it in batches through {@link RegionIO}. Vanilla scans the list
+ * under its lock for every chunk saved and every chunk loaded, which is what makes autosaves with thousands of chunks
+ * queued stall the server thread. Chunks stay pending until they're on disk, so loads never see an older copy.
+ * <p>
+ * pendingAnvilChunksCoordinates is kept up to date for anyone reading it, but chunksToRemove stays empty, and Forge's
+ * chunkExists only believes a pending coordinate it also finds there. chunkExists is answered from the map instead, so
+ * ChunkProviderServer still takes the async load path for chunks that haven't been written yet.
+ */
+@Mixin(AnvilChunkLoader.class)
+public abstract class MixinAnvilChunkLoader {
+
+    /** Most chunks written per writeNextIO */
+    @Unique
+    private static final int cursor$BATCH = 256;
+
+    @Shadow
+    private Set<ChunkCoordIntPair> pendingAnvilChunksCoordinates;
+    @Shadow
+    private Object syncLockObject;
+    @Shadow
+    @Final
+    public File chunkSaveLocation;
+
+    /** In save order, guarded by syncLockObject */
+    @Unique
+    private final Map<ChunkCoordIntPair, NBTTagCompound> cursor$pending = new LinkedHashMap<>();
+    /** Being written by some writeNextIO right now, guarded by syncLockObject */
+    @Unique
+    private final Set<ChunkCoordIntPair> cursor$writing = new HashSet<>();
+
+    @Shadow
+    protected abstract Object[] checkedReadChunkFromNBT__Async(World world, int chunkX, int chunkZ,
+        NBTTagCompound tag);
+
+    @Inject(method = "addChunkToPending", at = @At("HEAD"), cancellable = true)
+    private void cursor$addChunkToPending(ChunkCoordIntPair coord, NBTTagCompound tag, CallbackInfo ci) {
+        synchronized (syncLockObject) {
+            if (cursor$pending.put(coord, tag) == null) {
+                pendingAnvilChunksCoordinates.add(coord);
+                ThreadedFileIOBase.threadedIOInstance.queueIO((AnvilChunkLoader) (Object) this);
+            }
+        }
+        ci.cancel();
+    }
+
+    @Inject(method = "chunkExists", at = @At("HEAD"), cancellable = true)
+    private void cursor$existsPending(World world, int chunkX, int chunkZ, CallbackInfoReturnable<Boolean> cir) {
+        final boolean pending;
+        synchronized (syncLockObject) {
+            pending = cursor$pending.containsKey(new ChunkCoordIntPair(chunkX, chunkZ));
+        }
+        // Otherwise vanilla looks in the region file
+        if (pending) cir.setReturnValue(true);
+    }
+
+    @Inject(method = "loadChunk__Async", at = @At("HEAD"), cancellable = true)
+    private void cursor$loadPending(World world, int chunkX, int chunkZ, CallbackInfoReturnable<Object[]> cir) {
+        final NBTTagCompound tag;
+        synchronized (syncLockObject) {
+            tag = cursor$pending.get(new ChunkCoordIntPair(chunkX, chunkZ));
+        }
+        // Otherwise vanilla reads it from disk
+        if (tag != null) cir.setReturnValue(checkedReadChunkFromNBT__Async(world, chunkX, chunkZ, tag));
+    }
+
+    @Inject(method = "writeNextIO", at = @At("HEAD"), cancellable = true)
+    private void cursor$writeBatch(CallbackInfoReturnable<Boolean> cir) {
+        final List<ChunkCoordIntPair> coords = new ArrayList<>();
+        final List<NBTTagCompound> tags = new ArrayList<>();
+        synchronized (syncLockObject) {
+            final Iterator<Map.Entry<ChunkCoordIntPair, NBTTagCompound>> it = cursor$pending.entrySet()
+                .iterator();
+            while (it.hasNext() && coords.size() < cursor$BATCH) {
+                final Map.Entry<ChunkCoordIntPair, NBTTagCompound> e = it.next();
+                if (!cursor$writing.add(e.getKey())) continue;
+                coords.add(e.getKey());
+                tags.add(e.getValue());
+            }
+        }
+
+        if (coords.isEmpty()) {
+            // Whatever is left is being written by another thread
+            final boolean more;
+            synchronized (syncLockObject) {
+                more = !cursor$pending.isEmpty();
+            }
+            if (more) Thread.yield();
+            cir.setReturnValue(more);
+            return;
+        }
+
+        try {
+            RegionIO.write(chunkSaveLocation, coords, tags);
+        } catch (RuntimeException e) {
+            // Vanilla logs and carries on too; throwing would kill the file IO thread, and every save with it. The
+            // chunks are still pending, so the next writeNextIO tries them again.
+            LOG.error("Couldn't save a batch of {} chunks to {}", coords.size(), chunkSaveLocation, e);
+            synchronized (syncLockObject) {
+                cursor$writing.removeAll(coords);
+            }
+            cir.setReturnValue(true);
+            return;
+        }
+
+        synchronized (syncLockObject) {
+            for (int i = 0; i < coords.size(); ++i) {
+                final ChunkCoordIntPair coord = coords.get(i);
+                cursor$writing.remove(coord);
+                // Saved again while this was writing, the newer copy still has to go out
+                if (cursor$pending.get(coord) != tags.get(i)) continue;
+                cursor$pending.remove(coord);
+                pendingAnvilChunksCoordinates.remove(coord);
+            }
+            cir.setReturnValue(!cursor$pending.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.core.mixins.early.minecraft;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import klaxon.klaxon.cursor.chunk.PackedBlocks;
+
+/**
+ * Packs sections as they're loaded, and again as they're saved, which catches everything generated or edited since.
+ * Saving reads the blocks through copies, so it doesn't unpack what it just packed.
+ */
+@Mixin(AnvilChunkLoader.class)
+public abstract class MixinAnvilChunkLoaderPacked {
+
+    /** Runs on the chunk IO thread for async loads, before anything else can see the chunk */
+    @Inject(method = "readChunkFromNBT", at = @At("RETURN"))
+    private void cursor$packLoaded(World world, NBTTagCompound tag, CallbackInfoReturnable<Chunk> cir) {
+        cursor$pack(cir.getReturnValue());
+    }
+
+    @Inject(method = "writeChunkToNBT", at = @At("HEAD"))
+    private void cursor$packSaved(Chunk chunk, World world, NBTTagCompound tag, CallbackInfo ci) {
+        cursor$pack(chunk);
+    }
+
+    @Redirect(
+        method = "writeChunkToNBT",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/world/chunk/storage/ExtendedBlockStorage;getBlockLSBArray()[B"))
+    private byte[] cursor$readBlockLSB(ExtendedBlockStorage ebs) {
+        return ((PackedBlocks.Section) ebs).cursor$readBlockLSB();
+    }
+
+    @Redirect(
+        method = "writeChunkToNBT",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/world/chunk/storage/ExtendedBlockStorage;getBlockMSBArray()Lnet/minecraft/world/chunk/NibbleArray;"))
+    private NibbleArray cursor$readBlockMSB(ExtendedBlockStorage ebs) {
+        return ((PackedBlocks.Section) ebs).cursor$readBlockMSB();
+    }
+
+    @Redirect(
+        method = "writeChunkToNBT",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/world/chunk/storage/ExtendedBlockStorage;getMetadataArray()Lnet/minecraft/world/chunk/NibbleArray;"))
+    private NibbleArray cursor$readMetadata(ExtendedBlockStorage ebs) {
+        return ((PackedBlocks.Section) ebs).cursor$readMetadata();
+    }
+
+    @Unique
+    private static void cursor$pack(Chunk chunk) {
+        if (chunk == null) return;
+
+        for (ExtendedBlockStorage ebs : chunk.getBlockStorageArray()) {
+            if (ebs != null) ((PackedBlocks.Section) ebs).cursor$pack();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.core.mixins.early.minecraft;
+
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+import klaxon.klaxon.cursor.stats.GenStage;
+import klaxon.klaxon.cursor.stats.GenStats;
+
+/**
+ * Times population and the light checks that follow it. Both go through Chunk for every dimension and chunk provider,
+ * mods' included.
+ */
+@Mixin(Chunk.class)
+public abstract class MixinChunk {
+
+    @Redirect(
+        method = "populateChunk",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/world/chunk/IChunkProvider;populate(Lnet/minecraft/world/chunk/IChunkProvider;II)V"))
+    private void cursor$timePopulate(IChunkProvider provider, IChunkProvider generator, int chunkX, int chunkZ) {
+        final long start = GenStats.begin();
+        provider.populate(generator, chunkX, chunkZ);
+        GenStats.end(GenStage.POPULATION, start);
+    }
+
+    @Redirect(method = "func_150804_b", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/chunk/Chunk;func_150809_p()V"))
+    private void cursor$timeLightCheck(Chunk self) {
+        final long start = GenStats.begin();
+        self.func_150809_p();
+        GenStats.end(GenStage.LIGHTING, start);
+    }
+}
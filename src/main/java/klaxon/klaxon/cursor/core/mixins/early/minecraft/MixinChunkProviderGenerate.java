@@ -0,0 +1,169 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.core.mixins.early.minecraft;
+
+import static klaxon.klaxon.cursor.Cursor.LOG;
+
+import net.minecraft.world.World;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.biome.WorldChunkManager;
+import net.minecraft.world.gen.ChunkProviderGenerate;
+import net.minecraft.world.gen.NoiseGeneratorImproved;
+import net.minecraft.world.gen.NoiseGeneratorOctaves;
+
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import klaxon.klaxon.cursor.config.CursorConfig;
+import klaxon.klaxon.cursor.gen.DensityPrefetcher;
+import klaxon.klaxon.cursor.noise.FusedDensity;
+import klaxon.klaxon.cursor.noise.NoiseBackend;
+
+@Mixin(ChunkProviderGenerate.class)
+public abstract class MixinChunkProviderGenerate implements DensityPrefetcher.Owner {
+
+    @Shadow
+    private World worldObj;
+    /** Min limit noise */
+    @Shadow
+    private NoiseGeneratorOctaves field_147431_j;
+    /** Max limit noise */
+    @Shadow
+    private NoiseGeneratorOctaves field_147432_k;
+    /** Main noise */
+    @Shadow
+    private NoiseGeneratorOctaves field_147429_l;
+    /** Depth noise */
+    @Shadow
+    public NoiseGeneratorOctaves noiseGen6;
+    @Shadow
+    private WorldType field_147435_p;
+    /** The density grid */
+    @Shadow
+    @Final
+    private double[] field_147434_q;
+    @Shadow
+    private BiomeGenBase[] biomesForGeneration;
+
+    /** Null until the first chunk, and if the generators can't be fused */
+    @Unique
+    private FusedDensity cursor$density;
+    @Unique
+    private boolean cursor$triedFusing;
+    /** Null without a fused density, or if prefetching is off */
+    @Unique
+    private DensityPrefetcher cursor$prefetcher;
+    /**
+     * With IMPROVED, the fused grid for the first chunk, without adaptive estimates. MC works the same chunk out itself
+     * and the two have to match before the fused one takes over.
+     */
+    @Unique
+    private double[] cursor$unchecked;
+
+    @Inject(method = "func_147423_a", at = @At("HEAD"), cancellable = true)
+    private void cursor$fillDensity(int xPos, int yPos, int zPos, CallbackInfo ci) {
+        if (!cursor$triedFusing) {
+            cursor$triedFusing = true;
+
+            // Set up on first use rather than in the constructor, in case anything replaces the generators after it
+            final NoiseGeneratorImproved[] main = cursor$octaves(field_147429_l);
+            final NoiseGeneratorImproved[] minLimit = cursor$octaves(field_147431_j);
+            final NoiseGeneratorImproved[] maxLimit = cursor$octaves(field_147432_k);
+            final NoiseGeneratorImproved[] depth = cursor$octaves(noiseGen6);
+            if (FusedDensity.canFuse(main, minLimit, maxLimit, depth)) {
+                final NoiseBackend backend = CursorConfig.noiseBackend;
+                final boolean amplified = field_147435_p == WorldType.AMPLIFIED;
+                cursor$density = new FusedDensity(main, minLimit, maxLimit, depth, backend, amplified,
+                    CursorConfig.adaptiveDensity, CursorConfig.densityColumnCache);
+
+                if (backend == NoiseBackend.IMPROVED) {
+                    // Let MC fill this one, cursor$checkDensity compares
+                    final double[] exact = new double[FusedDensity.GRID_LEN];
+                    if (new FusedDensity(main, minLimit, maxLimit, depth, backend, amplified, false, 0)
+                        .fill(exact, xPos, zPos, biomesForGeneration)) {
+                        cursor$unchecked = exact;
+                    } else {
+                        cursor$density = null;
+                    }
+                    return;
+                }
+
+                cursor$startPrefetching();
+            }
+        }
+
+        // func_147423_a is only ever called with y = 0, but better safe than sorry
+        if (cursor$density == null || yPos != 0) return;
+
+        // xPos and zPos are the chunk's coords * 4
+        if (cursor$prefetcher != null && cursor$prefetcher.take(xPos >> 2, zPos >> 2, field_147434_q)) {
+            ci.cancel();
+            return;
+        }
+
+        if (cursor$density.fill(field_147434_q, xPos, zPos, biomesForGeneration)) {
+            ci.cancel();
+        }
+    }
+
+    @Inject(method = "func_147423_a", at = @At("RETURN"))
+    private void cursor$checkDensity(int xPos, int yPos, int zPos, CallbackInfo ci) {
+        final double[] fused = cursor$unchecked;
+        if (fused == null) return;
+        cursor$unchecked = null;
+
+        for (int i = 0; i < fused.length; ++i) {
+            if (Double.doubleToRawLongBits(fused[i]) != Double.doubleToRawLongBits(field_147434_q[i])) {
+                LOG.warn("Fused density differs from MC's at index {} of {}, {}: {} vs {}. Not fusing this world.", i,
+                    xPos, zPos, fused[i], field_147434_q[i]);
+                cursor$density = null;
+                return;
+            }
+        }
+        cursor$startPrefetching();
+    }
+
+    /**
+     * The prefetcher's biomes come from its own WorldChunkManagers, which only match the world's if it uses a plain one
+     */
+    @Unique
+    private void cursor$startPrefetching() {
+        if (DensityPrefetcher.isEnabled() && CursorConfig.threadIntCache
+            && worldObj.getWorldChunkManager()
+                .getClass() == WorldChunkManager.class) {
+            cursor$prefetcher = new DensityPrefetcher(worldObj, cursor$density, CursorConfig.prefetchMaxChunks);
+        }
+    }
+
+    @Override
+    public DensityPrefetcher cursor$getPrefetcher() {
+        return cursor$prefetcher;
+    }
+
+    @Unique
+    private static NoiseGeneratorImproved[] cursor$octaves(NoiseGeneratorOctaves octaves) {
+        return ((AccessorNoiseGeneratorOctaves) octaves).cursor$getGeneratorCollection();
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.core.mixins.early.minecraft;
+
+import net.minecraft.block.Block;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.biome.WorldChunkManager;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.gen.ChunkProviderGenerate;
+import net.minecraft.world.gen.MapGenBase;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import klaxon.klaxon.cursor.stats.GenStage;
+import klaxon.klaxon.cursor.stats.GenStats;
+
+/**
+ * Times the stages of vanilla overworld generation. {@link MixinChunkProviderGenerateTerrain} replaces func_147424_a
+ * whole when it can, so it times its own density and interpolation.
+ */
+@Mixin(ChunkProviderGenerate.class)
+public abstract class MixinChunkProviderGenerateTelemetry {
+
+    /** Set once the density grid is done, 0 when func_147424_a isn't being timed */
+    @Unique
+    private long cursor$interpolationStart;
+
+    @Shadow
+    private void func_147423_a(int xPos, int yPos, int zPos) {}
+
+    @Redirect(
+        method = "func_147424_a",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/world/biome/WorldChunkManager;getBiomesForGeneration([Lnet/minecraft/world/biome/BiomeGenBase;IIII)[Lnet/minecraft/world/biome/BiomeGenBase;"))
+    private BiomeGenBase[] cursor$timeBiomes(WorldChunkManager manager, BiomeGenBase[] biomes, int x, int z, int width,
+        int depth) {
+        final long start = GenStats.begin();
+        final BiomeGenBase[] result = manager.getBiomesForGeneration(biomes, x, z, width, depth);
+        GenStats.end(GenStage.BIOMES, start);
+        return result;
+    }
+
+    @Redirect(
+        method = "func_147424_a",
+        at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/ChunkProviderGenerate;func_147423_a(III)V"))
+    private void cursor$timeDensity(ChunkProviderGenerate self, int xPos, int yPos, int zPos) {
+        final long start = GenStats.begin();
+        func_147423_a(xPos, yPos, zPos);
+        GenStats.end(GenStage.DENSITY, start);
+        cursor$interpolationStart = GenStats.begin();
+    }
+
+    @Inject(method = "func_147424_a", at = @At("RETURN"))
+    private void cursor$timeInterpolation(int chunkX, int chunkZ, Block[] blocks, CallbackInfo ci) {
+        GenStats.end(GenStage.INTERPOLATION, cursor$interpolationStart);
+        cursor$interpolationStart = 0;
+    }
+
+    @Redirect(
+        method = "provideChunk",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/world/biome/WorldChunkManager;loadBlockGeneratorData([Lnet/minecraft/world/biome/BiomeGenBase;IIII)[Lnet/minecraft/world/biome/BiomeGenBase;"))
+    private BiomeGenBase[] cursor$timeBlockBiomes(WorldChunkManager manager, BiomeGenBase[] biomes, int x, int z,
+        int width, int depth) {
+        final long start = GenStats.begin();
+        final BiomeGenBase[] result = manager.loadBlockGeneratorData(biomes, x, z, width, depth);
+        GenStats.end(GenStage.BIOMES, start);
+        return result;
+    }
+
+    /** Caves and ravines; the structure generators have their own types, so they don't match */
+    @Redirect(
+        method = "provideChunk",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/world/gen/MapGenBase;func_151539_a(Lnet/minecraft/world/chunk/IChunkProvider;Lnet/minecraft/world/World;II[Lnet/minecraft/block/Block;)V"))
+    private void cursor$timeCarver(MapGenBase carver, IChunkProvider provider, World world, int chunkX, int chunkZ,
+        Block[] blocks) {
+        final long start = GenStats.begin();
+        carver.func_151539_a(provider, world, chunkX, chunkZ, blocks);
+        GenStats.end(GenStage.CARVERS, start);
+    }
+
+    @Redirect(
+        method = "provideChunk",
+        at = @At(value = "INVOKE", target = "Lnet/minecraft/world/chunk/Chunk;generateSkylightMap()V"))
+    private void cursor$timeSkylight(Chunk chunk) {
+        final long start = GenStats.begin();
+        chunk.generateSkylightMap();
+        GenStats.end(GenStage.LIGHTING, start);
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.core.mixins.early.minecraft;
+
+import net.minecraft.block.Block;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.gen.ChunkProviderGenerate;
+
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import klaxon.klaxon.cursor.noise.NativeTerrain;
+import klaxon.klaxon.cursor.stats.GenStage;
+import klaxon.klaxon.cursor.stats.GenStats;
+
+/**
+ * Hands func_147424_a's interpolation to libCursor. Kept apart from {@link MixinChunkProviderGenerate}, since the
+ * output is exact and so is worth having with any noise backend, vanilla included.
+ */
+@Mixin(ChunkProviderGenerate.class)
+public abstract class MixinChunkProviderGenerateTerrain {
+
+    @Shadow
+    private World worldObj;
+    /** The density grid */
+    @Shadow
+    @Final
+    private double[] field_147434_q;
+    @Shadow
+    private BiomeGenBase[] biomesForGeneration;
+
+    @Shadow
+    private void func_147423_a(int xPos, int yPos, int zPos) {}
+
+    @Inject(method = "func_147424_a", at = @At("HEAD"), cancellable = true)
+    private void cursor$interpolate(int chunkX, int chunkZ, Block[] blocks, CallbackInfo ci) {
+        if (!NativeTerrain.isAvailable()) return;
+
+        // Everything vanilla does before the interpolation, unchanged, so the density mixins still apply
+        long start = GenStats.begin();
+        biomesForGeneration = worldObj.getWorldChunkManager()
+            .getBiomesForGeneration(biomesForGeneration, chunkX * 4 - 2, chunkZ * 4 - 2, 10, 10);
+        GenStats.end(GenStage.BIOMES, start);
+
+        start = GenStats.begin();
+        func_147423_a(chunkX * 4, 0, chunkZ * 4);
+        GenStats.end(GenStage.DENSITY, start);
+
+        start = GenStats.begin();
+        if (NativeTerrain.fillBlocks(field_147434_q, blocks)) {
+            GenStats.end(GenStage.INTERPOLATION, start);
+            ci.cancel();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.core.mixins.early.minecraft;
+
+import static klaxon.klaxon.cursor.chunk.PackedBlocks.index;
+
+import net.minecraft.block.Block;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Overwrite;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import klaxon.klaxon.cursor.chunk.PackedBlocks;
+
+/**
+ * Lets a section keep its blocks as {@link PackedBlocks} instead of the LSB, MSB and metadata arrays. While packed,
+ * those three are null; reads go to the palette, and anything that writes a block or asks for one of the arrays
+ * unpacks the section first, so it can't tell the difference. Light stays in vanilla's arrays.
+ * <p>
+ * Sections are only packed on the server, by {@link MixinAnvilChunkLoaderPacked}. That can happen while another thread
+ * is reading, so the read paths look at the arrays through locals, and go back to the palette if they find them gone.
+ */
+@Mixin(ExtendedBlockStorage.class)
+public abstract class MixinExtendedBlockStorage implements PackedBlocks.Section {
+
+    @Shadow
+    private byte[] blockLSBArray;
+    @Shadow
+    private NibbleArray blockMSBArray;
+    @Shadow
+    private NibbleArray blockMetadataArray;
+
+    /** Null while the vanilla arrays hold the blocks. Set before they're dropped, cleared only after they're back. */
+    @Unique
+    private volatile PackedBlocks cursor$packed;
+
+    /**
+     * @author ah-OOG-ah
+     * @reason Read packed sections without unpacking them
+     */
+    @Overwrite
+    public Block getBlockByExtId(int x, int y, int z) {
+        final int i = index(x, y, z);
+        while (true) {
+            final PackedBlocks packed = cursor$packed;
+            if (packed != null) return Block.getBlockById(packed.getId(i));
+
+            final byte[] lsb = blockLSBArray;
+            final NibbleArray msb = blockMSBArray;
+            if (cursor$packedSince(lsb)) continue;
+
+            int id = lsb[i] & 255;
+            if (msb != null) id |= msb.get(x, y, z) << 8;
+            return Block.getBlockById(id);
+        }
+    }
+
+    /**
+     * @author ah-OOG-ah
+     * @reason Read packed sections without unpacking them
+     */
+    @Overwrite
+    public int getExtBlockMetadata(int x, int y, int z) {
+        while (true) {
+            final PackedBlocks packed = cursor$packed;
+            if (packed != null) return packed.getMeta(index(x, y, z));
+
+            final NibbleArray meta = blockMetadataArray;
+            if (cursor$packedSince(meta)) continue;
+
+            return meta.get(x, y, z);
+        }
+    }
+
+    /**
+     * Whether the section got packed after a read found {@link #cursor$packed} null, so the arrays just read can't be
+     * trusted. They're dropped right after it's set, but the null can still show up first on another thread; that
+     * only lasts until the write to cursor$packed arrives.
+     */
+    @Unique
+    private boolean cursor$packedSince(Object array) {
+        if (cursor$packed != null) return true;
+        if (array != null) return false;
+
+        Thread.onSpinWait();
+        return true;
+    }
+
+    @Inject(method = { "func_150818_a", "setExtBlockMetadata", "createBlockMSBArray" }, at = @At("HEAD"))
+    private void cursor$unpackForWrite(CallbackInfo ci) {
+        cursor$unpack();
+    }
+
+    @Inject(method = { "setBlockLSBArray", "setBlockMSBArray", "setBlockMetadataArray" }, at = @At("HEAD"))
+    private void cursor$unpackForSet(CallbackInfo ci) {
+        // The other two arrays have to come back before one gets replaced
+        cursor$unpack();
+    }
+
+    /** Whoever asks for an array may well write to it */
+    @Inject(method = { "getBlockLSBArray", "getBlockMSBArray", "getMetadataArray" }, at = @At("HEAD"))
+    private void cursor$unpackForArray(CallbackInfoReturnable<?> cir) {
+        cursor$unpack();
+    }
+
+    @Unique
+    private void cursor$unpack() {
+        final PackedBlocks packed = cursor$packed;
+        if (packed == null) return;
+
+        blockLSBArray = packed.toBlockLSB();
+        blockMSBArray = packed.toBlockMSB();
+        blockMetadataArray = packed.toMetadata();
+        cursor$packed = null;
+    }
+
+    @Override
+    public void cursor$pack() {
+        if (cursor$packed != null || blockLSBArray == null || blockMetadataArray == null) return;
+
+        final PackedBlocks packed = PackedBlocks.pack(blockLSBArray, blockMSBArray, blockMetadataArray);
+        if (packed == null) return;
+
+        cursor$packed = packed;
+        blockLSBArray = null;
+        blockMSBArray = null;
+        blockMetadataArray = null;
+    }
+
+    @Override
+    public byte[] cursor$readBlockLSB() {
+        while (true) {
+            final PackedBlocks packed = cursor$packed;
+            if (packed != null) return packed.toBlockLSB();
+
+            final byte[] lsb = blockLSBArray;
+            if (!cursor$packedSince(lsb)) return lsb;
+        }
+    }
+
+    @Override
+    public NibbleArray cursor$readBlockMSB() {
+        while (true) {
+            final PackedBlocks packed = cursor$packed;
+            if (packed != null) return packed.toBlockMSB();
+
+            // Null is a real answer here, sections without ids past 255 don't have one
+            final NibbleArray msb = blockMSBArray;
+            if (cursor$packed == null) return msb;
+        }
+    }
+
+    @Override
+    public NibbleArray cursor$readMetadata() {
+        while (true) {
+            final PackedBlocks packed = cursor$packed;
+            if (packed != null) return packed.toMetadata();
+
+            final NibbleArray meta = blockMetadataArray;
+            if (!cursor$packedSince(meta)) return meta;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.core.mixins.early.minecraft;
+
+import net.minecraft.world.gen.layer.IntCache;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Overwrite;
+
+import klaxon.klaxon.cursor.gen.ThreadIntCache;
+
+@Mixin(IntCache.class)
+public abstract class MixinIntCache {
+
+    /**
+     * @author ah-OOG-ah
+     * @reason Give each thread its own pool, so biomes can be generated on more than one
+     */
+    @Overwrite
+    public static int[] getIntCache(int size) {
+        return ThreadIntCache.get(size);
+    }
+
+    /**
+     * @author ah-OOG-ah
+     * @reason Only reset the calling thread's pool
+     */
+    @Overwrite
+    public static void resetIntCache() {
+        ThreadIntCache.reset();
+    }
+
+    /**
+     * @author ah-OOG-ah
+     * @reason Report the calling thread's pool, since there's no global one anymore
+     */
+    @Overwrite
+    public static String getCacheSizes() {
+        return ThreadIntCache.describe();
+    }
+}
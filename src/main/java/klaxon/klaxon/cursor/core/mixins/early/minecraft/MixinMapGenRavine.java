@@ -0,0 +1,96 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.core.mixins.early.minecraft;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.block.Block;
+import net.minecraft.world.World;
+import net.minecraft.world.gen.MapGenBase;
+import net.minecraft.world.gen.MapGenRavine;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import klaxon.klaxon.cursor.config.CursorConfig;
+import klaxon.klaxon.cursor.gen.CarverStarts;
+
+/**
+ * Caches the ravines MapGenRavine starts in each source chunk, see {@link CarverStarts}. Subclasses are left alone,
+ * they might roll differently.
+ */
+@Mixin(MapGenRavine.class)
+public abstract class MixinMapGenRavine extends MapGenBase {
+
+    @Unique
+    private final CarverStarts cursor$starts = new CarverStarts(CursorConfig.carverCacheSize);
+    /** Non-null while vanilla rolls a source chunk that isn't cached yet */
+    @Unique
+    private List<CarverStarts.Tunnel> cursor$recording;
+
+    @Shadow
+    protected abstract void func_151540_a(long seed, int chunkX, int chunkZ, Block[] blocks, double x, double y,
+        double z, float width, float yaw, float pitch, int step, int steps, double scaleY);
+
+    @Inject(method = "func_151538_a", at = @At("HEAD"), cancellable = true)
+    private void cursor$replayStarts(World world, int sourceX, int sourceZ, int chunkX, int chunkZ, Block[] blocks,
+        CallbackInfo ci) {
+        if (((Object) this).getClass() != MapGenRavine.class) return;
+
+        final CarverStarts.Tunnel[] tunnels = cursor$starts.get(world.getSeed(), sourceX, sourceZ);
+        if (tunnels == null) {
+            cursor$recording = new ArrayList<>();
+            return;
+        }
+
+        for (CarverStarts.Tunnel t : tunnels) {
+            if (!t.reaches(chunkX, chunkZ)) continue;
+            func_151540_a(t.seed, chunkX, chunkZ, blocks, t.x, t.y, t.z, t.width, t.yaw, t.pitch, t.step, t.steps,
+                t.scaleY);
+        }
+        ci.cancel();
+    }
+
+    @Redirect(
+        method = "func_151538_a",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/world/gen/MapGenRavine;func_151540_a(JII[Lnet/minecraft/block/Block;DDDFFFIID)V"))
+    private void cursor$recordTunnel(MapGenRavine self, long seed, int chunkX, int chunkZ, Block[] blocks, double x,
+        double y, double z, float width, float yaw, float pitch, int step, int steps, double scaleY) {
+        if (cursor$recording != null) {
+            cursor$recording.add(CarverStarts.ravine(range, seed, x, y, z, width, yaw, pitch, step, steps, scaleY));
+        }
+        func_151540_a(seed, chunkX, chunkZ, blocks, x, y, z, width, yaw, pitch, step, steps, scaleY);
+    }
+
+    @Inject(method = "func_151538_a", at = @At("RETURN"))
+    private void cursor$storeStarts(World world, int sourceX, int sourceZ, int chunkX, int chunkZ, Block[] blocks,
+        CallbackInfo ci) {
+        if (cursor$recording == null) return;
+        cursor$starts.put(world.getSeed(), sourceX, sourceZ, cursor$recording);
+        cursor$recording = null;
+    }
+}
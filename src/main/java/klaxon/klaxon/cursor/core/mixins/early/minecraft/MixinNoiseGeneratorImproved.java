@@ -0,0 +1,154 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.core.mixins.early.minecraft;
+
+import java.util.Random;
+
+import net.minecraft.world.gen.NoiseGeneratorImproved;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import klaxon.klaxon.cursor.config.CursorConfig;
+import klaxon.klaxon.cursor.noise.NativeImproved;
+import klaxon.klaxon.cursor.noise.NativeNoise;
+import klaxon.klaxon.cursor.noise.NoiseBackend;
+import klaxon.klaxon.cursor.noise.VectorNoise;
+
+@Mixin(NoiseGeneratorImproved.class)
+public abstract class MixinNoiseGeneratorImproved implements NoiseBackend.Pinnable, NativeImproved.Permuted {
+
+    @Shadow
+    public double xCoord;
+    @Shadow
+    public double yCoord;
+    @Shadow
+    public double zCoord;
+    @Shadow
+    private int[] permutations;
+
+    @Unique
+    private long cursor$seed;
+    @Unique
+    private volatile boolean cursor$vanilla;
+    /**
+     * For IMPROVED: whether this generator's first call was checked against Java yet. Prefetch and pregen threads share
+     * generators, so the check runs under {@code this}, and only sets this once it's done.
+     */
+    @Unique
+    private volatile boolean cursor$checked, cursor$inJava;
+
+    @Inject(method = "<init>(Ljava/util/Random;)V", at = @At("RETURN"))
+    private void cursor$deriveSeed(Random random, CallbackInfo ci) {
+        cursor$seed = NativeNoise.seedOf(xCoord, yCoord, zCoord);
+    }
+
+    @Inject(method = "populateNoiseArray", at = @At("HEAD"), cancellable = true)
+    private void cursor$populateNoiseArray(double[] noiseArray, double xOffset, double yOffset, double zOffset,
+        int xSize, int ySize, int zSize, double xScale, double yScale, double zScale, double noiseScale,
+        CallbackInfo ci) {
+        if (cursor$vanilla || cursor$inJava) return;
+
+        if (CursorConfig.noiseBackend == NoiseBackend.IMPROVED) {
+            if (!cursor$checked) {
+                synchronized (this) {
+                    if (!cursor$checked) {
+                        // Both the area asked for, which also leaves MC's result in the array, and the same area
+                        // mirrored to negative coordinates, where the floors take their other branch
+                        if (!cursor$check(noiseArray, xOffset, yOffset, zOffset, xSize, ySize, zSize, xScale, yScale,
+                            zScale, noiseScale)
+                            || !cursor$check(new double[xSize * ySize * zSize], -xOffset - 4096, -yOffset - 4096,
+                                -zOffset - 4096, xSize, ySize, zSize, xScale, yScale, zScale, noiseScale)) {
+                            cursor$vanilla = true;
+                        }
+                        cursor$checked = true;
+                        ci.cancel();
+                        return;
+                    }
+                }
+                if (cursor$vanilla) return;
+            }
+
+            if (NativeImproved.populateNoiseArray(permutations, noiseArray,
+                xCoord, yCoord, zCoord,
+                xOffset, yOffset, zOffset,
+                xSize, ySize, zSize,
+                xScale, yScale, zScale,
+                noiseScale)) {
+                ci.cancel();
+            }
+            return;
+        }
+
+        // MC's 2D branch ignores the y offset entirely, do the same so the slice doesn't move between octaves
+        final double y = ySize == 1 ? yCoord : yOffset + yCoord;
+        final NoiseBackend backend = CursorConfig.noiseBackend;
+        if (NativeNoise.populateNoiseArray(backend, noiseArray,
+            xOffset + xCoord, y, zOffset + zCoord,
+            xSize, ySize, zSize,
+            xScale, yScale, zScale,
+            noiseScale, cursor$seed)
+            || VectorNoise.populateNoiseArray(backend, noiseArray,
+                xOffset + xCoord, y, zOffset + zCoord,
+                xSize, ySize, zSize,
+                xScale, yScale, zScale,
+                noiseScale, cursor$seed)) {
+            ci.cancel();
+        }
+    }
+
+    /**
+     * Runs MC's populateNoiseArray into {@code noiseArray}, and libCursor's into a copy of it.
+     *
+     * @return false if libCursor disagrees, or didn't load
+     */
+    @Unique
+    private boolean cursor$check(double[] noiseArray, double xOffset, double yOffset, double zOffset, int xSize,
+        int ySize, int zSize, double xScale, double yScale, double zScale, double noiseScale) {
+        final double[] actual = noiseArray.clone();
+        cursor$inJava = true;
+        try {
+            ((NoiseGeneratorImproved) (Object) this).populateNoiseArray(noiseArray, xOffset, yOffset, zOffset, xSize,
+                ySize, zSize, xScale, yScale, zScale, noiseScale);
+        } finally {
+            cursor$inJava = false;
+        }
+
+        return NativeImproved.populateNoiseArray(permutations, actual,
+            xCoord, yCoord, zCoord,
+            xOffset, yOffset, zOffset,
+            xSize, ySize, zSize,
+            xScale, yScale, zScale,
+            noiseScale) && NativeImproved.matches(noiseArray, actual, xSize * ySize * zSize);
+    }
+
+    @Override
+    public void cursor$keepVanilla() {
+        cursor$vanilla = true;
+    }
+
+    @Override
+    public int[] cursor$getPermutations() {
+        return permutations;
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.core.mixins.early.minecraft;
+
+import net.minecraft.world.gen.NoiseGeneratorImproved;
+import net.minecraft.world.gen.NoiseGeneratorOctaves;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+import klaxon.klaxon.cursor.stats.GenStats;
+
+/**
+ * Times every octave NoiseGeneratorOctaves samples, whichever backend ends up serving it.
+ */
+@Mixin(NoiseGeneratorOctaves.class)
+public abstract class MixinNoiseGeneratorOctaves {
+
+    @Redirect(
+        method = "generateNoiseOctaves([DIIIIIIDDD)[D",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/world/gen/NoiseGeneratorImproved;populateNoiseArray([DDDDIIIDDDD)V"))
+    private void cursor$timeOctave(NoiseGeneratorImproved generator, double[] noiseArray, double xOffset,
+        double yOffset, double zOffset, int xSize, int ySize, int zSize, double xScale, double yScale, double zScale,
+        double noiseScale) {
+        final long start = GenStats.begin();
+        generator.populateNoiseArray(noiseArray, xOffset, yOffset, zOffset, xSize, ySize, zSize, xScale, yScale,
+            zScale, noiseScale);
+        GenStats.end(GenStats.noiseStage(), start);
+    }
+}
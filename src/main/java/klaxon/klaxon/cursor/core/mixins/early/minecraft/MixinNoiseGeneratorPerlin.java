@@ -0,0 +1,131 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.core.mixins.early.minecraft;
+
+import java.lang.foreign.MemorySegment;
+import java.util.Arrays;
+
+import net.minecraft.world.gen.NoiseGeneratorPerlin;
+import net.minecraft.world.gen.NoiseGeneratorSimplex;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import klaxon.klaxon.cursor.noise.NativeSurface;
+
+/**
+ * Hands func_151600_a (and so func_151599_a, which replaceBlocksForBiome's stone noise goes through) to
+ * {@link NativeSurface}. The first call is also run in Java, along with the same area mirrored to negative coordinates;
+ * if libCursor disagrees anywhere, this generator stays on Java.
+ */
+@Mixin(NoiseGeneratorPerlin.class)
+public abstract class MixinNoiseGeneratorPerlin {
+
+    /** In the order func_151600_a samples them */
+    @Shadow
+    private NoiseGeneratorSimplex[] field_151603_a;
+    /** Null until checked, or if this generator stays on Java */
+    @Unique
+    private volatile MemorySegment cursor$packed;
+    /** Worker threads can share a generator, so the check runs under {@code this} and is only marked done after */
+    @Unique
+    private volatile boolean cursor$checked, cursor$inJava;
+
+    @Inject(method = "func_151600_a", at = @At("HEAD"), cancellable = true)
+    private void cursor$fillNative(double[] out, double x, double z, int xSize, int zSize, double xScale,
+        double zScale, double frequencyStep, double amplitudeStep, CallbackInfoReturnable<double[]> cir) {
+        if (cursor$inJava) return;
+        if (!cursor$checked) {
+            synchronized (this) {
+                if (!cursor$checked) {
+                    final NativeSurface.Octave[] octaves = new NativeSurface.Octave[field_151603_a.length];
+                    for (int i = 0; i < octaves.length; ++i) octaves[i] = (NativeSurface.Octave) field_151603_a[i];
+                    final MemorySegment packed = NativeSurface.pack(octaves);
+                    if (packed != null
+                        && cursor$check(packed, x, z, xSize, zSize, xScale, zScale, frequencyStep, amplitudeStep)
+                        && cursor$check(
+                            packed,
+                            -x - 4096,
+                            -z - 4096,
+                            xSize,
+                            zSize,
+                            xScale,
+                            zScale,
+                            frequencyStep,
+                            amplitudeStep)) {
+                        cursor$packed = packed;
+                    }
+                    cursor$checked = true;
+                }
+            }
+        }
+        final MemorySegment packed = cursor$packed;
+        if (packed == null) return;
+
+        final int n = xSize * zSize;
+        final double[] array = out != null && out.length >= n ? out : new double[n];
+        NativeSurface.fill(
+            packed,
+            field_151603_a.length,
+            array,
+            x,
+            z,
+            xSize,
+            zSize,
+            xScale,
+            zScale,
+            frequencyStep,
+            amplitudeStep);
+        // MC clears the whole array, not just the area
+        Arrays.fill(array, n, array.length, 0.0D);
+        cir.setReturnValue(array);
+    }
+
+    @Unique
+    private boolean cursor$check(MemorySegment packed, double x, double z, int xSize, int zSize, double xScale,
+        double zScale, double frequencyStep, double amplitudeStep) {
+        final double[] expected;
+        cursor$inJava = true;
+        try {
+            expected = ((NoiseGeneratorPerlin) (Object) this)
+                .func_151600_a(null, x, z, xSize, zSize, xScale, zScale, frequencyStep, amplitudeStep);
+        } finally {
+            cursor$inJava = false;
+        }
+
+        final double[] actual = new double[xSize * zSize];
+        NativeSurface.fill(
+            packed,
+            field_151603_a.length,
+            actual,
+            x,
+            z,
+            xSize,
+            zSize,
+            xScale,
+            zScale,
+            frequencyStep,
+            amplitudeStep);
+        return NativeSurface.matches(expected, actual, actual.length);
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package klaxon.klaxon.cursor.core.mixins.early.minecraft;
+
+import net.minecraft.world.gen.NoiseGeneratorSimplex;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+
+import klaxon.klaxon.cursor.noise.NativeSurface;
+
+/**
+ * Exposes the offsets and permutation the constructor rolled, so {@link NativeSurface} can copy the generator off-heap.
+ */
+@Mixin(NoiseGeneratorSimplex.class)
+public abstract class MixinNoiseGeneratorSimplex implements NativeSurface.Octave {
+
+    @Shadow
+    private int[] field_151608_f;
+    @Shadow
+    public double field_151612_b;
+    @Shadow
+    public double field_151613_c;
+
+    @Override
+    public int[] cursor$getPermutation() {
+        return field_151608_f;
+    }
+
+    @Override
+    public double cursor$getXOffset() {
+        return field_151612_b;
+    }
+
+    @Override
+    public double cursor$getYOffset() {
+        return field_151613_c;
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.core.mixins.early.minecraft;
+
+import net.minecraft.network.play.server.S21PacketChunkData;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+import klaxon.klaxon.cursor.chunk.PackedBlocks;
+
+/**
+ * Chunk packets (S26 builds its own with the same method) only copy the blocks out, so they don't need the section
+ * unpacked, or every chunk a player looks at would be.
+ */
+@Mixin(S21PacketChunkData.class)
+public abstract class MixinS21PacketChunkData {
+
+    @Redirect(
+        method = "func_149269_a",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/world/chunk/storage/ExtendedBlockStorage;getBlockLSBArray()[B"))
+    private static byte[] cursor$readBlockLSB(ExtendedBlockStorage ebs) {
+        return ((PackedBlocks.Section) ebs).cursor$readBlockLSB();
+    }
+
+    @Redirect(
+        method = "func_149269_a",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/world/chunk/storage/ExtendedBlockStorage;getBlockMSBArray()Lnet/minecraft/world/chunk/NibbleArray;"))
+    private static NibbleArray cursor$readBlockMSB(ExtendedBlockStorage ebs) {
+        return ((PackedBlocks.Section) ebs).cursor$readBlockMSB();
+    }
+
+    @Redirect(
+        method = "func_149269_a",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/world/chunk/storage/ExtendedBlockStorage;getMetadataArray()Lnet/minecraft/world/chunk/NibbleArray;"))
+    private static NibbleArray cursor$readMetadata(ExtendedBlockStorage ebs) {
+        return ((PackedBlocks.Section) ebs).cursor$readMetadata();
+    }
+}
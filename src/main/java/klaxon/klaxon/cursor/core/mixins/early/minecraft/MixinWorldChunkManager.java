@@ -0,0 +1,75 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.core.mixins.early.minecraft;
+
+import net.minecraft.world.biome.WorldChunkManager;
+import net.minecraft.world.gen.layer.GenLayer;
+import net.minecraft.world.gen.layer.IntCache;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+import klaxon.klaxon.cursor.noise.NativeBiomes;
+
+/**
+ * Sends every biome lookup that goes through the GenLayer chain to libCursor: chunk generation, structure placement
+ * checks and spawn/stronghold searches alike.
+ */
+@Mixin(WorldChunkManager.class)
+public abstract class MixinWorldChunkManager {
+
+    @Shadow
+    private GenLayer genBiomes;
+    @Shadow
+    private GenLayer biomeIndexLayer;
+
+    /** Null until the first lookup, and if the chain can't be run natively */
+    @Unique
+    private volatile NativeBiomes cursor$biomes;
+    /** Set after cursor$biomes, so any thread that sees it set also sees what compiling came up with */
+    @Unique
+    private volatile boolean cursor$triedCompiling;
+
+    @Redirect(
+        method = { "getRainfall", "getBiomesForGeneration", "areBiomesViable", "findBiomePosition",
+            "getBiomeGenAt([Lnet/minecraft/world/biome/BiomeGenBase;IIIIZ)[Lnet/minecraft/world/biome/BiomeGenBase;" },
+        at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/layer/GenLayer;getInts(IIII)[I"))
+    private int[] cursor$getInts(GenLayer layer, int x, int z, int width, int depth) {
+        if (!cursor$triedCompiling) {
+            synchronized (this) {
+                if (!cursor$triedCompiling) {
+                    // On first use rather than in the constructor, after Forge's InitBiomeGens has had its say
+                    cursor$biomes = NativeBiomes.compile(genBiomes, biomeIndexLayer);
+                    cursor$triedCompiling = true;
+                }
+            }
+        }
+
+        final NativeBiomes biomes = cursor$biomes;
+        if (biomes != null) {
+            // Every caller has just reset the cache, same as vanilla's getInts would see
+            final int[] ints = IntCache.getIntCache(width * depth);
+            if (biomes.getInts(layer, x, z, width, depth, ints)) return ints;
+        }
+        return layer.getInts(x, z, width, depth);
+    }
+}
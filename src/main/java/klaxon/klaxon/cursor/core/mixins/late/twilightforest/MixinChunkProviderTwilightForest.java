@@ -0,0 +1,53 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.core.mixins.late.twilightforest;
+
+import java.util.Random;
+
+import net.minecraft.world.gen.NoiseGeneratorImproved;
+import net.minecraft.world.gen.NoiseGeneratorOctaves;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Pseudo;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+import klaxon.klaxon.cursor.core.mixins.early.minecraft.AccessorNoiseGeneratorOctaves;
+import klaxon.klaxon.cursor.noise.NoiseBackend;
+
+/**
+ * Pins every NoiseGeneratorOctaves the Twilight Forest's chunk provider builds to vanilla noise. Only applied when
+ * twilightForestNoise is off; otherwise those generators are vanilla classes and pick up noiseBackend on their own.
+ */
+@Pseudo
+@Mixin(targets = "twilightforest.world.ChunkProviderTwilightForest", remap = false)
+public abstract class MixinChunkProviderTwilightForest {
+
+    @Redirect(
+        method = "<init>",
+        at = @At(value = "NEW", target = "net/minecraft/world/gen/NoiseGeneratorOctaves"),
+        require = 0)
+    private NoiseGeneratorOctaves cursor$keepVanilla(Random random, int octaves) {
+        final NoiseGeneratorOctaves noise = new NoiseGeneratorOctaves(random, octaves);
+        for (NoiseGeneratorImproved octave : ((AccessorNoiseGeneratorOctaves) noise).cursor$getGeneratorCollection()) {
+            ((NoiseBackend.Pinnable) octave).cursor$keepVanilla();
+        }
+        return noise;
+    }
+}
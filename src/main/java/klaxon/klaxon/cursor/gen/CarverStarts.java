@@ -0,0 +1,236 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.gen;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.ChunkCoordIntPair;
+
+/**
+ * The tunnels a cave or ravine carver starts in each source chunk, kept so the 17x17 neighbourhood around every
+ * generated chunk doesn't have to be re-rolled. The rolls only depend on the world seed and the source chunk, and every
+ * tunnel walks its own {@link java.util.Random} seeded from the start, so replaying the recorded calls against a new
+ * target chunk carves exactly what vanilla would.
+ * <p>
+ * The walk itself doesn't depend on the target either, only whether a step carves does. So each tunnel is walked once
+ * up front, branches included, for the x/z span its steps could carve into, and targets outside it skip the walk
+ * entirely. That's most of them: a tunnel is rolled for all 289 targets around its source chunk, and reaches a handful.
+ * <p>
+ * One per carver, i.e. per chunk provider. Least recently used source chunks go first, which is whatever generation has
+ * moved away from. Not thread-safe; carvers aren't either.
+ */
+public final class CarverStarts {
+
+    private static final Tunnel[] NONE = new Tunnel[0];
+
+    /** Slack on the walked span, so float rounding in the comparison can't skip a target vanilla would carve */
+    private static final double MARGIN = 1.0;
+
+    /** The arguments of one top-level tunnel call, minus the target chunk, and the x/z span it can carve */
+    public static final class Tunnel {
+
+        public final long seed;
+        public final double x, y, z;
+        public final float width, yaw, pitch;
+        public final int step, steps;
+        public final double scaleY;
+
+        /** Block coordinates of the steps' centres, widened by their reach, see {@link #reaches} */
+        private double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY,
+            minZ = Double.POSITIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+
+        private Tunnel(long seed, double x, double y, double z, float width, float yaw, float pitch, int step,
+            int steps, double scaleY) {
+            this.seed = seed;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.width = width;
+            this.yaw = yaw;
+            this.pitch = pitch;
+            this.step = step;
+            this.steps = steps;
+            this.scaleY = scaleY;
+        }
+
+        /**
+         * Vanilla carves a step into the target chunk only if the step's centre is within 16 + its reach of the
+         * chunk's centre on both axes. False means no step does, so the call can be skipped.
+         */
+        public boolean reaches(int chunkX, int chunkZ) {
+            final double centerX = chunkX * 16 + 8, centerZ = chunkZ * 16 + 8;
+            return centerX >= minX - 16.0 - MARGIN && centerX <= maxX + 16.0 + MARGIN
+                && centerZ >= minZ - 16.0 - MARGIN
+                && centerZ <= maxZ + 16.0 + MARGIN;
+        }
+
+        private void include(double x, double z, double reach) {
+            minX = Math.min(minX, x - reach);
+            maxX = Math.max(maxX, x + reach);
+            minZ = Math.min(minZ, z - reach);
+            maxZ = Math.max(maxZ, z + reach);
+        }
+    }
+
+    /** A MapGenCaves.func_151541_a call; {@code range} is the carver's */
+    public static Tunnel cave(int range, long seed, double x, double y, double z, float width, float yaw, float pitch,
+        int step, int steps, double scaleY) {
+        final Tunnel tunnel = new Tunnel(seed, x, y, z, width, yaw, pitch, step, steps, scaleY);
+        walkCave(tunnel, range, seed, x, z, width, yaw, pitch, step, steps);
+        return tunnel;
+    }
+
+    /** A MapGenRavine.func_151540_a call; {@code range} is the carver's */
+    public static Tunnel ravine(int range, long seed, double x, double y, double z, float width, float yaw,
+        float pitch, int step, int steps, double scaleY) {
+        final Tunnel tunnel = new Tunnel(seed, x, y, z, width, yaw, pitch, step, steps, scaleY);
+        walkRavine(tunnel, range, seed, x, z, width, yaw, pitch, step, steps);
+        return tunnel;
+    }
+
+    /**
+     * MapGenCaves.func_151541_a without the carving: the same RNG draws in the same order, recording every step that
+     * would test the target. Height doesn't decide whether a step is tested, so it isn't tracked.
+     */
+    private static void walkCave(Tunnel tunnel, int range, long seed, double x, double z, float width, float yaw,
+        float pitch, int step, int steps) {
+        float yawDrift = 0.0F, pitchDrift = 0.0F;
+        final Random random = new Random(seed);
+
+        if (steps <= 0) {
+            final int max = range * 16 - 16;
+            steps = max - random.nextInt(max / 4);
+        }
+
+        boolean room = false;
+        if (step == -1) {
+            step = steps / 2;
+            room = true;
+        }
+
+        final int branchAt = random.nextInt(steps / 2) + steps / 4;
+        for (boolean steep = random.nextInt(6) == 0; step < steps; ++step) {
+            final double radius = 1.5D
+                + (double) (MathHelper.sin((float) step * (float) Math.PI / (float) steps) * width * 1.0F);
+            final float cosPitch = MathHelper.cos(pitch);
+            x += (double) (MathHelper.cos(yaw) * cosPitch);
+            z += (double) (MathHelper.sin(yaw) * cosPitch);
+
+            if (steep) pitch *= 0.92F;
+            else pitch *= 0.7F;
+
+            pitch += pitchDrift * 0.1F;
+            yaw += yawDrift * 0.1F;
+            pitchDrift *= 0.9F;
+            yawDrift *= 0.75F;
+            pitchDrift += (random.nextFloat() - random.nextFloat()) * random.nextFloat() * 2.0F;
+            yawDrift += (random.nextFloat() - random.nextFloat()) * random.nextFloat() * 4.0F;
+
+            if (!room && step == branchAt && width > 1.0F && steps > 0) {
+                final long left = random.nextLong();
+                walkCave(tunnel, range, left, x, z, random.nextFloat() * 0.5F + 0.5F, yaw - ((float) Math.PI / 2F),
+                    pitch / 3.0F, step, steps);
+                final long right = random.nextLong();
+                walkCave(tunnel, range, right, x, z, random.nextFloat() * 0.5F + 0.5F, yaw + ((float) Math.PI / 2F),
+                    pitch / 3.0F, step, steps);
+                return;
+            }
+
+            if (room || random.nextInt(4) != 0) tunnel.include(x, z, radius * 2.0D);
+        }
+    }
+
+    /** MapGenRavine.func_151540_a without the carving, like {@link #walkCave} */
+    private static void walkRavine(Tunnel tunnel, int range, long seed, double x, double z, float width, float yaw,
+        float pitch, int step, int steps) {
+        final Random random = new Random(seed);
+        float yawDrift = 0.0F, pitchDrift = 0.0F;
+
+        if (steps <= 0) {
+            final int max = range * 16 - 16;
+            steps = max - random.nextInt(max / 4);
+        }
+
+        boolean single = false;
+        if (step == -1) {
+            step = steps / 2;
+            single = true;
+        }
+
+        // The wall roughness table, only its draws matter here
+        for (int i = 0; i < 256; ++i) {
+            if (i == 0 || random.nextInt(3) == 0) {
+                random.nextFloat();
+                random.nextFloat();
+            }
+        }
+
+        for (; step < steps; ++step) {
+            double radius = 1.5D
+                + (double) (MathHelper.sin((float) step * (float) Math.PI / (float) steps) * width * 1.0F);
+            radius *= (double) random.nextFloat() * 0.25D + 0.75D;
+            // The vertical radius' jitter
+            random.nextFloat();
+            final float cosPitch = MathHelper.cos(pitch);
+            x += (double) (MathHelper.cos(yaw) * cosPitch);
+            z += (double) (MathHelper.sin(yaw) * cosPitch);
+            pitch *= 0.7F;
+            pitch += pitchDrift * 0.05F;
+            yaw += yawDrift * 0.05F;
+            pitchDrift *= 0.8F;
+            yawDrift *= 0.5F;
+            pitchDrift += (random.nextFloat() - random.nextFloat()) * random.nextFloat() * 2.0F;
+            yawDrift += (random.nextFloat() - random.nextFloat()) * random.nextFloat() * 4.0F;
+
+            if (single || random.nextInt(4) != 0) tunnel.include(x, z, radius * 2.0D);
+        }
+    }
+
+    private final Map<Long, Tunnel[]> starts;
+    private long worldSeed;
+
+    public CarverStarts(int capacity) {
+        starts = new LinkedHashMap<>(Math.min(capacity, 1024), 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Tunnel[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** Null if this source chunk hasn't been rolled yet */
+    public Tunnel[] get(long worldSeed, int chunkX, int chunkZ) {
+        if (worldSeed != this.worldSeed) {
+            starts.clear();
+            this.worldSeed = worldSeed;
+            return null;
+        }
+        return starts.get(ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ));
+    }
+
+    public void put(long worldSeed, int chunkX, int chunkZ, List<Tunnel> tunnels) {
+        if (worldSeed != this.worldSeed) return;
+        starts.put(ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ), tunnels.isEmpty() ? NONE : tunnels.toArray(NONE));
+    }
+}
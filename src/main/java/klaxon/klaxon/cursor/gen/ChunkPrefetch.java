@@ -0,0 +1,131 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.gen;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.gen.ChunkProviderServer;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.event.world.WorldEvent;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+import klaxon.klaxon.cursor.core.mixins.early.minecraft.AccessorPlayerManager;
+
+/**
+ * Guesses which chunks players are about to generate and hands them to each world's {@link DensityPrefetcher}. Every
+ * few ticks, each player's velocity is extrapolated {@code lookahead} ticks ahead; chunks in view of that point, but
+ * not of the player's current one, get prefetched unless they're loaded. Saved ones are weeded out by the prefetcher's
+ * workers, since reading region files is too slow for the tick. Anything no player is heading for anymore is
+ * cancelled.
+ * <p>
+ * Registered on both event buses by {@link klaxon.klaxon.cursor.CommonProxy}.
+ */
+public class ChunkPrefetch {
+
+    /** Ticks between samples */
+    private static final int INTERVAL = 5;
+    /** Blocks per tick. Slower than a sneak isn't worth predicting, faster than this is a teleport. */
+    private static final double MIN_SPEED = 0.05, MAX_SPEED = 4.0;
+
+    private final int lookahead;
+    private final Map<EntityPlayer, double[]> lastPositions = new WeakHashMap<>();
+    private int ticks;
+
+    public ChunkPrefetch(int lookahead) {
+        this.lookahead = lookahead;
+    }
+
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || ++ticks < INTERVAL) return;
+        ticks = 0;
+
+        for (WorldServer world : DimensionManager.getWorlds()) {
+            final ChunkProviderServer server = world.theChunkProviderServer;
+            if (!(server.currentChunkProvider instanceof DensityPrefetcher.Owner owner)) continue;
+            // Pre-generation feeds the prefetcher itself, and would lose its requests to retainOnly
+            if (Pregen.isRunning(world)) continue;
+
+            final DensityPrefetcher prefetcher = owner.cursor$getPrefetcher();
+            if (prefetcher != null) predict(world, server, prefetcher);
+        }
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event) {
+        if (event.world instanceof WorldServer world
+            && world.theChunkProviderServer.currentChunkProvider instanceof DensityPrefetcher.Owner owner) {
+            final DensityPrefetcher prefetcher = owner.cursor$getPrefetcher();
+            if (prefetcher != null) prefetcher.clear();
+        }
+    }
+
+    private void predict(WorldServer world, ChunkProviderServer server, DensityPrefetcher prefetcher) {
+        final int radius = ((AccessorPlayerManager) world.getPlayerManager()).cursor$getPlayerViewRadius();
+        final Set<Long> wanted = new HashSet<>();
+        final List<long[]> candidates = new ArrayList<>();
+
+        for (Object o : world.playerEntities) {
+            final EntityPlayer player = (EntityPlayer) o;
+            final double[] last = lastPositions.put(player, new double[] { player.posX, player.posZ });
+            if (last == null) continue;
+
+            final double vx = (player.posX - last[0]) / INTERVAL, vz = (player.posZ - last[1]) / INTERVAL;
+            final double speed = Math.sqrt(vx * vx + vz * vz);
+            if (speed < MIN_SPEED || speed > MAX_SPEED) continue;
+
+            final int cx = (int) Math.floor(player.posX) >> 4, cz = (int) Math.floor(player.posZ) >> 4;
+            final int px = (int) Math.floor(player.posX + vx * lookahead) >> 4;
+            final int pz = (int) Math.floor(player.posZ + vz * lookahead) >> 4;
+
+            for (int x = px - radius; x <= px + radius; ++x) {
+                for (int z = pz - radius; z <= pz + radius; ++z) {
+                    // Those are already loaded, or being generated right now
+                    if (Math.abs(x - cx) <= radius && Math.abs(z - cz) <= radius) continue;
+
+                    final long key = ChunkCoordIntPair.chunkXZ2Int(x, z);
+                    if (!wanted.add(key)) continue;
+                    if (prefetcher.has(x, z) || server.chunkExists(x, z)) continue;
+
+                    final long dx = x - cx, dz = z - cz;
+                    candidates.add(new long[] { x, z, dx * dx + dz * dz });
+                }
+            }
+        }
+
+        prefetcher.retainOnly(wanted);
+
+        // Closest first, those are needed soonest
+        candidates.sort(Comparator.comparingLong(c -> c[2]));
+        for (long[] c : candidates) {
+            if (prefetcher.isFull()) break;
+            prefetcher.request((int) c[0], (int) c[1]);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.gen;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.biome.WorldChunkManager;
+import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+
+import klaxon.klaxon.cursor.Cursor;
+import klaxon.klaxon.cursor.noise.FusedDensity;
+import klaxon.klaxon.cursor.noise.NoiseBuffer;
+import klaxon.klaxon.cursor.noise.NoiseBufferPool;
+import klaxon.klaxon.cursor.stats.GenStage;
+import klaxon.klaxon.cursor.stats.GenStats;
+
+/**
+ * Computes density grids for one ChunkProviderGenerate ahead of time, on worker threads. {@link ChunkPrefetch} decides
+ * what to ask for; the generator {@link #take}s the grid when it gets to the chunk and skips its own fill.
+ * <p>
+ * Workers can't touch the world's own WorldChunkManager, since GenLayers keep their RNG in fields. Each borrows one of
+ * a few private copies instead, built from the same seed and world type. IntCache has to be per-thread for this, see
+ * {@link ThreadIntCache}.
+ * <p>
+ * Whether a chunk is already saved is a region file lookup, so the workers answer that too, before computing anything.
+ * Callers only rule out loaded chunks.
+ */
+public final class DensityPrefetcher {
+
+    /** Implemented by ChunkProviderGenerate */
+    public interface Owner {
+
+        /** Null until the first chunk is generated, or if this generator can't prefetch */
+        DensityPrefetcher cursor$getPrefetcher();
+    }
+
+    private static final int QUEUED = 0, RUNNING = 1, DONE = 2, CANCELLED = 3;
+
+    private static volatile ThreadPoolExecutor executor;
+
+    private final World world;
+    private final FusedDensity density;
+    private final int maxChunks;
+    private final BlockingQueue<WorldChunkManager> managers;
+    private final Map<Long, Task> tasks = new ConcurrentHashMap<>();
+    /** Requested chunks a worker found on disk, so they aren't asked for again */
+    private final Set<Long> saved = ConcurrentHashMap.newKeySet();
+
+    /** Call on the server thread, WorldChunkManager's constructor fires Forge events */
+    public DensityPrefetcher(World world, FusedDensity density, int maxChunks) {
+        this.world = world;
+        this.density = density;
+        this.maxChunks = maxChunks;
+
+        final int workers = executor != null ? executor.getMaximumPoolSize() : 1;
+        managers = new ArrayBlockingQueue<>(workers);
+        for (int i = 0; i < workers; ++i) managers.add(new WorldChunkManager(world));
+    }
+
+    /**
+     * Starts or stops the worker pool shared by every prefetcher. Up to {@code queued} grids can wait for a worker,
+     * further requests are dropped until they catch up.
+     */
+    public static synchronized void setWorkers(int threads, int queued) {
+        final var old = executor;
+        if (threads > 0) {
+            final AtomicInteger count = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, queued)), r -> {
+                    final Thread thread = new Thread(r, "Cursor Prefetch #" + count.getAndIncrement());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+            executor.allowCoreThreadTimeOut(true);
+        } else {
+            executor = null;
+        }
+
+        if (old != null) old.shutdownNow();
+    }
+
+    public static boolean isEnabled() {
+        return executor != null;
+    }
+
+    /** Whether the chunk was requested already, or found to be saved */
+    public boolean has(int chunkX, int chunkZ) {
+        final long key = ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ);
+        return tasks.containsKey(key) || saved.contains(key);
+    }
+
+    public boolean isFull() {
+        return tasks.size() >= maxChunks;
+    }
+
+    /** Server thread. Queues the chunk's grid unless it's already known, or the caps are hit. */
+    public void request(int chunkX, int chunkZ) {
+        final Executor executor = DensityPrefetcher.executor;
+        if (executor == null || isFull()) return;
+
+        final long key = ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ);
+        if (tasks.containsKey(key) || saved.contains(key)) return;
+
+        final Task task = new Task(chunkX, chunkZ);
+        tasks.put(key, task);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            tasks.remove(key);
+        }
+    }
+
+    /**
+     * Server thread. Forgets everything outside {@code wanted}: queued grids are never computed, running ones are
+     * thrown away when they finish.
+     */
+    public void retainOnly(Set<Long> wanted) {
+        saved.retainAll(wanted);
+        tasks.entrySet()
+            .removeIf(e -> {
+                if (wanted.contains(e.getKey())) return false;
+                e.getValue()
+                    .discard();
+                return true;
+            });
+    }
+
+    public void clear() {
+        tasks.values()
+            .forEach(Task::discard);
+        tasks.clear();
+        saved.clear();
+    }
+
+    /** Worker thread. Pending saves count, see MixinAnvilChunkLoader. */
+    private boolean isSaved(int chunkX, int chunkZ) {
+        return world instanceof WorldServer server
+            && server.theChunkProviderServer.currentChunkLoader instanceof AnvilChunkLoader loader
+            && loader.chunkExists(world, chunkX, chunkZ);
+    }
+
+    /**
+     * Server thread. Copies the chunk's grid into {@code out} if it was prefetched. A grid that's being computed right
+     * now is waited for, since that's never slower than starting over. One that hasn't started yet is cancelled.
+     *
+     * @return false if the caller has to fill {@code out} itself
+     */
+    public boolean take(int chunkX, int chunkZ, double[] out) {
+        final Task task = tasks.remove(ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ));
+        if (task == null || task.cancel()) return false;
+
+        try {
+            task.done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                .interrupt();
+            task.discard();
+            return false;
+        }
+
+        final NoiseBuffer grid = task.result.getAndSet(null);
+        if (grid == null) return false;
+        try (grid) {
+            grid.copyTo(out);
+        }
+        return true;
+    }
+
+    private final class Task implements Runnable {
+
+        final int chunkX, chunkZ;
+        final AtomicInteger state = new AtomicInteger(QUEUED);
+        final CountDownLatch done = new CountDownLatch(1);
+        /** Set before done is counted down, null if the fill failed or the grid was already taken */
+        final AtomicReference<NoiseBuffer> result = new AtomicReference<>();
+        /** Nobody will take the result, so whoever gets there last hands the buffer back */
+        volatile boolean discarded;
+
+        Task(int chunkX, int chunkZ) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+
+        /** @return true if this never got to run, and now never will */
+        boolean cancel() {
+            return state.compareAndSet(QUEUED, CANCELLED);
+        }
+
+        /** Cancels the task if it can, and makes sure a finished grid goes back to its pool either way */
+        void discard() {
+            if (cancel()) return;
+            discarded = true;
+            if (state.get() == DONE) dropResult();
+        }
+
+        private void dropResult() {
+            final NoiseBuffer grid = result.getAndSet(null);
+            if (grid != null) grid.close();
+        }
+
+        @Override
+        public void run() {
+            if (!state.compareAndSet(QUEUED, RUNNING)) return;
+
+            WorldChunkManager manager = null;
+            try {
+                // The chunk will be loaded, not generated, so nobody would take the grid
+                if (isSaved(chunkX, chunkZ)) {
+                    final long key = ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ);
+                    if (tasks.remove(key, this)) saved.add(key);
+                    return;
+                }
+
+                manager = managers.take();
+                final long start = GenStats.begin();
+                // Same call as ChunkProviderGenerate.func_147424_a, so the same biomes
+                final BiomeGenBase[] biomes = manager
+                    .getBiomesForGeneration(null, chunkX * 4 - 2, chunkZ * 4 - 2, 10, 10);
+                final NoiseBuffer grid = NoiseBufferPool.acquire(FusedDensity.GRID_LEN);
+                if (density.fill(grid, chunkX * 4, chunkZ * 4, biomes)) {
+                    result.set(grid);
+                    GenStats.end(GenStage.PREFETCH, start);
+                } else {
+                    grid.close();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                    .interrupt();
+            } catch (RuntimeException e) {
+                Cursor.LOG.warn("Prefetching density for chunk {}, {} failed", chunkX, chunkZ, e);
+            } finally {
+                if (manager != null) managers.add(manager);
+                state.set(DONE);
+                done.countDown();
+                if (discarded) dropResult();
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.gen;
+
+import static klaxon.klaxon.cursor.Cursor.LOG;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.ChatComponentText;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.event.world.WorldEvent;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+
+/**
+ * Runs {@code /cursor pregen}: every server tick, each dimension's {@link PregenJob} gets to generate chunks on the
+ * server thread until its share of a time budget is used up, so the server keeps ticking in between. Terrain goes
+ * through the normal chunk provider, which picks up whatever else is enabled; with prefetching on, the density grids of
+ * the chunks coming up are computed on the prefetch threads while the server thread populates.
+ * <p>
+ * Registered on both event buses by {@link klaxon.klaxon.cursor.CommonProxy}.
+ */
+public class Pregen {
+
+    /** Ticks between progress reports */
+    private static final int REPORT_INTERVAL = 200;
+
+    /** By dimension, server thread only */
+    private static final Map<Integer, PregenJob> jobs = new HashMap<>();
+
+    private final long budgetNanos;
+    private int ticks;
+
+    public Pregen(int budgetMillis) {
+        this.budgetNanos = budgetMillis * 1_000_000L;
+    }
+
+    public static boolean isRunning(World world) {
+        return jobs.containsKey(world.provider.dimensionId);
+    }
+
+    public static PregenJob get(World world) {
+        return jobs.get(world.provider.dimensionId);
+    }
+
+    public static List<WorldServer> running() {
+        final List<WorldServer> worlds = new ArrayList<>();
+        for (int dim : jobs.keySet()) {
+            final WorldServer world = DimensionManager.getWorld(dim);
+            if (world != null) worlds.add(world);
+        }
+        return worlds;
+    }
+
+    /** Replaces any job already running in this dimension */
+    public static PregenJob start(WorldServer world, int centerX, int centerZ, int radius, ICommandSender owner) {
+        stop(world);
+
+        final PregenJob job = new PregenJob(centerX, centerZ, radius);
+        job.owner = owner;
+        job.markDirty();
+        world.perWorldStorage.setData(PregenJob.NAME, job);
+        jobs.put(world.provider.dimensionId, job);
+        return job;
+    }
+
+    /** @return false if nothing was running */
+    public static boolean stop(WorldServer world) {
+        final PregenJob job = jobs.remove(world.provider.dimensionId);
+        if (job == null) return false;
+        job.finish(world.theChunkProviderServer);
+        return true;
+    }
+
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || jobs.isEmpty()) return;
+
+        final List<WorldServer> worlds = running();
+        for (WorldServer world : worlds) {
+            final PregenJob job = get(world);
+            job.step(world, System.nanoTime() + budgetNanos / worlds.size());
+            if (!job.isActive()) {
+                jobs.remove(world.provider.dimensionId);
+                report(job, String.format("Pre-generation of dimension %d finished", world.provider.dimensionId));
+            }
+        }
+
+        if (++ticks < REPORT_INTERVAL) return;
+        ticks = 0;
+
+        for (WorldServer world : running()) {
+            final PregenJob job = get(world);
+            job.sampleRate();
+            report(job, describe(world, job));
+        }
+    }
+
+    public static String describe(WorldServer world, PregenJob job) {
+        final String progress = String.format(
+            "Dimension %d: %d/%d chunks (%.1f%%)",
+            world.provider.dimensionId,
+            job.done(),
+            job.total(),
+            100.0 * job.done() / job.total());
+        final double rate = job.rate();
+        if (rate <= 0) return progress;
+
+        final long eta = (long) ((job.total() - job.done()) / rate);
+        return progress + String.format(", %.1f chunks/s, %d:%02d left", rate, eta / 60, eta % 60);
+    }
+
+    private static void report(PregenJob job, String message) {
+        LOG.info(message);
+        // The console already got it from the log
+        if (job.owner != null && !(job.owner instanceof MinecraftServer)) {
+            job.owner.addChatMessage(new ChatComponentText(message));
+        }
+    }
+
+    @SubscribeEvent
+    public void onWorldLoad(WorldEvent.Load event) {
+        if (!(event.world instanceof WorldServer world)) return;
+
+        final PregenJob job = (PregenJob) world.perWorldStorage.loadData(PregenJob.class, PregenJob.NAME);
+        if (job == null || !job.isActive()) return;
+
+        job.resume();
+        jobs.put(world.provider.dimensionId, job);
+        LOG.info(
+            "Resuming pre-generation of dimension {}, radius {} around chunk {}, {}",
+            world.provider.dimensionId,
+            job.radius(),
+            job.centerX(),
+            job.centerZ());
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event) {
+        // Not finish(): the job stays active in the save, to be resumed
+        if (event.world instanceof WorldServer world) jobs.remove(world.provider.dimensionId);
+    }
+}
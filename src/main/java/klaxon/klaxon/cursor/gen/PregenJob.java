@@ -0,0 +1,201 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.gen;
+
+import java.util.BitSet;
+
+import net.minecraft.command.ICommandSender;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.WorldSavedData;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.gen.ChunkProviderServer;
+
+/**
+ * One dimension's pre-generation, saved in its per-world storage so a restart picks it up again. Chunks are generated
+ * row by row over a square one chunk wider than asked for on the +X and +Z sides, which is what population needs: a
+ * chunk is populated once its +X, +Z and diagonal neighbours are loaded, so every row is finished by the time the next
+ * one is. Rows this job loaded are handed back to the chunk provider's unload queue two rows later.
+ * <p>
+ * Server thread only, driven by {@link Pregen}.
+ */
+public class PregenJob extends WorldSavedData {
+
+    public static final String NAME = "cursor_pregen";
+    /** How far ahead of the current chunk density grids are handed to the prefetcher */
+    private static final int LOOKAHEAD = 512;
+
+    private int centerX, centerZ, radius;
+    /** Next row to generate. Saved whenever a row is finished; everything before it is done. */
+    private int row;
+    private boolean active;
+
+    private int column, nextPrefetch;
+    /** Chunks of the current and previous row that weren't loaded before this job loaded them */
+    private BitSet loaded = new BitSet(), previousLoaded = new BitSet();
+    private long sampledAt = System.nanoTime(), sampledDone;
+    private double rate;
+    ICommandSender owner;
+
+    /** Called by MapStorage when loading */
+    public PregenJob(String name) {
+        super(name);
+    }
+
+    PregenJob(int centerX, int centerZ, int radius) {
+        super(NAME);
+        this.centerX = centerX;
+        this.centerZ = centerZ;
+        this.radius = radius;
+        this.active = true;
+    }
+
+    public int side() {
+        return 2 * radius + 2;
+    }
+
+    public long total() {
+        return (long) side() * side();
+    }
+
+    public long done() {
+        return (long) row * side() + column;
+    }
+
+    public int centerX() {
+        return centerX;
+    }
+
+    public int centerZ() {
+        return centerZ;
+    }
+
+    public int radius() {
+        return radius;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Picks up where a saved job stopped. The last finished row wasn't kept loaded, so it's loaded again from disk; its
+     * chunks can't be populated otherwise.
+     */
+    void resume() {
+        row = Math.max(0, row - 1);
+        column = 0;
+        nextPrefetch = 0;
+        sampledAt = System.nanoTime();
+        sampledDone = done();
+    }
+
+    /** Chunks per second since the last call, or since the job started */
+    void sampleRate() {
+        final long now = System.nanoTime(), done = done();
+        rate = (done - sampledDone) / ((now - sampledAt) / 1e9);
+        sampledAt = now;
+        sampledDone = done;
+    }
+
+    /** As of the last progress report, 0 before the first one */
+    public double rate() {
+        return rate;
+    }
+
+    /** Generates chunks until {@code deadline} (a {@link System#nanoTime} value) passes or the job is finished */
+    void step(WorldServer world, long deadline) {
+        final ChunkProviderServer server = world.theChunkProviderServer;
+        final int side = side(), minX = centerX - radius, minZ = centerZ - radius;
+        prefetch(server, side, minX, minZ);
+
+        while (active && System.nanoTime() < deadline) {
+            final int x = minX + column, z = minZ + row;
+            if (!server.chunkExists(x, z)) {
+                server.loadChunk(x, z);
+                loaded.set(column);
+            }
+
+            if (++column == side) {
+                release(server, minX, z - 1, previousLoaded);
+                final BitSet recycled = previousLoaded;
+                previousLoaded = loaded;
+                loaded = recycled;
+                column = 0;
+                if (++row == side) finish(server);
+                markDirty();
+            }
+        }
+    }
+
+    /** Stops the job and lets go of whatever it still holds loaded */
+    void finish(ChunkProviderServer server) {
+        final int minX = centerX - radius, z = centerZ - radius + row;
+        release(server, minX, z, loaded);
+        release(server, minX, z - 1, previousLoaded);
+        active = false;
+        markDirty();
+
+        // Grids for chunks this won't get to anymore
+        final DensityPrefetcher prefetcher = prefetcher(server);
+        if (prefetcher != null) prefetcher.clear();
+    }
+
+    private void prefetch(ChunkProviderServer server, int side, int minX, int minZ) {
+        final DensityPrefetcher prefetcher = prefetcher(server);
+        if (prefetcher == null) return;
+
+        final long total = total(), done = done();
+        nextPrefetch = (int) Math.max(nextPrefetch, done);
+        while (nextPrefetch < total && nextPrefetch < done + LOOKAHEAD && !prefetcher.isFull()) {
+            final int x = minX + nextPrefetch % side, z = minZ + nextPrefetch / side;
+            if (!prefetcher.has(x, z) && !server.chunkExists(x, z)) prefetcher.request(x, z);
+            ++nextPrefetch;
+        }
+    }
+
+    private static DensityPrefetcher prefetcher(ChunkProviderServer server) {
+        return server.currentChunkProvider instanceof DensityPrefetcher.Owner owner ? owner.cursor$getPrefetcher()
+            : null;
+    }
+
+    private static void release(ChunkProviderServer server, int minX, int z, BitSet columns) {
+        for (int i = columns.nextSetBit(0); i >= 0; i = columns.nextSetBit(i + 1)) {
+            server.unloadChunksIfNotNearSpawn(minX + i, z);
+        }
+        columns.clear();
+    }
+
+    @Override
+    public void readFromNBT(NBTTagCompound tag) {
+        centerX = tag.getInteger("centerX");
+        centerZ = tag.getInteger("centerZ");
+        radius = tag.getInteger("radius");
+        row = tag.getInteger("row");
+        active = tag.getBoolean("active");
+    }
+
+    @Override
+    public void writeToNBT(NBTTagCompound tag) {
+        tag.setInteger("centerX", centerX);
+        tag.setInteger("centerZ", centerZ);
+        tag.setInteger("radius", radius);
+        tag.setInteger("row", row);
+        tag.setBoolean("active", active);
+    }
+}
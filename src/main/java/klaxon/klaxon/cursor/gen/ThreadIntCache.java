@@ -0,0 +1,125 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.gen;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread stand-in for {@link net.minecraft.world.gen.layer.IntCache}. Vanilla shares one pool between every
+ * thread, so two threads generating biomes hand each other's arrays out from under them on every reset.
+ * <p>
+ * Arrays come in power-of-two size classes, from vanilla's 256 up to {@link #MAX_POOLED}. Anything bigger is allocated
+ * fresh and left to the GC. On reset, each class keeps only as many arrays as were handed out since the previous
+ * reset, at most {@link #retained} of them, so a burst of large requests doesn't keep its arrays forever.
+ */
+public final class ThreadIntCache {
+
+    private static final int MIN_SHIFT = 8;
+    private static final int MAX_SHIFT = 20;
+    private static final int CLASSES = MAX_SHIFT - MIN_SHIFT + 1;
+    /** Biggest array that's pooled, in ints */
+    public static final int MAX_POOLED = 1 << MAX_SHIFT;
+
+    private static final ThreadLocal<ThreadIntCache> CACHE = ThreadLocal.withInitial(ThreadIntCache::new);
+
+    /** Most arrays kept per size class across a reset */
+    private static volatile int retained = 64;
+
+    private final int[][][] free = new int[CLASSES][][];
+    private final int[] freeCount = new int[CLASSES];
+    private final int[][][] inUse = new int[CLASSES][][];
+    private final int[] inUseCount = new int[CLASSES];
+
+    private ThreadIntCache() {
+        for (int i = 0; i < CLASSES; ++i) {
+            free[i] = new int[4][];
+            inUse[i] = new int[4][];
+        }
+    }
+
+    public static void setRetained(int retained) {
+        ThreadIntCache.retained = Math.max(0, retained);
+    }
+
+    /** Same contract as vanilla: the array is at least {@code size} long, and only valid until the next reset */
+    public static int[] get(int size) {
+        return CACHE.get()
+            .take(size);
+    }
+
+    public static void reset() {
+        CACHE.get()
+            .release();
+    }
+
+    /** Vanilla's cache: / tcache: / allocated: / tallocated: line, for this thread. Large means above 256 ints. */
+    public static String describe() {
+        final ThreadIntCache cache = CACHE.get();
+        int freeLarge = 0, inUseLarge = 0;
+        for (int i = 1; i < CLASSES; ++i) {
+            freeLarge += cache.freeCount[i];
+            inUseLarge += cache.inUseCount[i];
+        }
+        return "cache: " + freeLarge
+            + ", tcache: "
+            + cache.freeCount[0]
+            + ", allocated: "
+            + inUseLarge
+            + ", tallocated: "
+            + cache.inUseCount[0];
+    }
+
+    private static int classOf(int size) {
+        if (size <= 1 << MIN_SHIFT) return 0;
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SHIFT;
+    }
+
+    private int[] take(int size) {
+        if (size > MAX_POOLED) return new int[size];
+
+        final int c = classOf(size);
+        final int[] array;
+        if (freeCount[c] > 0) {
+            array = free[c][--freeCount[c]];
+            free[c][freeCount[c]] = null;
+        } else {
+            array = new int[1 << (c + MIN_SHIFT)];
+        }
+
+        if (inUseCount[c] == inUse[c].length) inUse[c] = Arrays.copyOf(inUse[c], inUseCount[c] * 2);
+        inUse[c][inUseCount[c]++] = array;
+        return array;
+    }
+
+    private void release() {
+        final int cap = retained;
+        for (int c = 0; c < CLASSES; ++c) {
+            // Last cycle's working set is what the next one most likely needs. Anything beyond it is left for the GC.
+            final int keep = Math.min(inUseCount[c], cap);
+            int count = Math.min(freeCount[c], keep);
+            if (free[c].length < keep) free[c] = Arrays.copyOf(free[c], keep);
+            for (int i = 0; count < keep; ++i) free[c][count++] = inUse[c][i];
+
+            Arrays.fill(free[c], count, free[c].length, null);
+            Arrays.fill(inUse[c], 0, inUseCount[c], null);
+            freeCount[c] = count;
+            inUseCount[c] = 0;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.io;
+
+import static klaxon.klaxon.cursor.Cursor.LOG;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.DeflaterOutputStream;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+
+import klaxon.klaxon.cursor.core.mixins.early.minecraft.AccessorRegionFile;
+
+/**
+ * Writes batches of chunks for AnvilChunkLoader. Vanilla compresses and writes one chunk per call on the single file IO
+ * thread; here a batch is compressed across a few workers, then written region by region, each region locked once for
+ * all of its chunks. The bytes on disk are the same ones RegionFile's own output stream would write.
+ */
+public final class RegionIO {
+
+    private static volatile ForkJoinPool pool;
+
+    private RegionIO() {}
+
+    /** Compresses on {@code threads} workers. 1 or fewer compresses on the calling thread. */
+    public static synchronized void setThreads(int threads) {
+        final var old = pool;
+        pool = threads > 1 ? new ForkJoinPool(threads, p -> {
+            final var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("Cursor Region IO #" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false) : null;
+
+        if (old != null) old.shutdown();
+    }
+
+    /**
+     * Writes every chunk in {@code coords} with the matching entry of {@code tags}, in the order given within each
+     * region. A chunk that fails to serialize is logged and skipped, like vanilla does.
+     */
+    public static void write(File saveDir, List<ChunkCoordIntPair> coords, List<NBTTagCompound> tags) {
+        final int n = coords.size();
+        final byte[][] data = new byte[n][];
+
+        final ForkJoinPool pool = RegionIO.pool;
+        if (pool == null || n == 1) {
+            for (int i = 0; i < n; ++i) data[i] = compress(coords.get(i), tags.get(i));
+        } else {
+            final List<ForkJoinTask<?>> tasks = new ArrayList<>(n);
+            for (int i = 0; i < n; ++i) {
+                final int c = i;
+                tasks.add(ForkJoinTask.adapt(() -> data[c] = compress(coords.get(c), tags.get(c))));
+            }
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        }
+
+        final Map<Long, List<Integer>> regions = new LinkedHashMap<>();
+        for (int i = 0; i < n; ++i) {
+            final ChunkCoordIntPair c = coords.get(i);
+            final long key = ChunkCoordIntPair.chunkXZ2Int(c.chunkXPos >> 5, c.chunkZPos >> 5);
+            regions.computeIfAbsent(key, k -> new ArrayList<>())
+                .add(i);
+        }
+
+        for (List<Integer> chunks : regions.values()) {
+            // Looked up right before writing: RegionFileCache closes every region once it has too many open
+            final ChunkCoordIntPair first = coords.get(chunks.get(0));
+            final RegionFile region = RegionFileCache.createOrLoadRegionFile(saveDir, first.chunkXPos, first.chunkZPos);
+            synchronized (region) {
+                for (int i : chunks) {
+                    if (data[i] == null) continue;
+                    final ChunkCoordIntPair c = coords.get(i);
+                    ((AccessorRegionFile) region)
+                        .cursor$write(c.chunkXPos & 31, c.chunkZPos & 31, data[i], data[i].length);
+                }
+            }
+        }
+    }
+
+    private static byte[] compress(ChunkCoordIntPair coord, NBTTagCompound tag) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            CompressedStreamTools.write(tag, out);
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Couldn't save chunk {}", coord, e);
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.noise;
+
+import static klaxon.klaxon.cursor.noise.FusedDensity.COLUMN_LONGS;
+import static klaxon.klaxon.cursor.noise.FusedDensity.X_SIZE;
+import static klaxon.klaxon.cursor.noise.FusedDensity.Z_SIZE;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.minecraft.world.ChunkCoordIntPair;
+
+/**
+ * Finished density columns on chunk borders. Neighbouring chunks' grids overlap by a row of columns, each with 33
+ * samples of every octave, so whichever chunk gets there second can skip them. Keyed by the column's coordinates in
+ * grid space (block coords / 4); the seed and the biomes are fixed per generator, which owns one of these.
+ * <p>
+ * Least recently used columns go first. Generation moves out along a frontier, and a border column is only ever wanted
+ * again by the chunk on its other side, so the capacity only has to cover the chunks between a chunk and its
+ * neighbours being generated.
+ */
+final class DensityColumns {
+
+    private final Map<Long, long[]> columns;
+
+    DensityColumns(int capacity) {
+        columns = new LinkedHashMap<>(Math.min(capacity, 1024), 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, long[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** Interior columns belong to one chunk, there's no point keeping them */
+    private static boolean isBorder(int x, int z) {
+        return x == 0 || x == X_SIZE - 1 || z == 0 || z == Z_SIZE - 1;
+    }
+
+    /**
+     * Copies whatever border columns of the grid at (xPos, zPos) are known into states.
+     *
+     * @return A mask of the columns it copied, bit x * Z_SIZE + z
+     */
+    synchronized int load(int xPos, int zPos, long[] states) {
+        int known = 0;
+        for (int x = 0; x < X_SIZE; ++x) {
+            for (int z = 0; z < Z_SIZE; ++z) {
+                if (!isBorder(x, z)) continue;
+
+                final long[] column = columns.get(ChunkCoordIntPair.chunkXZ2Int(xPos + x, zPos + z));
+                if (column == null) continue;
+
+                final int col = x * Z_SIZE + z;
+                System.arraycopy(column, 0, states, col * COLUMN_LONGS, COLUMN_LONGS);
+                known |= 1 << col;
+            }
+        }
+        return known;
+    }
+
+    /** Keeps the border columns of a grid fillDensity just finished */
+    synchronized void store(int xPos, int zPos, long[] states) {
+        for (int x = 0; x < X_SIZE; ++x) {
+            for (int z = 0; z < Z_SIZE; ++z) {
+                if (!isBorder(x, z)) continue;
+
+                final int col = x * Z_SIZE + z;
+                final long[] column = new long[COLUMN_LONGS];
+                System.arraycopy(states, col * COLUMN_LONGS, column, 0, COLUMN_LONGS);
+                columns.put(ChunkCoordIntPair.chunkXZ2Int(xPos + x, zPos + z), column);
+            }
+        }
+    }
+}
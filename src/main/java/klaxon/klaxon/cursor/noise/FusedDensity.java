@@ -0,0 +1,243 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.noise;
+
+import static java.lang.foreign.FunctionDescriptor.ofVoid;
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.StructLayout;
+import java.lang.invoke.MethodHandle;
+
+import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.gen.NoiseGeneratorImproved;
+
+/**
+ * ChunkProviderGenerate's density grid in a single downcall, instead of one per octave plus the Java glue around them.
+ * The octave offsets, the backend and the world type are fixed per generator, so they're copied off-heap once and
+ * every chunk only passes its position and biomes.
+ * <p>
+ * Nothing but the shared columns is written after construction, and those lock, so one instance can fill grids on
+ * several threads at once.
+ */
+public class FusedDensity {
+
+    /** Side lengths of the grid, and of biomesForGeneration */
+    public static final int X_SIZE = 5, Y_SIZE = 33, Z_SIZE = 5, BIOME_SIZE = 10;
+    public static final int GRID_LEN = X_SIZE * Y_SIZE * Z_SIZE;
+    /** See density.MAX_OCTAVES */
+    public static final int MAX_OCTAVES = 32;
+
+    /** Matches density.Octave */
+    static final StructLayout OCTAVE = MemoryLayout.structLayout(
+        JAVA_DOUBLE.withName("x"),
+        JAVA_DOUBLE.withName("y"),
+        JAVA_DOUBLE.withName("z"),
+        JAVA_LONG.withName("seed"),
+        ADDRESS.withName("perm"));
+
+    /** Bytes of one NoiseGeneratorImproved permutation table */
+    private static final long PERM_BYTES = 512 * JAVA_INT.byteSize();
+
+    /** Matches context.DensityContext. The octaves follow it in the same allocation. */
+    static final StructLayout CONTEXT = MemoryLayout.structLayout(
+        JAVA_INT.withName("mainCount"),
+        JAVA_INT.withName("minCount"),
+        JAVA_INT.withName("maxCount"),
+        JAVA_INT.withName("depthCount"),
+        JAVA_INT.withName("amplified"),
+        JAVA_INT.withName("backend"),
+        JAVA_INT.withName("adaptive"),
+        JAVA_INT.withName("shared"));
+
+    /** Size of density.ColumnState, which Java only ever copies around */
+    static final int COLUMN_LONGS = 44;
+    static final int COLUMNS = X_SIZE * Z_SIZE;
+
+    /** Shared by fillDensity and fillDensityF32, which only differ in what they write */
+    private static final FunctionDescriptor FILL_DESC = ofVoid(ADDRESS,
+        ADDRESS,
+        JAVA_INT, JAVA_INT,
+        ADDRESS, ADDRESS,
+        ADDRESS, JAVA_INT);
+
+    private static final MethodHandle zmh_fillDensity = NativeNoise.downcall("fillDensity", FILL_DESC);
+    private static final MethodHandle zmh_fillDensityF32 = NativeNoise.downcall("fillDensityF32", FILL_DESC);
+
+    /** Grids are filled on the server thread and the prefetch workers at once */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /** Lives as long as this does, which is as long as the generator does */
+    private final MemorySegment context;
+    private final NoiseBackend backend;
+    /** Null if columns aren't shared */
+    private final DensityColumns columns;
+
+    /**
+     * @param adaptive Only sample the quieter octaves where they could change a block. Points deep underground or high
+     *                 in the air then hold rougher values, but the blocks come out the same.
+     * @param sharedColumns How many grid columns on chunk borders to keep for the neighbouring chunks, 0 for none.
+     *                      Sharing samples every column from its own position rather than from the chunk's, which moves
+     *                      the values by a rounding error or so. That's more than IMPROVED is allowed, so it never
+     *                      shares.
+     * @throws ClassCastException with IMPROVED, if NoiseGeneratorImproved wasn't mixed into
+     */
+    public FusedDensity(NoiseGeneratorImproved[] main, NoiseGeneratorImproved[] minLimit,
+        NoiseGeneratorImproved[] maxLimit, NoiseGeneratorImproved[] depth, NoiseBackend backend, boolean amplified,
+        boolean adaptive, int sharedColumns) {
+        this.backend = backend;
+        columns = sharedColumns > 0 && backend != NoiseBackend.IMPROVED ? new DensityColumns(sharedColumns) : null;
+
+        // IMPROVED's permutation tables go after the octaves, in the same allocation
+        final int count = main.length + minLimit.length + maxLimit.length + depth.length;
+        final long permsAt = CONTEXT.byteSize() + OCTAVE.byteSize() * count;
+        context = Arena.ofAuto()
+            .allocate(permsAt + (backend == NoiseBackend.IMPROVED ? PERM_BYTES * count : 0), 8);
+        context.set(JAVA_INT, 0, main.length);
+        context.set(JAVA_INT, 4, minLimit.length);
+        context.set(JAVA_INT, 8, maxLimit.length);
+        context.set(JAVA_INT, 12, depth.length);
+        context.set(JAVA_INT, 16, amplified ? 1 : 0);
+        context.set(JAVA_INT, 20, backend.nativeId);
+        context.set(JAVA_INT, 24, adaptive ? 1 : 0);
+        context.set(JAVA_INT, 28, columns != null ? 1 : 0);
+
+        long offset = CONTEXT.byteSize();
+        long perm = permsAt;
+        for (NoiseGeneratorImproved[] set : new NoiseGeneratorImproved[][] { main, minLimit, maxLimit, depth }) {
+            for (NoiseGeneratorImproved gen : set) {
+                final var slice = context.asSlice(offset, OCTAVE);
+                slice.set(JAVA_DOUBLE, 0, gen.xCoord);
+                slice.set(JAVA_DOUBLE, 8, gen.yCoord);
+                slice.set(JAVA_DOUBLE, 16, gen.zCoord);
+                slice.set(JAVA_LONG, 24, NativeNoise.seedOf(gen.xCoord, gen.yCoord, gen.zCoord));
+
+                if (backend == NoiseBackend.IMPROVED) {
+                    final var table = context.asSlice(perm, PERM_BYTES);
+                    MemorySegment.copy(((NativeImproved.Permuted) gen).cursor$getPermutations(), 0, table, JAVA_INT, 0,
+                        512);
+                    slice.set(ADDRESS, 32, table);
+                    perm += PERM_BYTES;
+                } else {
+                    slice.set(ADDRESS, 32, MemorySegment.NULL);
+                }
+                offset += OCTAVE.byteSize();
+            }
+        }
+    }
+
+    /** Whether libCursor has what {@code backend} needs to fill grids */
+    public static boolean isAvailable(NoiseBackend backend) {
+        return backend == NoiseBackend.IMPROVED ? NativeImproved.isAvailable() : NativeNoise.isAvailable(backend);
+    }
+
+    /**
+     * Mods like to construct these with more octaves than vanilla, past a point the kernel won't take them.
+     */
+    public static boolean canFuse(NoiseGeneratorImproved[]... sets) {
+        for (NoiseGeneratorImproved[] set : sets) {
+            if (set.length > MAX_OCTAVES) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Fills out the same way ChunkProviderGenerate.func_147423_a(xPos, 0, zPos) would.
+     *
+     * @return false if the backend isn't available, in which case out is untouched
+     */
+    public boolean fill(double[] out, int xPos, int zPos, BiomeGenBase[] biomes) {
+        return fill(zmh_fillDensity, MemorySegment.ofArray(out), xPos, zPos, biomes);
+    }
+
+    /**
+     * The same grid, rounded to float. For consumers that never hand it back to MC.
+     *
+     * @return false if the backend isn't available, in which case out is untouched
+     */
+    public boolean fill(float[] out, int xPos, int zPos, BiomeGenBase[] biomes) {
+        return fill(zmh_fillDensityF32, MemorySegment.ofArray(out), xPos, zPos, biomes);
+    }
+
+    /**
+     * The same grid, into a pooled off-heap buffer. Its length has to be at least {@link #GRID_LEN}.
+     *
+     * @return false if the backend isn't available, in which case out is untouched
+     */
+    public boolean fill(NoiseBuffer out, int xPos, int zPos, BiomeGenBase[] biomes) {
+        if (out.length() < GRID_LEN) throw new IllegalArgumentException("Noise buffer too small for a density grid");
+        return fill(zmh_fillDensity, out.segment(), xPos, zPos, biomes);
+    }
+
+    /**
+     * The same grid, from each biome's rootHeight and heightVariation in biomesForGeneration's 10x10 order. For callers
+     * without the biomes themselves, like the inspector.
+     *
+     * @return false if the backend isn't available, in which case out is untouched
+     */
+    public boolean fill(double[] out, int xPos, int zPos, float[] rootHeights, float[] heightVariations) {
+        return fill(zmh_fillDensity, MemorySegment.ofArray(out), xPos, zPos, rootHeights, heightVariations);
+    }
+
+    private boolean fill(MethodHandle handle, MemorySegment out, int xPos, int zPos, BiomeGenBase[] biomes) {
+        final Scratch scratch = SCRATCH.get();
+        final float[] rootHeights = scratch.rootHeights, heightVariations = scratch.heightVariations;
+        for (int i = 0; i < rootHeights.length; ++i) {
+            rootHeights[i] = biomes[i].rootHeight;
+            heightVariations[i] = biomes[i].heightVariation;
+        }
+        return fill(handle, out, xPos, zPos, rootHeights, heightVariations);
+    }
+
+    private boolean fill(MethodHandle handle, MemorySegment out, int xPos, int zPos, float[] rootHeights,
+        float[] heightVariations) {
+        if (handle == null || !isAvailable(backend)) return false;
+
+        // fillDensity writes all of every column it doesn't know, so what's left over from the last chunk never shows
+        final long[] states = columns != null ? SCRATCH.get().states : null;
+        final int known = columns != null ? columns.load(xPos, zPos, states) : 0;
+
+        try {
+            handle.invokeExact(context,
+                out,
+                xPos, zPos,
+                MemorySegment.ofArray(rootHeights), MemorySegment.ofArray(heightVariations),
+                states != null ? MemorySegment.ofArray(states) : MemorySegment.NULL, known);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+
+        if (columns != null) columns.store(xPos, zPos, states);
+        return true;
+    }
+
+    /** What every fill passes libCursor besides the grid, kept per thread so chunks don't allocate it */
+    private static final class Scratch {
+
+        final float[] rootHeights = new float[BIOME_SIZE * BIOME_SIZE];
+        final float[] heightVariations = new float[BIOME_SIZE * BIOME_SIZE];
+        final long[] states = new long[COLUMNS * COLUMN_LONGS];
+    }
+}
@@ -0,0 +1,499 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.noise;
+
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.StructLayout;
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.biome.BiomeGenJungle;
+import net.minecraft.world.biome.BiomeGenMesa;
+import net.minecraft.world.gen.layer.GenLayer;
+import net.minecraft.world.gen.layer.GenLayerAddIsland;
+import net.minecraft.world.gen.layer.GenLayerAddMushroomIsland;
+import net.minecraft.world.gen.layer.GenLayerAddSnow;
+import net.minecraft.world.gen.layer.GenLayerBiome;
+import net.minecraft.world.gen.layer.GenLayerBiomeEdge;
+import net.minecraft.world.gen.layer.GenLayerDeepOcean;
+import net.minecraft.world.gen.layer.GenLayerEdge;
+import net.minecraft.world.gen.layer.GenLayerFuzzyZoom;
+import net.minecraft.world.gen.layer.GenLayerHills;
+import net.minecraft.world.gen.layer.GenLayerIsland;
+import net.minecraft.world.gen.layer.GenLayerRareBiome;
+import net.minecraft.world.gen.layer.GenLayerRemoveTooMuchOcean;
+import net.minecraft.world.gen.layer.GenLayerRiver;
+import net.minecraft.world.gen.layer.GenLayerRiverInit;
+import net.minecraft.world.gen.layer.GenLayerRiverMix;
+import net.minecraft.world.gen.layer.GenLayerShore;
+import net.minecraft.world.gen.layer.GenLayerSmooth;
+import net.minecraft.world.gen.layer.GenLayerVoronoiZoom;
+import net.minecraft.world.gen.layer.GenLayerZoom;
+import net.minecraftforge.common.BiomeManager;
+
+import klaxon.klaxon.cursor.core.mixins.early.minecraft.AccessorGenLayer;
+import klaxon.klaxon.cursor.core.mixins.early.minecraft.AccessorGenLayerBiome;
+import klaxon.klaxon.cursor.core.mixins.early.minecraft.AccessorGenLayerEdge;
+import klaxon.klaxon.cursor.core.mixins.early.minecraft.AccessorGenLayerHills;
+import klaxon.klaxon.cursor.core.mixins.early.minecraft.AccessorGenLayerRiverMix;
+
+/**
+ * A WorldChunkManager's GenLayer chain, evaluated by libCursor. The live chain is walked once and copied over layer by
+ * layer, seeds, biome size and Forge's biome lists included, so anything built out of vanilla layer classes works. A
+ * chain with any other class in it, which is what biome mods hand out, isn't touched.
+ * <p>
+ * The output should match the Java layers id for id. Since a mismatch would only ever show up as odd biome borders,
+ * every chain is checked against the Java one over a few areas before it's used, and left alone if they disagree.
+ */
+public final class NativeBiomes {
+
+    /** Same order as genlayer.Op */
+    private enum Op {
+        ISLAND,
+        ZOOM,
+        FUZZY_ZOOM,
+        ADD_ISLAND,
+        REMOVE_TOO_MUCH_OCEAN,
+        ADD_SNOW,
+        EDGE_COOL_WARM,
+        EDGE_HEAT_ICE,
+        EDGE_SPECIAL,
+        ADD_MUSHROOM_ISLAND,
+        DEEP_OCEAN,
+        RIVER_INIT,
+        BIOME,
+        BIOME_EDGE,
+        HILLS,
+        RARE_BIOME,
+        SHORE,
+        RIVER,
+        SMOOTH,
+        RIVER_MIX,
+        VORONOI_ZOOM
+    }
+
+    static final StructLayout LAYER = MemoryLayout.structLayout(
+        JAVA_INT.withName("op"),
+        JAVA_INT.withName("parent"),
+        JAVA_INT.withName("parent2"),
+        MemoryLayout.paddingLayout(4),
+        JAVA_LONG.withName("seed"));
+    static final StructLayout ENTRY = MemoryLayout.structLayout(JAVA_INT.withName("biome"), JAVA_INT.withName("weight"));
+    static final StructLayout TYPE_LIST = MemoryLayout.structLayout(
+        JAVA_INT.withName("start"),
+        JAVA_INT.withName("count"),
+        JAVA_INT.withName("total"),
+        JAVA_INT.withName("modded"));
+    /** Matches genlayer.Chain */
+    static final StructLayout CHAIN = MemoryLayout.structLayout(
+        ADDRESS.withName("layers"),
+        ADDRESS.withName("entries"),
+        JAVA_INT.withName("layerCount"),
+        JAVA_INT.withName("entryCount"),
+        MemoryLayout.sequenceLayout(4, TYPE_LIST)
+            .withName("types"),
+        MemoryLayout.sequenceLayout(256, JAVA_BYTE)
+            .withName("flags"),
+        MemoryLayout.sequenceLayout(256 * 256 / 8, JAVA_BYTE)
+            .withName("equal"));
+
+    private static final long TYPES = CHAIN.byteOffset(MemoryLayout.PathElement.groupElement("types"));
+    private static final long FLAGS = CHAIN.byteOffset(MemoryLayout.PathElement.groupElement("flags"));
+    private static final long EQUAL = CHAIN.byteOffset(MemoryLayout.PathElement.groupElement("equal"));
+
+    // genlayer.zig's flag bits
+    private static final int EXISTS = 1, JUNGLE = 2, SNOW = 4, MESA = 8, MUTATION = 16, TEMP_SHIFT = 5;
+
+    /** The lists GenLayerBiome draws from, in genlayer.zig's order */
+    private static final BiomeManager.BiomeType[] TYPES_ORDER = { BiomeManager.BiomeType.DESERT,
+        BiomeManager.BiomeType.WARM, BiomeManager.BiomeType.COOL, BiomeManager.BiomeType.ICY };
+
+    private static final MethodHandle zmh_biomeScratchSize = NativeNoise
+        .downcall("biomeScratchSize", FunctionDescriptor.of(JAVA_LONG, ADDRESS, JAVA_INT, JAVA_INT, JAVA_INT));
+    private static final MethodHandle zmh_biomeInts = NativeNoise.downcall(
+        "biomeInts",
+        FunctionDescriptor.of(
+            JAVA_INT,
+            ADDRESS,
+            JAVA_INT,
+            JAVA_INT,
+            JAVA_INT,
+            JAVA_INT,
+            JAVA_INT,
+            ADDRESS,
+            ADDRESS,
+            JAVA_LONG));
+
+    /** Areas each chain is checked over before it's used: x, z, width, depth */
+    private static final int[][] CHECKS = { { -5, 7, 10, 10 }, { 123, -456, 10, 10 }, { 3, -5, 7, 9 } };
+    private static final int[][] BLOCK_CHECKS = { { -16, 32, 16, 16 }, { 1024, -2048, 16, 16 }, { -37, 91, 13, 5 } };
+
+    /**
+     * What compiling reads out of the layers, none of which is public. The inspector runs without mixins, so it brings
+     * its own.
+     */
+    public interface Fields {
+
+        GenLayer parent(GenLayer layer);
+
+        long worldGenSeed(GenLayer layer);
+
+        List<BiomeManager.BiomeEntry>[] biomes(GenLayerBiome layer);
+
+        GenLayerEdge.Mode mode(GenLayerEdge layer);
+
+        GenLayer rivers(GenLayerHills layer);
+
+        GenLayer biomes(GenLayerRiverMix layer);
+
+        GenLayer rivers(GenLayerRiverMix layer);
+
+        boolean compareBiomesById(int a, int b);
+    }
+
+    private static final Fields ACCESSORS = new Fields() {
+
+        @Override
+        public GenLayer parent(GenLayer layer) {
+            return ((AccessorGenLayer) layer).cursor$getParent();
+        }
+
+        @Override
+        public long worldGenSeed(GenLayer layer) {
+            return ((AccessorGenLayer) layer).cursor$getWorldGenSeed();
+        }
+
+        @Override
+        public List<BiomeManager.BiomeEntry>[] biomes(GenLayerBiome layer) {
+            return ((AccessorGenLayerBiome) layer).cursor$getBiomes();
+        }
+
+        @Override
+        public GenLayerEdge.Mode mode(GenLayerEdge layer) {
+            return ((AccessorGenLayerEdge) layer).cursor$getMode();
+        }
+
+        @Override
+        public GenLayer rivers(GenLayerHills layer) {
+            return ((AccessorGenLayerHills) layer).cursor$getRivers();
+        }
+
+        @Override
+        public GenLayer biomes(GenLayerRiverMix layer) {
+            return ((AccessorGenLayerRiverMix) layer).cursor$getBiomes();
+        }
+
+        @Override
+        public GenLayer rivers(GenLayerRiverMix layer) {
+            return ((AccessorGenLayerRiverMix) layer).cursor$getRivers();
+        }
+
+        @Override
+        public boolean compareBiomesById(int a, int b) {
+            return AccessorGenLayer.cursor$compareBiomesById(a, b);
+        }
+    };
+
+    private final MemorySegment chain;
+    private final GenLayer genBiomes;
+    private final GenLayer biomeIndexLayer;
+    private final int genBiomesIndex;
+    private final int biomeIndexIndex;
+
+    private NativeBiomes(MemorySegment chain, GenLayer genBiomes, GenLayer biomeIndexLayer, int genBiomesIndex,
+        int biomeIndexIndex) {
+        this.chain = chain;
+        this.genBiomes = genBiomes;
+        this.biomeIndexLayer = biomeIndexLayer;
+        this.genBiomesIndex = genBiomesIndex;
+        this.biomeIndexIndex = biomeIndexIndex;
+    }
+
+    public static boolean isAvailable() {
+        return zmh_biomeInts != null;
+    }
+
+    /**
+     * Copies a WorldChunkManager's two chains over to libCursor. Call once initWorldGenSeed has run, which the
+     * WorldChunkManager constructor takes care of.
+     *
+     * @return null if libCursor didn't load, either chain has a layer it can't run, or its output doesn't match
+     */
+    public static NativeBiomes compile(GenLayer genBiomes, GenLayer biomeIndexLayer) {
+        return compile(genBiomes, biomeIndexLayer, ACCESSORS);
+    }
+
+    /** The same, reading the layers through {@code fields} */
+    public static NativeBiomes compile(GenLayer genBiomes, GenLayer biomeIndexLayer, Fields fields) {
+        if (!isAvailable() || genBiomes == null || biomeIndexLayer == null) return null;
+
+        final Builder builder = new Builder(fields);
+        final int genIndex = builder.add(genBiomes);
+        final int blockIndex = builder.add(biomeIndexLayer);
+        if (genIndex < 0 || blockIndex < 0) return null;
+
+        final NativeBiomes biomes = new NativeBiomes(
+            builder.build(),
+            genBiomes,
+            biomeIndexLayer,
+            genIndex,
+            blockIndex);
+        if (!biomes.matches(genBiomes, CHECKS) || !biomes.matches(biomeIndexLayer, BLOCK_CHECKS)) {
+            NativeNoise.LOG.warn("libCursor's biome layers don't match this world's, keeping the Java ones");
+            return null;
+        }
+        return biomes;
+    }
+
+    /**
+     * Drop-in for {@code layer.getInts(x, z, width, depth)}, for the two layers this was compiled from.
+     *
+     * @return false if {@code layer} is some other layer, in which case out is untouched
+     */
+    public boolean getInts(GenLayer layer, int x, int z, int width, int depth, int[] out) {
+        final int index;
+        if (layer == genBiomes) index = genBiomesIndex;
+        else if (layer == biomeIndexLayer) index = biomeIndexIndex;
+        else return false;
+
+        try {
+            final long need = (long) zmh_biomeScratchSize.invokeExact(chain, index, width, depth);
+            if (need > 2L * Integer.MAX_VALUE) return false;
+
+            try (NoiseBuffer scratch = NoiseBufferPool.acquire((int) ((need + 1) / 2))) {
+                final int ret = (int) zmh_biomeInts.invokeExact(
+                    chain,
+                    index,
+                    x,
+                    z,
+                    width,
+                    depth,
+                    MemorySegment.ofArray(out),
+                    scratch.segment(),
+                    scratch.capacity() * 2L);
+                return ret == 0;
+            }
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private boolean matches(GenLayer layer, int[][] areas) {
+        for (int[] a : areas) {
+            final int[] expected = Arrays.copyOf(layer.getInts(a[0], a[1], a[2], a[3]), a[2] * a[3]);
+            final int[] actual = new int[a[2] * a[3]];
+            if (!getInts(layer, a[0], a[1], a[2], a[3], actual) || !Arrays.equals(expected, actual)) return false;
+        }
+        return true;
+    }
+
+    /** Flattens a chain into genlayer.Layers, sharing the layers the two roots have in common */
+    private static final class Builder {
+
+        private final Fields fields;
+        private final Map<GenLayer, Integer> indices = new IdentityHashMap<>();
+        private final List<Op> ops = new ArrayList<>();
+        private final List<int[]> parents = new ArrayList<>();
+        private final List<Long> seeds = new ArrayList<>();
+        private List<BiomeManager.BiomeEntry>[] biomeLists;
+
+        Builder(Fields fields) {
+            this.fields = fields;
+        }
+
+        /** @return the layer's index, or -1 if it or anything it reads from can't be run natively */
+        int add(GenLayer layer) {
+            if (layer == null) return -1;
+            final Integer known = indices.get(layer);
+            if (known != null) return known;
+
+            final Op op = opOf(layer);
+            if (op == null) return -1;
+
+            int parent = -1, parent2 = -1;
+            switch (op) {
+                case ISLAND -> {}
+                case RIVER_MIX -> {
+                    final GenLayerRiverMix mix = (GenLayerRiverMix) layer;
+                    parent = add(fields.biomes(mix));
+                    parent2 = add(fields.rivers(mix));
+                    if (parent2 < 0) return -1;
+                }
+                case HILLS -> {
+                    parent = add(fields.parent(layer));
+                    parent2 = add(fields.rivers((GenLayerHills) layer));
+                    if (parent2 < 0) return -1;
+                }
+                default -> parent = add(fields.parent(layer));
+            }
+            if (parent < 0 && op != Op.ISLAND) return -1;
+
+            if (op == Op.BIOME) {
+                // The lists live in the chain, not the layer, so there can only be the one
+                if (biomeLists != null) return -1;
+                biomeLists = fields.biomes((GenLayerBiome) layer);
+                if (!listsUsable(biomeLists)) return -1;
+            }
+
+            final int index = ops.size();
+            ops.add(op);
+            parents.add(new int[] { parent, parent2 });
+            seeds.add(fields.worldGenSeed(layer));
+            indices.put(layer, index);
+            return index;
+        }
+
+        /** Exact classes only: a subclass may well override getInts */
+        private Op opOf(GenLayer layer) {
+            final Class<?> c = layer.getClass();
+            if (c == GenLayerIsland.class) return Op.ISLAND;
+            if (c == GenLayerZoom.class) return Op.ZOOM;
+            if (c == GenLayerFuzzyZoom.class) return Op.FUZZY_ZOOM;
+            if (c == GenLayerAddIsland.class) return Op.ADD_ISLAND;
+            if (c == GenLayerRemoveTooMuchOcean.class) return Op.REMOVE_TOO_MUCH_OCEAN;
+            if (c == GenLayerAddSnow.class) return Op.ADD_SNOW;
+            if (c == GenLayerEdge.class) {
+                return switch (fields.mode((GenLayerEdge) layer)) {
+                    case COOL_WARM -> Op.EDGE_COOL_WARM;
+                    case HEAT_ICE -> Op.EDGE_HEAT_ICE;
+                    case SPECIAL -> Op.EDGE_SPECIAL;
+                };
+            }
+            if (c == GenLayerAddMushroomIsland.class) return Op.ADD_MUSHROOM_ISLAND;
+            if (c == GenLayerDeepOcean.class) return Op.DEEP_OCEAN;
+            if (c == GenLayerRiverInit.class) return Op.RIVER_INIT;
+            if (c == GenLayerBiome.class) return Op.BIOME;
+            if (c == GenLayerBiomeEdge.class) return Op.BIOME_EDGE;
+            if (c == GenLayerHills.class) return Op.HILLS;
+            if (c == GenLayerRareBiome.class) return Op.RARE_BIOME;
+            if (c == GenLayerShore.class) return Op.SHORE;
+            if (c == GenLayerRiver.class) return Op.RIVER;
+            if (c == GenLayerSmooth.class) return Op.SMOOTH;
+            if (c == GenLayerRiverMix.class) return Op.RIVER_MIX;
+            if (c == GenLayerVoronoiZoom.class) return Op.VORONOI_ZOOM;
+            return null;
+        }
+
+        /** A list GenLayerBiome would divide by zero on is left to GenLayerBiome */
+        private static boolean listsUsable(List<BiomeManager.BiomeEntry>[] lists) {
+            for (BiomeManager.BiomeType type : TYPES_ORDER) {
+                final List<BiomeManager.BiomeEntry> list = lists[type.ordinal()];
+                if (list == null) return false;
+
+                int total = 0;
+                for (BiomeManager.BiomeEntry entry : list) total += entry.itemWeight;
+                if (total <= 0 || !BiomeManager.isTypeListModded(type) && total / 10 <= 0) return false;
+            }
+            return true;
+        }
+
+        MemorySegment build() {
+            int entryCount = 0;
+            if (biomeLists != null) {
+                for (BiomeManager.BiomeType type : TYPES_ORDER) entryCount += biomeLists[type.ordinal()].size();
+            }
+
+            final long layersAt = CHAIN.byteSize();
+            final long entriesAt = layersAt + LAYER.byteSize() * ops.size();
+            final MemorySegment chain = Arena.ofAuto()
+                .allocate(entriesAt + ENTRY.byteSize() * Math.max(entryCount, 1), 8);
+
+            chain.set(ADDRESS, 0, chain.asSlice(layersAt));
+            chain.set(ADDRESS, 8, chain.asSlice(entriesAt));
+            chain.set(JAVA_INT, 16, ops.size());
+            chain.set(JAVA_INT, 20, entryCount);
+
+            for (int i = 0; i < ops.size(); ++i) {
+                final long at = layersAt + LAYER.byteSize() * i;
+                chain.set(JAVA_INT, at, ops.get(i)
+                    .ordinal());
+                chain.set(JAVA_INT, at + 4, parents.get(i)[0]);
+                chain.set(JAVA_INT, at + 8, parents.get(i)[1]);
+                chain.set(JAVA_LONG, at + 16, seeds.get(i));
+            }
+
+            if (biomeLists != null) {
+                int start = 0;
+                for (int t = 0; t < TYPES_ORDER.length; ++t) {
+                    final List<BiomeManager.BiomeEntry> list = biomeLists[TYPES_ORDER[t].ordinal()];
+                    int total = 0;
+                    for (int i = 0; i < list.size(); ++i) {
+                        final BiomeManager.BiomeEntry entry = list.get(i);
+                        final long at = entriesAt + ENTRY.byteSize() * (start + i);
+                        chain.set(JAVA_INT, at, entry.biome.biomeID);
+                        chain.set(JAVA_INT, at + 4, entry.itemWeight);
+                        total += entry.itemWeight;
+                    }
+
+                    final long at = TYPES + TYPE_LIST.byteSize() * t;
+                    chain.set(JAVA_INT, at, start);
+                    chain.set(JAVA_INT, at + 4, list.size());
+                    chain.set(JAVA_INT, at + 8, total);
+                    chain.set(JAVA_INT, at + 12, BiomeManager.isTypeListModded(TYPES_ORDER[t]) ? 1 : 0);
+                    start += list.size();
+                }
+            }
+
+            writeBiomeTables(chain, fields);
+            return chain;
+        }
+
+        /** What the layers ask BiomeGenBase, asked once for every id */
+        private static void writeBiomeTables(MemorySegment chain, Fields fields) {
+            for (int id = 0; id < 256; ++id) {
+                final BiomeGenBase biome = BiomeGenBase.getBiome(id);
+                int flags = 0;
+                if (biome != null) {
+                    flags |= EXISTS;
+                    if (biome.getBiomeClass() == BiomeGenJungle.class) flags |= JUNGLE;
+                    if (biome.getEnableSnow()) flags |= SNOW;
+                    if (biome instanceof BiomeGenMesa) flags |= MESA;
+                    flags |= biome.getTempCategory()
+                        .ordinal() << TEMP_SHIFT;
+                }
+                if (id < 128 && BiomeGenBase.getBiome(id + 128) != null) flags |= MUTATION;
+                chain.set(JAVA_BYTE, FLAGS + id, (byte) flags);
+            }
+
+            final byte[] equal = new byte[256 * 256 / 8];
+            for (int a = 0; a < 256; ++a) {
+                for (int b = 0; b < 256; ++b) {
+                    if (fields.compareBiomesById(a, b)) {
+                        final int bit = a * 256 + b;
+                        equal[bit >> 3] |= (byte) (1 << (bit & 7));
+                    }
+                }
+            }
+            MemorySegment.copy(equal, 0, chain, JAVA_BYTE, EQUAL, equal.length);
+        }
+    }
+}
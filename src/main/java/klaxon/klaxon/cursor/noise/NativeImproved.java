@@ -0,0 +1,130 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.noise;
+
+import static java.lang.foreign.FunctionDescriptor.ofVoid;
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandle;
+
+/**
+ * NoiseGeneratorImproved.populateNoiseArray in libCursor, matching MC's to the bit rather than approximating it. It
+ * works from the generator's own permutation table instead of a seed, so it's the one native backend that can take
+ * over a world generated without Cursor and leave no seams.
+ * <p>
+ * Like {@link NativeSurface}, every generator is checked against its Java self once before it's switched over, and the
+ * inspector's {@code checkImprovedNoise} task compares the two over many seeds and offsets.
+ */
+public final class NativeImproved {
+
+    private static final MethodHandle zmh_improvedPopulateNoiseArray = NativeNoise.downcall(
+        "improvedPopulateNoiseArray",
+        ofVoid(
+            ADDRESS,
+            ADDRESS,
+            JAVA_DOUBLE,
+            JAVA_DOUBLE,
+            JAVA_DOUBLE,
+            JAVA_DOUBLE,
+            JAVA_DOUBLE,
+            JAVA_DOUBLE,
+            JAVA_INT,
+            JAVA_INT,
+            JAVA_INT,
+            JAVA_DOUBLE,
+            JAVA_DOUBLE,
+            JAVA_DOUBLE,
+            JAVA_DOUBLE));
+
+    private NativeImproved() {}
+
+    /** Implemented by NoiseGeneratorImproved */
+    public interface Permuted {
+
+        /** The generator's own table, not a copy. Don't write to it. */
+        int[] cursor$getPermutations();
+    }
+
+    public static boolean isAvailable() {
+        return zmh_improvedPopulateNoiseArray != null;
+    }
+
+    /**
+     * Drop-in for populateNoiseArray, on a generator with these permutations and coords. Unlike
+     * {@link NativeNoise#populateNoiseArray}, the offsets don't include the coords; MC adds those last.
+     *
+     * @return false if libCursor didn't load, in which case the array is untouched
+     */
+    public static boolean populateNoiseArray(
+        int[] permutations,
+        double[] noiseArray,
+        double xCoord, double yCoord, double zCoord,
+        double xOffset, double yOffset, double zOffset,
+        int xSize, int ySize, int zSize,
+        double xScale, double yScale, double zScale,
+        double noiseScale) {
+
+        if (!isAvailable()) return false;
+        if (permutations.length < 512) throw new IllegalArgumentException("Permutation table too short");
+        if (xSize * ySize * zSize > noiseArray.length) {
+            throw new IllegalArgumentException("Noise array of " + noiseArray.length + " can't fit " + xSize + "x"
+                + ySize + "x" + zSize);
+        }
+
+        try {
+            zmh_improvedPopulateNoiseArray.invokeExact(
+                MemorySegment.ofArray(permutations),
+                MemorySegment.ofArray(noiseArray),
+                xCoord,
+                yCoord,
+                zCoord,
+                xOffset,
+                yOffset,
+                zOffset,
+                xSize,
+                ySize,
+                zSize,
+                xScale,
+                yScale,
+                zScale,
+                noiseScale);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+        return true;
+    }
+
+    /** @return true if both arrays hold the same first {@code n} values, bit for bit */
+    public static boolean matches(double[] expected, double[] actual, int n) {
+        for (int i = 0; i < n; ++i) {
+            if (Double.doubleToRawLongBits(expected[i]) != Double.doubleToRawLongBits(actual[i])) {
+                NativeNoise.LOG.warn(
+                    "Native improved noise disagrees with NoiseGeneratorImproved at index {}: {} vs {}, using Java",
+                    i,
+                    actual[i],
+                    expected[i]);
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,216 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.noise;
+
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.SymbolLookup;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Picks the libCursor build that best fits this CPU out of the ones packaged in the jar, and extracts it somewhere it
+ * can be loaded from. See the natives step in build.zig for how they're made.
+ * <p>
+ * {@code -Dcursor.isa=v2|v3|v4} forces a level, {@code -Dcursor.nativeDir} moves the extraction directory.
+ */
+final class NativeLoader {
+
+    /** x86-64 feature levels, worst to best. Names match the directories build.zig installs to. */
+    enum Level {
+
+        V2("sse4_2", "popcnt", "ssse3", "cx16"),
+        V3("avx2", "fma", "bmi1", "bmi2", "movbe", "f16c"),
+        V4("avx512f", "avx512bw", "avx512cd", "avx512dq", "avx512vl");
+
+        /** /proc/cpuinfo flags needed on top of the previous level's */
+        private final String[] flags;
+
+        Level(String... flags) {
+            this.flags = flags;
+        }
+
+        String dirName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private NativeLoader() {}
+
+    /**
+     * @return the extracted library, or null if the jar doesn't have one for this platform or extraction failed
+     */
+    static Path extract() {
+        final String platform = platform();
+        if (platform == null) return null;
+
+        final Level best = bestLevel();
+        if (best == null) {
+            NativeNoise.LOG.warn("This CPU doesn't support any packaged native library level");
+            return null;
+        }
+
+        final String libName = System.mapLibraryName("Cursor");
+        // Fall back a level if a variant didn't get packaged, e.g. in dev
+        for (int i = best.ordinal(); i >= 0; --i) {
+            final Level level = Level.values()[i];
+            final String resource = "/natives/" + platform + "/" + level.dirName() + "/" + libName;
+            try (InputStream in = NativeLoader.class.getResourceAsStream(resource)) {
+                if (in == null) continue;
+
+                final Path path = extract(in.readAllBytes(), level, libName);
+                NativeNoise.LOG.info("Using the {} native library for {}", level.dirName(), platform);
+                return path;
+            } catch (IOException e) {
+                NativeNoise.LOG.warn("Could not extract {}", resource, e);
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes the library out under a name derived from its hash, so a new mod version never picks up an old file and
+     * several instances sharing the directory never write to one another's.
+     */
+    private static Path extract(byte[] lib, Level level, String libName) throws IOException {
+        final Path dir = Path.of(System.getProperty("cursor.nativeDir", "cursor/natives"))
+            .toAbsolutePath();
+        final Path target = dir.resolve(level.dirName() + "-" + hash(lib) + "-" + libName);
+        if (Files.isRegularFile(target) && Files.size(target) == lib.length) return target;
+
+        Files.createDirectories(dir);
+        final Path tmp = Files.createTempFile(dir, libName, ".tmp");
+        try {
+            Files.write(tmp, lib);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return target;
+    }
+
+    private static String hash(byte[] data) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(data);
+            return HexFormat.of()
+                .formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** The natives/ subdirectory for this OS and arch, or null if nothing gets built for it */
+    private static String platform() {
+        final String arch = System.getProperty("os.arch");
+        if (!"amd64".equals(arch) && !"x86_64".equals(arch)) return null;
+
+        final String os = System.getProperty("os.name")
+            .toLowerCase(Locale.ROOT);
+        if (os.startsWith("linux")) return "linux-x86_64";
+        if (os.startsWith("windows")) return "windows-x86_64";
+        return null;
+    }
+
+    /** The best level this CPU supports, or null if it doesn't even reach v2 */
+    static Level bestLevel() {
+        final String forced = System.getProperty("cursor.isa");
+        if (forced != null) {
+            try {
+                return Level.valueOf(forced.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                NativeNoise.LOG.warn("Unknown -Dcursor.isa={}, expected one of {}, detecting instead", forced,
+                    Arrays.toString(Level.values()));
+            }
+        }
+
+        final Set<String> flags = cpuFlags();
+        if (flags == null) return windowsLevel();
+
+        Level best = null;
+        for (Level level : Level.values()) {
+            for (String flag : level.flags) {
+                if (!flags.contains(flag)) return best;
+            }
+            best = level;
+        }
+        return best;
+    }
+
+    /** The first flags line of /proc/cpuinfo, null where that doesn't exist */
+    private static Set<String> cpuFlags() {
+        final Path cpuinfo = Path.of("/proc/cpuinfo");
+        if (!Files.isReadable(cpuinfo)) return null;
+
+        try (var lines = Files.lines(cpuinfo)) {
+            return lines.filter(l -> l.startsWith("flags"))
+                .findFirst()
+                .map(l -> Set.of(l.substring(l.indexOf(':') + 1)
+                    .trim()
+                    .split("\\s+")))
+                .orElse(null);
+        } catch (IOException | RuntimeException e) {
+            NativeNoise.LOG.warn("Could not read CPU flags", e);
+            return null;
+        }
+    }
+
+    // IsProcessorFeaturePresent constants, see winnt.h
+    private static final int PF_SSE4_2_INSTRUCTIONS_AVAILABLE = 38;
+    private static final int PF_AVX2_INSTRUCTIONS_AVAILABLE = 40;
+    private static final int PF_AVX512F_INSTRUCTIONS_AVAILABLE = 41;
+
+    /**
+     * Asks kernel32 instead. It only knows about AVX-512F, not the rest of v4, but nothing that ships with one lacks
+     * the others. Anything that fails along the way means v2, which every x86-64 Windows 10+ machine handles.
+     */
+    private static Level windowsLevel() {
+        if (!System.getProperty("os.name")
+            .startsWith("Windows")) return null;
+
+        try {
+            final var kernel32 = SymbolLookup.libraryLookup("kernel32", Arena.global());
+            final var present = Linker.nativeLinker()
+                .downcallHandle(
+                    kernel32.findOrThrow("IsProcessorFeaturePresent"),
+                    FunctionDescriptor.of(JAVA_INT, JAVA_INT));
+
+            if ((int) present.invokeExact(PF_AVX512F_INSTRUCTIONS_AVAILABLE) != 0) return Level.V4;
+            if ((int) present.invokeExact(PF_AVX2_INSTRUCTIONS_AVAILABLE) != 0) return Level.V3;
+            if ((int) present.invokeExact(PF_SSE4_2_INSTRUCTIONS_AVAILABLE) != 0) return Level.V2;
+            return null;
+        } catch (Throwable e) {
+            NativeNoise.LOG.warn("Could not query CPU features, assuming v2", e);
+            return Level.V2;
+        }
+    }
+}
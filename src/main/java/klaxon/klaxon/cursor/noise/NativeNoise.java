@@ -0,0 +1,319 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.noise;
+
+import static java.lang.foreign.FunctionDescriptor.ofVoid;
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SymbolLookup;
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Downcalls into libCursor. The library is loaded on first use; if that fails, everything here reports itself as
+ * unavailable and callers are expected to fall back to MC's own code.
+ * <p>
+ * This class deliberately avoids touching Forge or the rest of the mod, so the inspector can use it too.
+ */
+public final class NativeNoise {
+
+    public static final Logger LOG = LogManager.getLogger("CursorNative");
+
+    /** Shape shared by the mc_ populateNoiseArray exports: the usual arguments, then the [start, end) to fill */
+    static final FunctionDescriptor POPULATE_DESC = ofVoid(ADDRESS,
+        JAVA_DOUBLE, JAVA_DOUBLE, JAVA_DOUBLE,
+        JAVA_INT, JAVA_INT, JAVA_INT,
+        JAVA_DOUBLE, JAVA_DOUBLE, JAVA_DOUBLE,
+        JAVA_DOUBLE, JAVA_LONG,
+        JAVA_INT, JAVA_INT);
+
+    private static final SymbolLookup LIB = load();
+
+    /** Lanes per vector loop iteration in libCursor. Split points have to be multiples of this. */
+    public static final int VLEN = vectorLength();
+
+    // Kept as separate static finals, so the JIT can treat them as constants
+    private static final MethodHandle zmh_mc_vec_populateNoiseArray = downcall(NoiseBackend.OPENSIMPLEX);
+    private static final MethodHandle zmh_mc_lazy_populateNoiseArray = downcall(NoiseBackend.LAZY);
+    private static final MethodHandle zmh_mc_FNL_populateNoiseArray = downcall(NoiseBackend.FNL);
+    private static final MethodHandle zmh_mc_vec_populateNoiseArrayF32 = downcallF32(NoiseBackend.OPENSIMPLEX);
+    private static final MethodHandle zmh_mc_lazy_populateNoiseArrayF32 = downcallF32(NoiseBackend.LAZY);
+    private static final MethodHandle zmh_mc_FNL_populateNoiseArrayF32 = downcallF32(NoiseBackend.FNL);
+
+    /** Splits large requests across threads, null if that's turned off. See {@link #setParallelism}. */
+    private static volatile ForkJoinPool pool;
+    private static volatile int parallelThreshold = Integer.MAX_VALUE;
+
+    private NativeNoise() {}
+
+    private static SymbolLookup load() {
+        // The library lives as long as the JVM does, there's no point in unloading it
+        final var libLoc = libLoc();
+        try {
+            final var lib = SymbolLookup.libraryLookup(libLoc, Arena.global());
+            LOG.info("Loaded native library from {}", libLoc);
+            return lib;
+        } catch (IllegalArgumentException | IllegalCallerException e) {
+            LOG.warn("Could not load native library from {}, falling back to Java noise", libLoc, e);
+            return null;
+        }
+    }
+
+    /**
+     * An explicit -Dcursor.libLoc wins, then whichever packaged variant fits this CPU. If neither pans out, the library
+     * might still be on the system's search path.
+     */
+    private static String libLoc() {
+        final var override = System.getProperty("cursor.libLoc");
+        if (override != null) return override;
+
+        final var extracted = NativeLoader.extract();
+        return extracted != null ? extracted.toString() : System.mapLibraryName("Cursor");
+    }
+
+    /**
+     * Binds a libCursor export. Everything passed in is a heap array or a primitive and no export calls back into
+     * Java, so they're all critical.
+     *
+     * @return null if the library didn't load, or if it's a stale or cut down build without this export
+     */
+    static MethodHandle downcall(String symbol, FunctionDescriptor desc) {
+        if (LIB == null) return null;
+
+        final var address = LIB.find(symbol);
+        if (address.isEmpty()) {
+            LOG.warn("Native library has no {}, falling back to Java for it", symbol);
+            return null;
+        }
+        return Linker.nativeLinker()
+            .downcallHandle(address.get(), desc, Linker.Option.critical(true));
+    }
+
+    private static int vectorLength() {
+        final var handle = downcall("vectorLength", FunctionDescriptor.of(JAVA_INT));
+        if (handle == null) return 1;
+
+        try {
+            return (int) handle.invokeExact();
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static MethodHandle downcall(NoiseBackend backend) {
+        return downcall(backend.symbol, POPULATE_DESC);
+    }
+
+    /** The float[] twin of each export has the same name, with F32 on the end */
+    private static MethodHandle downcallF32(NoiseBackend backend) {
+        return downcall(backend.symbol + "F32", POPULATE_DESC);
+    }
+
+    private static MethodHandle handleFor(NoiseBackend backend, boolean f32) {
+        return switch (backend) {
+            case OPENSIMPLEX -> f32 ? zmh_mc_vec_populateNoiseArrayF32 : zmh_mc_vec_populateNoiseArray;
+            case LAZY -> f32 ? zmh_mc_lazy_populateNoiseArrayF32 : zmh_mc_lazy_populateNoiseArray;
+            case FNL -> f32 ? zmh_mc_FNL_populateNoiseArrayF32 : zmh_mc_FNL_populateNoiseArray;
+            default -> throw new IllegalArgumentException(backend + " has no native implementation");
+        };
+    }
+
+    public static boolean isAvailable() {
+        return LIB != null;
+    }
+
+    public static boolean isAvailable(NoiseBackend backend) {
+        return LIB != null && backend.isNative() && handleFor(backend, false) != null
+            && handleFor(backend, true) != null;
+    }
+
+    /**
+     * Derives an OpenSimplex seed from a NoiseGeneratorImproved's random offsets. They're the only per-instance state
+     * that survives the trip to native code, and every octave gets different ones.
+     */
+    public static long seedOf(double xCoord, double yCoord, double zCoord) {
+        long h = Double.doubleToRawLongBits(xCoord);
+        h = h * 0x9E3779B97F4A7C15L + Double.doubleToRawLongBits(yCoord);
+        h = h * 0x9E3779B97F4A7C15L + Double.doubleToRawLongBits(zCoord);
+        return h ^ (h >>> 31);
+    }
+
+    /**
+     * Lets {@link #populateNoiseArray} split requests of at least {@code threshold} points across {@code threads}
+     * workers. One thread or fewer turns splitting off again. The output is the same either way.
+     */
+    public static synchronized void setParallelism(int threads, int threshold) {
+        final var old = pool;
+        if (threads > 1) {
+            pool = new ForkJoinPool(threads, p -> {
+                final var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                thread.setName("Cursor Noise #" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+            parallelThreshold = threshold;
+        } else {
+            pool = null;
+            parallelThreshold = Integer.MAX_VALUE;
+        }
+
+        if (old != null) old.shutdown();
+    }
+
+    /**
+     * Drop-in for {@link net.minecraft.world.gen.NoiseGeneratorImproved#populateNoiseArray}: same layout, same
+     * accumulation, and the same 1 / noiseScale convention. The offsets must already include the generator's coords.
+     *
+     * @return false if the backend isn't available, in which case the array is untouched
+     */
+    public static boolean populateNoiseArray(
+        NoiseBackend backend,
+        double[] noiseArray,
+        double xOffset, double yOffset, double zOffset,
+        int xSize, int ySize, int zSize,
+        double xScale, double yScale, double zScale,
+        double noiseScale, long seed) {
+
+        if (!isAvailable(backend)) return false;
+
+        populate(handleFor(backend, false), MemorySegment.ofArray(noiseArray),
+            xOffset, yOffset, zOffset,
+            xSize, ySize, zSize,
+            xScale, yScale, zScale,
+            noiseScale, seed);
+        return true;
+    }
+
+    /**
+     * {@link #populateNoiseArray(NoiseBackend, double[], double, double, double, int, int, int, double, double, double,
+     * double, long)} for buffers that don't have to be handed back to MC. Half the memory traffic, and the noise never
+     * leaves f32 on the way.
+     *
+     * @return false if the backend isn't available, in which case the array is untouched
+     */
+    public static boolean populateNoiseArray(
+        NoiseBackend backend,
+        float[] noiseArray,
+        double xOffset, double yOffset, double zOffset,
+        int xSize, int ySize, int zSize,
+        double xScale, double yScale, double zScale,
+        double noiseScale, long seed) {
+
+        if (!isAvailable(backend)) return false;
+
+        populate(handleFor(backend, true), MemorySegment.ofArray(noiseArray),
+            xOffset, yOffset, zOffset,
+            xSize, ySize, zSize,
+            xScale, yScale, zScale,
+            noiseScale, seed);
+        return true;
+    }
+
+    /**
+     * The double[] version, writing into a pooled off-heap buffer instead, so nothing on the heap gets pinned. Adds onto
+     * the buffer like MC does, so {@link NoiseBuffer#clear()} it first if it's fresh.
+     *
+     * @return false if the backend isn't available, in which case the buffer is untouched
+     */
+    public static boolean populateNoiseArray(
+        NoiseBackend backend,
+        NoiseBuffer noise,
+        double xOffset, double yOffset, double zOffset,
+        int xSize, int ySize, int zSize,
+        double xScale, double yScale, double zScale,
+        double noiseScale, long seed) {
+
+        if (!isAvailable(backend)) return false;
+        if (xSize * ySize * zSize > noise.length()) {
+            throw new IllegalArgumentException("Noise buffer of " + noise.length() + " can't fit " + xSize + "x"
+                + ySize + "x" + zSize);
+        }
+
+        populate(handleFor(backend, false), noise.segment(),
+            xOffset, yOffset, zOffset,
+            xSize, ySize, zSize,
+            xScale, yScale, zScale,
+            noiseScale, seed);
+        return true;
+    }
+
+    private static void populate(
+        MethodHandle handle,
+        MemorySegment wrappedNoise,
+        double xOffset, double yOffset, double zOffset,
+        int xSize, int ySize, int zSize,
+        double xScale, double yScale, double zScale,
+        double noiseScale, long seed) {
+        // Required to make output characteristics match MC's. It's not *that* close, but it's close enough... probably
+        // The offsets get squished too, otherwise neighbouring chunks wouldn't line up.
+        final double xo = xOffset * 0.7, yo = yOffset * 0.7, zo = zOffset * 0.7;
+        final double xs = xScale * 0.7, ys = yScale * 0.7, zs = zScale * 0.7;
+        final double ns = 1.0 / noiseScale;
+
+        final int len = xSize * ySize * zSize;
+        final ForkJoinPool pool = NativeNoise.pool;
+        if (pool == null || len < parallelThreshold) {
+            invoke(handle, wrappedNoise, xo, yo, zo, xSize, ySize, zSize, xs, ys, zs, ns, seed, 0, len);
+            return;
+        }
+
+        // Every piece but the last has to start on a multiple of VLEN, see root.zig
+        final int parts = pool.getParallelism();
+        final int step = ((len + parts - 1) / parts + VLEN - 1) / VLEN * VLEN;
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(parts);
+        for (int start = 0; start < len; start += step) {
+            final int s = start, e = Math.min(start + step, len);
+            tasks.add(ForkJoinTask.adapt(
+                () -> invoke(handle, wrappedNoise, xo, yo, zo, xSize, ySize, zSize, xs, ys, zs, ns, seed, s, e)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+
+    private static void invoke(
+        MethodHandle handle,
+        MemorySegment noise,
+        double xOffset, double yOffset, double zOffset,
+        int xSize, int ySize, int zSize,
+        double xScale, double yScale, double zScale,
+        double noiseScale, long seed,
+        int start, int end) {
+        try {
+            handle.invokeExact(noise,
+                xOffset, yOffset, zOffset,
+                xSize, ySize, zSize,
+                xScale, yScale, zScale,
+                noiseScale, seed,
+                start, end);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.noise;
+
+import static java.lang.foreign.FunctionDescriptor.ofVoid;
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.StructLayout;
+import java.lang.invoke.MethodHandle;
+
+/**
+ * NoiseGeneratorPerlin's 2D octave noise in libCursor, one call for a whole area instead of one Java pass per octave.
+ * The port follows MC's arithmetic step for step, so it should match to the bit; each generator is checked against its
+ * Java self once before it's switched over anyway.
+ * <p>
+ * Each NoiseGeneratorSimplex's offsets and permutation are read through {@link Octave} and copied off-heap as they are.
+ */
+public final class NativeSurface {
+
+    /** Implemented by NoiseGeneratorSimplex */
+    public interface Octave {
+
+        /** All 512 entries, the shuffled 256 twice over */
+        int[] cursor$getPermutation();
+
+        double cursor$getXOffset();
+
+        double cursor$getYOffset();
+    }
+
+    /** Matches surface.Octave */
+    static final StructLayout OCTAVE = MemoryLayout.structLayout(
+        JAVA_DOUBLE.withName("xo"),
+        JAVA_DOUBLE.withName("yo"),
+        MemoryLayout.sequenceLayout(512, JAVA_INT)
+            .withName("perm"));
+
+    private static final MethodHandle zmh_surfaceNoise = NativeNoise.downcall(
+        "surfaceNoise",
+        ofVoid(
+            ADDRESS,
+            JAVA_INT,
+            ADDRESS,
+            JAVA_DOUBLE,
+            JAVA_DOUBLE,
+            JAVA_INT,
+            JAVA_INT,
+            JAVA_DOUBLE,
+            JAVA_DOUBLE,
+            JAVA_DOUBLE,
+            JAVA_DOUBLE));
+
+    private NativeSurface() {}
+
+    public static boolean isAvailable() {
+        return zmh_surfaceNoise != null;
+    }
+
+    /**
+     * Copies a NoiseGeneratorPerlin's octaves off-heap, in the order it samples them.
+     *
+     * @return null if libCursor didn't load
+     */
+    public static MemorySegment pack(Octave[] octaves) {
+        if (!isAvailable() || octaves.length == 0) return null;
+
+        final MemorySegment packed = Arena.ofAuto()
+            .allocate(OCTAVE.byteSize() * octaves.length, OCTAVE.byteAlignment());
+        for (int o = 0; o < octaves.length; ++o) {
+            final MemorySegment octave = packed.asSlice(o * OCTAVE.byteSize(), OCTAVE);
+            octave.set(JAVA_DOUBLE, 0, octaves[o].cursor$getXOffset());
+            octave.set(JAVA_DOUBLE, 8, octaves[o].cursor$getYOffset());
+            MemorySegment.copy(octaves[o].cursor$getPermutation(), 0, octave, JAVA_INT, 16, 512);
+        }
+        return packed;
+    }
+
+    /**
+     * func_151600_a's loop over every octave: xSize * zSize values, x varying fastest, written over the start of
+     * {@code out}.
+     */
+    public static void fill(MemorySegment octaves, int count, double[] out, double x, double z, int xSize, int zSize,
+        double xScale, double zScale, double frequencyStep, double amplitudeStep) {
+        try {
+            zmh_surfaceNoise.invokeExact(
+                octaves,
+                count,
+                MemorySegment.ofArray(out),
+                x,
+                z,
+                xSize,
+                zSize,
+                xScale,
+                zScale,
+                frequencyStep,
+                amplitudeStep);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** @return true if both arrays hold the same first {@code n} values, bit for bit */
+    public static boolean matches(double[] expected, double[] actual, int n) {
+        for (int i = 0; i < n; ++i) {
+            if (Double.doubleToRawLongBits(expected[i]) != Double.doubleToRawLongBits(actual[i])) {
+                NativeNoise.LOG.warn(
+                    "Native surface noise disagrees with NoiseGeneratorPerlin at index {}: {} vs {}, using Java",
+                    i,
+                    actual[i],
+                    expected[i]);
+                return false;
+            }
+        }
+        return true;
+    }
+}
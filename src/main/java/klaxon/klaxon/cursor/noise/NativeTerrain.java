@@ -0,0 +1,109 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.noise;
+
+import static java.lang.foreign.FunctionDescriptor.ofVoid;
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandle;
+
+import net.minecraft.block.Block;
+import net.minecraft.init.Blocks;
+
+/**
+ * The interpolation half of ChunkProviderGenerate.func_147424_a. libCursor stretches the density grid over the chunk
+ * and sorts every block into solid, water or air, matching vanilla block for block; all that's left in Java is swapping
+ * the mask for actual blocks.
+ */
+public final class NativeTerrain {
+
+    /** See terrain.zig */
+    public static final byte AIR = 0, WATER = 1, SOLID = 2;
+    /** Blocks in a chunk, in func_147424_a's x << 12 | z << 8 | y order */
+    public static final int MASK_LEN = 16 * 16 * 256;
+    /** func_147424_a hardcodes this rather than asking the world */
+    public static final int SEA_LEVEL = 63;
+
+    private static final FunctionDescriptor INTERPOLATE_DESC = ofVoid(ADDRESS, ADDRESS, JAVA_INT);
+
+    private static final MethodHandle zmh_interpolateTerrain = NativeNoise
+        .downcall("interpolateTerrain", INTERPOLATE_DESC);
+    private static final MethodHandle zmh_interpolateTerrainF32 = NativeNoise
+        .downcall("interpolateTerrainF32", INTERPOLATE_DESC);
+
+    /** Chunks can be generated on several threads at once */
+    private static final ThreadLocal<byte[]> MASK = ThreadLocal.withInitial(() -> new byte[MASK_LEN]);
+
+    private NativeTerrain() {}
+
+    public static boolean isAvailable() {
+        return zmh_interpolateTerrain != null;
+    }
+
+    /**
+     * Fills {@code mask} from a grid laid out like ChunkProviderGenerate.field_147434_q.
+     *
+     * @return false if libCursor didn't load, in which case the mask is untouched
+     */
+    public static boolean interpolate(double[] grid, byte[] mask, int seaLevel) {
+        return interpolate(zmh_interpolateTerrain, MemorySegment.ofArray(grid), mask, seaLevel);
+    }
+
+    /**
+     * The same for grids from {@link FusedDensity#fill(float[], int, int, net.minecraft.world.biome.BiomeGenBase[])}.
+     * Rounding can flip the odd block that sits right on the surface.
+     */
+    public static boolean interpolate(float[] grid, byte[] mask, int seaLevel) {
+        return interpolate(zmh_interpolateTerrainF32, MemorySegment.ofArray(grid), mask, seaLevel);
+    }
+
+    private static boolean interpolate(MethodHandle handle, MemorySegment grid, byte[] mask, int seaLevel) {
+        if (handle == null) return false;
+
+        try {
+            handle.invokeExact(grid, MemorySegment.ofArray(mask), seaLevel);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+        return true;
+    }
+
+    /**
+     * Drop-in for the interpolation in func_147424_a: writes stone, water and null into {@code blocks} exactly where
+     * vanilla would.
+     *
+     * @return false if libCursor didn't load, in which case blocks is untouched
+     */
+    public static boolean fillBlocks(double[] grid, Block[] blocks) {
+        final byte[] mask = MASK.get();
+        if (!interpolate(grid, mask, SEA_LEVEL)) return false;
+
+        for (int i = 0; i < MASK_LEN; ++i) {
+            blocks[i] = switch (mask[i]) {
+                case SOLID -> Blocks.stone;
+                case WATER -> Blocks.water;
+                default -> null;
+            };
+        }
+        return true;
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.noise;
+
+/**
+ * The implementations {@link net.minecraft.world.gen.NoiseGeneratorImproved#populateNoiseArray} can be routed through.
+ * Everything but {@link #VANILLA} and {@link #IMPROVED} is an approximation, so switching an existing world over leaves
+ * seams at the border of old terrain.
+ */
+public enum NoiseBackend {
+
+    /** Leave MC's Perlin noise alone. */
+    VANILLA(null, -1),
+    /** 3D OpenSimplex2, vectorized. */
+    OPENSIMPLEX("mc_vec_populateNoiseArray", 0),
+    /** 2D OpenSimplex2 with the seed stepped along y. Vectorized, but no overhangs. */
+    LAZY("mc_lazy_populateNoiseArray", 1),
+    /** FastNoiseLite's 3D simplex. */
+    FNL("mc_FNL_populateNoiseArray", 2),
+    /** OPENSIMPLEX in Java, through the Vector API. For hosts that can't load libCursor. */
+    JAVA_SIMPLEX(null, -1),
+    /**
+     * MC's own Perlin noise in libCursor, bit for bit, see {@link NativeImproved}. Needs the generator's permutation
+     * table rather than a seed, so it has its own export instead of a symbol here; {@link FusedDensity} gets the tables
+     * copied in.
+     */
+    IMPROVED(null, 3);
+
+    /** The libCursor export implementing this backend, or null if it's pure Java */
+    public final String symbol;
+    /** What the fused kernels take as `backend`, see samplers.Backend */
+    public final int nativeId;
+
+    NoiseBackend(String symbol, int nativeId) {
+        this.symbol = symbol;
+        this.nativeId = nativeId;
+    }
+
+    public boolean isNative() {
+        return symbol != null;
+    }
+
+    /** Whether {@link FusedDensity} can compute the density grid with this */
+    public boolean canFuse() {
+        return nativeId >= 0;
+    }
+
+    /** Whether {@link VectorNoise} has a version of this, which also stands in when libCursor doesn't load */
+    public boolean hasJavaFallback() {
+        return this == OPENSIMPLEX || this == LAZY || this == JAVA_SIMPLEX;
+    }
+
+    /** Implemented by NoiseGeneratorImproved */
+    public interface Pinnable {
+
+        /** Makes this generator ignore the configured backend and always run MC's own noise */
+        void cursor$keepVanilla();
+    }
+}
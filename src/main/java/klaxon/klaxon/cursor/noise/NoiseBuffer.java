@@ -0,0 +1,108 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.noise;
+
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An off-heap array of doubles, leased from {@link NoiseBufferPool}. Downcalls write into it without pinning anything
+ * on the heap, and it can be handed to another thread; callers that need a {@code double[]} copy out once at the end.
+ * <p>
+ * Close it when done, from any thread. Buffers that get collected while still leased are counted as leaks.
+ */
+public final class NoiseBuffer implements AutoCloseable {
+
+    private final MemorySegment memory;
+    private final DoubleBuffer view;
+    /** Null for buffers too big to pool */
+    final NoiseBufferPool owner;
+    final int sizeClass;
+    /** Shared with the leak check, which can't hold on to the buffer itself */
+    final AtomicBoolean leased;
+    private int length;
+
+    NoiseBuffer(MemorySegment memory, NoiseBufferPool owner, int sizeClass, AtomicBoolean leased) {
+        this.memory = memory;
+        this.view = memory.asByteBuffer()
+            .order(ByteOrder.nativeOrder())
+            .asDoubleBuffer();
+        this.owner = owner;
+        this.sizeClass = sizeClass;
+        this.leased = leased;
+    }
+
+    void lease(int length) {
+        this.length = length;
+        leased.set(true);
+    }
+
+    /** How many doubles were asked for. The buffer may have room for more. */
+    public int length() {
+        return length;
+    }
+
+    public int capacity() {
+        return (int) (memory.byteSize() / Double.BYTES);
+    }
+
+    /** The whole backing segment, for downcalls. Only the first {@link #length()} doubles mean anything. */
+    public MemorySegment segment() {
+        return memory;
+    }
+
+    /** A view over the first {@link #length()} doubles. The same view is handed out every time, so don't share it. */
+    public DoubleBuffer asDoubleBuffer() {
+        return view.clear()
+            .limit(length);
+    }
+
+    public double get(int index) {
+        return memory.getAtIndex(JAVA_DOUBLE, index);
+    }
+
+    public void set(int index, double value) {
+        memory.setAtIndex(JAVA_DOUBLE, index, value);
+    }
+
+    /** Zeroes the buffer, for fills that add onto what's there */
+    public void clear() {
+        memory.fill((byte) 0);
+    }
+
+    /** One bulk copy of the first {@link #length()} doubles */
+    public void copyTo(double[] out) {
+        MemorySegment.copy(memory, JAVA_DOUBLE, 0, out, 0, length);
+    }
+
+    public void copyFrom(double[] in) {
+        MemorySegment.copy(in, 0, memory, JAVA_DOUBLE, 0, length);
+    }
+
+    /** Hands the buffer back. It mustn't be touched afterwards. */
+    @Override
+    public void close() {
+        if (!leased.compareAndSet(true, false)) throw new IllegalStateException("Noise buffer released twice");
+        NoiseBufferPool.release(this);
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.noise;
+
+import java.lang.foreign.Arena;
+import java.lang.ref.Cleaner;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-thread pools of {@link NoiseBuffer}s, so that noise calls allocate nothing on the Java heap once warmed up.
+ * <p>
+ * Buffers come in power-of-two size classes, from {@link #MIN_POOLED} doubles up to {@link #MAX_POOLED}; anything
+ * bigger is allocated for the one lease and left to the GC. Each class keeps at most {@link #retained} free buffers
+ * per thread, and all the free buffers of every thread add up to at most {@link #maxRetainedBytes}: sixteen of the
+ * biggest class alone would be half a gigabyte. A buffer closed on another thread goes back to the pool it came from,
+ * and is picked up there on the next acquire.
+ */
+public final class NoiseBufferPool {
+
+    private static final int MIN_SHIFT = 6;
+    private static final int MAX_SHIFT = 22;
+    private static final int CLASSES = MAX_SHIFT - MIN_SHIFT + 1;
+    public static final int MIN_POOLED = 1 << MIN_SHIFT;
+    /** Biggest buffer that's pooled, in doubles. 32 MiB. */
+    public static final int MAX_POOLED = 1 << MAX_SHIFT;
+
+    private static final ThreadLocal<NoiseBufferPool> POOL = ThreadLocal.withInitial(NoiseBufferPool::new);
+    private static final Cleaner LEAK_CHECK = Cleaner.create();
+
+    /** Most free buffers kept per size class and thread */
+    private static volatile int retained = 16;
+    /** Most bytes kept in free buffers, across every thread */
+    private static volatile long maxRetainedBytes = 64L << 20;
+
+    private static final AtomicLong leased = new AtomicLong();
+    private static final AtomicLong leaked = new AtomicLong();
+    private static final AtomicLong allocatedBytes = new AtomicLong();
+    private static final AtomicLong retainedBytes = new AtomicLong();
+
+    private final Thread thread = Thread.currentThread();
+    private final NoiseBuffer[][] free = new NoiseBuffer[CLASSES][];
+    private final int[] freeCount = new int[CLASSES];
+    /** Buffers closed on other threads, waiting to be put back */
+    private final ConcurrentLinkedQueue<NoiseBuffer> returned = new ConcurrentLinkedQueue<>();
+    /** This pool's share of retainedBytes, handed back when the pool goes with its thread */
+    private final AtomicLong held = new AtomicLong();
+
+    private NoiseBufferPool() {
+        for (int i = 0; i < CLASSES; ++i) free[i] = new NoiseBuffer[4];
+
+        final AtomicLong held = this.held;
+        LEAK_CHECK.register(this, () -> retainedBytes.addAndGet(-held.get()));
+    }
+
+    public static void setRetained(int retained) {
+        NoiseBufferPool.retained = Math.max(0, retained);
+    }
+
+    public static void setMaxRetainedBytes(long bytes) {
+        maxRetainedBytes = Math.max(0, bytes);
+    }
+
+    /** A buffer of at least {@code length} doubles, with undefined contents */
+    public static NoiseBuffer acquire(int length) {
+        if (length < 0) throw new IllegalArgumentException("Negative noise buffer length " + length);
+
+        final NoiseBuffer buffer = POOL.get()
+            .take(length);
+        buffer.lease(length);
+        leased.incrementAndGet();
+        return buffer;
+    }
+
+    /** Buffers acquired and not yet closed, across every thread */
+    public static long leased() {
+        return leased.get();
+    }
+
+    /** Buffers that were collected without being closed */
+    public static long leaked() {
+        return leaked.get();
+    }
+
+    /** Off-heap memory every buffer ever allocated adds up to, minus the ones collected since */
+    public static long allocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    /** How much of that sits in free buffers, waiting to be reused */
+    public static long retainedBytes() {
+        return retainedBytes.get();
+    }
+
+    static void release(NoiseBuffer buffer) {
+        leased.decrementAndGet();
+
+        final NoiseBufferPool owner = buffer.owner;
+        if (owner == null) return;
+        if (Thread.currentThread() == owner.thread) {
+            owner.putBack(buffer);
+        } else {
+            owner.returned.offer(buffer);
+        }
+    }
+
+    private static int classOf(int length) {
+        if (length <= MIN_POOLED) return 0;
+        return 32 - Integer.numberOfLeadingZeros(length - 1) - MIN_SHIFT;
+    }
+
+    private NoiseBuffer take(int length) {
+        NoiseBuffer back;
+        while ((back = returned.poll()) != null) putBack(back);
+
+        if (length > MAX_POOLED) return allocate(length, null, -1);
+
+        final int c = classOf(length);
+        if (freeCount[c] > 0) {
+            final NoiseBuffer buffer = free[c][--freeCount[c]];
+            free[c][freeCount[c]] = null;
+            held.addAndGet(-bytesOf(c));
+            retainedBytes.addAndGet(-bytesOf(c));
+            return buffer;
+        }
+        return allocate(1 << (c + MIN_SHIFT), this, c);
+    }
+
+    private void putBack(NoiseBuffer buffer) {
+        final int c = buffer.sizeClass;
+        // Past either cap, the buffer is dropped and its memory goes when the GC gets to it
+        if (freeCount[c] >= retained) return;
+        final long bytes = bytesOf(c);
+        if (retainedBytes.addAndGet(bytes) > maxRetainedBytes) {
+            retainedBytes.addAndGet(-bytes);
+            return;
+        }
+        held.addAndGet(bytes);
+        if (freeCount[c] == free[c].length) free[c] = Arrays.copyOf(free[c], freeCount[c] * 2);
+        free[c][freeCount[c]++] = buffer;
+    }
+
+    private static long bytesOf(int sizeClass) {
+        return (long) Double.BYTES << (sizeClass + MIN_SHIFT);
+    }
+
+    private static NoiseBuffer allocate(int capacity, NoiseBufferPool owner, int sizeClass) {
+        final long bytes = (long) capacity * Double.BYTES;
+        // An automatic arena, so dropped buffers don't need closing, and any thread can use them
+        final var memory = Arena.ofAuto()
+            .allocate(bytes, Double.BYTES);
+        final AtomicBoolean leasedFlag = new AtomicBoolean();
+        final NoiseBuffer buffer = new NoiseBuffer(memory, owner, sizeClass, leasedFlag);
+
+        allocatedBytes.addAndGet(bytes);
+        LEAK_CHECK.register(buffer, () -> {
+            allocatedBytes.addAndGet(-bytes);
+            if (!leasedFlag.get()) return;
+
+            leased.decrementAndGet();
+            if (leaked.getAndIncrement() == 0) {
+                NativeNoise.LOG.warn("A noise buffer was never closed, further leaks are only counted");
+            }
+        });
+        return buffer;
+    }
+}
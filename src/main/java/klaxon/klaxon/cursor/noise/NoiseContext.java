@@ -0,0 +1,313 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.noise;
+
+import static java.lang.foreign.FunctionDescriptor.ofVoid;
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.StructLayout;
+import java.lang.invoke.MethodHandle;
+
+/**
+ * A noise field set up once in libCursor and sampled many times: seed, scales and FastNoiseLite settings all live
+ * off-heap, in an {@link Arena} the caller picks. Give it one that lives as long as the world or dimension using it,
+ * and every call after that only passes the position, the size and the output.
+ * <p>
+ * The output uses NoiseGeneratorImproved's layout (x, then z, then y fastest) and the same scaling conventions as
+ * {@link NativeNoise#populateNoiseArray}.
+ */
+public final class NoiseContext {
+
+    /** Matches context.Settings */
+    static final StructLayout SETTINGS = MemoryLayout.structLayout(
+        JAVA_LONG.withName("seed"),
+        JAVA_DOUBLE.withName("xScale"),
+        JAVA_DOUBLE.withName("yScale"),
+        JAVA_DOUBLE.withName("zScale"),
+        JAVA_DOUBLE.withName("noiseScale"),
+        JAVA_DOUBLE.withName("frequency"),
+        JAVA_DOUBLE.withName("lacunarity"),
+        JAVA_DOUBLE.withName("gain"),
+        JAVA_DOUBLE.withName("weightedStrength"),
+        JAVA_DOUBLE.withName("pingPongStrength"),
+        JAVA_DOUBLE.withName("cellularJitter"),
+        JAVA_DOUBLE.withName("domainWarpAmp"),
+        JAVA_INT.withName("backend"),
+        JAVA_INT.withName("accumulate"),
+        JAVA_INT.withName("noiseType"),
+        JAVA_INT.withName("rotationType"),
+        JAVA_INT.withName("fractalType"),
+        JAVA_INT.withName("octaves"),
+        JAVA_INT.withName("cellularDistance"),
+        JAVA_INT.withName("cellularReturn"),
+        JAVA_INT.withName("domainWarpType"),
+        JAVA_INT.withName("domainWarp"));
+
+    /** Shared by ctx_populateNoiseArray and ctx_populateNoiseArrayF32 */
+    private static final FunctionDescriptor POPULATE_DESC = ofVoid(ADDRESS,
+        ADDRESS,
+        JAVA_DOUBLE, JAVA_DOUBLE, JAVA_DOUBLE,
+        JAVA_INT, JAVA_INT, JAVA_INT,
+        JAVA_INT, JAVA_INT);
+
+    private static final MethodHandle zmh_ctx_populateNoiseArray = NativeNoise
+        .downcall("ctx_populateNoiseArray", POPULATE_DESC);
+    private static final MethodHandle zmh_ctx_populateNoiseArrayF32 = NativeNoise
+        .downcall("ctx_populateNoiseArrayF32", POPULATE_DESC);
+    private static final MethodHandle zmh_initContext = NativeNoise
+        .downcall("initContext", FunctionDescriptor.of(JAVA_INT, ADDRESS, ADDRESS));
+    private static final MethodHandle zmh_contextSize = NativeNoise
+        .downcall("contextSize", FunctionDescriptor.of(JAVA_LONG));
+    private static final MethodHandle zmh_contextAlignment = NativeNoise
+        .downcall("contextAlignment", FunctionDescriptor.of(JAVA_LONG));
+
+    // The orders below match the enums in fastnoiselite.zig, they're passed as ordinals
+
+    public enum FnlNoise {
+        SIMPLEX,
+        SIMPLEX_SMOOTH,
+        CELLULAR,
+        PERLIN,
+        VALUE_CUBIC,
+        VALUE
+    }
+
+    public enum Rotation {
+        NONE,
+        IMPROVE_XY_PLANES,
+        IMPROVE_XZ_PLANES
+    }
+
+    public enum Fractal {
+        NONE,
+        FBM,
+        RIDGED,
+        PING_PONG,
+        PROGRESSIVE,
+        INDEPENDENT
+    }
+
+    public enum CellularDistance {
+        EUCLIDEAN,
+        EUCLIDEAN_SQ,
+        MANHATTAN,
+        HYBRID
+    }
+
+    public enum CellularReturn {
+        CELL_VALUE,
+        DISTANCE,
+        DISTANCE2,
+        DISTANCE2_ADD,
+        DISTANCE2_SUB,
+        DISTANCE2_MUL,
+        DISTANCE2_DIV
+    }
+
+    public enum DomainWarp {
+        SIMPLEX,
+        SIMPLEX_REDUCED,
+        BASIC_GRID
+    }
+
+    private final MemorySegment context;
+
+    private NoiseContext(MemorySegment context) {
+        this.context = context;
+    }
+
+    /**
+     * Fills {@code noiseArray}, adding onto what's there if the context was built with {@link Builder#accumulate}.
+     * Offsets are in the same units as the scales, before the squish NativeNoise applies.
+     */
+    public void populateNoiseArray(double[] noiseArray, double xOffset, double yOffset, double zOffset, int xSize,
+        int ySize, int zSize) {
+        checkFits(noiseArray.length, xSize, ySize, zSize);
+        invoke(zmh_ctx_populateNoiseArray, MemorySegment.ofArray(noiseArray), xOffset, yOffset, zOffset, xSize, ySize,
+            zSize);
+    }
+
+    /** The same, for float buffers */
+    public void populateNoiseArray(float[] noiseArray, double xOffset, double yOffset, double zOffset, int xSize,
+        int ySize, int zSize) {
+        checkFits(noiseArray.length, xSize, ySize, zSize);
+        invoke(zmh_ctx_populateNoiseArrayF32, MemorySegment.ofArray(noiseArray), xOffset, yOffset, zOffset, xSize,
+            ySize, zSize);
+    }
+
+    /** libCursor writes the whole box without looking at the array's length */
+    private static void checkFits(int length, int xSize, int ySize, int zSize) {
+        if (xSize < 0 || ySize < 0 || zSize < 0 || (long) xSize * ySize * zSize > length) {
+            throw new IllegalArgumentException("Noise array of " + length + " can't fit " + xSize + "x" + ySize + "x"
+                + zSize);
+        }
+    }
+
+    private void invoke(MethodHandle handle, MemorySegment noise, double xOffset, double yOffset, double zOffset,
+        int xSize, int ySize, int zSize) {
+        try {
+            handle.invokeExact(context,
+                noise,
+                xOffset, yOffset, zOffset,
+                xSize, ySize, zSize,
+                0, xSize * ySize * zSize);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Everything a context is made of. The FastNoiseLite settings only matter for {@link NoiseBackend#FNL}, and
+     * default to the plain single-octave simplex the FNL backend uses everywhere else.
+     */
+    public static final class Builder {
+
+        private final NoiseBackend backend;
+        private final long seed;
+        private double xScale = 1, yScale = 1, zScale = 1, noiseScale = 1;
+        private boolean accumulate;
+        private FnlNoise noiseType = FnlNoise.SIMPLEX;
+        private Rotation rotation = Rotation.NONE;
+        private Fractal fractal = Fractal.NONE;
+        private int octaves = 1;
+        private double frequency = 1, lacunarity = 2, gain = 0.5, weightedStrength = 0, pingPongStrength = 2;
+        private CellularDistance cellularDistance = CellularDistance.EUCLIDEAN_SQ;
+        private CellularReturn cellularReturn = CellularReturn.DISTANCE;
+        private double cellularJitter = 1;
+        private DomainWarp domainWarpType = DomainWarp.SIMPLEX;
+        private double domainWarpAmp = 1;
+        private boolean domainWarp;
+
+        public Builder(NoiseBackend backend, long seed) {
+            if (!backend.isNative()) throw new IllegalArgumentException(backend + " has no native implementation");
+            this.backend = backend;
+            this.seed = seed;
+        }
+
+        public Builder scales(double xScale, double yScale, double zScale) {
+            this.xScale = xScale;
+            this.yScale = yScale;
+            this.zScale = zScale;
+            return this;
+        }
+
+        /** Same convention as NoiseGeneratorImproved: the output is divided by this */
+        public Builder noiseScale(double noiseScale) {
+            this.noiseScale = noiseScale;
+            return this;
+        }
+
+        /** Add onto the array instead of overwriting it, like NoiseGeneratorOctaves expects */
+        public Builder accumulate(boolean accumulate) {
+            this.accumulate = accumulate;
+            return this;
+        }
+
+        public Builder fnlNoise(FnlNoise noiseType, Rotation rotation, double frequency) {
+            this.noiseType = noiseType;
+            this.rotation = rotation;
+            this.frequency = frequency;
+            return this;
+        }
+
+        public Builder fractal(Fractal fractal, int octaves, double lacunarity, double gain) {
+            this.fractal = fractal;
+            this.octaves = octaves;
+            this.lacunarity = lacunarity;
+            this.gain = gain;
+            return this;
+        }
+
+        public Builder fractalWeighting(double weightedStrength, double pingPongStrength) {
+            this.weightedStrength = weightedStrength;
+            this.pingPongStrength = pingPongStrength;
+            return this;
+        }
+
+        public Builder cellular(CellularDistance distance, CellularReturn ret, double jitter) {
+            this.cellularDistance = distance;
+            this.cellularReturn = ret;
+            this.cellularJitter = jitter;
+            return this;
+        }
+
+        /** Warps each position before sampling it */
+        public Builder domainWarp(DomainWarp type, double amplitude) {
+            this.domainWarp = true;
+            this.domainWarpType = type;
+            this.domainWarpAmp = amplitude;
+            return this;
+        }
+
+        /**
+         * Allocates the context in {@code arena}, which has to outlive every call made through it.
+         *
+         * @return null if libCursor didn't load, or lacks the context exports
+         */
+        public NoiseContext build(Arena arena) {
+            if (!NativeNoise.isAvailable(backend) || zmh_initContext == null || zmh_contextSize == null
+                || zmh_contextAlignment == null || zmh_ctx_populateNoiseArray == null
+                || zmh_ctx_populateNoiseArrayF32 == null) return null;
+
+            try (Arena scratch = Arena.ofConfined()) {
+                final MemorySegment settings = scratch.allocate(SETTINGS);
+                settings.set(JAVA_LONG, 0, seed);
+                settings.set(JAVA_DOUBLE, 8, xScale);
+                settings.set(JAVA_DOUBLE, 16, yScale);
+                settings.set(JAVA_DOUBLE, 24, zScale);
+                settings.set(JAVA_DOUBLE, 32, noiseScale);
+                settings.set(JAVA_DOUBLE, 40, frequency);
+                settings.set(JAVA_DOUBLE, 48, lacunarity);
+                settings.set(JAVA_DOUBLE, 56, gain);
+                settings.set(JAVA_DOUBLE, 64, weightedStrength);
+                settings.set(JAVA_DOUBLE, 72, pingPongStrength);
+                settings.set(JAVA_DOUBLE, 80, cellularJitter);
+                settings.set(JAVA_DOUBLE, 88, domainWarpAmp);
+                settings.set(JAVA_INT, 96, backend.nativeId);
+                settings.set(JAVA_INT, 100, accumulate ? 1 : 0);
+                settings.set(JAVA_INT, 104, noiseType.ordinal());
+                settings.set(JAVA_INT, 108, rotation.ordinal());
+                settings.set(JAVA_INT, 112, fractal.ordinal());
+                settings.set(JAVA_INT, 116, octaves);
+                settings.set(JAVA_INT, 120, cellularDistance.ordinal());
+                settings.set(JAVA_INT, 124, cellularReturn.ordinal());
+                settings.set(JAVA_INT, 128, domainWarpType.ordinal());
+                settings.set(JAVA_INT, 132, domainWarp ? 1 : 0);
+
+                final MemorySegment context = arena.allocate((long) zmh_contextSize.invokeExact(),
+                    (long) zmh_contextAlignment.invokeExact());
+                if ((int) zmh_initContext.invokeExact(context, settings) != 0) {
+                    throw new IllegalStateException("libCursor rejected the context settings");
+                }
+                return new NoiseContext(context);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
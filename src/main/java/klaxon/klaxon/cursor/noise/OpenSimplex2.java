@@ -0,0 +1,644 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.noise;
+
+import static jdk.incubator.vector.VectorOperators.ASHR;
+import static jdk.incubator.vector.VectorOperators.D2F;
+import static jdk.incubator.vector.VectorOperators.D2I;
+import static jdk.incubator.vector.VectorOperators.F2I;
+import static jdk.incubator.vector.VectorOperators.GE;
+import static jdk.incubator.vector.VectorOperators.GT;
+import static jdk.incubator.vector.VectorOperators.I2D;
+import static jdk.incubator.vector.VectorOperators.I2F;
+import static jdk.incubator.vector.VectorOperators.I2L;
+import static jdk.incubator.vector.VectorOperators.L2I;
+import static jdk.incubator.vector.VectorOperators.LT;
+import static jdk.incubator.vector.VectorOperators.XOR;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The OpenSimplex2 routines from opensimplex.zig, for when libCursor isn't around. The scalar functions are line for
+ * line the same as the Zig ones. The vector ones do the per-lane branches there with masks, and the gradient lookups
+ * with gathers, but land on the same values.
+ * <p>
+ * Needs {@code --add-modules jdk.incubator.vector}; only touch this through {@link VectorNoise}, which checks.
+ */
+final class OpenSimplex2 {
+
+    /** One f64 per lane, as wide as this CPU goes. Every other species has the same lane count. */
+    static final VectorSpecies<Double> D = DoubleVector.SPECIES_PREFERRED;
+    static final VectorSpecies<Long> L = VectorSpecies.of(long.class, D.vectorShape());
+    static final VectorSpecies<Float> F = VectorSpecies
+        .of(float.class, VectorShape.forBitSize(D.vectorBitSize() / 2));
+    static final VectorSpecies<Integer> I = VectorSpecies.of(int.class, F.vectorShape());
+    static final int LANES = D.length();
+
+    private static final long PRIME_X = 0x5205402B9270C86FL;
+    private static final long PRIME_Y = 0x598CD327003817B5L;
+    private static final long PRIME_Z = 0x5BCC226E9FA0BACBL;
+    private static final long HASH_MULTIPLIER = 0x53A3F72DEEC546F5L;
+    private static final long SEED_FLIP_3D = -0x52D547B2E96ED629L;
+
+    private static final double SKEW_2D = 0.366025403784439;
+    private static final double UNSKEW_2D = -0.21132486540518713;
+    private static final float UNSKEW_2DS = (float) UNSKEW_2D;
+
+    private static final double ROOT3OVER3 = 0.577350269189626;
+    private static final double ROTATE_3D_ORTHOGONALIZER = UNSKEW_2D;
+
+    private static final int N_GRADS_2D_EXPONENT = 7;
+    private static final int N_GRADS_3D_EXPONENT = 8;
+    private static final int N_GRADS_2D = 1 << N_GRADS_2D_EXPONENT;
+    private static final int N_GRADS_3D = 1 << N_GRADS_3D_EXPONENT;
+
+    private static final double NORMALIZER_2D = 0.01001634121365712;
+    private static final double NORMALIZER_3D = 0.07969837668935331;
+
+    private static final float RSQUARED_2D = 0.5f;
+    private static final float RSQUARED_3D = 0.6f;
+
+    // The f32 constants opensimplex.zig folds at comptime
+    private static final float A1_OFFSET = (float) (-2.0 * (1.0 + 2.0 * UNSKEW_2D) * (1.0 + 2.0 * UNSKEW_2D));
+    private static final float A1_SLOPE = (float) (2.0 * (1.0 + 2.0 * UNSKEW_2D) * (1.0 / UNSKEW_2D + 2.0));
+    private static final float D1 = (float) (1.0 + 2.0 * UNSKEW_2D);
+    private static final float D2_NEAR = (float) UNSKEW_2D;
+    private static final float D2_FAR = (float) (UNSKEW_2D + 1.0);
+
+    private OpenSimplex2() {}
+
+    //
+    // 2D Simplex noise, standard lattice orientation.
+    //
+
+    static float noise2(long seed, double x, double y) {
+        // Get points for A2* lattice
+        final double s = SKEW_2D * (x + y);
+        final double xs = x + s;
+        final double ys = y + s;
+
+        return noise2_UnskewedBase(seed, xs, ys);
+    }
+
+    static FloatVector vnoise2(LongVector seed, DoubleVector x, DoubleVector y) {
+        // Get points for A2* lattice
+        final DoubleVector s = x.add(y)
+            .mul(SKEW_2D);
+        final DoubleVector xs = x.add(s);
+        final DoubleVector ys = y.add(s);
+
+        return vnoise2_UnskewedBase(seed, xs, ys);
+    }
+
+    private static float noise2_UnskewedBase(long seed, double xs, double ys) {
+        // Get base points and offsets.
+        final int xsb = fastFloor(xs);
+        final int ysb = fastFloor(ys);
+        final float xi = (float) (xs - xsb);
+        final float yi = (float) (ys - ysb);
+
+        // Prime pre-multiplication for hash.
+        final long xsbp = xsb * PRIME_X;
+        final long ysbp = ysb * PRIME_Y;
+
+        // Unskew.
+        final float t = (xi + yi) * UNSKEW_2DS;
+        final float dx0 = xi + t;
+        final float dy0 = yi + t;
+
+        // First vertex.
+        float value = 0;
+        final float a0 = RSQUARED_2D - dx0 * dx0 - dy0 * dy0;
+        if (a0 > 0) {
+            value = (a0 * a0) * (a0 * a0) * grad2(seed, xsbp, ysbp, dx0, dy0);
+        }
+
+        // Second vertex.
+        final float a1 = A1_SLOPE * t + (A1_OFFSET + a0);
+        if (a1 > 0) {
+            final float dx1 = dx0 - D1;
+            final float dy1 = dy0 - D1;
+            value += (a1 * a1) * (a1 * a1) * grad2(seed, xsbp + PRIME_X, ysbp + PRIME_Y, dx1, dy1);
+        }
+
+        // Third vertex.
+        if (dy0 > dx0) {
+            final float dx2 = dx0 - D2_NEAR;
+            final float dy2 = dy0 - D2_FAR;
+            final float a2 = RSQUARED_2D - dx2 * dx2 - dy2 * dy2;
+            if (a2 > 0) {
+                value += (a2 * a2) * (a2 * a2) * grad2(seed, xsbp, ysbp + PRIME_Y, dx2, dy2);
+            }
+        } else {
+            final float dx2 = dx0 - D2_FAR;
+            final float dy2 = dy0 - D2_NEAR;
+            final float a2 = RSQUARED_2D - dx2 * dx2 - dy2 * dy2;
+            if (a2 > 0) {
+                value += (a2 * a2) * (a2 * a2) * grad2(seed, xsbp + PRIME_X, ysbp, dx2, dy2);
+            }
+        }
+
+        return value;
+    }
+
+    private static FloatVector vnoise2_UnskewedBase(LongVector seed, DoubleVector xs, DoubleVector ys) {
+        final int[] scratch = new int[LANES];
+
+        // Get base points and offsets.
+        final IntVector xsb = fastFloor(xs);
+        final IntVector ysb = fastFloor(ys);
+        final FloatVector xi = chop(xs.sub(widen(xsb)));
+        final FloatVector yi = chop(ys.sub(widen(ysb)));
+
+        // Prime pre-multiplication for hash.
+        final LongVector xsbp = toLong(xsb).mul(PRIME_X);
+        final LongVector ysbp = toLong(ysb).mul(PRIME_Y);
+
+        // Unskew.
+        final FloatVector t = xi.add(yi)
+            .mul(UNSKEW_2DS);
+        final FloatVector dx0 = xi.add(t);
+        final FloatVector dy0 = yi.add(t);
+
+        // First vertex.
+        FloatVector value = FloatVector.zero(F);
+        final FloatVector a0 = FloatVector.broadcast(F, RSQUARED_2D)
+            .sub(dx0.mul(dx0))
+            .sub(dy0.mul(dy0));
+        value = value.add(falloff(a0).mul(grad2(seed, xsbp, ysbp, dx0, dy0, scratch)), a0.compare(GT, 0));
+
+        // Second vertex.
+        final FloatVector a1 = t.mul(A1_SLOPE)
+            .add(a0.add(A1_OFFSET));
+        final FloatVector dx1 = dx0.sub(D1);
+        final FloatVector dy1 = dy0.sub(D1);
+        value = value.add(
+            falloff(a1).mul(grad2(seed, xsbp.add(PRIME_X), ysbp.add(PRIME_Y), dx1, dy1, scratch)),
+            a1.compare(GT, 0));
+
+        // Third vertex.
+        final VectorMask<Float> up = dy0.compare(GT, dx0);
+        final VectorMask<Long> upL = up.cast(L);
+        final FloatVector dx2 = dx0.sub(FloatVector.broadcast(F, D2_FAR)
+            .blend(D2_NEAR, up));
+        final FloatVector dy2 = dy0.sub(FloatVector.broadcast(F, D2_NEAR)
+            .blend(D2_FAR, up));
+        final FloatVector a2 = FloatVector.broadcast(F, RSQUARED_2D)
+            .sub(dx2.mul(dx2))
+            .sub(dy2.mul(dy2));
+        value = value.add(
+            falloff(a2).mul(grad2(seed, xsbp.add(PRIME_X, upL.not()), ysbp.add(PRIME_Y, upL), dx2, dy2, scratch)),
+            a2.compare(GT, 0));
+
+        return value;
+    }
+
+    //
+    // 3D OpenSimplex2 noise, with better visual isotropy in (X, Z).
+    //
+
+    static float noise3_ImproveXZ(long seed, double x, double y, double z) {
+        // Re-orient the cubic lattices without skewing, so Y points up the main lattice diagonal,
+        // and the planes formed by XZ are moved far out of alignment with the cube faces.
+        // Orthonormal rotation. Not a skew transform.
+        final double xz = x + z;
+        final double s2 = xz * ROTATE_3D_ORTHOGONALIZER;
+        final double yy = y * ROOT3OVER3;
+        final double xr = x + s2 + yy;
+        final double zr = z + s2 + yy;
+        final double yr = xz * -ROOT3OVER3 + yy;
+
+        // Evaluate both lattices to form a BCC lattice.
+        return noise3_UnrotatedBase(seed, xr, yr, zr);
+    }
+
+    static FloatVector vnoise3_ImproveXZ(LongVector seed, DoubleVector x, DoubleVector y, DoubleVector z) {
+        final DoubleVector xz = x.add(z);
+        final DoubleVector s2 = xz.mul(ROTATE_3D_ORTHOGONALIZER);
+        final DoubleVector yy = y.mul(ROOT3OVER3);
+        final DoubleVector xr = x.add(s2)
+            .add(yy);
+        final DoubleVector zr = z.add(s2)
+            .add(yy);
+        final DoubleVector yr = xz.mul(-ROOT3OVER3)
+            .add(yy);
+
+        return vnoise3_UnrotatedBase(seed, xr, yr, zr);
+    }
+
+    private static float noise3_UnrotatedBase(long seed, double xr, double yr, double zr) {
+        // Get base points and offsets.
+        final int xrb = fastRound(xr);
+        final int yrb = fastRound(yr);
+        final int zrb = fastRound(zr);
+        float xri = (float) (xr - xrb);
+        float yri = (float) (yr - yrb);
+        float zri = (float) (zr - zrb);
+
+        // -1 if positive, 1 if negative.
+        int xNSign = (int) (-1.0f - xri) | 1;
+        int yNSign = (int) (-1.0f - yri) | 1;
+        int zNSign = (int) (-1.0f - zri) | 1;
+
+        // Compute absolute values, using the above as a shortcut.
+        float ax0 = xNSign * -xri;
+        float ay0 = yNSign * -yri;
+        float az0 = zNSign * -zri;
+
+        // Prime pre-multiplication for hash.
+        long xrbp = xrb * PRIME_X;
+        long yrbp = yrb * PRIME_Y;
+        long zrbp = zrb * PRIME_Z;
+
+        // Loop: Pick an edge on each lattice copy.
+        float value = 0;
+        float a = (RSQUARED_3D - xri * xri) - (yri * yri + zri * zri);
+        for (int l = 0;; l++) {
+            // Closest point on cube.
+            if (a > 0) {
+                value += (a * a) * (a * a) * grad3(seed, xrbp, yrbp, zrbp, xri, yri, zri);
+            }
+
+            // Second-closest point.
+            if (ax0 >= ay0 && ax0 >= az0) {
+                float b = a + ax0 + ax0;
+                if (b > 1) {
+                    b -= 1;
+                    value += (b * b) * (b * b)
+                        * grad3(seed, xrbp - xNSign * PRIME_X, yrbp, zrbp, xri + xNSign, yri, zri);
+                }
+            } else if (ay0 > ax0 && ay0 >= az0) {
+                float b = a + ay0 + ay0;
+                if (b > 1) {
+                    b -= 1;
+                    value += (b * b) * (b * b)
+                        * grad3(seed, xrbp, yrbp - yNSign * PRIME_Y, zrbp, xri, yri + yNSign, zri);
+                }
+            } else {
+                float b = a + az0 + az0;
+                if (b > 1) {
+                    b -= 1;
+                    value += (b * b) * (b * b)
+                        * grad3(seed, xrbp, yrbp, zrbp - zNSign * PRIME_Z, xri, yri, zri + zNSign);
+                }
+            }
+
+            // Break from loop if we're done, skipping updates below.
+            if (l == 1) break;
+
+            // Update absolute value.
+            ax0 = 0.5f - ax0;
+            ay0 = 0.5f - ay0;
+            az0 = 0.5f - az0;
+
+            // Update relative coordinate.
+            xri = xNSign * ax0;
+            yri = yNSign * ay0;
+            zri = zNSign * az0;
+
+            // Update falloff.
+            a += (0.75f - ax0) - (ay0 + az0);
+
+            // Update prime for hash.
+            xrbp += (xNSign >> 1) & PRIME_X;
+            yrbp += (yNSign >> 1) & PRIME_Y;
+            zrbp += (zNSign >> 1) & PRIME_Z;
+
+            // Update the reverse sign indicators.
+            xNSign = -xNSign;
+            yNSign = -yNSign;
+            zNSign = -zNSign;
+
+            // And finally update the seed for the other lattice copy.
+            seed ^= SEED_FLIP_3D;
+        }
+
+        return value;
+    }
+
+    private static FloatVector vnoise3_UnrotatedBase(LongVector seed, DoubleVector xr, DoubleVector yr,
+        DoubleVector zr) {
+        final int[] scratch = new int[LANES];
+
+        // Get base points and offsets.
+        final IntVector xrb = fastRound(xr);
+        final IntVector yrb = fastRound(yr);
+        final IntVector zrb = fastRound(zr);
+        FloatVector xri = chop(xr.sub(widen(xrb)));
+        FloatVector yri = chop(yr.sub(widen(yrb)));
+        FloatVector zri = chop(zr.sub(widen(zrb)));
+
+        // -1 if positive, 1 if negative.
+        IntVector xNSign = truncate(FloatVector.broadcast(F, -1.0f)
+            .sub(xri)).or(1);
+        IntVector yNSign = truncate(FloatVector.broadcast(F, -1.0f)
+            .sub(yri)).or(1);
+        IntVector zNSign = truncate(FloatVector.broadcast(F, -1.0f)
+            .sub(zri)).or(1);
+
+        // Compute absolute values, using the above as a shortcut.
+        FloatVector ax0 = toFloat(xNSign).mul(xri.neg());
+        FloatVector ay0 = toFloat(yNSign).mul(yri.neg());
+        FloatVector az0 = toFloat(zNSign).mul(zri.neg());
+
+        // Prime pre-multiplication for hash.
+        LongVector xrbp = toLong(xrb).mul(PRIME_X);
+        LongVector yrbp = toLong(yrb).mul(PRIME_Y);
+        LongVector zrbp = toLong(zrb).mul(PRIME_Z);
+
+        // Loop: Pick an edge on each lattice copy.
+        FloatVector value = FloatVector.zero(F);
+        FloatVector a = FloatVector.broadcast(F, RSQUARED_3D)
+            .sub(xri.mul(xri))
+            .sub(yri.mul(yri)
+                .add(zri.mul(zri)));
+        for (int l = 0;; l++) {
+            // Closest point on cube.
+            final VectorMask<Float> closest = a.compare(GT, 0);
+            if (closest.anyTrue()) {
+                value = value.add(falloff(a).mul(grad3(seed, xrbp, yrbp, zrbp, xri, yri, zri, scratch)), closest);
+            }
+
+            // Second-closest point. Each lane takes one of the three branches in noise3_UnrotatedBase.
+            final VectorMask<Float> onX = ax0.compare(GE, ay0)
+                .and(ax0.compare(GE, az0));
+            final VectorMask<Float> onY = onX.not()
+                .and(ay0.compare(GT, ax0))
+                .and(ay0.compare(GE, az0));
+            final VectorMask<Float> onZ = onX.or(onY)
+                .not();
+            final FloatVector axis = az0.blend(ax0, onX)
+                .blend(ay0, onY);
+            FloatVector b = a.add(axis)
+                .add(axis);
+            final VectorMask<Float> second = b.compare(GT, 1);
+            if (second.anyTrue()) {
+                b = b.sub(1);
+                final LongVector xp = xrbp.sub(toLong(xNSign).mul(PRIME_X), onX.cast(L));
+                final LongVector yp = yrbp.sub(toLong(yNSign).mul(PRIME_Y), onY.cast(L));
+                final LongVector zp = zrbp.sub(toLong(zNSign).mul(PRIME_Z), onZ.cast(L));
+                final FloatVector dx = xri.add(toFloat(xNSign), onX);
+                final FloatVector dy = yri.add(toFloat(yNSign), onY);
+                final FloatVector dz = zri.add(toFloat(zNSign), onZ);
+                value = value.add(falloff(b).mul(grad3(seed, xp, yp, zp, dx, dy, dz, scratch)), second);
+            }
+
+            // Break from loop if we're done, skipping updates below.
+            if (l == 1) break;
+
+            // Update absolute value.
+            ax0 = FloatVector.broadcast(F, 0.5f)
+                .sub(ax0);
+            ay0 = FloatVector.broadcast(F, 0.5f)
+                .sub(ay0);
+            az0 = FloatVector.broadcast(F, 0.5f)
+                .sub(az0);
+
+            // Update relative coordinate.
+            xri = toFloat(xNSign).mul(ax0);
+            yri = toFloat(yNSign).mul(ay0);
+            zri = toFloat(zNSign).mul(az0);
+
+            // Update falloff.
+            a = a.add(
+                FloatVector.broadcast(F, 0.75f)
+                    .sub(ax0)
+                    .sub(ay0.add(az0)));
+
+            // Update prime for hash. (sign >> 1) & PRIME is PRIME for negative signs and 0 otherwise.
+            xrbp = xrbp.add(PRIME_X, xNSign.compare(LT, 0)
+                .cast(L));
+            yrbp = yrbp.add(PRIME_Y, yNSign.compare(LT, 0)
+                .cast(L));
+            zrbp = zrbp.add(PRIME_Z, zNSign.compare(LT, 0)
+                .cast(L));
+
+            // Update the reverse sign indicators.
+            xNSign = xNSign.neg();
+            yNSign = yNSign.neg();
+            zNSign = zNSign.neg();
+
+            // And finally update the seed for the other lattice copy.
+            seed = seed.lanewise(XOR, SEED_FLIP_3D);
+        }
+
+        return value;
+    }
+
+    //
+    // Utility
+    //
+
+    private static float grad2(long seed, long xsvp, long ysvp, float dx, float dy) {
+        long hash = seed ^ xsvp ^ ysvp;
+        hash *= HASH_MULTIPLIER;
+        hash ^= hash >> (64 - N_GRADS_2D_EXPONENT + 1);
+        final int gi = (int) hash & ((N_GRADS_2D - 1) << 1);
+        return GRADIENTS_2D[gi | 0] * dx + GRADIENTS_2D[gi | 1] * dy;
+    }
+
+    private static FloatVector grad2(LongVector seed, LongVector xsvp, LongVector ysvp, FloatVector dx,
+        FloatVector dy, int[] scratch) {
+        LongVector hash = seed.lanewise(XOR, xsvp)
+            .lanewise(XOR, ysvp);
+        hash = hash.mul(HASH_MULTIPLIER);
+        hash = hash.lanewise(XOR, hash.lanewise(ASHR, 64 - N_GRADS_2D_EXPONENT + 1));
+        ((IntVector) hash.convertShape(L2I, I, 0)).and((N_GRADS_2D - 1) << 1)
+            .intoArray(scratch, 0);
+        return FloatVector.fromArray(F, GRADIENTS_2D, 0, scratch, 0)
+            .mul(dx)
+            .add(
+                FloatVector.fromArray(F, GRADIENTS_2D, 1, scratch, 0)
+                    .mul(dy));
+    }
+
+    private static float grad3(long seed, long xrvp, long yrvp, long zrvp, float dx, float dy, float dz) {
+        long hash = (seed ^ xrvp) ^ (yrvp ^ zrvp);
+        hash *= HASH_MULTIPLIER;
+        hash ^= hash >> (64 - N_GRADS_3D_EXPONENT + 2);
+        final int gi = (int) hash & ((N_GRADS_3D - 1) << 2);
+        return GRADIENTS_3D[gi | 0] * dx + GRADIENTS_3D[gi | 1] * dy + GRADIENTS_3D[gi | 2] * dz;
+    }
+
+    private static FloatVector grad3(LongVector seed, LongVector xrvp, LongVector yrvp, LongVector zrvp,
+        FloatVector dx, FloatVector dy, FloatVector dz, int[] scratch) {
+        LongVector hash = seed.lanewise(XOR, xrvp)
+            .lanewise(XOR, yrvp.lanewise(XOR, zrvp));
+        hash = hash.mul(HASH_MULTIPLIER);
+        hash = hash.lanewise(XOR, hash.lanewise(ASHR, 64 - N_GRADS_3D_EXPONENT + 2));
+        ((IntVector) hash.convertShape(L2I, I, 0)).and((N_GRADS_3D - 1) << 2)
+            .intoArray(scratch, 0);
+        return FloatVector.fromArray(F, GRADIENTS_3D, 0, scratch, 0)
+            .mul(dx)
+            .add(
+                FloatVector.fromArray(F, GRADIENTS_3D, 1, scratch, 0)
+                    .mul(dy))
+            .add(
+                FloatVector.fromArray(F, GRADIENTS_3D, 2, scratch, 0)
+                    .mul(dz));
+    }
+
+    /** (a * a) * (a * a) */
+    private static FloatVector falloff(FloatVector a) {
+        final FloatVector aa = a.mul(a);
+        return aa.mul(aa);
+    }
+
+    private static int fastFloor(double x) {
+        final int xi = (int) x;
+        return x < xi ? xi - 1 : xi;
+    }
+
+    private static IntVector fastFloor(DoubleVector x) {
+        final IntVector xi = (IntVector) x.convertShape(D2I, I, 0);
+        return xi.sub(1, x.compare(LT, widen(xi)).cast(I));
+    }
+
+    private static int fastRound(double x) {
+        return x < 0 ? (int) (x - 0.5) : (int) (x + 0.5);
+    }
+
+    private static IntVector fastRound(DoubleVector x) {
+        return (IntVector) x.add(0.5)
+            .blend(x.sub(0.5), x.compare(LT, 0))
+            .convertShape(D2I, I, 0);
+    }
+
+    private static DoubleVector widen(IntVector v) {
+        return (DoubleVector) v.convertShape(I2D, D, 0);
+    }
+
+    private static FloatVector chop(DoubleVector v) {
+        return (FloatVector) v.convertShape(D2F, F, 0);
+    }
+
+    private static IntVector truncate(FloatVector v) {
+        return (IntVector) v.convertShape(F2I, I, 0);
+    }
+
+    private static FloatVector toFloat(IntVector v) {
+        return (FloatVector) v.convertShape(I2F, F, 0);
+    }
+
+    private static LongVector toLong(IntVector v) {
+        return (LongVector) v.convertShape(I2L, L, 0);
+    }
+
+    //
+    // Gradients
+    //
+
+    private static final double[] GRAD2_SRC = {
+        0.38268343236509, 0.923879532511287,
+        0.923879532511287, 0.38268343236509,
+        0.923879532511287, -0.38268343236509,
+        0.38268343236509, -0.923879532511287,
+        -0.38268343236509, -0.923879532511287,
+        -0.923879532511287, -0.38268343236509,
+        -0.923879532511287, 0.38268343236509,
+        -0.38268343236509, 0.923879532511287,
+        // --------------------------------------------------------------------------
+        0.130526192220052, 0.99144486137381,
+        0.608761429008721, 0.793353340291235,
+        0.793353340291235, 0.608761429008721,
+        0.99144486137381, 0.130526192220051,
+        0.99144486137381, -0.130526192220051,
+        0.793353340291235, -0.60876142900872,
+        0.608761429008721, -0.793353340291235,
+        0.130526192220052, -0.99144486137381,
+        -0.130526192220052, -0.99144486137381,
+        -0.608761429008721, -0.793353340291235,
+        -0.793353340291235, -0.608761429008721,
+        -0.99144486137381, -0.130526192220052,
+        -0.99144486137381, 0.130526192220051,
+        -0.793353340291235, 0.608761429008721,
+        -0.608761429008721, 0.793353340291235,
+        -0.130526192220052, 0.99144486137381,
+    };
+
+    private static final double[] GRAD3_SRC = {
+        2.22474487139, 2.22474487139, -1.0, 0.0,
+        2.22474487139, 2.22474487139, 1.0, 0.0,
+        3.0862664687972017, 1.1721513422464978, 0.0, 0.0,
+        1.1721513422464978, 3.0862664687972017, 0.0, 0.0,
+        -2.22474487139, 2.22474487139, -1.0, 0.0,
+        -2.22474487139, 2.22474487139, 1.0, 0.0,
+        -1.1721513422464978, 3.0862664687972017, 0.0, 0.0,
+        -3.0862664687972017, 1.1721513422464978, 0.0, 0.0,
+        -1.0, -2.22474487139, -2.22474487139, 0.0,
+        1.0, -2.22474487139, -2.22474487139, 0.0,
+        0.0, -3.0862664687972017, -1.1721513422464978, 0.0,
+        0.0, -1.1721513422464978, -3.0862664687972017, 0.0,
+        -1.0, -2.22474487139, 2.22474487139, 0.0,
+        1.0, -2.22474487139, 2.22474487139, 0.0,
+        0.0, -1.1721513422464978, 3.0862664687972017, 0.0,
+        0.0, -3.0862664687972017, 1.1721513422464978, 0.0,
+        // --------------------------------------------------------------------------
+        -2.22474487139, -2.22474487139, -1.0, 0.0,
+        -2.22474487139, -2.22474487139, 1.0, 0.0,
+        -3.0862664687972017, -1.1721513422464978, 0.0, 0.0,
+        -1.1721513422464978, -3.0862664687972017, 0.0, 0.0,
+        -2.22474487139, -1.0, -2.22474487139, 0.0,
+        -2.22474487139, 1.0, -2.22474487139, 0.0,
+        -1.1721513422464978, 0.0, -3.0862664687972017, 0.0,
+        -3.0862664687972017, 0.0, -1.1721513422464978, 0.0,
+        -2.22474487139, -1.0, 2.22474487139, 0.0,
+        -2.22474487139, 1.0, 2.22474487139, 0.0,
+        -3.0862664687972017, 0.0, 1.1721513422464978, 0.0,
+        -1.1721513422464978, 0.0, 3.0862664687972017, 0.0,
+        -1.0, 2.22474487139, -2.22474487139, 0.0,
+        1.0, 2.22474487139, -2.22474487139, 0.0,
+        0.0, 1.1721513422464978, -3.0862664687972017, 0.0,
+        0.0, 3.0862664687972017, -1.1721513422464978, 0.0,
+        -1.0, 2.22474487139, 2.22474487139, 0.0,
+        1.0, 2.22474487139, 2.22474487139, 0.0,
+        0.0, 3.0862664687972017, 1.1721513422464978, 0.0,
+        0.0, 1.1721513422464978, 3.0862664687972017, 0.0,
+        2.22474487139, -2.22474487139, -1.0, 0.0,
+        2.22474487139, -2.22474487139, 1.0, 0.0,
+        1.1721513422464978, -3.0862664687972017, 0.0, 0.0,
+        3.0862664687972017, -1.1721513422464978, 0.0, 0.0,
+        2.22474487139, -1.0, -2.22474487139, 0.0,
+        2.22474487139, 1.0, -2.22474487139, 0.0,
+        3.0862664687972017, 0.0, -1.1721513422464978, 0.0,
+        1.1721513422464978, 0.0, -3.0862664687972017, 0.0,
+        2.22474487139, -1.0, 2.22474487139, 0.0,
+        2.22474487139, 1.0, 2.22474487139, 0.0,
+        1.1721513422464978, 0.0, 3.0862664687972017, 0.0,
+        3.0862664687972017, 0.0, 1.1721513422464978, 0.0,
+    };
+
+    private static final float[] GRADIENTS_2D = new float[N_GRADS_2D * 2];
+    private static final float[] GRADIENTS_3D = new float[N_GRADS_3D * 4];
+
+    static {
+        for (int i = 0; i < GRADIENTS_2D.length; ++i) {
+            GRADIENTS_2D[i] = (float) (GRAD2_SRC[i % GRAD2_SRC.length] / NORMALIZER_2D);
+        }
+        for (int i = 0; i < GRADIENTS_3D.length; ++i) {
+            GRADIENTS_3D[i] = (float) (GRAD3_SRC[i % GRAD3_SRC.length] / NORMALIZER_3D);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.noise;
+
+import static jdk.incubator.vector.VectorOperators.F2D;
+import static klaxon.klaxon.cursor.noise.OpenSimplex2.D;
+import static klaxon.klaxon.cursor.noise.OpenSimplex2.L;
+import static klaxon.klaxon.cursor.noise.OpenSimplex2.LANES;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.LongVector;
+
+/**
+ * Pure Java versions of the OPENSIMPLEX and LAZY fills, for hosts that can't load libCursor. Same layout, scaling and
+ * accumulation as {@link NativeNoise#populateNoiseArray}, and the same values give or take float rounding.
+ * <p>
+ * The Vector API is still an incubator module, so this only works with {@code --add-modules jdk.incubator.vector}
+ * on the command line. Without it everything here reports itself as unavailable.
+ */
+public final class VectorNoise {
+
+    private static final boolean AVAILABLE = ModuleLayer.boot()
+        .findModule("jdk.incubator.vector")
+        .isPresent();
+
+    private VectorNoise() {}
+
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    public static boolean isAvailable(NoiseBackend backend) {
+        return AVAILABLE && backend.hasJavaFallback();
+    }
+
+    /**
+     * Drop-in for {@link net.minecraft.world.gen.NoiseGeneratorImproved#populateNoiseArray}, see
+     * {@link NativeNoise#populateNoiseArray}.
+     *
+     * @return false if the Vector API is missing or the backend has no Java version, in which case the array is
+     *         untouched
+     */
+    public static boolean populateNoiseArray(
+        NoiseBackend backend,
+        double[] noiseArray,
+        double xOffset, double yOffset, double zOffset,
+        int xSize, int ySize, int zSize,
+        double xScale, double yScale, double zScale,
+        double noiseScale, long seed) {
+
+        if (!isAvailable(backend)) return false;
+
+        // Squished the same way as NativeNoise
+        final double xo = xOffset * 0.7, yo = yOffset * 0.7, zo = zOffset * 0.7;
+        final double xs = xScale * 0.7, ys = yScale * 0.7, zs = zScale * 0.7;
+        final double ns = 1.0 / noiseScale;
+
+        if (backend == NoiseBackend.LAZY) {
+            Kernels.fillLazy(noiseArray, xo, yo, zo, xSize, ySize, zSize, xs, ys, zs, ns, seed);
+        } else {
+            Kernels.fillSimplex(noiseArray, xo, yo, zo, xSize, ySize, zSize, xs, ys, zs, ns, seed);
+        }
+        return true;
+    }
+
+    /**
+     * Ports of fillSimplexV and fillLazy in root.zig, for the yzx layout. Kept apart so the Vector API classes are
+     * only loaded once {@link #AVAILABLE} has been checked.
+     */
+    static final class Kernels {
+
+        private Kernels() {}
+
+        static void fillSimplex(
+            double[] noiseArray,
+            double xOffset, double yOffset, double zOffset,
+            int xSize, int ySize, int zSize,
+            double xScale, double yScale, double zScale,
+            double noiseScale, long seed) {
+
+            final int len = xSize * ySize * zSize;
+            final int vEnd = len / LANES * LANES;
+            final double[] fxs = new double[LANES], fys = new double[LANES], fzs = new double[LANES];
+            final LongVector seeds = LongVector.broadcast(L, seed);
+
+            for (int vi = 0; vi < vEnd; vi += LANES) {
+                for (int ii = 0; ii < LANES; ++ii) {
+                    final int i = vi + ii;
+                    fxs[ii] = i / ySize / zSize * xScale + xOffset;
+                    fys[ii] = i % ySize * yScale + yOffset;
+                    fzs[ii] = i / ySize % zSize * zScale + zOffset;
+                }
+
+                final FloatVector values = OpenSimplex2.vnoise3_ImproveXZ(seeds,
+                    DoubleVector.fromArray(D, fxs, 0),
+                    DoubleVector.fromArray(D, fys, 0),
+                    DoubleVector.fromArray(D, fzs, 0));
+                accumulate(noiseArray, vi, values, noiseScale);
+            }
+
+            for (int i = vEnd; i < len; ++i) {
+                final double fx = i / ySize / zSize * xScale + xOffset;
+                final double fy = i % ySize * yScale + yOffset;
+                final double fz = i / ySize % zSize * zScale + zOffset;
+
+                noiseArray[i] += OpenSimplex2.noise3_ImproveXZ(seed, fx, fy, fz) * noiseScale;
+            }
+        }
+
+        static void fillLazy(
+            double[] noiseArray,
+            double xOffset, double yOffset, double zOffset,
+            int xSize, int ySize, int zSize,
+            double xScale, double yScale, double zScale,
+            double noiseScale, long seed) {
+
+            final int len = xSize * ySize * zSize;
+            final int vEnd = len / LANES * LANES;
+            final double[] fxs = new double[LANES], fzs = new double[LANES], extraScales = new double[LANES];
+            final long[] seeds = new long[LANES];
+
+            for (int vi = 0; vi < vEnd; vi += LANES) {
+                for (int ii = 0; ii < LANES; ++ii) {
+                    final int i = vi + ii;
+                    fxs[ii] = i / ySize / zSize * xScale + xOffset;
+                    fzs[ii] = i / ySize % zSize * zScale + zOffset;
+
+                    final double ty = (i % ySize * yScale + yOffset) * 2;
+                    seeds[ii] = lazySeed(seed, ty);
+                    extraScales[ii] = lazyScale(ty);
+                }
+
+                final FloatVector values = OpenSimplex2.vnoise2(LongVector.fromArray(L, seeds, 0),
+                    DoubleVector.fromArray(D, fxs, 0),
+                    DoubleVector.fromArray(D, fzs, 0));
+                for (int ii = 0; ii < LANES; ++ii) {
+                    noiseArray[vi + ii] += values.lane(ii) * noiseScale * extraScales[ii];
+                }
+            }
+
+            for (int i = vEnd; i < len; ++i) {
+                final double fx = i / ySize / zSize * xScale + xOffset;
+                final double fz = i / ySize % zSize * zScale + zOffset;
+                final double ty = (i % ySize * yScale + yOffset) * 2;
+
+                noiseArray[i] += OpenSimplex2.noise2(lazySeed(seed, ty), fx, fz) * noiseScale * lazyScale(ty);
+            }
+        }
+
+        private static void accumulate(double[] noiseArray, int start, FloatVector values, double noiseScale) {
+            final DoubleVector wide = (DoubleVector) values.convertShape(F2D, D, 0);
+            DoubleVector.fromArray(D, noiseArray, start)
+                .add(wide.mul(noiseScale))
+                .intoArray(noiseArray, start);
+        }
+
+        /** Add 1 to the seed for every .5 bump in the y, roughly what MC's lazy noise does */
+        private static long lazySeed(long seed, double ty) {
+            return seed + (long) Math.floor(ty) * 87178291199L;
+        }
+
+        /** Lerps the extra scale from 1 to 1.5 over each step */
+        private static double lazyScale(double ty) {
+            double extraScale = ty - Math.floor(ty);
+            if (extraScale < 0) extraScale += 1;
+            return 1.0 + extraScale * 0.5;
+        }
+    }
+}
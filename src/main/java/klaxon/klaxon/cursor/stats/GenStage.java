@@ -0,0 +1,74 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.stats;
+
+import klaxon.klaxon.cursor.noise.NoiseBackend;
+
+/**
+ * The parts of world generation {@link GenStats} times. Stages can nest: noise runs inside density, and population
+ * can generate and populate neighbouring chunks, so the totals of different stages don't add up to anything.
+ */
+public enum GenStage {
+
+    // One NoiseGeneratorImproved call each, made through NoiseGeneratorOctaves. The fused density grid samples its
+    // noise in the same native call and only shows up under DENSITY
+    NOISE_VANILLA("noise/vanilla"),
+    NOISE_IMPROVED("noise/improved"),
+    NOISE_OPENSIMPLEX("noise/opensimplex"),
+    NOISE_LAZY("noise/lazy"),
+    NOISE_FNL("noise/fnl"),
+    NOISE_JAVA_SIMPLEX("noise/java_simplex"),
+    /** ChunkProviderGenerate's density grid, however it's computed */
+    DENSITY("density"),
+    /** Turning the density grid into blocks */
+    INTERPOLATION("interpolation"),
+    /** The GenLayer chain, through WorldChunkManager */
+    BIOMES("biomes"),
+    /** Caves and ravines */
+    CARVERS("carvers"),
+    /** IChunkProvider.populate, which includes every mod's IWorldGenerator */
+    POPULATION("population"),
+    /** The skylight map of a new chunk, and the light checks once it's populated */
+    LIGHTING("lighting"),
+    /** Density grids (biomes included) computed by {@link klaxon.klaxon.cursor.gen.DensityPrefetcher}'s workers */
+    PREFETCH("prefetch");
+
+    public final String label;
+    final Histogram histogram = new Histogram();
+
+    GenStage(String label) {
+        this.label = label;
+    }
+
+    public Histogram.Snapshot snapshot() {
+        return histogram.snapshot();
+    }
+
+    /** The stage one noise call through {@code backend} is recorded under */
+    public static GenStage noise(NoiseBackend backend) {
+        return switch (backend) {
+            case VANILLA -> NOISE_VANILLA;
+            case IMPROVED -> NOISE_IMPROVED;
+            case OPENSIMPLEX -> NOISE_OPENSIMPLEX;
+            case LAZY -> NOISE_LAZY;
+            case FNL -> NOISE_FNL;
+            case JAVA_SIMPLEX -> NOISE_JAVA_SIMPLEX;
+        };
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.stats;
+
+import jdk.jfr.FlightRecorder;
+import klaxon.klaxon.cursor.noise.NativeImproved;
+import klaxon.klaxon.cursor.noise.NativeNoise;
+import klaxon.klaxon.cursor.noise.NoiseBackend;
+import klaxon.klaxon.cursor.noise.VectorNoise;
+
+/**
+ * Times the stages of world generation into a {@link Histogram} per {@link GenStage}, and mirrors every span as a
+ * {@link GenerationStageEvent} for JFR. Spans are a plain start time rather than an object:
+ *
+ * <pre>
+ * final long start = GenStats.begin();
+ * doTheWork();
+ * GenStats.end(GenStage.DENSITY, start);
+ * </pre>
+ *
+ * While off, {@link #begin} returns 0 and {@link #end} does nothing with it, so leaving the calls in costs a field read.
+ */
+public final class GenStats {
+
+    private static boolean enabled;
+    private static GenStage noiseStage = GenStage.NOISE_VANILLA;
+
+    private GenStats() {}
+
+    /**
+     * Called once, from preInit.
+     *
+     * @param backend the configured noise backend, which decides what {@link #noiseStage} is
+     */
+    public static void setEnabled(boolean enabled, NoiseBackend backend) {
+        if (enabled && !GenStats.enabled) FlightRecorder.register(GenerationStageEvent.class);
+        GenStats.enabled = enabled;
+
+        // Same order MixinNoiseGeneratorImproved tries them in
+        if (backend == NoiseBackend.IMPROVED && NativeImproved.isAvailable()) {
+            noiseStage = GenStage.NOISE_IMPROVED;
+        } else if (NativeNoise.isAvailable(backend)) {
+            noiseStage = GenStage.noise(backend);
+        } else if (VectorNoise.isAvailable(backend)) {
+            noiseStage = GenStage.NOISE_JAVA_SIMPLEX;
+        } else {
+            noiseStage = GenStage.NOISE_VANILLA;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Where a NoiseGeneratorImproved call is recorded, after working out which backend actually serves it */
+    public static GenStage noiseStage() {
+        return noiseStage;
+    }
+
+    /** @return the start of a span, to hand to {@link #end} */
+    public static long begin() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /** @return how long the span took, 0 if it wasn't timed */
+    public static long end(GenStage stage, long start) {
+        if (start == 0) return 0;
+
+        final long nanos = System.nanoTime() - start;
+        stage.histogram.record(nanos);
+
+        final GenerationStageEvent event = new GenerationStageEvent();
+        if (event.isEnabled()) {
+            event.stage = stage.label;
+            event.duration = nanos;
+            event.commit();
+        }
+        return nanos;
+    }
+
+    public static void reset() {
+        for (GenStage stage : GenStage.values()) stage.histogram.reset();
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.stats;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One {@link GenStage} span, for lining worldgen up against GC and tick lag in a flight recording. The event is
+ * committed once the stage is over, so its timestamp marks where it ended; {@link #duration} says how far back it
+ * started.
+ */
+@Name("cursor.GenerationStage")
+@Label("Generation Stage")
+@Category({ "Cursor", "World Generation" })
+@Description("A timed stage of world generation")
+@StackTrace(false)
+final class GenerationStageEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long duration;
+}
@@ -0,0 +1,120 @@
+/**
+ * This file is part of Cursor - a mod that _runs_.
+ * Copyright (C) 2026 ah-OOG-ah
+ *
+ * Cursor is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cursor is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package klaxon.klaxon.cursor.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations in nanoseconds. Buckets are log-linear: every power of two is split into
+ * {@link #SUB} equal parts, so a percentile is never off by more than an eighth of its value, and the whole range of a
+ * long fits in under 500 counters. Recording is a couple of atomic adds and never allocates.
+ */
+public final class Histogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.incrementAndGet(bucketOf(nanos));
+        total.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    /** Not atomic against concurrent records, which may land on either side of it */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; ++i) counts.set(i, 0);
+        total.reset();
+        max.reset();
+    }
+
+    public Snapshot snapshot() {
+        final long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, total.sum(), max.get());
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB) return (int) value;
+        final int exp = 63 - Long.numberOfLeadingZeros(value);
+        final int sub = (int) (value >>> (exp - SUB_BITS)) & (SUB - 1);
+        return (exp - SUB_BITS + 1) * SUB + sub;
+    }
+
+    /** Smallest value that lands in {@code bucket} */
+    static long lowerBound(int bucket) {
+        final int group = bucket >>> SUB_BITS;
+        final int sub = bucket & (SUB - 1);
+        if (group == 0) return sub;
+        final int exp = group + SUB_BITS - 1;
+        return (1L << exp) | ((long) sub << (exp - SUB_BITS));
+    }
+
+    /** Largest value that lands in {@code bucket} */
+    static long upperBound(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : lowerBound(bucket + 1) - 1;
+    }
+
+    /** A consistent-enough copy of a histogram, to read percentiles from */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        public final long count;
+        public final long totalNanos;
+        public final long maxNanos;
+
+        private Snapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public double meanNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        /**
+         * @param fraction from 0 to 1, so 0.99 for the 99th percentile
+         * @return the upper bound of the bucket the percentile falls in, never above the largest value recorded
+         */
+        public long percentile(double fraction) {
+            if (count == 0) return 0;
+
+            final long rank = Math.max(1, (long) Math.ceil(fraction * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; ++i) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(upperBound(i), maxNanos);
+            }
+            return maxNanos;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+// This file is part of Cursor - a mod that _runs_.
+// Copyright (C) 2026 ah-OOG-ah
+//
+// Cursor is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Cursor is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+// Long-lived state for the context exports in root.zig. Java allocates the memory (see NoiseContext and FusedDensity)
+// in an Arena that lives as long as the generator does, so repeated calls pass one pointer instead of a dozen scalars,
+// and whatever can be worked out up front only is once.
+
+const fastnoiselite = @import("fastnoiselite.zig");
+const density = @import("density.zig");
+const samplers = @import("samplers.zig");
+
+pub const FNL = fastnoiselite.Noise(f64);
+
+/// What Java fills in before initContext. Matches NoiseContext.SETTINGS; the enums are passed as their ordinals.
+pub const Settings = extern struct {
+    seed: i64,
+    xScale: f64,
+    yScale: f64,
+    zScale: f64,
+    noiseScale: f64,
+
+    // FastNoiseLite only, see its Noise struct for what each one does
+    frequency: f64,
+    lacunarity: f64,
+    gain: f64,
+    weightedStrength: f64,
+    pingPongStrength: f64,
+    cellularJitter: f64,
+    domainWarpAmp: f64,
+
+    backend: i32,
+    accumulate: i32,
+    noiseType: i32,
+    rotationType: i32,
+    fractalType: i32,
+    octaves: i32,
+    cellularDistance: i32,
+    cellularReturn: i32,
+    domainWarpType: i32,
+    domainWarp: i32,
+};
+
+/// The same, in the shape the fill routines want it. Opaque to Java, which only needs its size.
+pub const Context = struct {
+    backend: samplers.Backend,
+    accumulate: bool,
+    seed: i64,
+    // Already squished and inverted, like NativeNoise.populateNoiseArray does every call
+    xScale: f64,
+    yScale: f64,
+    zScale: f64,
+    noiseScale: f64,
+    fnl: FNL,
+    domainWarp: bool,
+};
+
+/// Matches NativeNoise.populateNoiseArray
+const SQUISH: f64 = 0.7;
+
+fn enumFrom(comptime E: type, value: i32) ?E {
+    if (value < 0 or value >= @typeInfo(E).@"enum".fields.len) return null;
+    return @enumFromInt(value);
+}
+
+/// Fills in `ctx` from `settings`. Returns false if any of the enums is out of range, in which case `ctx` is unusable.
+pub fn init(ctx: *Context, settings: *const Settings) bool {
+    const backend = enumFrom(samplers.Backend, settings.backend) orelse return false;
+    // No seed to go on, only the fused density kernel can take it
+    if (backend == .improved) return false;
+    ctx.* = .{
+        .backend = backend,
+        .accumulate = settings.accumulate != 0,
+        .seed = settings.seed,
+        .xScale = settings.xScale * SQUISH,
+        .yScale = settings.yScale * SQUISH,
+        .zScale = settings.zScale * SQUISH,
+        .noiseScale = 1.0 / settings.noiseScale,
+        .fnl = .{
+            .seed = @truncate(settings.seed),
+            .frequency = settings.frequency,
+            .noise_type = enumFrom(fastnoiselite.NoiseType, settings.noiseType) orelse return false,
+            .rotation_type = enumFrom(fastnoiselite.RotationType, settings.rotationType) orelse return false,
+            .fractal_type = enumFrom(fastnoiselite.FractalType, settings.fractalType) orelse return false,
+            .octaves = @intCast(@max(settings.octaves, 1)),
+            .lacunarity = settings.lacunarity,
+            .gain = settings.gain,
+            .weighted_strength = settings.weightedStrength,
+            .ping_pong_strength = settings.pingPongStrength,
+            .cellular_distance = enumFrom(fastnoiselite.CellularDistanceFunc, settings.cellularDistance) orelse return false,
+            .cellular_return = enumFrom(fastnoiselite.CellularReturnType, settings.cellularReturn) orelse return false,
+            .cellular_jitter_mod = settings.cellularJitter,
+            .domain_warp_type = enumFrom(fastnoiselite.DomainWarpType, settings.domainWarpType) orelse return false,
+            .domain_warp_amp = settings.domainWarpAmp,
+        },
+        .domainWarp = settings.domainWarp != 0,
+    };
+    return true;
+}
+
+/// Everything fillDensity needs that's the same for every chunk of a generator. Matches FusedDensity.CONTEXT; the
+/// octaves sit right after it, in the same allocation.
+pub const DensityContext = extern struct {
+    mainCount: i32,
+    minCount: i32,
+    maxCount: i32,
+    depthCount: i32,
+    amplified: i32,
+    backend: i32,
+    adaptive: i32,
+    shared: i32,
+
+    pub fn octaves(self: *const DensityContext) [*]const density.Octave {
+        return @ptrCast(@alignCast(@as([*]const DensityContext, @ptrCast(self)) + 1));
+    }
+};
@@ -0,0 +1,703 @@
+// This file is part of Cursor - a mod that _runs_.
+// Copyright (C) 2026 ah-OOG-ah
+//
+// Cursor is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Cursor is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+// A native port of ChunkProviderGenerate.func_147423_a: the 5x33x5 density grid, from octave noise and biome
+// weighting through to the top-of-world slide, in one call. Rather than filling one array per octave set and then
+// combining them, every column sums its own octaves (VLEN rows at a time) and is finished on the spot.
+
+const std = @import("std");
+const samplers = @import("samplers.zig");
+const Backend = samplers.Backend;
+const improved = @import("improved.zig");
+
+const types = @import("types.zig");
+const VLEN = types.VLEN;
+const VF64 = types.VF64_8;
+const splatf64 = types.splatf64;
+
+pub const X_SIZE = 5;
+pub const Y_SIZE = 33;
+pub const Z_SIZE = 5;
+pub const GRID_LEN = X_SIZE * Y_SIZE * Z_SIZE;
+
+/// Side length of ChunkProviderGenerate.biomesForGeneration
+pub const BIOME_SIZE = 10;
+pub const BIOME_LEN = BIOME_SIZE * BIOME_SIZE;
+
+/// No vanilla generator has more than 16, this leaves room for mods
+pub const MAX_OCTAVES = 32;
+
+// Noise scales, straight from func_147423_a
+const LIMIT_SCALE: f64 = 684.412;
+const MAIN_XZ_SCALE: f64 = 8.555150000000001;
+const MAIN_Y_SCALE: f64 = 4.277575000000001;
+const DEPTH_SCALE: f64 = 200.0;
+
+/// Matches NativeNoise.populateNoiseArray, which squishes everything by this to get closer to MC's noise
+const SQUISH: f64 = 0.7;
+
+/// One NoiseGeneratorImproved, as seen from Java. Shared with FusedDensity.OCTAVE.
+pub const Octave = extern struct {
+    x: f64,
+    y: f64,
+    z: f64,
+    seed: i64,
+    /// The generator's own permutations, for the improved backend. Null for the others, which only need the seed.
+    perm: ?*const [512]i32,
+};
+
+/// Everything needed to sample one octave over the grid, already in noise space. For the improved backend that's MC's
+/// noise space: the offsets leave out the generator's coords, which MC only adds on after the grid step, and rounding
+/// cares about the order.
+const Plan = struct {
+    x: f64, y: f64, z: f64,
+    dx: f64, dy: f64, dz: f64,
+    amplitude: f64,
+    seed: i64,
+    // Improved only
+    perm: ?*const [512]i32,
+    coords: [3]f64,
+    noiseScale: f64,
+};
+
+/// The octave sets ChunkProviderGenerate combines, one slice each
+pub const OctaveSets = struct {
+    main: []const Octave,
+    minLimit: []const Octave,
+    maxLimit: []const Octave,
+    depth: []const Octave,
+};
+
+/// MC's parabolicField: 10 / sqrt(dx^2 + dz^2 + 0.2) over a 5x5 window
+const PARABOLIC_FIELD = blk: {
+    var field: [25]f32 = undefined;
+    for (0..5) |iz| {
+        for (0..5) |ix| {
+            const dx: f32 = @as(f32, @floatFromInt(ix)) - 2.0;
+            const dz: f32 = @as(f32, @floatFromInt(iz)) - 2.0;
+            field[ix + iz * 5] = 10.0 / @sqrt(dx * dx + dz * dz + 0.2);
+        }
+    }
+    break :blk field;
+};
+
+/// NoiseGeneratorOctaves keeps the integer part of each octave's offset below 2^24, so the doubles don't run out of
+/// fractional precision far from spawn. Mirrors the floor_double_long / % 16777216 dance there.
+fn wrapOffset(v: f64) f64 {
+    const whole: i64 = @intFromFloat(@floor(v));
+    return v - @as(f64, @floatFromInt(whole)) + @as(f64, @floatFromInt(@rem(whole, 16777216)));
+}
+
+/// Does what NoiseGeneratorOctaves.generateNoiseOctaves does before each populateNoiseArray call, so that the fused
+/// kernel samples the same points the per-octave path would.
+fn plan(
+    comptime backend: Backend,
+    octaves: []const Octave, plans: []Plan,
+    xPos: i32, yPos: i32, zPos: i32,
+    xScale: f64, yScale: f64, zScale: f64,
+    twoD: bool) void {
+    var frequency: f64 = 1.0;
+    for (octaves, 0..) |o, i| {
+        const x = wrapOffset(@as(f64, @floatFromInt(xPos)) * frequency * xScale);
+        const y = @as(f64, @floatFromInt(yPos)) * frequency * yScale;
+        const z = wrapOffset(@as(f64, @floatFromInt(zPos)) * frequency * zScale);
+
+        plans[i] = if (backend == .improved) .{
+            .x = x,
+            .y = y,
+            .z = z,
+            .dx = xScale * frequency,
+            .dy = yScale * frequency,
+            .dz = zScale * frequency,
+            .amplitude = 1.0 / frequency,
+            .seed = o.seed,
+            .perm = o.perm,
+            .coords = .{ o.x, o.y, o.z },
+            .noiseScale = frequency,
+        } else .{
+            .x = (x + o.x) * SQUISH,
+            // MC's 2D branch never looks at y, see MixinNoiseGeneratorImproved
+            .y = (if (twoD) o.y else y + o.y) * SQUISH,
+            .z = (z + o.z) * SQUISH,
+            .dx = xScale * frequency * SQUISH,
+            .dy = yScale * frequency * SQUISH,
+            .dz = zScale * frequency * SQUISH,
+            .amplitude = 1.0 / frequency,
+            .seed = o.seed,
+            .perm = null,
+            .coords = .{ 0.0, 0.0, 0.0 },
+            .noiseScale = frequency,
+        };
+        frequency /= 2.0;
+    }
+}
+
+/// Adds one improved octave down the column at (px, pz) onto `out`, through the same code MC's 5x33x5 call would run
+/// for it. That goes down the whole column every time: MC's corner caching makes each row depend on the ones above.
+fn improvedColumn(p: Plan, px: f64, pz: f64, out: []f64) void {
+    improved.populateLanes(1, p.perm.?, out,
+        p.coords[0], p.coords[1], p.coords[2],
+        p.x + px * p.dx, p.y, p.z + pz * p.dz,
+        1, out.len, 1,
+        p.dx, p.dy, p.dz,
+        p.noiseScale);
+}
+
+inline fn sumOctaves(comptime backend: Backend, plans: []const Plan, px: f64, py: f64, pz: f64) f64 {
+    if (backend == .improved) {
+        // Only ever the depth noise, which goes through MC's 2D branch
+        var total = [1]f64{0.0};
+        for (plans) |p| improvedColumn(p, px, pz, &total);
+        return total[0];
+    }
+
+    var total: f64 = 0.0;
+    for (plans) |p| {
+        total += samplers.sample(backend, p.seed, p.x + px * p.dx, p.y + py * p.dy, p.z + pz * p.dz) * p.amplitude;
+    }
+    return total;
+}
+
+/// Sums the octaves down the column at (px, pz), VLEN y values at a time, then adds on `tail`: the terms of any octaves
+/// after `plans`, already worked out by octaveTerms. Only rows with `need` set are guaranteed to be written.
+fn sumColumn(
+    comptime backend: Backend,
+    plans: []const Plan, tail: []const [Y_SIZE]f64,
+    px: f64, pz: f64,
+    need: *const [Y_SIZE]bool, out: *[Y_SIZE]f64) void {
+    if (backend == .improved) {
+        out.* = [_]f64{0.0} ** Y_SIZE;
+        for (plans) |p| improvedColumn(p, px, pz, out);
+        for (tail) |terms| {
+            for (0..Y_SIZE) |y| out[y] += terms[y];
+        }
+        return;
+    }
+
+    var y: usize = 0;
+    while (y + VLEN <= Y_SIZE) : (y += VLEN) {
+        if (std.mem.indexOfScalar(bool, need[y..(y + VLEN)], true) == null) continue;
+
+        var fys: VF64 = undefined;
+        for (0..VLEN) |i| {
+            fys[i] = @floatFromInt(y + i);
+        }
+
+        var total = splatf64(0.0);
+        for (plans) |p| {
+            const xs = splatf64(p.x + px * p.dx);
+            const ys = splatf64(p.y) + fys * splatf64(p.dy);
+            const zs = splatf64(p.z + pz * p.dz);
+            total += samplers.vsample(backend, p.seed, xs, ys, zs) * splatf64(p.amplitude);
+        }
+        for (tail) |terms| {
+            const t: VF64 = terms[y..][0..VLEN].*;
+            total += t;
+        }
+
+        for (0..VLEN) |i| {
+            out[y + i] = total[i];
+        }
+    }
+
+    while (y < Y_SIZE) : (y += 1) {
+        if (!need[y]) continue;
+
+        var total = sumOctaves(backend, plans, px, @floatFromInt(y), pz);
+        for (tail) |terms| {
+            total += terms[y];
+        }
+        out[y] = total;
+    }
+}
+
+/// Each octave's term down the column at (px, pz), kept apart so that sumColumn can add them on later in the order a
+/// full sum would have. Every row goes down the same vector or scalar path it would in sumColumn, so the terms are
+/// bit for bit the ones it would have computed itself.
+fn octaveTerms(comptime backend: Backend, plans: []const Plan, px: f64, pz: f64, out: [][Y_SIZE]f64) void {
+    if (backend == .improved) {
+        for (plans, 0..) |p, k| {
+            out[k] = [_]f64{0.0} ** Y_SIZE;
+            improvedColumn(p, px, pz, &out[k]);
+        }
+        return;
+    }
+
+    var y: usize = 0;
+    while (y + VLEN <= Y_SIZE) : (y += VLEN) {
+        var fys: VF64 = undefined;
+        for (0..VLEN) |i| {
+            fys[i] = @floatFromInt(y + i);
+        }
+
+        for (plans, 0..) |p, k| {
+            const xs = splatf64(p.x + px * p.dx);
+            const ys = splatf64(p.y) + fys * splatf64(p.dy);
+            const zs = splatf64(p.z + pz * p.dz);
+            const term = samplers.vsample(backend, p.seed, xs, ys, zs) * splatf64(p.amplitude);
+            for (0..VLEN) |i| {
+                out[k][y + i] = term[i];
+            }
+        }
+    }
+
+    while (y < Y_SIZE) : (y += 1) {
+        const py: f64 = @floatFromInt(y);
+        for (plans, 0..) |p, k| {
+            out[k][y] = samplers.sample(backend, p.seed, p.x + px * p.dx, p.y + py * p.dy, p.z + pz * p.dz) * p.amplitude;
+        }
+    }
+}
+
+/// How many of each set's octaves (the lowest frequency, loudest ones) the adaptive mode samples everywhere
+const COARSE_OCTAVES = 2;
+
+/// Largest |value| a single octave's sample can take, so the most a skipped octave can move a point is this times its
+/// amplitude. Each one is worked out from the evaluator, not measured:
+///  - simplex: at most four lattice points contribute, each (0.6 - |d|^2)^4 * (g . d), and the normalized gradients
+///    are at most 41.43 long. With g . d bounded by |g| |d|, the sum depends only on where the point sits in its cube;
+///    interval branch and bound over the whole cube puts it under 1.039 (it reaches 1.0387).
+///  - lazy: 2D OpenSimplex2 the same way, three points of (0.5 - |d|^2)^4 * (g . d) with |g| at most 99.84, stays
+///    under 1.007. The y scale multiplies it by less than 1.5.
+///  - improved: see improved.BOUND.
+/// The rest, up to the round number, covers the evaluators' f32 rounding.
+fn noiseBound(comptime backend: Backend) ?f64 {
+    return switch (backend) {
+        .simplex => 1.04,
+        .lazy => 1.5 * 1.01,
+        .improved => improved.BOUND,
+        // No bound worked out for FastNoiseLite, so it always gets the full evaluation
+        .fnl => null,
+    };
+}
+
+/// Bounds have to clear zero by at least this before a sign counts as settled. Far more than the rounding differences
+/// between the coarse estimate and the full sum.
+const SIGN_MARGIN: f64 = 1.0e-6;
+
+/// Sum of the amplitudes of the octaves the coarse pass leaves out
+fn fineAmplitude(plans: []const Plan) f64 {
+    var total: f64 = 0.0;
+    for (plans) |p| {
+        total += p.amplitude;
+    }
+    return total;
+}
+
+/// The part of func_147423_a's final value that pulls the terrain towards its biome height
+inline fn heightBias(fy: f64, d5: f64, d14: f64) f64 {
+    var d6 = (fy - d5) * 12.0 * 128.0 / 256.0 / d14;
+    if (d6 < 0.0) {
+        d6 *= 4.0;
+    }
+    return d6;
+}
+
+/// Bends the top three rows towards -10, so nothing pokes out of the top of the world
+inline fn slide(d10: f64, j2: usize) f64 {
+    if (j2 > 29) {
+        const d11: f64 = @as(f32, @floatFromInt(j2 - 29)) / 3.0;
+        return d10 * (1.0 - d11) + -10.0 * d11;
+    }
+    return d10;
+}
+
+/// Everything fill works out per column before sampling the 3D noise
+const Column = struct {
+    d5: f64,
+    d14: f64,
+};
+
+pub const COLUMNS = X_SIZE * Z_SIZE;
+
+/// One finished column of the grid, as kept between chunks by DensityColumns. Java only ever copies these around, as
+/// FusedDensity.COLUMN_LONGS longs each.
+pub const ColumnState = extern struct {
+    values: [Y_SIZE]f64,
+    d5: f64,
+    d14: f64,
+    /// What the coarse pass settled each point's sign to, see fill
+    signs: [Y_SIZE]i8,
+    /// Whether each value is the full evaluation rather than the coarse estimate
+    exact: [Y_SIZE]u8,
+};
+
+comptime {
+    std.debug.assert(@sizeOf(ColumnState) == 44 * 8);
+}
+
+/// Every set's plans, for one grid origin
+const Plans = struct {
+    main: [MAX_OCTAVES]Plan,
+    minLimit: [MAX_OCTAVES]Plan,
+    maxLimit: [MAX_OCTAVES]Plan,
+    depth: [MAX_OCTAVES]Plan,
+
+    fn init(self: *Plans, comptime backend: Backend, sets: OctaveSets, xPos: i32, zPos: i32) void {
+        plan(backend, sets.main, &self.main, xPos, 0, zPos, MAIN_XZ_SCALE, MAIN_Y_SCALE, MAIN_XZ_SCALE, false);
+        plan(backend, sets.minLimit, &self.minLimit, xPos, 0, zPos, LIMIT_SCALE, LIMIT_SCALE, LIMIT_SCALE, false);
+        plan(backend, sets.maxLimit, &self.maxLimit, xPos, 0, zPos, LIMIT_SCALE, LIMIT_SCALE, LIMIT_SCALE, false);
+        // The depth noise goes through the 2D overload, which asks for y = 10 with a y scale of 1
+        plan(backend, sets.depth, &self.depth, xPos, 10, zPos, DEPTH_SCALE, 1.0, DEPTH_SCALE, true);
+    }
+};
+
+/// Where a column's samples come from: plans and the offset into them
+const Origin = struct {
+    plans: *const Plans,
+    px: f64,
+    pz: f64,
+};
+
+/// Normally the chunk's plans, offset by the column's place in the grid, the way MC does it. With `shared`, the
+/// column gets plans of its own, planned from its own position. Its values then only depend on where it is, not on
+/// which chunk asked for it, so either chunk on a border can hand it on to the other.
+fn origin(
+    comptime backend: Backend,
+    shared: bool, chunk: *const Plans, own: *Plans,
+    sets: OctaveSets, xPos: i32, zPos: i32, col: usize) Origin {
+    const j1 = col / Z_SIZE;
+    const k1 = col % Z_SIZE;
+    if (!shared) return .{ .plans = chunk, .px = @floatFromInt(j1), .pz = @floatFromInt(k1) };
+
+    own.init(backend, sets, xPos + @as(i32, @intCast(j1)), zPos + @as(i32, @intCast(k1)));
+    return .{ .plans = own, .px = 0.0, .pz = 0.0 };
+}
+
+inline fn isKnown(known: u32, col: usize) bool {
+    return known & (@as(u32, 1) << @intCast(col)) != 0;
+}
+
+/// Fills `out` (x, then z, then y fastest, like MC) for the chunk whose grid origin is (xPos, zPos).
+/// rootHeights and heightVariations are biomesForGeneration's fields, in its own 10x10 order. T is f64 for
+/// ChunkProviderGenerate's own array, or f32 where only Cursor reads the grid.
+///
+/// With `adaptive`, the loudest octaves are sampled everywhere first, and the rest only where they could matter. What
+/// the other octaves can still add is bounded by their amplitudes, so some points are far enough from zero that their
+/// sign is already settled. Blocks only care about signs, and only by way of the cells around each point, so a point
+/// whose every neighbouring cell is settled the same way keeps the coarse estimate. Everything else gets the exact
+/// value the full evaluation would have produced, and the blocks come out identical.
+///
+/// `states` gets every column as it was finished. Columns with their bit set in `known` (col = x * Z_SIZE + z) are
+/// already in there, from a neighbouring chunk, and are only topped up where this chunk needs exact values its
+/// neighbour got away without. Reusing columns needs `shared`, see origin.
+pub fn fill(
+    comptime backend: Backend,
+    comptime T: type,
+    out: *[GRID_LEN]T,
+    xPos: i32, zPos: i32,
+    sets: OctaveSets,
+    rootHeights: *const [BIOME_LEN]f32, heightVariations: *const [BIOME_LEN]f32,
+    amplified: bool, adaptive: bool,
+    shared: bool, states: *[COLUMNS]ColumnState, known: u32) void {
+    std.debug.assert(shared or known == 0);
+    // Planning columns on their own moves the improved backend's values off MC's, which is all it's for
+    std.debug.assert(!(shared and backend == .improved));
+
+    var chunkPlans: Plans = undefined;
+    chunkPlans.init(backend, sets, xPos, zPos);
+    var ownPlans: Plans = undefined;
+
+    var columns: [COLUMNS]Column = undefined;
+    for (0..COLUMNS) |c| {
+        if (isKnown(known, c)) {
+            columns[c] = .{ .d5 = states[c].d5, .d14 = states[c].d14 };
+            continue;
+        }
+
+        const j1 = c / Z_SIZE;
+        const k1 = c % Z_SIZE;
+
+        // Biome weighting, float for float
+        var variation: f32 = 0.0;
+        var height: f32 = 0.0;
+        var totalWeight: f32 = 0.0;
+        const centerRoot = rootHeights[(j1 + 2) + (k1 + 2) * BIOME_SIZE];
+
+        for (0..5) |ix| {
+            for (0..5) |iz| {
+                const bidx = (j1 + ix) + (k1 + iz) * BIOME_SIZE;
+                var root = rootHeights[bidx];
+                var vary = heightVariations[bidx];
+
+                if (amplified and root > 0.0) {
+                    root = 1.0 + root * 2.0;
+                    vary = 1.0 + vary * 4.0;
+                }
+
+                var weight = PARABOLIC_FIELD[ix + iz * 5] / (root + 2.0);
+                if (rootHeights[bidx] > centerRoot) {
+                    weight /= 2.0;
+                }
+
+                variation += vary * weight;
+                height += root * weight;
+                totalWeight += weight;
+            }
+        }
+
+        variation /= totalWeight;
+        height /= totalWeight;
+        variation = variation * 0.9 + 0.1;
+        height = (height * 4.0 - 1.0) / 8.0;
+
+        const o = origin(backend, shared, &chunkPlans, &ownPlans, sets, xPos, zPos, c);
+        var depthNoise = sumOctaves(backend, o.plans.depth[0..sets.depth.len], o.px, 0.0, o.pz) / 8000.0;
+        if (depthNoise < 0.0) {
+            depthNoise = -depthNoise * 0.3;
+        }
+
+        depthNoise = depthNoise * 3.0 - 2.0;
+
+        if (depthNoise < 0.0) {
+            depthNoise /= 2.0;
+            if (depthNoise < -1.0) {
+                depthNoise = -1.0;
+            }
+
+            depthNoise /= 1.4;
+            depthNoise /= 2.0;
+        } else {
+            if (depthNoise > 1.0) {
+                depthNoise = 1.0;
+            }
+
+            depthNoise /= 8.0;
+        }
+
+        var d13: f64 = height;
+        const d14: f64 = variation;
+        d13 += depthNoise * 0.2;
+        d13 = d13 * 8.5 / 8.0;
+        const d5 = 8.5 + d13 * 4.0;
+
+        columns[c] = .{ .d5 = d5, .d14 = d14 };
+    }
+
+    // The coarse octaves are the last ones in each set. Without a bound, they're just part of the full sum.
+    const bound = noiseBound(backend);
+    const mainCoarse = if (adaptive and bound != null) @min(COARSE_OCTAVES, sets.main.len) else 0;
+    const minCoarse = if (adaptive and bound != null) @min(COARSE_OCTAVES, sets.minLimit.len) else 0;
+    const maxCoarse = if (adaptive and bound != null) @min(COARSE_OCTAVES, sets.maxLimit.len) else 0;
+    const mainFineLen = sets.main.len - mainCoarse;
+    const minFineLen = sets.minLimit.len - minCoarse;
+    const maxFineLen = sets.maxLimit.len - maxCoarse;
+    const coarse = mainCoarse + minCoarse + maxCoarse > 0;
+
+    var mainTerms: [COLUMNS][COARSE_OCTAVES][Y_SIZE]f64 = undefined;
+    var minTerms: [COLUMNS][COARSE_OCTAVES][Y_SIZE]f64 = undefined;
+    var maxTerms: [COLUMNS][COARSE_OCTAVES][Y_SIZE]f64 = undefined;
+    // Points whose sign the coarse pass settled: 1 or -1, or 0 if it couldn't
+    var signs = [_][Y_SIZE]i8{[_]i8{0} ** Y_SIZE} ** COLUMNS;
+    var estimates: [COLUMNS][Y_SIZE]f64 = undefined;
+
+    if (coarse) {
+        // Amplitudes only depend on the octave, so any origin's plans will do
+        const mainSlack = fineAmplitude(chunkPlans.main[0..mainFineLen]) * bound.?;
+        const minSlack = fineAmplitude(chunkPlans.minLimit[0..minFineLen]) * bound.?;
+        const maxSlack = fineAmplitude(chunkPlans.maxLimit[0..maxFineLen]) * bound.?;
+
+        for (0..COLUMNS) |col| {
+            // A known column's signs came out of this same pass, in the chunk that finished it
+            if (isKnown(known, col)) {
+                signs[col] = states[col].signs;
+                continue;
+            }
+
+            const o = origin(backend, shared, &chunkPlans, &ownPlans, sets, xPos, zPos, col);
+            const main = o.plans.main[0..sets.main.len];
+            const minLimit = o.plans.minLimit[0..sets.minLimit.len];
+            const maxLimit = o.plans.maxLimit[0..sets.maxLimit.len];
+            octaveTerms(backend, main[mainFineLen..], o.px, o.pz, mainTerms[col][0..mainCoarse]);
+            octaveTerms(backend, minLimit[minFineLen..], o.px, o.pz, minTerms[col][0..minCoarse]);
+            octaveTerms(backend, maxLimit[maxFineLen..], o.px, o.pz, maxTerms[col][0..maxCoarse]);
+
+            for (0..Y_SIZE) |j2| {
+                var mainSum: f64 = 0.0;
+                var minSum: f64 = 0.0;
+                var maxSum: f64 = 0.0;
+                for (mainTerms[col][0..mainCoarse]) |terms| mainSum += terms[j2];
+                for (minTerms[col][0..minCoarse]) |terms| minSum += terms[j2];
+                for (maxTerms[col][0..maxCoarse]) |terms| maxSum += terms[j2];
+
+                // t only ever gets clamped, and lerping can't leave the range of its ends, so wherever t ends up the
+                // value lies within the limits' combined range. Only if t is past one end does the other not matter.
+                const tLo = ((mainSum - mainSlack) / 10.0 + 1.0) / 2.0;
+                const tHi = ((mainSum + mainSlack) / 10.0 + 1.0) / 2.0;
+                const minLo = (minSum - minSlack) / 512.0;
+                const minHi = (minSum + minSlack) / 512.0;
+                const maxLo = (maxSum - maxSlack) / 512.0;
+                const maxHi = (maxSum + maxSlack) / 512.0;
+
+                var lo: f64 = undefined;
+                var hi: f64 = undefined;
+                if (tHi < 0.0) {
+                    lo = minLo;
+                    hi = minHi;
+                } else if (tLo > 1.0) {
+                    lo = maxLo;
+                    hi = maxHi;
+                } else {
+                    lo = @min(minLo, maxLo);
+                    hi = @max(minHi, maxHi);
+                }
+
+                // The bias is exact, and the slide only ever scales by a factor in [0, 1], so both keep the order
+                const d6 = heightBias(@floatFromInt(j2), columns[col].d5, columns[col].d14);
+                lo = slide(lo - d6, j2);
+                hi = slide(hi - d6, j2);
+
+                if (lo > SIGN_MARGIN) {
+                    signs[col][j2] = 1;
+                } else if (hi < -SIGN_MARGIN) {
+                    signs[col][j2] = -1;
+                }
+
+                // The coarse value itself, which sits inside the bounds and so has the same sign
+                const t = (mainSum / 10.0 + 1.0) / 2.0;
+                const d10 = if (t < 0.0)
+                    minSum / 512.0
+                else if (t > 1.0)
+                    maxSum / 512.0
+                else
+                    minSum / 512.0 + (maxSum / 512.0 - minSum / 512.0) * t;
+                estimates[col][j2] = slide(d10 - d6, j2);
+            }
+        }
+    }
+
+    // A cell is settled if all eight of its corners are settled the same way. Blocks inside one can't change however
+    // far its corners move, as long as they keep their sign.
+    var exact = [_][Y_SIZE]bool{[_]bool{true} ** Y_SIZE} ** COLUMNS;
+    if (coarse) {
+        var settled: [X_SIZE - 1][Z_SIZE - 1][Y_SIZE - 1]bool = undefined;
+        for (0..(X_SIZE - 1)) |cx| {
+            for (0..(Z_SIZE - 1)) |cz| {
+                for (0..(Y_SIZE - 1)) |cy| {
+                    const first = signs[cx * Z_SIZE + cz][cy];
+                    var same = first != 0;
+                    for (0..2) |dx| {
+                        for (0..2) |dz| {
+                            for (0..2) |dy| {
+                                same = same and signs[(cx + dx) * Z_SIZE + cz + dz][cy + dy] == first;
+                            }
+                        }
+                    }
+                    settled[cx][cz][cy] = same;
+                }
+            }
+        }
+
+        // A point only keeps its estimate if every cell it's a corner of is settled
+        for (0..X_SIZE) |px| {
+            for (0..Z_SIZE) |pz| {
+                for (0..Y_SIZE) |py| {
+                    var keep = true;
+                    for ((@max(px, 1) - 1)..(@min(px, X_SIZE - 2) + 1)) |cx| {
+                        for ((@max(pz, 1) - 1)..(@min(pz, Z_SIZE - 2) + 1)) |cz| {
+                            for ((@max(py, 1) - 1)..(@min(py, Y_SIZE - 2) + 1)) |cy| {
+                                keep = keep and settled[cx][cz][cy];
+                            }
+                        }
+                    }
+                    exact[px * Z_SIZE + pz][py] = !keep;
+                }
+            }
+        }
+    }
+
+    var l: usize = 0;
+    for (0..COLUMNS) |col| {
+        const state = &states[col];
+        const wasKnown = isKnown(known, col);
+
+        // An exact value from the neighbour is as good as one from here. An estimate it kept is the one this chunk
+        // would have come up with, since the column doesn't depend on who works it out.
+        var need = exact[col];
+        if (wasKnown) {
+            for (0..Y_SIZE) |j2| {
+                need[j2] = need[j2] and state.exact[j2] == 0;
+            }
+        }
+
+        var mainCol: [Y_SIZE]f64 = undefined;
+        var minCol: [Y_SIZE]f64 = undefined;
+        var maxCol: [Y_SIZE]f64 = undefined;
+        if (std.mem.indexOfScalar(bool, &need, true) != null) {
+            const o = origin(backend, shared, &chunkPlans, &ownPlans, sets, xPos, zPos, col);
+            const main = o.plans.main[0..sets.main.len];
+            const minLimit = o.plans.minLimit[0..sets.minLimit.len];
+            const maxLimit = o.plans.maxLimit[0..sets.maxLimit.len];
+
+            // The coarse pass skipped known columns, and the full sums need its terms
+            if (wasKnown and coarse) {
+                octaveTerms(backend, main[mainFineLen..], o.px, o.pz, mainTerms[col][0..mainCoarse]);
+                octaveTerms(backend, minLimit[minFineLen..], o.px, o.pz, minTerms[col][0..minCoarse]);
+                octaveTerms(backend, maxLimit[maxFineLen..], o.px, o.pz, maxTerms[col][0..maxCoarse]);
+            }
+
+            // MathHelper.denormalizeClamp only ever looks at one of the limits once the main noise is outside 0..1,
+            // so don't compute the other one
+            var needMin: [Y_SIZE]bool = undefined;
+            var needMax: [Y_SIZE]bool = undefined;
+
+            sumColumn(backend, main[0..mainFineLen], mainTerms[col][0..mainCoarse], o.px, o.pz, &need, &mainCol);
+            for (0..Y_SIZE) |j2| {
+                mainCol[j2] = (mainCol[j2] / 10.0 + 1.0) / 2.0;
+                needMin[j2] = need[j2] and !(mainCol[j2] > 1.0);
+                needMax[j2] = need[j2] and !(mainCol[j2] < 0.0);
+            }
+            sumColumn(backend, minLimit[0..minFineLen], minTerms[col][0..minCoarse], o.px, o.pz, &needMin, &minCol);
+            sumColumn(backend, maxLimit[0..maxFineLen], maxTerms[col][0..maxCoarse], o.px, o.pz, &needMax, &maxCol);
+        }
+
+        for (0..Y_SIZE) |j2| {
+            var d10: f64 = undefined;
+            if (need[j2]) {
+                const d6 = heightBias(@floatFromInt(j2), columns[col].d5, columns[col].d14);
+
+                const t = mainCol[j2];
+                if (t < 0.0) {
+                    d10 = minCol[j2] / 512.0;
+                } else if (t > 1.0) {
+                    d10 = maxCol[j2] / 512.0;
+                } else {
+                    const lo = minCol[j2] / 512.0;
+                    const hi = maxCol[j2] / 512.0;
+                    d10 = lo + (hi - lo) * t;
+                }
+                d10 = slide(d10 - d6, j2);
+
+                state.exact[j2] = 1;
+            } else if (wasKnown) {
+                d10 = state.values[j2];
+            } else {
+                d10 = estimates[col][j2];
+                state.exact[j2] = 0;
+            }
+            state.values[j2] = d10;
+
+            out[l] = if (T == f64) d10 else @floatCast(d10);
+            l += 1;
+        }
+
+        if (!wasKnown) {
+            state.d5 = columns[col].d5;
+            state.d14 = columns[col].d14;
+            state.signs = signs[col];
+        }
+    }
+}
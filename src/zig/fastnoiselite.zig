@@ -129,8 +129,7 @@ pub fn Noise(comptime Float: type) type {
         else => @compileError(@typeName(Float) ++ " is not a floating-point type."),
     }
 
-    // Equivalent to -ffast-math in GCC
-    @setFloatMode(.optimized);
+    // Float mode stays strict, unlike -ffast-math: every ISA variant of libCursor has to give the same terrain
 
     const Vec4 = @Vector(4, Float);
     const sqrt3: Float = comptime @sqrt(3.0);
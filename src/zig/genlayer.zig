@@ -0,0 +1,884 @@
+// This file is part of Cursor - a mod that _runs_.
+// Copyright (C) 2026 ah-OOG-ah
+//
+// Cursor is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Cursor is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+// A native port of the vanilla GenLayer chain, as built by GenLayer.initializeAllBiomeGenerators. Java walks the live
+// chain and hands it over as a list of Layers (see NativeBiomes), so whatever seeds, biome size and biome lists the
+// world actually ended up with are used as-is; only the getInts of each layer class lives here.
+//
+// Every getInts is followed step by step, random draws included, so the ids match MC's exactly. What's different is
+// the bookkeeping: parent areas come off one scratch stack instead of IntCache, and the initChunkSeed hash of a row is
+// worked out a block of cells at a time in vector lanes, ahead of the (branchy, scalar) per-cell logic.
+
+const std = @import("std");
+
+pub const Op = enum(i32) {
+    island,
+    zoom,
+    fuzzy_zoom,
+    add_island,
+    remove_too_much_ocean,
+    add_snow,
+    edge_cool_warm,
+    edge_heat_ice,
+    edge_special,
+    add_mushroom_island,
+    deep_ocean,
+    river_init,
+    biome,
+    biome_edge,
+    hills,
+    rare_biome,
+    shore,
+    river,
+    smooth,
+    river_mix,
+    voronoi_zoom,
+};
+
+/// One GenLayer. Matches NativeBiomes.LAYER.
+pub const Layer = extern struct {
+    op: i32,
+    /// Index of the parent layer, -1 for GenLayerIsland
+    parent: i32,
+    /// GenLayerHills' river layer and GenLayerRiverMix's river chain, -1 for everything else
+    parent2: i32,
+    _pad: i32,
+    /// The layer's worldGenSeed, after initWorldGenSeed
+    seed: i64,
+};
+
+/// One BiomeManager.BiomeEntry
+pub const Entry = extern struct {
+    biome: i32,
+    weight: i32,
+};
+
+/// GenLayerBiome's list for one BiomeManager.BiomeType, as a range of Chain.entries
+pub const TypeList = extern struct {
+    start: i32,
+    count: i32,
+    total: i32,
+    /// BiomeManager.isTypeListModded, which decides how the weight is drawn
+    modded: i32,
+};
+
+pub const DESERT = 0;
+pub const WARM = 1;
+pub const COOL = 2;
+pub const ICY = 3;
+
+// Chain.flags bits, per biome id
+pub const EXISTS: u8 = 1;
+/// getBiomeClass() == BiomeGenJungle.class
+pub const JUNGLE: u8 = 2;
+/// getEnableSnow()
+pub const SNOW: u8 = 4;
+/// instanceof BiomeGenMesa
+pub const MESA: u8 = 8;
+/// getBiome(id + 128) != null
+pub const MUTATION: u8 = 16;
+/// getTempCategory().ordinal() sits in these bits
+pub const TEMP_SHIFT = 5;
+
+/// Everything getInts needs to know about a world's chain. Matches NativeBiomes.CHAIN.
+pub const Chain = extern struct {
+    layers: [*]const Layer,
+    entries: [*]const Entry,
+    layerCount: i32,
+    entryCount: i32,
+    types: [4]TypeList,
+    flags: [256]u8,
+    /// GenLayer.compareBiomesById(a, b), as bit a * 256 + b
+    equal: [256 * 256 / 8]u8,
+
+    fn flagsOf(self: *const Chain, id: i32) u8 {
+        return self.flags[index(id)];
+    }
+
+    fn same(self: *const Chain, a: i32, b: i32) bool {
+        if (a == b) return true;
+        const bit = index(a) * 256 + index(b);
+        return self.equal[bit >> 3] & (@as(u8, 1) << @intCast(bit & 7)) != 0;
+    }
+
+    fn temp(self: *const Chain, id: i32) u8 {
+        return self.flagsOf(id) >> TEMP_SHIFT;
+    }
+};
+
+/// BiomeGenBase.getBiome hands out ocean for ids it doesn't know
+fn index(id: i32) usize {
+    return if (id >= 0 and id < 256) @intCast(id) else 0;
+}
+
+// Vanilla biome ids, fixed in 1.7.10
+const OCEAN = 0;
+const PLAINS = 1;
+const DESERT_ID = 2;
+const EXTREME_HILLS = 3;
+const FOREST = 4;
+const TAIGA = 5;
+const SWAMPLAND = 6;
+const RIVER = 7;
+const FROZEN_OCEAN = 10;
+const FROZEN_RIVER = 11;
+const ICE_PLAINS = 12;
+const ICE_MOUNTAINS = 13;
+const MUSHROOM_ISLAND = 14;
+const MUSHROOM_ISLAND_SHORE = 15;
+const BEACH = 16;
+const DESERT_HILLS = 17;
+const FOREST_HILLS = 18;
+const TAIGA_HILLS = 19;
+const EXTREME_HILLS_EDGE = 20;
+const JUNGLE_ID = 21;
+const JUNGLE_HILLS = 22;
+const JUNGLE_EDGE = 23;
+const DEEP_OCEAN = 24;
+const STONE_BEACH = 25;
+const COLD_BEACH = 26;
+const BIRCH_FOREST = 27;
+const BIRCH_FOREST_HILLS = 28;
+const ROOFED_FOREST = 29;
+const COLD_TAIGA = 30;
+const COLD_TAIGA_HILLS = 31;
+const MEGA_TAIGA = 32;
+const MEGA_TAIGA_HILLS = 33;
+const EXTREME_HILLS_PLUS = 34;
+const SAVANNA = 35;
+const SAVANNA_PLATEAU = 36;
+const MESA_ID = 37;
+const MESA_PLATEAU_F = 38;
+const MESA_PLATEAU = 39;
+
+/// BiomeGenBase.TempCategory.MEDIUM
+const TEMP_MEDIUM = 2;
+
+fn isOceanic(id: i32) bool {
+    return id == OCEAN or id == DEEP_OCEAN or id == FROZEN_OCEAN;
+}
+
+const MUL: i64 = 6364136223846793005;
+const ADD: i64 = 1442695040888963407;
+
+/// GenLayer's chunkSeed and the nextInt family, for one cell
+const Rng = struct {
+    seed: i64,
+    world: i64,
+
+    fn nextInt(self: *Rng, bound: i32) i32 {
+        var i: i32 = @intCast(@rem(self.seed >> 24, @as(i64, bound)));
+        if (i < 0) i += bound;
+        self.seed = self.seed *% (self.seed *% MUL +% ADD) +% self.world;
+        return i;
+    }
+
+    fn pick2(self: *Rng, a: i32, b: i32) i32 {
+        return if (self.nextInt(2) == 0) a else b;
+    }
+
+    fn pick4(self: *Rng, a: i32, b: i32, c: i32, d: i32) i32 {
+        return switch (self.nextInt(4)) {
+            0 => a,
+            1 => b,
+            2 => c,
+            else => d,
+        };
+    }
+
+    /// GenLayer.selectModeOrRandom
+    fn modeOrRandom(self: *Rng, a: i32, b: i32, c: i32, d: i32) i32 {
+        if (b == c and c == d) return b;
+        if (a == b and a == c) return a;
+        if (a == b and a == d) return a;
+        if (a == c and a == d) return a;
+        if (a == b and c != d) return a;
+        if (a == c and b != d) return a;
+        if (a == d and b != c) return a;
+        if (b == c and a != d) return b;
+        if (b == d and a != c) return b;
+        if (c == d and a != b) return c;
+        return self.pick4(a, b, c, d);
+    }
+};
+
+const LANES = std.simd.suggestVectorLength(i64) orelse 4;
+const VI64 = @Vector(LANES, i64);
+/// Cells whose seeds are worked out at once
+const BLOCK = LANES * 8;
+
+/// initChunkSeed for the cells of one row, x = x0 + j * step, filled a block at a time as the row is walked
+const Row = struct {
+    world: i64,
+    x0: i64,
+    step: i64,
+    z: i64,
+    base: usize = 0,
+    filled: usize = 0,
+    seeds: [BLOCK]i64 = undefined,
+
+    fn init(world: i64, x0: i64, step: i64, z: i64) Row {
+        return .{ .world = world, .x0 = x0, .step = step, .z = z };
+    }
+
+    /// The Rng initChunkSeed would leave for cell j. Cells have to be asked for in order.
+    fn at(self: *Row, j: usize) Rng {
+        if (j >= self.base + self.filled) self.refill(j);
+        return .{ .seed = self.seeds[j - self.base], .world = self.world };
+    }
+
+    fn refill(self: *Row, j: usize) void {
+        self.base = j;
+        self.filled = BLOCK;
+
+        const iota = std.simd.iota(i64, LANES);
+        const world: VI64 = @splat(self.world);
+        const mul: VI64 = @splat(MUL);
+        const add: VI64 = @splat(ADD);
+        const z: VI64 = @splat(self.z);
+        var k: usize = 0;
+        while (k < BLOCK) : (k += LANES) {
+            const first = self.x0 +% @as(i64, @intCast(j + k)) *% self.step;
+            const x = @as(VI64, @splat(first)) +% iota *% @as(VI64, @splat(self.step));
+            var s = world;
+            s = s *% (s *% mul +% add) +% x;
+            s = s *% (s *% mul +% add) +% z;
+            s = s *% (s *% mul +% add) +% x;
+            s = s *% (s *% mul +% add) +% z;
+            self.seeds[k..][0..LANES].* = s;
+        }
+    }
+};
+
+pub const Error = error{OutOfScratch};
+
+/// Bump allocator over the scratch Java passes in. Everything a layer takes is given back before it returns.
+const Stack = struct {
+    buf: []i32,
+    top: usize = 0,
+
+    fn take(self: *Stack, len: usize) Error![]i32 {
+        if (self.buf.len - self.top < len) return error.OutOfScratch;
+        defer self.top += len;
+        return self.buf[self.top..][0..len];
+    }
+};
+
+fn area(w: i32, h: i32) usize {
+    return @as(usize, @intCast(w)) * @as(usize, @intCast(h));
+}
+
+/// Scratch ints evaluating `layer` over a w by h area needs, not counting `out`
+pub fn scratchSize(chain: *const Chain, layer: usize, w: i32, h: i32) usize {
+    const l = chain.layers[layer];
+    const parent: usize = @intCast(@max(l.parent, 0));
+    const op: Op = @enumFromInt(l.op);
+    switch (op) {
+        .island => return 0,
+        .zoom, .fuzzy_zoom => {
+            const pw = (w >> 1) + 2;
+            const ph = (h >> 1) + 2;
+            return area(pw, ph) + @max(scratchSize(chain, parent, pw, ph), area((pw - 1) << 1, (ph - 1) << 1));
+        },
+        .voronoi_zoom => {
+            const pw = (w >> 2) + 2;
+            const ph = (h >> 2) + 2;
+            return area(pw, ph) + @max(scratchSize(chain, parent, pw, ph), area((pw - 1) << 2, (ph - 1) << 2));
+        },
+        .edge_special, .river_init, .biome => return area(w, h) + scratchSize(chain, parent, w, h),
+        .hills => {
+            const a = area(w + 2, h + 2);
+            const rivers: usize = @intCast(l.parent2);
+            return a + @max(scratchSize(chain, parent, w + 2, h + 2), a + scratchSize(chain, rivers, w + 2, h + 2));
+        },
+        .river_mix => {
+            const a = area(w, h);
+            const rivers: usize = @intCast(l.parent2);
+            return a + @max(scratchSize(chain, parent, w, h), a + scratchSize(chain, rivers, w, h));
+        },
+        else => return area(w + 2, h + 2) + scratchSize(chain, parent, w + 2, h + 2),
+    }
+}
+
+/// GenLayer.getInts(x, z, w, h) of `layer`, into out[0 .. w * h]
+fn getInts(chain: *const Chain, layer: usize, x: i32, z: i32, w: i32, h: i32, out: []i32, stack: *Stack) Error!void {
+    const mark = stack.top;
+    defer stack.top = mark;
+
+    const l = &chain.layers[layer];
+    const op: Op = @enumFromInt(l.op);
+    switch (op) {
+        .island => island(l, x, z, w, h, out),
+        .zoom => try zoom(chain, l, false, x, z, w, h, out, stack),
+        .fuzzy_zoom => try zoom(chain, l, true, x, z, w, h, out, stack),
+        .voronoi_zoom => try voronoiZoom(chain, l, x, z, w, h, out, stack),
+        .edge_special, .river_init, .biome => {
+            const in = try stack.take(area(w, h));
+            try getInts(chain, @intCast(l.parent), x, z, w, h, in, stack);
+            switch (op) {
+                .edge_special => edgeSpecial(l, in, x, z, w, h, out),
+                .river_init => riverInit(l, in, x, z, w, h, out),
+                else => biome(chain, l, in, x, z, w, h, out),
+            }
+        },
+        .river_mix => {
+            const biomes = try stack.take(area(w, h));
+            try getInts(chain, @intCast(l.parent), x, z, w, h, biomes, stack);
+            const rivers = try stack.take(area(w, h));
+            try getInts(chain, @intCast(l.parent2), x, z, w, h, rivers, stack);
+            riverMix(biomes, rivers, out[0..area(w, h)]);
+        },
+        else => {
+            // Everything else looks at the cell and its neighbours, from a parent area one bigger on every side
+            const in = try stack.take(area(w + 2, h + 2));
+            try getInts(chain, @intCast(l.parent), x - 1, z - 1, w + 2, h + 2, in, stack);
+            if (op == .hills) {
+                const rivers = try stack.take(area(w + 2, h + 2));
+                try getInts(chain, @intCast(l.parent2), x - 1, z - 1, w + 2, h + 2, rivers, stack);
+                hills(chain, l, in, rivers, x, z, w, h, out);
+                return;
+            }
+
+            const uw: usize = @intCast(w);
+            const pw = uw + 2;
+            for (0..@intCast(h)) |i| {
+                var row = Row.init(l.seed, x, 1, z +% @as(i32, @intCast(i)));
+                for (0..uw) |j| {
+                    const c = j + 1 + (i + 1) * pw;
+                    const n = Neighbours{
+                        .centre = in[c],
+                        .up = in[c - pw],
+                        .right = in[c + 1],
+                        .left = in[c - 1],
+                        .down = in[c + pw],
+                        .nw = in[c - pw - 1],
+                        .ne = in[c - pw + 1],
+                        .sw = in[c + pw - 1],
+                        .se = in[c + pw + 1],
+                    };
+                    out[j + i * uw] = switch (op) {
+                        .add_island => addIsland(&row, j, n),
+                        .remove_too_much_ocean => removeTooMuchOcean(&row, j, n),
+                        .add_snow => addSnow(&row, j, n),
+                        .edge_cool_warm => edgeCoolWarm(n),
+                        .edge_heat_ice => edgeHeatIce(n),
+                        .add_mushroom_island => addMushroomIsland(&row, j, n),
+                        .deep_ocean => deepOcean(n),
+                        .biome_edge => biomeEdge(chain, n),
+                        .rare_biome => rareBiome(&row, j, n),
+                        .shore => shore(chain, n),
+                        .river => river(n),
+                        .smooth => smooth(&row, j, n),
+                        else => unreachable,
+                    };
+                }
+            }
+        },
+    }
+}
+
+const Neighbours = struct {
+    centre: i32,
+    up: i32,
+    right: i32,
+    left: i32,
+    down: i32,
+    nw: i32,
+    ne: i32,
+    sw: i32,
+    se: i32,
+};
+
+fn island(l: *const Layer, x: i32, z: i32, w: i32, h: i32, out: []i32) void {
+    const uw: usize = @intCast(w);
+    for (0..@intCast(h)) |i| {
+        var row = Row.init(l.seed, x, 1, z +% @as(i32, @intCast(i)));
+        for (0..uw) |j| {
+            var rng = row.at(j);
+            out[j + i * uw] = if (rng.nextInt(10) == 0) 1 else 0;
+        }
+    }
+    if (x > -w and x <= 0 and z > -h and z <= 0) out[@intCast(-x + -z * w)] = 1;
+}
+
+/// GenLayerZoom, and GenLayerFuzzyZoom which always picks at random
+fn zoom(chain: *const Chain, l: *const Layer, fuzzy: bool, x: i32, z: i32, w: i32, h: i32, out: []i32, stack: *Stack) Error!void {
+    const px = x >> 1;
+    const pz = z >> 1;
+    const pw = (w >> 1) + 2;
+    const ph = (h >> 1) + 2;
+    const in = try stack.take(area(pw, ph));
+    try getInts(chain, @intCast(l.parent), px, pz, pw, ph, in, stack);
+
+    const upw: usize = @intCast(pw);
+    const tw: usize = @intCast((pw - 1) << 1);
+    const tmp = try stack.take(tw * @as(usize, @intCast((ph - 1) << 1)));
+    for (0..@intCast(ph - 1)) |k| {
+        var o = (k << 1) * tw;
+        var nw = in[k * upw];
+        var sw = in[(k + 1) * upw];
+        var row = Row.init(l.seed, @as(i64, px) * 2, 2, (@as(i64, @intCast(k)) + pz) * 2);
+        for (0..upw - 1) |j| {
+            var rng = row.at(j);
+            const ne = in[j + 1 + k * upw];
+            const se = in[j + 1 + (k + 1) * upw];
+            tmp[o] = nw;
+            tmp[o + tw] = rng.pick2(nw, sw);
+            o += 1;
+            tmp[o] = rng.pick2(nw, ne);
+            tmp[o + tw] = if (fuzzy) rng.pick4(nw, ne, sw, se) else rng.modeOrRandom(nw, ne, sw, se);
+            o += 1;
+            nw = ne;
+            sw = se;
+        }
+    }
+
+    const uw: usize = @intCast(w);
+    for (0..@intCast(h)) |r| {
+        const from = (r + @as(usize, @intCast(z & 1))) * tw + @as(usize, @intCast(x & 1));
+        @memcpy(out[r * uw ..][0..uw], tmp[from..][0..uw]);
+    }
+}
+
+fn voronoiZoom(chain: *const Chain, l: *const Layer, x0: i32, z0: i32, w: i32, h: i32, out: []i32, stack: *Stack) Error!void {
+    const x = x0 - 2;
+    const z = z0 - 2;
+    const px = x >> 2;
+    const pz = z >> 2;
+    const pw = (w >> 2) + 2;
+    const ph = (h >> 2) + 2;
+    const in = try stack.take(area(pw, ph));
+    try getInts(chain, @intCast(l.parent), px, pz, pw, ph, in, stack);
+
+    const upw: usize = @intCast(pw);
+    const tw: usize = @intCast((pw - 1) << 2);
+    const tmp = try stack.take(tw * @as(usize, @intCast((ph - 1) << 2)));
+    for (0..@intCast(ph - 1)) |k| {
+        var nw = in[k * upw];
+        var sw = in[(k + 1) * upw];
+        const kz: i64 = @as(i64, @intCast(k)) + pz;
+        // The four corners of a cell sit on two rows of the parent's grid, each corner's seed one cell apart
+        var top = Row.init(l.seed, @as(i64, px) * 4, 4, kz * 4);
+        var bottom = Row.init(l.seed, @as(i64, px) * 4, 4, (kz + 1) * 4);
+        for (0..upw - 1) |j| {
+            var a = top.at(j);
+            const d1 = jitter(&a, 0);
+            const d2 = jitter(&a, 0);
+            var b = top.at(j + 1);
+            const d3 = jitter(&b, 4);
+            const d4 = jitter(&b, 0);
+            var c = bottom.at(j);
+            const d5 = jitter(&c, 0);
+            const d6 = jitter(&c, 4);
+            var d = bottom.at(j + 1);
+            const d7 = jitter(&d, 4);
+            const d8 = jitter(&d, 4);
+
+            const ne = in[j + 1 + k * upw] & 255;
+            const se = in[j + 1 + (k + 1) * upw] & 255;
+            for (0..4) |dz| {
+                var o = ((k << 2) + dz) * tw + (j << 2);
+                const fz: f64 = @floatFromInt(dz);
+                for (0..4) |dx| {
+                    const fx: f64 = @floatFromInt(dx);
+                    const e9 = (fz - d2) * (fz - d2) + (fx - d1) * (fx - d1);
+                    const e10 = (fz - d4) * (fz - d4) + (fx - d3) * (fx - d3);
+                    const e11 = (fz - d6) * (fz - d6) + (fx - d5) * (fx - d5);
+                    const e12 = (fz - d8) * (fz - d8) + (fx - d7) * (fx - d7);
+                    if (e9 < e10 and e9 < e11 and e9 < e12) {
+                        tmp[o] = nw;
+                    } else if (e10 < e9 and e10 < e11 and e10 < e12) {
+                        tmp[o] = ne;
+                    } else if (e11 < e9 and e11 < e10 and e11 < e12) {
+                        tmp[o] = sw;
+                    } else {
+                        tmp[o] = se;
+                    }
+                    o += 1;
+                }
+            }
+            nw = ne;
+            sw = se;
+        }
+    }
+
+    const uw: usize = @intCast(w);
+    for (0..@intCast(h)) |r| {
+        const from = (r + @as(usize, @intCast(z & 3))) * tw + @as(usize, @intCast(x & 3));
+        @memcpy(out[r * uw ..][0..uw], tmp[from..][0..uw]);
+    }
+}
+
+/// ((double) nextInt(1024) / 1024.0 - 0.5) * 3.6, plus `offset`
+fn jitter(rng: *Rng, comptime offset: f64) f64 {
+    const r = (@as(f64, @floatFromInt(rng.nextInt(1024))) / 1024.0 - 0.5) * 3.6;
+    return if (offset == 0) r else r + offset;
+}
+
+fn edgeSpecial(l: *const Layer, in: []const i32, x: i32, z: i32, w: i32, h: i32, out: []i32) void {
+    const uw: usize = @intCast(w);
+    for (0..@intCast(h)) |i| {
+        var row = Row.init(l.seed, x, 1, z +% @as(i32, @intCast(i)));
+        for (0..uw) |j| {
+            var v = in[j + i * uw];
+            if (v != 0) {
+                var rng = row.at(j);
+                if (rng.nextInt(13) == 0) v |= ((1 + rng.nextInt(15)) << 8) & 3840;
+            }
+            out[j + i * uw] = v;
+        }
+    }
+}
+
+fn riverInit(l: *const Layer, in: []const i32, x: i32, z: i32, w: i32, h: i32, out: []i32) void {
+    const uw: usize = @intCast(w);
+    for (0..@intCast(h)) |i| {
+        var row = Row.init(l.seed, x, 1, z +% @as(i32, @intCast(i)));
+        for (0..uw) |j| {
+            var rng = row.at(j);
+            out[j + i * uw] = if (in[j + i * uw] > 0) rng.nextInt(299999) + 2 else 0;
+        }
+    }
+}
+
+/// GenLayerBiome as Forge patches it, drawing from BiomeManager's weighted lists
+fn biome(chain: *const Chain, l: *const Layer, in: []const i32, x: i32, z: i32, w: i32, h: i32, out: []i32) void {
+    const uw: usize = @intCast(w);
+    for (0..@intCast(h)) |i| {
+        var row = Row.init(l.seed, x, 1, z +% @as(i32, @intCast(i)));
+        for (0..uw) |j| {
+            var rng = row.at(j);
+            var id = in[j + i * uw];
+            const special = (id & 3840) >> 8;
+            id &= -3841;
+            out[j + i * uw] = if (isOceanic(id) or id == MUSHROOM_ISLAND)
+                id
+            else if (id == 1)
+                (if (special > 0) (if (rng.nextInt(3) == 0) MESA_PLATEAU else MESA_PLATEAU_F) else weighted(chain, &rng, DESERT))
+            else if (id == 2)
+                (if (special > 0) JUNGLE_ID else weighted(chain, &rng, WARM))
+            else if (id == 3)
+                (if (special > 0) MEGA_TAIGA else weighted(chain, &rng, COOL))
+            else if (id == 4)
+                weighted(chain, &rng, ICY)
+            else
+                MUSHROOM_ISLAND;
+        }
+    }
+}
+
+/// GenLayerBiome.getWeightedBiomeEntry then WeightedRandom.getItem
+fn weighted(chain: *const Chain, rng: *Rng, comptime biomeType: usize) i32 {
+    const list = chain.types[biomeType];
+    var weight = if (list.modded != 0) rng.nextInt(list.total) else rng.nextInt(@divTrunc(list.total, 10)) * 10;
+    const entries = chain.entries[@intCast(list.start)..][0..@intCast(list.count)];
+    for (entries) |e| {
+        weight -= e.weight;
+        if (weight < 0) return e.biome;
+    }
+    // NativeBiomes only passes lists whose weights add up to total
+    unreachable;
+}
+
+fn addIsland(row: *Row, j: usize, n: Neighbours) i32 {
+    var rng = row.at(j);
+    const c = n.centre;
+    if (c != 0 or (n.nw == 0 and n.ne == 0 and n.sw == 0 and n.se == 0)) {
+        if (c > 0 and (n.nw == 0 or n.ne == 0 or n.sw == 0 or n.se == 0)) {
+            if (rng.nextInt(5) == 0) return if (c == 4) 4 else 0;
+        }
+        return c;
+    }
+
+    var k: i32 = 1;
+    var picked: i32 = 1;
+    if (n.nw != 0) {
+        if (rng.nextInt(k) == 0) picked = n.nw;
+        k += 1;
+    }
+    if (n.ne != 0) {
+        if (rng.nextInt(k) == 0) picked = n.ne;
+        k += 1;
+    }
+    if (n.sw != 0) {
+        if (rng.nextInt(k) == 0) picked = n.sw;
+        k += 1;
+    }
+    if (n.se != 0) {
+        if (rng.nextInt(k) == 0) picked = n.se;
+        k += 1;
+    }
+    if (rng.nextInt(3) == 0) return picked;
+    return if (picked == 4) 4 else 0;
+}
+
+fn removeTooMuchOcean(row: *Row, j: usize, n: Neighbours) i32 {
+    if (n.centre == 0 and n.up == 0 and n.right == 0 and n.left == 0 and n.down == 0) {
+        var rng = row.at(j);
+        if (rng.nextInt(2) == 0) return 1;
+    }
+    return n.centre;
+}
+
+fn addSnow(row: *Row, j: usize, n: Neighbours) i32 {
+    if (n.centre == 0) return 0;
+    var rng = row.at(j);
+    const r = rng.nextInt(6);
+    return if (r == 0) 4 else if (r <= 1) 3 else 1;
+}
+
+fn edgeCoolWarm(n: Neighbours) i32 {
+    if (n.centre == 1) {
+        const cool = n.up == 3 or n.right == 3 or n.left == 3 or n.down == 3;
+        const icy = n.up == 4 or n.right == 4 or n.left == 4 or n.down == 4;
+        if (cool or icy) return 2;
+    }
+    return n.centre;
+}
+
+fn edgeHeatIce(n: Neighbours) i32 {
+    if (n.centre == 4) {
+        const warm = n.up == 2 or n.right == 2 or n.left == 2 or n.down == 2;
+        const hot = n.up == 1 or n.right == 1 or n.left == 1 or n.down == 1;
+        if (hot or warm) return 3;
+    }
+    return n.centre;
+}
+
+fn addMushroomIsland(row: *Row, j: usize, n: Neighbours) i32 {
+    if (n.centre == 0 and n.nw == 0 and n.ne == 0 and n.sw == 0 and n.se == 0) {
+        var rng = row.at(j);
+        if (rng.nextInt(100) == 0) return MUSHROOM_ISLAND;
+    }
+    return n.centre;
+}
+
+fn deepOcean(n: Neighbours) i32 {
+    var oceans: i32 = 0;
+    if (n.up == 0) oceans += 1;
+    if (n.right == 0) oceans += 1;
+    if (n.left == 0) oceans += 1;
+    if (n.down == 0) oceans += 1;
+    return if (n.centre == 0 and oceans > 3) DEEP_OCEAN else n.centre;
+}
+
+fn biomeEdge(chain: *const Chain, n: Neighbours) i32 {
+    const c = n.centre;
+    if (chain.same(c, EXTREME_HILLS)) {
+        const inside = similar(chain, n.up, EXTREME_HILLS) and similar(chain, n.right, EXTREME_HILLS) and
+            similar(chain, n.left, EXTREME_HILLS) and similar(chain, n.down, EXTREME_HILLS);
+        return if (inside) c else EXTREME_HILLS_EDGE;
+    }
+    if (c == MESA_PLATEAU_F) return plateauEdge(chain, n, MESA_PLATEAU_F, MESA_ID);
+    if (c == MESA_PLATEAU) return plateauEdge(chain, n, MESA_PLATEAU, MESA_ID);
+    if (c == MEGA_TAIGA) return plateauEdge(chain, n, MEGA_TAIGA, TAIGA);
+
+    if (c == DESERT_ID) {
+        const icy = n.up == ICE_PLAINS or n.right == ICE_PLAINS or n.left == ICE_PLAINS or n.down == ICE_PLAINS;
+        return if (icy) EXTREME_HILLS_PLUS else c;
+    }
+    if (c == SWAMPLAND) {
+        if (anyOf(n, DESERT_ID) or anyOf(n, COLD_TAIGA) or anyOf(n, ICE_PLAINS)) return PLAINS;
+        return if (anyOf(n, JUNGLE_ID)) JUNGLE_EDGE else c;
+    }
+    return c;
+}
+
+fn anyOf(n: Neighbours, id: i32) bool {
+    return n.up == id or n.right == id or n.left == id or n.down == id;
+}
+
+/// GenLayerBiomeEdge.func_151635_b, once the centre is known to be `target`
+fn plateauEdge(chain: *const Chain, n: Neighbours, target: i32, edge: i32) i32 {
+    const inside = chain.same(n.up, target) and chain.same(n.right, target) and chain.same(n.left, target) and
+        chain.same(n.down, target);
+    return if (inside) n.centre else edge;
+}
+
+/// GenLayerBiomeEdge.func_151634_b: the same biome, or at least temperatures that don't clash
+fn similar(chain: *const Chain, a: i32, b: i32) bool {
+    if (chain.same(a, b)) return true;
+    if (chain.flagsOf(a) & EXISTS == 0 or chain.flagsOf(b) & EXISTS == 0) return false;
+    const ta = chain.temp(a);
+    const tb = chain.temp(b);
+    return ta == tb or ta == TEMP_MEDIUM or tb == TEMP_MEDIUM;
+}
+
+fn hills(chain: *const Chain, l: *const Layer, in: []const i32, rivers: []const i32, x: i32, z: i32, w: i32, h: i32, out: []i32) void {
+    const uw: usize = @intCast(w);
+    const pw = uw + 2;
+    for (0..@intCast(h)) |i| {
+        var row = Row.init(l.seed, x, 1, z +% @as(i32, @intCast(i)));
+        for (0..uw) |j| {
+            var rng = row.at(j);
+            const c = j + 1 + (i + 1) * pw;
+            const id = in[c];
+            const r = rivers[c];
+            const mutate = @rem(r - 2, 29) == 0;
+
+            if (id != 0 and r >= 2 and @rem(r - 2, 29) == 1 and id < 128) {
+                out[j + i * uw] = if (chain.flagsOf(id) & MUTATION != 0) id + 128 else id;
+                continue;
+            }
+            if (rng.nextInt(3) != 0 and !mutate) {
+                out[j + i * uw] = id;
+                continue;
+            }
+
+            var hill = id;
+            if (id == DESERT_ID) {
+                hill = DESERT_HILLS;
+            } else if (id == FOREST) {
+                hill = FOREST_HILLS;
+            } else if (id == BIRCH_FOREST) {
+                hill = BIRCH_FOREST_HILLS;
+            } else if (id == ROOFED_FOREST) {
+                hill = PLAINS;
+            } else if (id == TAIGA) {
+                hill = TAIGA_HILLS;
+            } else if (id == MEGA_TAIGA) {
+                hill = MEGA_TAIGA_HILLS;
+            } else if (id == COLD_TAIGA) {
+                hill = COLD_TAIGA_HILLS;
+            } else if (id == PLAINS) {
+                hill = if (rng.nextInt(3) == 0) FOREST_HILLS else FOREST;
+            } else if (id == ICE_PLAINS) {
+                hill = ICE_MOUNTAINS;
+            } else if (id == JUNGLE_ID) {
+                hill = JUNGLE_HILLS;
+            } else if (id == OCEAN) {
+                hill = DEEP_OCEAN;
+            } else if (id == EXTREME_HILLS) {
+                hill = EXTREME_HILLS_PLUS;
+            } else if (id == SAVANNA) {
+                hill = SAVANNA_PLATEAU;
+            } else if (chain.same(id, MESA_PLATEAU_F)) {
+                hill = MESA_ID;
+            } else if (id == DEEP_OCEAN and rng.nextInt(3) == 0) {
+                hill = if (rng.nextInt(2) == 0) PLAINS else FOREST;
+            }
+
+            if (mutate and hill != id) {
+                hill = if (chain.flagsOf(hill) & MUTATION != 0) hill + 128 else id;
+            }
+
+            if (hill == id) {
+                out[j + i * uw] = id;
+            } else {
+                var alike: i32 = 0;
+                if (chain.same(in[c - pw], id)) alike += 1;
+                if (chain.same(in[c + 1], id)) alike += 1;
+                if (chain.same(in[c - 1], id)) alike += 1;
+                if (chain.same(in[c + pw], id)) alike += 1;
+                out[j + i * uw] = if (alike >= 3) hill else id;
+            }
+        }
+    }
+}
+
+fn rareBiome(row: *Row, j: usize, n: Neighbours) i32 {
+    var rng = row.at(j);
+    if (rng.nextInt(57) == 0 and n.centre == PLAINS) return PLAINS + 128;
+    return n.centre;
+}
+
+fn noOceanAround(n: Neighbours) bool {
+    return !isOceanic(n.up) and !isOceanic(n.right) and !isOceanic(n.left) and !isOceanic(n.down);
+}
+
+/// GenLayerShore.func_151631_c
+fn jungleCompatible(chain: *const Chain, id: i32) bool {
+    if (chain.flagsOf(id) & JUNGLE != 0) return true;
+    return id == JUNGLE_EDGE or id == JUNGLE_ID or id == JUNGLE_HILLS or id == FOREST or id == TAIGA or isOceanic(id);
+}
+
+fn isMesa(chain: *const Chain, id: i32) bool {
+    return chain.flagsOf(id) & MESA != 0;
+}
+
+fn shore(chain: *const Chain, n: Neighbours) i32 {
+    const c = n.centre;
+    const flags = chain.flagsOf(c);
+    if (c == MUSHROOM_ISLAND) {
+        const inland = n.up != OCEAN and n.right != OCEAN and n.left != OCEAN and n.down != OCEAN;
+        return if (inland) c else MUSHROOM_ISLAND_SHORE;
+    }
+    if (flags & JUNGLE != 0) {
+        const compatible = jungleCompatible(chain, n.up) and jungleCompatible(chain, n.right) and
+            jungleCompatible(chain, n.left) and jungleCompatible(chain, n.down);
+        if (!compatible) return JUNGLE_EDGE;
+        return if (noOceanAround(n)) c else BEACH;
+    }
+    if (c == EXTREME_HILLS or c == EXTREME_HILLS_PLUS or c == EXTREME_HILLS_EDGE) return beach(n, STONE_BEACH);
+    if (flags & SNOW != 0) return beach(n, COLD_BEACH);
+    if (c == MESA_ID or c == MESA_PLATEAU_F) {
+        if (!noOceanAround(n)) return c;
+        const allMesa = isMesa(chain, n.up) and isMesa(chain, n.right) and isMesa(chain, n.left) and isMesa(chain, n.down);
+        return if (allMesa) c else DESERT_ID;
+    }
+    if (c == OCEAN or c == DEEP_OCEAN or c == RIVER or c == SWAMPLAND) return c;
+    return if (noOceanAround(n)) c else BEACH;
+}
+
+/// GenLayerShore.func_151632_a
+fn beach(n: Neighbours, beachId: i32) i32 {
+    if (isOceanic(n.centre)) return n.centre;
+    return if (noOceanAround(n)) n.centre else beachId;
+}
+
+/// GenLayerRiver.func_151630_c
+fn riverClass(v: i32) i32 {
+    return if (v >= 2) 2 + (v & 1) else v;
+}
+
+fn river(n: Neighbours) i32 {
+    const c = riverClass(n.centre);
+    const flat = c == riverClass(n.left) and c == riverClass(n.up) and c == riverClass(n.right) and c == riverClass(n.down);
+    return if (flat) -1 else RIVER;
+}
+
+fn smooth(row: *Row, j: usize, n: Neighbours) i32 {
+    if (n.left == n.right and n.up == n.down) {
+        var rng = row.at(j);
+        return if (rng.nextInt(2) == 0) n.left else n.up;
+    }
+    var c = n.centre;
+    if (n.left == n.right) c = n.left;
+    if (n.up == n.down) c = n.up;
+    return c;
+}
+
+fn riverMix(biomes: []const i32, rivers: []const i32, out: []i32) void {
+    for (out, biomes, rivers) |*o, b, r| {
+        o.* = if (b == OCEAN or b == DEEP_OCEAN)
+            b
+        else if (r != RIVER)
+            b
+        else if (b == ICE_PLAINS)
+            FROZEN_RIVER
+        else if (b == MUSHROOM_ISLAND or b == MUSHROOM_ISLAND_SHORE)
+            MUSHROOM_ISLAND_SHORE
+        else
+            r & 255;
+    }
+}
+
+/// Entry point for root.zig. Returns false if `scratch` turned out too small.
+pub fn fill(chain: *const Chain, layer: usize, x: i32, z: i32, w: i32, h: i32, out: []i32, scratch: []i32) bool {
+    var stack = Stack{ .buf = scratch };
+    getInts(chain, layer, x, z, w, h, out, &stack) catch return false;
+    return true;
+}
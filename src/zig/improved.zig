@@ -0,0 +1,259 @@
+// This file is part of Cursor - a mod that _runs_.
+// Copyright (C) 2026 ah-OOG-ah
+//
+// Cursor is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Cursor is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+// A native port of NoiseGeneratorImproved.populateNoiseArray, MC's own Perlin noise, that matches it to the bit. The
+// other backends only resemble it, so worlds that started out on VANILLA get seams when switched to them; this one can
+// take over an existing world. MC walks x, then z, then y; here VLEN z columns go at once, and every lane does MC's
+// arithmetic in MC's order. That includes the 3D branch only working out a cell's corner gradients at the first y
+// that lands in it, and reusing them, y fraction and all, for the rest of the cell.
+
+const std = @import("std");
+
+const types = @import("types.zig");
+const VLEN = types.VLEN;
+
+// grad's gradients, one table per axis like MC keeps them
+const GRAD_X = [16]f64{ 1, -1, 1, -1, 1, -1, 1, -1, 0, 0, 0, 0, 1, 0, -1, 0 };
+const GRAD_Y = [16]f64{ 1, 1, -1, -1, 0, 0, 0, 0, 1, -1, 1, -1, 1, -1, 1, -1 };
+const GRAD_Z = [16]f64{ 0, 0, 0, 0, 1, 1, -1, -1, 1, 1, -1, -1, 0, 1, 0, -1 };
+// func_76309_a's, the 2D ones
+const GRAD2_X = [16]f64{ 1, -1, 1, -1, 1, -1, 1, -1, 0, 0, 0, 0, 1, 0, -1, 0 };
+const GRAD2_Z = [16]f64{ 0, 0, 0, 0, 1, 1, -1, -1, 1, 1, -1, -1, 0, 1, 0, -1 };
+
+/// Largest |value| one call can add before the amplitude: every corner's gradient has two components of magnitude 1,
+/// dotted with distances no bigger than 1, and fade's weights never leave 0..1, so each lerp stays within its corners.
+pub const BOUND: f64 = 2.0;
+
+/// Java's (int) cast: NaN goes to 0 and anything out of range saturates, where @intFromFloat would be undefined
+inline fn javaInt(x: f64) i32 {
+    if (x != x) return 0;
+    if (x >= 2147483647.0) return std.math.maxInt(i32);
+    if (x <= -2147483648.0) return std.math.minInt(i32);
+    return @intFromFloat(x);
+}
+
+/// `int k = (int) x; if (x < (double) k) --k;`
+inline fn floor(x: f64) i32 {
+    const t = javaInt(x);
+    return if (x < @as(f64, @floatFromInt(t))) t -% 1 else t;
+}
+
+inline fn fade(t: f64) f64 {
+    return t * t * t * (t * (t * 6.0 - 15.0) + 10.0);
+}
+
+/// The per-lane helpers, for L z columns at once. Every lane does exactly what the scalar code would, so any L gives
+/// the same values.
+fn Lanes(comptime L: usize) type {
+    return struct {
+        const F = @Vector(L, f64);
+        const I = @Vector(L, i32);
+
+        inline fn splatf(v: f64) F {
+            return @splat(v);
+        }
+
+        inline fn splati(v: i32) I {
+            return @splat(v);
+        }
+
+        inline fn toFloat(v: I) F {
+            var ret: F = undefined;
+            for (0..L) |l| ret[l] = @floatFromInt(v[l]);
+            return ret;
+        }
+
+        inline fn floorV(x: F) I {
+            var t: I = undefined;
+            for (0..L) |l| t[l] = javaInt(x[l]);
+            return @select(i32, x < toFloat(t), t -% splati(1), t);
+        }
+
+        inline fn fadeV(t: F) F {
+            return t * t * t * (t * (t * splatf(6.0) - splatf(15.0)) + splatf(10.0));
+        }
+
+        inline fn lerp(t: F, a: F, b: F) F {
+            return a + t * (b - a);
+        }
+
+        inline fn lookup(perm: *const [512]i32, i: I) I {
+            var ret: I = undefined;
+            for (0..L) |l| ret[l] = perm[@intCast(i[l])];
+            return ret;
+        }
+
+        /// NoiseGeneratorImproved.grad, with the hash already looked up
+        inline fn grad(h: I, x: F, y: F, z: F) F {
+            var gx: F = undefined;
+            var gy: F = undefined;
+            var gz: F = undefined;
+            for (0..L) |l| {
+                const g: usize = @intCast(h[l] & 15);
+                gx[l] = GRAD_X[g];
+                gy[l] = GRAD_Y[g];
+                gz[l] = GRAD_Z[g];
+            }
+            return gx * x + gy * y + gz * z;
+        }
+
+        /// func_76309_a, the 2D branch's gradient for its first corner
+        inline fn grad2(h: I, x: F, z: F) F {
+            var gx: F = undefined;
+            var gz: F = undefined;
+            for (0..L) |l| {
+                const g: usize = @intCast(h[l] & 15);
+                gx[l] = GRAD2_X[g];
+                gz[l] = GRAD2_Z[g];
+            }
+            return gx * x + gz * z;
+        }
+
+        /// Where each lane's z sample sits, and the fraction and cell MC works out from it
+        const Column = struct {
+            frac: F,
+            fade: F,
+            cell: I,
+        };
+
+        inline fn columns(zOffset: f64, zCoord: f64, zScale: f64, first: usize) Column {
+            var js: F = undefined;
+            for (0..L) |l| js[l] = @floatFromInt(first + l);
+
+            var z = splatf(zOffset) + js * splatf(zScale) + splatf(zCoord);
+            const k = floorV(z);
+            z -= toFloat(k);
+            return .{ .frac = z, .fade = fadeV(z), .cell = k & splati(255) };
+        }
+    };
+}
+
+/// Adds xSize * ySize * zSize values onto `noise`, in MC's layout (y fastest, then z, then x). With ySize == 1 it takes
+/// MC's 2D branch, which never looks at y at all.
+pub fn populate(
+    perm: *const [512]i32,
+    noise: []f64,
+    xCoord: f64, yCoord: f64, zCoord: f64,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: usize, ySize: usize, zSize: usize,
+    xScale: f64, yScale: f64, zScale: f64,
+    noiseScale: f64) void {
+    populateLanes(VLEN, perm, noise, xCoord, yCoord, zCoord, xOffset, yOffset, zOffset, xSize, ySize, zSize,
+        xScale, yScale, zScale, noiseScale);
+}
+
+/// populate, L z columns at a time. One lane is for callers that only ever want a single column, where VLEN lanes
+/// would mostly be thrown away.
+pub fn populateLanes(
+    comptime L: usize,
+    perm: *const [512]i32,
+    noise: []f64,
+    xCoord: f64, yCoord: f64, zCoord: f64,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: usize, ySize: usize, zSize: usize,
+    xScale: f64, yScale: f64, zScale: f64,
+    noiseScale: f64) void {
+    const V = Lanes(L);
+    const amplitude = 1.0 / noiseScale;
+
+    for (0..xSize) |xi| {
+        var x = xOffset + @as(f64, @floatFromInt(xi)) * xScale + xCoord;
+        const xk = floor(x);
+        const xCell = xk & 255;
+        x -= @floatFromInt(xk);
+        const xFade = V.splatf(fade(x));
+        const xs = V.splatf(x);
+        const xs1 = V.splatf(x - 1.0);
+
+        var zi: usize = 0;
+        while (zi < zSize) : (zi += L) {
+            const lanes = @min(L, zSize - zi);
+            const col = V.columns(zOffset, zCoord, zScale, zi);
+            const zs = col.frac;
+            const zs1 = col.frac - V.splatf(1.0);
+
+            if (ySize == 1) {
+                const a = V.splati(perm[@intCast(perm[@intCast(xCell)])]) + col.cell;
+                const b = V.splati(perm[@intCast(perm[@intCast(xCell + 1)])]) + col.cell;
+                const zero = V.splatf(0.0);
+                const one = V.splati(1);
+
+                const near = V.lerp(
+                    xFade,
+                    V.grad2(V.lookup(perm, a), xs, zs),
+                    V.grad(V.lookup(perm, b), xs1, zero, zs));
+                const far = V.lerp(
+                    xFade,
+                    V.grad(V.lookup(perm, a + one), xs, zero, zs1),
+                    V.grad(V.lookup(perm, b + one), xs1, zero, zs1));
+                const value = V.lerp(col.fade, near, far) * V.splatf(amplitude);
+
+                for (0..lanes) |l| noise[xi * zSize + zi + l] += value[l];
+                continue;
+            }
+
+            var lastCell: i32 = -1;
+            var c00: V.F = undefined;
+            var c10: V.F = undefined;
+            var c01: V.F = undefined;
+            var c11: V.F = undefined;
+            for (0..ySize) |yi| {
+                var y = yOffset + @as(f64, @floatFromInt(yi)) * yScale + yCoord;
+                const yk = floor(y);
+                const yCell = yk & 255;
+                y -= @floatFromInt(yk);
+                const yFade = V.splatf(fade(y));
+
+                if (yi == 0 or yCell != lastCell) {
+                    lastCell = yCell;
+                    const ys = V.splatf(y);
+                    const ys1 = V.splatf(y - 1.0);
+
+                    const k3 = perm[@intCast(xCell)] + yCell;
+                    const l5 = V.splati(perm[@intCast(k3)]) + col.cell;
+                    const i6 = V.splati(perm[@intCast(k3 + 1)]) + col.cell;
+                    const j6 = perm[@intCast(xCell + 1)] + yCell;
+                    const l2 = V.splati(perm[@intCast(j6)]) + col.cell;
+                    const k6 = V.splati(perm[@intCast(j6 + 1)]) + col.cell;
+                    const one = V.splati(1);
+
+                    c00 = V.lerp(
+                        xFade,
+                        V.grad(V.lookup(perm, l5), xs, ys, zs),
+                        V.grad(V.lookup(perm, l2), xs1, ys, zs));
+                    c10 = V.lerp(
+                        xFade,
+                        V.grad(V.lookup(perm, i6), xs, ys1, zs),
+                        V.grad(V.lookup(perm, k6), xs1, ys1, zs));
+                    c01 = V.lerp(
+                        xFade,
+                        V.grad(V.lookup(perm, l5 + one), xs, ys, zs1),
+                        V.grad(V.lookup(perm, l2 + one), xs1, ys, zs1));
+                    c11 = V.lerp(
+                        xFade,
+                        V.grad(V.lookup(perm, i6 + one), xs, ys1, zs1),
+                        V.grad(V.lookup(perm, k6 + one), xs1, ys1, zs1));
+                }
+
+                const near = V.lerp(yFade, c00, c10);
+                const far = V.lerp(yFade, c01, c11);
+                const value = V.lerp(col.fade, near, far) * V.splatf(amplitude);
+
+                for (0..lanes) |l| noise[((xi * zSize) + zi + l) * ySize + yi] += value[l];
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 // This file is part of Cursor - a mod that _runs_.
-// Copyright (C) 2025 ah-OOG-ah
+// Copyright (C) 2025-2026 ah-OOG-ah
 //
 // Cursor is free software: you can redistribute it and/or modify
 // it under the terms of the GNU Lesser General Public License as published by
@@ -33,6 +33,10 @@ const castif = types.castif;
 const chopf = types.chopf;
 const castIUP = types.castIUP;
 const fastFloorV = types.fastFloorV;
+const splati32 = types.splati32;
+const castif32 = types.castif32;
+const castfi = types.castfi;
+const fastRoundV = types.fastRoundV;
 
 const PRIME_X: i64 = 0x5205402B9270C86F;
 const PRIME_Y: i64 = 0x598CD327003817B5;
@@ -282,6 +286,21 @@ pub fn noise3_ImproveXZ(seed: i64, x: f64, y: f64, z: f64) f32 {
     return noise3_UnrotatedBase(seed, xr, yr, zr);
 }
 
+pub fn vnoise3_ImproveXZ(seed: VI64, x: VF64, y: VF64, z: VF64) VF32 {
+    // Re-orient the cubic lattices without skewing, so Y points up the main lattice diagonal,
+    // and the planes formed by XZ are moved far out of alignment with the cube faces.
+    // Orthonormal rotation. Not a skew transform.
+    const xz: VF64 = x + z;
+    const s2: VF64 = xz * splatf64(ROTATE_3D_ORTHOGONALIZER);
+    const yy: VF64 = y * splatf64(ROOT3OVER3);
+    const xr: VF64 = x + s2 + yy;
+    const zr: VF64 = z + s2 + yy;
+    const yr: VF64 = xz * splatf64(-ROOT3OVER3) + yy;
+
+    // Evaluate both lattices to form a BCC lattice.
+    return vnoise3_UnrotatedBase(seed, xr, yr, zr);
+}
+
 //
 // 3D OpenSimplex2 noise, fallback rotation option
 // Use noise3_ImproveXY or noise3_ImproveXZ instead, wherever appropriate.
@@ -413,6 +432,113 @@ fn noise3_UnrotatedBase(seed: i64, xr: f64, yr: f64, zr: f64) f32 {
     return value;
 }
 
+fn vnoise3_UnrotatedBase(seed: VI64, xr: VF64, yr: VF64, zr: VF64) VF32 {
+    var seedMut = seed;
+
+    // Get base points and offsets.
+    const xrb = fastRoundV(xr);
+    const yrb = fastRoundV(yr);
+    const zrb = fastRoundV(zr);
+    var xri = chopf(xr - castif(xrb));
+    var yri = chopf(yr - castif(yrb));
+    var zri = chopf(zr - castif(zrb));
+
+    // -1 if positive, 1 if negative.
+    var xNSign: VI32 = castfi(splatf32(-1.0) - xri) | splati32(1);
+    var yNSign: VI32 = castfi(splatf32(-1.0) - yri) | splati32(1);
+    var zNSign: VI32 = castfi(splatf32(-1.0) - zri) | splati32(1);
+
+    // Compute absolute values, using the above as a shortcut.
+    var ax0 = castif32(xNSign) * -xri;
+    var ay0 = castif32(yNSign) * -yri;
+    var az0 = castif32(zNSign) * -zri;
+
+    // Prime pre-multiplication for hash.
+    var xrbp: VI64 = castIUP(xrb) *% splati64(PRIME_X);
+    var yrbp: VI64 = castIUP(yrb) *% splati64(PRIME_Y);
+    var zrbp: VI64 = castIUP(zrb) *% splati64(PRIME_Z);
+
+    // Loop: Pick an edge on each lattice copy.
+    var value = splatf32(0);
+    var a: VF32 = (splatf32(RSQUARED_3D) - xri * xri) - (yri * yri + zri * zri);
+    for (0..2) |l| {
+        // The gradient lookups are gathers, so they go lane by lane like in vnoise2_UnskewedBase
+        for (0..VLEN) |i| {
+            // Closest point on cube.
+            const ai = a[i];
+            if (ai > 0.0) {
+                value[i] += (ai * ai) * (ai * ai) * grad3(seedMut[i], xrbp[i], yrbp[i], zrbp[i], xri[i], yri[i], zri[i]);
+            }
+
+            // Second-closest point.
+            if (ax0[i] >= ay0[i] and ax0[i] >= az0[i]) {
+                var b = ai + ax0[i] + ax0[i];
+                if (b > 1.0) {
+                    b -= 1.0;
+                    value[i] += (b * b) * (b * b) * grad3(
+                        seedMut[i],
+                        xrbp[i] -% @as(i64, xNSign[i]) *% PRIME_X, yrbp[i], zrbp[i],
+                        xri[i] + @as(f32, @floatFromInt(xNSign[i])), yri[i], zri[i],
+                    );
+                }
+            } else if (ay0[i] > ax0[i] and ay0[i] >= az0[i]) {
+                var b = ai + ay0[i] + ay0[i];
+                if (b > 1.0) {
+                    b -= 1.0;
+                    value[i] += (b * b) * (b * b) * grad3(
+                        seedMut[i],
+                        xrbp[i], yrbp[i] -% @as(i64, yNSign[i]) *% PRIME_Y, zrbp[i],
+                        xri[i], yri[i] + @as(f32, @floatFromInt(yNSign[i])), zri[i],
+                    );
+                }
+            } else {
+                var b = ai + az0[i] + az0[i];
+                if (b > 1.0) {
+                    b -= 1.0;
+                    value[i] += (b * b) * (b * b) * grad3(
+                        seedMut[i],
+                        xrbp[i], yrbp[i], zrbp[i] -% @as(i64, zNSign[i]) *% PRIME_Z,
+                        xri[i], yri[i], zri[i] + @as(f32, @floatFromInt(zNSign[i])),
+                    );
+                }
+            }
+        }
+
+        // Break from loop if we're done, skipping updates below.
+        if (l == 1) {
+            break;
+        }
+
+        // Update absolute value.
+        ax0 = splatf32(0.5) - ax0;
+        ay0 = splatf32(0.5) - ay0;
+        az0 = splatf32(0.5) - az0;
+
+        // Update relative coordinate.
+        xri = castif32(xNSign) * ax0;
+        yri = castif32(yNSign) * ay0;
+        zri = castif32(zNSign) * az0;
+
+        // Update falloff.
+        a += (splatf32(0.75) - ax0) - (ay0 + az0);
+
+        // Update prime for hash. (sign >> 1) & PRIME is PRIME for negative signs and 0 otherwise.
+        xrbp +%= @select(i64, xNSign < splati32(0), splati64(PRIME_X), splati64(0));
+        yrbp +%= @select(i64, yNSign < splati32(0), splati64(PRIME_Y), splati64(0));
+        zrbp +%= @select(i64, zNSign < splati32(0), splati64(PRIME_Z), splati64(0));
+
+        // Update the reverse sign indicators.
+        xNSign = -xNSign;
+        yNSign = -yNSign;
+        zNSign = -zNSign;
+
+        // And finally update the seed for the other lattice copy.
+        seedMut ^= splati64(SEED_FLIP_3D);
+    }
+
+    return value;
+}
+
 //
 // Utility
 //
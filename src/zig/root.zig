@@ -1,5 +1,5 @@
 // This file is part of Cursor - a mod that _runs_.
-// Copyright (C) 2025 ah-OOG-ah
+// Copyright (C) 2025-2026 ah-OOG-ah
 //
 // Cursor is free software: you can redistribute it and/or modify
 // it under the terms of the GNU Lesser General Public License as published by
@@ -18,12 +18,23 @@ const std = @import("std");
 const testing = std.testing;
 const opensimplex = @import("opensimplex.zig");
 const fastnoiselite = @import("fastnoiselite.zig");
+const density = @import("density.zig");
+const terrain = @import("terrain.zig");
+const context = @import("context.zig");
+const genlayer = @import("genlayer.zig");
+const surface = @import("surface.zig");
+const improved = @import("improved.zig");
+const samplers = @import("samplers.zig");
 
 const types = @import("types.zig");
 const VLEN = types.VLEN;
 const VF64 = types.VF64_8;
+const VF32 = types.VF32_8;
 const splati64 = types.splati64;
 const splatf64 = types.splatf64;
+const splatf32 = types.splatf32;
+const widenf = types.widenf;
+const chopf = types.chopf;
 const castIUP = types.castIUP;
 const fastFloorV = types.fastFloorV;
 
@@ -59,15 +70,226 @@ pub fn get_buf(arr: *f64JArray) []f64 {
     return @as([*]f64, @ptrCast(&arr.elements))[0..arr.size];
 }
 
+/// Does nothing, so the inspector can measure what a downcall costs on its own.
+pub export fn noop() void {}
+
+/// Also does nothing, but takes an array like the populate exports do.
+pub export fn noopArray(array: [*]f64, len: i32) void {
+    _ = array;
+    _ = len;
+}
+
+/// Lets Java line up how it splits requests with the vector loops below.
+pub export fn vectorLength() i32 {
+    return VLEN;
+}
+
+/// Orders the fill routines know how to write in. y always varies fastest.
+const Layout = enum {
+    /// y, then x, then z. What the original exports (and so the benchmarks) use.
+    yxz,
+    /// y, then z, then x. What NoiseGeneratorImproved uses.
+    yzx,
+};
+
+inline fn packIndex(comptime layout: Layout, px: usize, py: usize, pz: usize, xMax: usize, yMax: usize, zMax: usize) usize {
+    return switch (layout) {
+        .yxz => py + px * yMax + pz * xMax * yMax,
+        .yzx => py + pz * yMax + px * zMax * yMax,
+    };
+}
+
+inline fn unpackIndex(comptime layout: Layout, i: usize, xMax: usize, yMax: usize, zMax: usize) [3]usize {
+    const py = i % yMax; // goes up by one each iteration
+    return switch (layout) {
+        .yxz => .{ (i / yMax) % xMax, py, i / yMax / xMax },
+        .yzx => .{ i / yMax / zMax, py, (i / yMax) % zMax },
+    };
+}
+
 pub export fn populateNoiseArray(
     noiseArray: [*]f64,
     xOffset: f64, yOffset: f64, zOffset: f64,
     xSize: i32, ySize: i32, zSize: i32,
     xScale: f64, yScale: f64, zScale: f64,
     noiseScale: f64, seed: i64) void {
-    @setFloatMode(.optimized);
-    const bLen = @as(usize, @intCast(xSize * ySize * zSize));
-    var buffer = noiseArray[0..bLen];
+    fillSimplex(f64, .yxz, false, noiseArray, xOffset, yOffset, zOffset, xSize, ySize, zSize, xScale, yScale, zScale, noiseScale, seed);
+}
+
+pub export fn vec_populateNoiseArray(
+    noiseArray: [*]f64,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: i32, ySize: i32, zSize: i32,
+    xScale: f64, yScale: f64, zScale: f64,
+    noiseScale: f64, seed: i64) void {
+    fillSimplexV(f64, .yxz, false, noiseArray, xOffset, yOffset, zOffset, xSize, ySize, zSize, xScale, yScale, zScale, noiseScale, seed,
+        0, volume(xSize, ySize, zSize));
+}
+
+pub export fn lazy_populateNoiseArray(
+    noiseArray: [*]f64,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: i32, ySize: i32, zSize: i32,
+    xScale: f64, yScale: f64, zScale: f64,
+    noiseScale: f64, seed: i64) void {
+    fillLazy(f64, .yxz, false, noiseArray, xOffset, yOffset, zOffset, xSize, ySize, zSize, xScale, yScale, zScale, noiseScale, seed,
+        0, volume(xSize, ySize, zSize));
+}
+
+pub export fn FNL_populateNoiseArray(
+    noiseArray: [*]f64,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: i32, ySize: i32, zSize: i32,
+    xScale: f64, yScale: f64, zScale: f64,
+    noiseScale: f64, seed: i64) void {
+    fillFNL(f64, .yxz, false, noiseArray, xOffset, yOffset, zOffset, xSize, ySize, zSize, xScale, yScale, zScale, noiseScale, &simplexFNL(seed), false,
+        0, volume(xSize, ySize, zSize));
+}
+
+// Drop-in versions of the above for NoiseGeneratorImproved.populateNoiseArray. MC walks x, then z, then y, and adds
+// onto whatever is already in the array, since NoiseGeneratorOctaves sums its octaves in place. Matching that lets the
+// mixin hand the array straight over.
+//
+// The ones Java binds only fill the indices in [start, end), so that one big request can be split across threads.
+// As long as every start but the first is a multiple of VLEN, each index goes down the same vector or scalar path it
+// would have in a single call, so the output is identical whichever way it's split.
+
+pub export fn mc_populateNoiseArray(
+    noiseArray: [*]f64,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: i32, ySize: i32, zSize: i32,
+    xScale: f64, yScale: f64, zScale: f64,
+    noiseScale: f64, seed: i64) void {
+    fillSimplex(f64, .yzx, true, noiseArray, xOffset, yOffset, zOffset, xSize, ySize, zSize, xScale, yScale, zScale, noiseScale, seed);
+}
+
+pub export fn mc_vec_populateNoiseArray(
+    noiseArray: [*]f64,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: i32, ySize: i32, zSize: i32,
+    xScale: f64, yScale: f64, zScale: f64,
+    noiseScale: f64, seed: i64,
+    start: i32, end: i32) void {
+    fillSimplexV(f64, .yzx, true, noiseArray, xOffset, yOffset, zOffset, xSize, ySize, zSize, xScale, yScale, zScale, noiseScale, seed,
+        @intCast(start), @intCast(end));
+}
+
+pub export fn mc_lazy_populateNoiseArray(
+    noiseArray: [*]f64,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: i32, ySize: i32, zSize: i32,
+    xScale: f64, yScale: f64, zScale: f64,
+    noiseScale: f64, seed: i64,
+    start: i32, end: i32) void {
+    fillLazy(f64, .yzx, true, noiseArray, xOffset, yOffset, zOffset, xSize, ySize, zSize, xScale, yScale, zScale, noiseScale, seed,
+        @intCast(start), @intCast(end));
+}
+
+pub export fn mc_FNL_populateNoiseArray(
+    noiseArray: [*]f64,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: i32, ySize: i32, zSize: i32,
+    xScale: f64, yScale: f64, zScale: f64,
+    noiseScale: f64, seed: i64,
+    start: i32, end: i32) void {
+    fillFNL(f64, .yzx, true, noiseArray, xOffset, yOffset, zOffset, xSize, ySize, zSize, xScale, yScale, zScale, noiseScale, &simplexFNL(seed), false,
+        @intCast(start), @intCast(end));
+}
+
+// f32 versions of the exports above, for buffers Cursor owns rather than MC. Positions are still worked out in f64,
+// since they run well past what an f32 can place accurately, but the noise itself is f32 already and now stays that
+// way: half the bytes to write, and half the registers per vector of output.
+
+pub export fn vec_populateNoiseArrayF32(
+    noiseArray: [*]f32,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: i32, ySize: i32, zSize: i32,
+    xScale: f64, yScale: f64, zScale: f64,
+    noiseScale: f64, seed: i64) void {
+    fillSimplexV(f32, .yxz, false, noiseArray, xOffset, yOffset, zOffset, xSize, ySize, zSize, xScale, yScale, zScale, noiseScale, seed,
+        0, volume(xSize, ySize, zSize));
+}
+
+pub export fn lazy_populateNoiseArrayF32(
+    noiseArray: [*]f32,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: i32, ySize: i32, zSize: i32,
+    xScale: f64, yScale: f64, zScale: f64,
+    noiseScale: f64, seed: i64) void {
+    fillLazy(f32, .yxz, false, noiseArray, xOffset, yOffset, zOffset, xSize, ySize, zSize, xScale, yScale, zScale, noiseScale, seed,
+        0, volume(xSize, ySize, zSize));
+}
+
+pub export fn mc_vec_populateNoiseArrayF32(
+    noiseArray: [*]f32,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: i32, ySize: i32, zSize: i32,
+    xScale: f64, yScale: f64, zScale: f64,
+    noiseScale: f64, seed: i64,
+    start: i32, end: i32) void {
+    fillSimplexV(f32, .yzx, true, noiseArray, xOffset, yOffset, zOffset, xSize, ySize, zSize, xScale, yScale, zScale, noiseScale, seed,
+        @intCast(start), @intCast(end));
+}
+
+pub export fn mc_lazy_populateNoiseArrayF32(
+    noiseArray: [*]f32,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: i32, ySize: i32, zSize: i32,
+    xScale: f64, yScale: f64, zScale: f64,
+    noiseScale: f64, seed: i64,
+    start: i32, end: i32) void {
+    fillLazy(f32, .yzx, true, noiseArray, xOffset, yOffset, zOffset, xSize, ySize, zSize, xScale, yScale, zScale, noiseScale, seed,
+        @intCast(start), @intCast(end));
+}
+
+pub export fn mc_FNL_populateNoiseArrayF32(
+    noiseArray: [*]f32,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: i32, ySize: i32, zSize: i32,
+    xScale: f64, yScale: f64, zScale: f64,
+    noiseScale: f64, seed: i64,
+    start: i32, end: i32) void {
+    fillFNL(f32, .yzx, true, noiseArray, xOffset, yOffset, zOffset, xSize, ySize, zSize, xScale, yScale, zScale, noiseScale, &simplexFNL(seed), false,
+        @intCast(start), @intCast(end));
+}
+
+inline fn volume(xSize: i32, ySize: i32, zSize: i32) usize {
+    return @as(usize, @intCast(xSize * ySize * zSize));
+}
+
+inline fn store(comptime T: type, comptime accumulate: bool, buffer: []T, idx: usize, value: T) void {
+    if (accumulate) {
+        buffer[idx] += value;
+    } else {
+        buffer[idx] = value;
+    }
+}
+
+/// Scalar results are worked out in f64 and only rounded on the way into the buffer
+inline fn narrow(comptime T: type, value: f64) T {
+    return if (T == f64) value else @floatCast(value);
+}
+
+/// Brings a vector of OpenSimplex output into the buffer's precision and scales it there. The evaluators already work
+/// in f32, so the f32 fills never widen anything.
+inline fn scaleV(comptime T: type, values: VF32, noiseScale: f64) @Vector(VLEN, T) {
+    if (T == f32) return values * splatf32(@floatCast(noiseScale));
+    return widenf(values) * splatf64(noiseScale);
+}
+
+/// Anything else computed in f64 that has to be combined with scaleV's output
+inline fn narrowV(comptime T: type, values: VF64) @Vector(VLEN, T) {
+    return if (T == f64) values else chopf(values);
+}
+
+fn fillSimplex(
+    comptime T: type, comptime layout: Layout, comptime accumulate: bool,
+    noiseArray: [*]T,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: i32, ySize: i32, zSize: i32,
+    xScale: f64, yScale: f64, zScale: f64,
+    noiseScale: f64, seed: i64) void {
+    const buffer = noiseArray[0..volume(xSize, ySize, zSize)];
 
     const xMax = @as(usize, @intCast(xSize));
     const yMax = @as(usize, @intCast(ySize));
@@ -81,42 +303,92 @@ pub export fn populateNoiseArray(
 
             for (0..zMax) |pz| {
                 const fz = @as(f64, @floatFromInt(pz)) * zScale + zOffset;
-                const bidx = py + px * yMax + pz * xMax * yMax;
+                const bidx = packIndex(layout, px, py, pz, xMax, yMax, zMax);
 
-                buffer[bidx] = opensimplex.noise3_ImproveXZ(seed, fx, fy, fz) * noiseScale;
+                store(T, accumulate, buffer, bidx, narrow(T, opensimplex.noise3_ImproveXZ(seed, fx, fy, fz) * noiseScale));
             }
         }
     }
 }
 
-pub export fn lazy_populateNoiseArray(
-    noiseArray: [*]f64,
+/// Same output as fillSimplex, but VLEN points at a time
+fn fillSimplexV(
+    comptime T: type, comptime layout: Layout, comptime accumulate: bool,
+    noiseArray: [*]T,
     xOffset: f64, yOffset: f64, zOffset: f64,
     xSize: i32, ySize: i32, zSize: i32,
     xScale: f64, yScale: f64, zScale: f64,
-    noiseScale: f64, seed: i64) void {
-    @setFloatMode(.optimized);
-    const bLen = @as(usize, @intCast(xSize * ySize * zSize));
-    var buffer = noiseArray[0..bLen];
+    noiseScale: f64, seed: i64,
+    start: usize, end: usize) void {
+    const buffer = noiseArray[0..volume(xSize, ySize, zSize)];
+
+    const xMax = @as(usize, @intCast(xSize));
+    const yMax = @as(usize, @intCast(ySize));
+    const zMax = @as(usize, @intCast(zSize));
+
+    const vEnd = start + (end - start) / VLEN * VLEN;
+
+    var vi = start;
+    while (vi < vEnd) : (vi += VLEN) {
+        var fxs: VF64 = undefined;
+        var fys: VF64 = undefined;
+        var fzs: VF64 = undefined;
+        for (0..VLEN) |ii| {
+            // Assign indices
+            const p = unpackIndex(layout, vi + ii, xMax, yMax, zMax);
+
+            fxs[ii] = @as(f64, @floatFromInt(p[0])) * xScale + xOffset;
+            fys[ii] = @as(f64, @floatFromInt(p[1])) * yScale + yOffset;
+            fzs[ii] = @as(f64, @floatFromInt(p[2])) * zScale + zOffset;
+        }
+
+        const values = scaleV(T, opensimplex.vnoise3_ImproveXZ(splati64(seed), fxs, fys, fzs), noiseScale);
+        for (0..VLEN) |ii| {
+            const idx = vi + ii; if (idx >= buffer.len) unreachable;
+            store(T, accumulate, buffer, idx, values[ii]);
+        }
+    }
+
+    for (vEnd..end) |i| {
+        // Assign indices
+        const p = unpackIndex(layout, i, xMax, yMax, zMax);
+
+        const fx = @as(f64, @floatFromInt(p[0])) * xScale + xOffset;
+        const fy = @as(f64, @floatFromInt(p[1])) * yScale + yOffset;
+        const fz = @as(f64, @floatFromInt(p[2])) * zScale + zOffset;
+
+        store(T, accumulate, buffer, i, narrow(T, opensimplex.noise3_ImproveXZ(seed, fx, fy, fz) * noiseScale));
+    }
+}
+
+fn fillLazy(
+    comptime T: type, comptime layout: Layout, comptime accumulate: bool,
+    noiseArray: [*]T,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: i32, ySize: i32, zSize: i32,
+    xScale: f64, yScale: f64, zScale: f64,
+    noiseScale: f64, seed: i64,
+    start: usize, end: usize) void {
+    const buffer = noiseArray[0..volume(xSize, ySize, zSize)];
 
     const xMax = @as(usize, @intCast(xSize));
     const yMax = @as(usize, @intCast(ySize));
+    const zMax = @as(usize, @intCast(zSize));
 
-    const vbLen = buffer.len / VLEN;
+    const vEnd = start + (end - start) / VLEN * VLEN;
 
-    for (0..vbLen) |i| {
+    var vi = start;
+    while (vi < vEnd) : (vi += VLEN) {
         var fxs: VF64 = undefined;
         var fys: VF64 = undefined;
         var fzs: VF64 = undefined;
         for (0..VLEN) |ii| {
             // Assign indices
-            const py = @as(f64, @floatFromInt( (i * VLEN + ii) % yMax        )); // goes up by one each iteration
-            const px = @as(f64, @floatFromInt(((i * VLEN + ii) / yMax) % xMax)); // up by one each ySize iterations
-            const pz = @as(f64, @floatFromInt( (i * VLEN + ii) / yMax  / xMax)); // up by one each ySize * xSize iterations
+            const p = unpackIndex(layout, vi + ii, xMax, yMax, zMax);
 
-            fxs[ii] = px * xScale + xOffset;
-            fys[ii] = py * yScale + yOffset;
-            fzs[ii] = pz * zScale + zOffset;
+            fxs[ii] = @as(f64, @floatFromInt(p[0])) * xScale + xOffset;
+            fys[ii] = @as(f64, @floatFromInt(p[1])) * yScale + yOffset;
+            fzs[ii] = @as(f64, @floatFromInt(p[2])) * zScale + zOffset;
         }
 
         // Imitate Minecraft's lazy noise, and just scale up the old one
@@ -128,27 +400,20 @@ pub export fn lazy_populateNoiseArray(
         extraScales = splatf64(1) + extraScales * splatf64(0.5); // lerp the extra scale from 1 to 1.5 based on this
 
         // Add 1 to the seed for every .5 bump in the y
-        const values = opensimplex.vnoise2(splati64(seed) +% castIUP(fastFloorV(tys)) *% splati64(87178291199), fxs, fzs) * splatf64(noiseScale) * extraScales;
+        const values = scaleV(T, opensimplex.vnoise2(splati64(seed) +% castIUP(fastFloorV(tys)) *% splati64(87178291199), fxs, fzs), noiseScale) * narrowV(T, extraScales);
         for (0..VLEN) |ii| {
-            const idx = i * VLEN + ii; if (idx >= buffer.len) unreachable;
-            buffer[idx] = values[ii];
+            const idx = vi + ii; if (idx >= buffer.len) unreachable;
+            store(T, accumulate, buffer, idx, values[ii]);
         }
     }
 
-    var px: usize = 0;
-    var py: usize = 0;
-    var pz: usize = 0;
-
-    const remaining = buffer.len % 8;
-    for ((buffer.len - remaining)..buffer.len) |i| {
+    for (vEnd..end) |i| {
         // Assign indices
-        py = i % yMax; // goes up by one each iteration
-        px = (i / yMax) % xMax; // up by one each ySize iterations
-        pz = i / yMax / xMax; // up by one each ySize * xSize iterations
+        const p = unpackIndex(layout, i, xMax, yMax, zMax);
 
-        const fx = @as(f64, @floatFromInt(px)) * xScale + xOffset;
-        const fy = @as(f64, @floatFromInt(py)) * yScale + yOffset;
-        const fz = @as(f64, @floatFromInt(pz)) * zScale + zOffset;
+        const fx = @as(f64, @floatFromInt(p[0])) * xScale + xOffset;
+        const fy = @as(f64, @floatFromInt(p[1])) * yScale + yOffset;
+        const fz = @as(f64, @floatFromInt(p[2])) * zScale + zOffset;
 
         // Imitate Minecraft's lazy noise, and just scale up the old one
         // Mix up the seed every 0.5 in the y, roughly, again to imitate MC
@@ -158,44 +423,236 @@ pub export fn lazy_populateNoiseArray(
         extraScale = 1.0 + extraScale * 0.5; // lerp the extra scale from 1 to 1.5 based on this
 
         // Add 1 to the seed for every .5 bump in the y
-        buffer[i] = opensimplex.noise2(seed +% @as(i64, @intFromFloat(@floor(ty))) *% 87178291199, fx, fz) * noiseScale * extraScale;
+        store(T, accumulate, buffer, i, narrow(T, opensimplex.noise2(seed +% @as(i64, @intFromFloat(@floor(ty))) *% 87178291199, fx, fz) * noiseScale * extraScale));
     }
 }
 
-pub export fn FNL_populateNoiseArray(
-    noiseArray: [*]f64,
+fn fillFNL(
+    comptime T: type, comptime layout: Layout, comptime accumulate: bool,
+    noiseArray: [*]T,
     xOffset: f64, yOffset: f64, zOffset: f64,
     xSize: i32, ySize: i32, zSize: i32,
     xScale: f64, yScale: f64, zScale: f64,
-    noiseScale: f64, seed: i64) void {
-    @setFloatMode(.optimized);
-    const bLen = @as(usize, @intCast(xSize * ySize * zSize));
-    var buffer = noiseArray[0..bLen];
+    noiseScale: f64, generator: *const context.FNL, domainWarp: bool,
+    start: usize, end: usize) void {
+    const buffer = noiseArray[0..volume(xSize, ySize, zSize)];
 
     const xMax = @as(usize, @intCast(xSize));
     const yMax = @as(usize, @intCast(ySize));
     const zMax = @as(usize, @intCast(zSize));
 
-    const NoiseGen = fastnoiselite.Noise(f64);
-    const generator: NoiseGen = .{
+    for (start..end) |i| {
+        const p = unpackIndex(layout, i, xMax, yMax, zMax);
+
+        var fx = @as(f64, @floatFromInt(p[0])) * xScale + xOffset;
+        var fy = @as(f64, @floatFromInt(p[1])) * yScale + yOffset;
+        var fz = @as(f64, @floatFromInt(p[2])) * zScale + zOffset;
+        if (domainWarp) generator.domainWarp3D(&fx, &fy, &fz);
+
+        store(T, accumulate, buffer, i, narrow(T, generator.genNoise3D(fx, fy, fz) * noiseScale));
+    }
+}
+
+/// What the FNL exports without a context use: plain single-octave simplex
+fn simplexFNL(seed: i64) context.FNL {
+    return .{
         .seed = @truncate(seed),
         .frequency = 1,
         .noise_type = .simplex,
         .octaves = 1,
     };
+}
 
-    for (0..xMax) |px| {
-        const fx = @as(f64, @floatFromInt(px)) * xScale + xOffset;
+/// The whole ChunkProviderGenerate density grid in one go, see density.zig. Everything that stays the same between
+/// chunks lives in `ctx`, see context.DensityContext. `columns` is null, or room for density.COLUMNS column states
+/// whose `known` ones were filled in by a neighbouring chunk, see density.fill.
+pub export fn fillDensity(
+    ctx: *const context.DensityContext,
+    out: [*]f64,
+    xPos: i32, zPos: i32,
+    rootHeights: [*]const f32, heightVariations: [*]const f32,
+    columns: ?[*]density.ColumnState, known: u32) void {
+    fillDensityAs(f64, ctx, out, xPos, zPos, rootHeights, heightVariations, columns, known);
+}
 
-        for (0..yMax) |py| {
-            const fy = @as(f64, @floatFromInt(py)) * yScale + yOffset;
+/// fillDensity, rounded to f32 on the way out. The sums are still done in f64.
+pub export fn fillDensityF32(
+    ctx: *const context.DensityContext,
+    out: [*]f32,
+    xPos: i32, zPos: i32,
+    rootHeights: [*]const f32, heightVariations: [*]const f32,
+    columns: ?[*]density.ColumnState, known: u32) void {
+    fillDensityAs(f32, ctx, out, xPos, zPos, rootHeights, heightVariations, columns, known);
+}
 
-            for (0..zMax) |pz| {
-                const fz = @as(f64, @floatFromInt(pz)) * zScale + zOffset;
-                const bidx = py + px * yMax + pz * xMax * yMax;
+/// The size DensityContext has to be, with room for its octaves after it
+pub export fn densityContextSize(octaves: i32) i64 {
+    return @sizeOf(context.DensityContext) + @as(i64, octaves) * @sizeOf(density.Octave);
+}
 
-                buffer[bidx] = generator.genNoise3D(fx, fy, fz) * noiseScale;
-            }
+fn fillDensityAs(
+    comptime T: type,
+    ctx: *const context.DensityContext,
+    out: [*]T,
+    xPos: i32, zPos: i32,
+    rootHeights: [*]const f32, heightVariations: [*]const f32,
+    columns: ?[*]density.ColumnState, known: u32) void {
+    const octaves = ctx.octaves();
+    const mainEnd = @as(usize, @intCast(ctx.mainCount));
+    const minEnd = mainEnd + @as(usize, @intCast(ctx.minCount));
+    const maxEnd = minEnd + @as(usize, @intCast(ctx.maxCount));
+    const depthEnd = maxEnd + @as(usize, @intCast(ctx.depthCount));
+
+    const sets: density.OctaveSets = .{
+        .main = octaves[0..mainEnd],
+        .minLimit = octaves[mainEnd..minEnd],
+        .maxLimit = octaves[minEnd..maxEnd],
+        .depth = octaves[maxEnd..depthEnd],
+    };
+    const grid = out[0..density.GRID_LEN];
+    const roots = rootHeights[0..density.BIOME_LEN];
+    const variations = heightVariations[0..density.BIOME_LEN];
+    const amplified = ctx.amplified != 0;
+    const adaptive = ctx.adaptive != 0;
+    const shared = ctx.shared != 0;
+
+    // Without a column cache on the Java side, the columns are only scratch
+    var scratch: [density.COLUMNS]density.ColumnState = undefined;
+    const states = if (columns) |c| c[0..density.COLUMNS] else &scratch;
+
+    switch (ctx.backend) {
+        @intFromEnum(samplers.Backend.simplex) => density.fill(.simplex, T, grid, xPos, zPos, sets, roots, variations, amplified, adaptive, shared, states, known),
+        @intFromEnum(samplers.Backend.lazy) => density.fill(.lazy, T, grid, xPos, zPos, sets, roots, variations, amplified, adaptive, shared, states, known),
+        @intFromEnum(samplers.Backend.fnl) => density.fill(.fnl, T, grid, xPos, zPos, sets, roots, variations, amplified, adaptive, shared, states, known),
+        @intFromEnum(samplers.Backend.improved) => density.fill(.improved, T, grid, xPos, zPos, sets, roots, variations, amplified, adaptive, shared, states, known),
+        else => unreachable,
+    }
+}
+
+/// How much memory a noise context needs. Java allocates it, see context.zig.
+pub export fn contextSize() i64 {
+    return @sizeOf(context.Context);
+}
+
+pub export fn contextAlignment() i64 {
+    return @alignOf(context.Context);
+}
+
+/// Sets up `ctx` from `settings`. Returns 0 on success, or -1 if any of the enums was out of range or the backend is
+/// improved, which needs permutations rather than a seed.
+pub export fn initContext(ctx: *context.Context, settings: *const context.Settings) i32 {
+    return if (context.init(ctx, settings)) 0 else -1;
+}
+
+// populateNoiseArray with everything but the position and size taken from a context. Same yzx layout and [start, end)
+// splitting rules as the mc_ exports; whether to add onto the array is up to the context. Offsets are raw, the context
+// squishes them.
+
+pub export fn ctx_populateNoiseArray(
+    ctx: *const context.Context,
+    noiseArray: [*]f64,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: i32, ySize: i32, zSize: i32,
+    start: i32, end: i32) void {
+    fillContext(f64, ctx, noiseArray, xOffset, yOffset, zOffset, xSize, ySize, zSize, @intCast(start), @intCast(end));
+}
+
+pub export fn ctx_populateNoiseArrayF32(
+    ctx: *const context.Context,
+    noiseArray: [*]f32,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: i32, ySize: i32, zSize: i32,
+    start: i32, end: i32) void {
+    fillContext(f32, ctx, noiseArray, xOffset, yOffset, zOffset, xSize, ySize, zSize, @intCast(start), @intCast(end));
+}
+
+fn fillContext(
+    comptime T: type,
+    ctx: *const context.Context,
+    noiseArray: [*]T,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: i32, ySize: i32, zSize: i32,
+    start: usize, end: usize) void {
+    const xo = xOffset * 0.7;
+    const yo = yOffset * 0.7;
+    const zo = zOffset * 0.7;
+
+    if (ctx.accumulate) {
+        switch (ctx.backend) {
+            .simplex => fillSimplexV(T, .yzx, true, noiseArray, xo, yo, zo, xSize, ySize, zSize, ctx.xScale, ctx.yScale, ctx.zScale, ctx.noiseScale, ctx.seed, start, end),
+            .lazy => fillLazy(T, .yzx, true, noiseArray, xo, yo, zo, xSize, ySize, zSize, ctx.xScale, ctx.yScale, ctx.zScale, ctx.noiseScale, ctx.seed, start, end),
+            .fnl => fillFNL(T, .yzx, true, noiseArray, xo, yo, zo, xSize, ySize, zSize, ctx.xScale, ctx.yScale, ctx.zScale, ctx.noiseScale, &ctx.fnl, ctx.domainWarp, start, end),
+            // initContext turns it down
+            .improved => unreachable,
+        }
+    } else {
+        switch (ctx.backend) {
+            .simplex => fillSimplexV(T, .yzx, false, noiseArray, xo, yo, zo, xSize, ySize, zSize, ctx.xScale, ctx.yScale, ctx.zScale, ctx.noiseScale, ctx.seed, start, end),
+            .lazy => fillLazy(T, .yzx, false, noiseArray, xo, yo, zo, xSize, ySize, zSize, ctx.xScale, ctx.yScale, ctx.zScale, ctx.noiseScale, ctx.seed, start, end),
+            .fnl => fillFNL(T, .yzx, false, noiseArray, xo, yo, zo, xSize, ySize, zSize, ctx.xScale, ctx.yScale, ctx.zScale, ctx.noiseScale, &ctx.fnl, ctx.domainWarp, start, end),
+            // initContext turns it down
+            .improved => unreachable,
         }
     }
 }
+
+/// Turns a density grid from fillDensity (or MC) into the solid/water/air mask for a chunk, see terrain.zig
+pub export fn interpolateTerrain(grid: [*]const f64, mask: [*]u8, seaLevel: i32) void {
+    terrain.fill(f64, grid[0..density.GRID_LEN], mask[0..terrain.MASK_LEN], seaLevel);
+}
+
+/// interpolateTerrain for grids from fillDensityF32
+pub export fn interpolateTerrainF32(grid: [*]const f32, mask: [*]u8, seaLevel: i32) void {
+    terrain.fill(f32, grid[0..density.GRID_LEN], mask[0..terrain.MASK_LEN], seaLevel);
+}
+
+/// Scratch, in ints, biomeInts needs to evaluate a w by h area of `layer`
+pub export fn biomeScratchSize(chain: *const genlayer.Chain, layer: i32, w: i32, h: i32) i64 {
+    return @intCast(genlayer.scratchSize(chain, @intCast(layer), w, h));
+}
+
+/// GenLayer.getInts for one layer of a chain built by NativeBiomes, see genlayer.zig. Returns 0, or -1 if the scratch
+/// was too small.
+pub export fn biomeInts(
+    chain: *const genlayer.Chain, layer: i32,
+    x: i32, z: i32, w: i32, h: i32,
+    out: [*]i32, scratch: [*]i32, scratchLen: i64) i32 {
+    const len = @as(usize, @intCast(w)) * @as(usize, @intCast(h));
+    if (!genlayer.fill(chain, @intCast(layer), x, z, w, h, out[0..len], scratch[0..@intCast(scratchLen)])) return -1;
+    return 0;
+}
+
+/// NoiseGeneratorPerlin.func_151600_a over `octaves` built by NativeSurface, see surface.zig. Overwrites xSize * zSize
+/// values of `out`.
+pub export fn surfaceNoise(
+    octaves: [*]const surface.Octave, octaveCount: i32,
+    out: [*]f64,
+    x: f64, z: f64,
+    xSize: i32, zSize: i32,
+    xScale: f64, zScale: f64,
+    frequencyStep: f64, amplitudeStep: f64) void {
+    const xs = @as(usize, @intCast(xSize));
+    const zs = @as(usize, @intCast(zSize));
+    surface.fill(octaves[0..@intCast(octaveCount)], out[0 .. xs * zs], x, z, xs, zs, xScale, zScale, frequencyStep, amplitudeStep);
+}
+
+/// NoiseGeneratorImproved.populateNoiseArray, bit for bit, see improved.zig. `perm` is the generator's permutations;
+/// the offsets and its coords are passed apart, since adding them up front would round differently from MC.
+pub export fn improvedPopulateNoiseArray(
+    perm: *const [512]i32,
+    noise: [*]f64,
+    xCoord: f64, yCoord: f64, zCoord: f64,
+    xOffset: f64, yOffset: f64, zOffset: f64,
+    xSize: i32, ySize: i32, zSize: i32,
+    xScale: f64, yScale: f64, zScale: f64,
+    noiseScale: f64) void {
+    const xs = @as(usize, @intCast(xSize));
+    const ys = @as(usize, @intCast(ySize));
+    const zs = @as(usize, @intCast(zSize));
+    improved.populate(perm, noise[0 .. xs * ys * zs],
+        xCoord, yCoord, zCoord,
+        xOffset, yOffset, zOffset,
+        xs, ys, zs,
+        xScale, yScale, zScale,
+        noiseScale);
+}
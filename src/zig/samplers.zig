@@ -0,0 +1,91 @@
+// This file is part of Cursor - a mod that _runs_.
+// Copyright (C) 2026 ah-OOG-ah
+//
+// Cursor is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Cursor is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+const opensimplex = @import("opensimplex.zig");
+const fastnoiselite = @import("fastnoiselite.zig");
+
+const types = @import("types.zig");
+const VLEN = types.VLEN;
+const VF64 = types.VF64_8;
+const splati64 = types.splati64;
+const splatf64 = types.splatf64;
+const castIUP = types.castIUP;
+const fastFloorV = types.fastFloorV;
+const widenf = types.widenf;
+
+/// Noise implementations the fused kernels can be built for. The values are what Java passes as `backend`, see
+/// NoiseBackend.nativeId.
+pub const Backend = enum(i32) {
+    simplex = 0,
+    lazy = 1,
+    fnl = 2,
+    /// MC's own noise, see improved.zig. It needs each octave's permutations and samples whole columns at a time, so
+    /// density.zig handles it itself and never comes through here.
+    improved = 3,
+};
+
+/// Evaluates one point, the same way the matching populateNoiseArray variant in root.zig would.
+pub inline fn sample(comptime backend: Backend, seed: i64, x: f64, y: f64, z: f64) f64 {
+    switch (backend) {
+        .simplex => return opensimplex.noise3_ImproveXZ(seed, x, y, z),
+        .lazy => {
+            // Imitate Minecraft's lazy noise, and just scale up the old one
+            // Mix up the seed every 0.5 in the y, roughly, again to imitate MC
+            const ty = y * 2;
+            var extraScale = ty - @floor(ty); // map y value to -1, 1, doubling so that -0.49 maps to -.98
+            if (extraScale < 0) extraScale += 1; // invert if negative, now it's 0, 1
+            extraScale = 1.0 + extraScale * 0.5; // lerp the extra scale from 1 to 1.5 based on this
+
+            // Add 1 to the seed for every .5 bump in the y
+            return opensimplex.noise2(seed +% @as(i64, @intFromFloat(@floor(ty))) *% 87178291199, x, z) * extraScale;
+        },
+        .fnl => {
+            // Only the seed changes between calls, so this gets folded into the call below
+            const generator: fastnoiselite.Noise(f64) = .{
+                .seed = @truncate(seed),
+                .frequency = 1,
+                .noise_type = .simplex,
+                .octaves = 1,
+            };
+            return generator.genNoise3D(x, y, z);
+        },
+        .improved => unreachable,
+    }
+}
+
+/// VLEN points at once, lane for lane the same as sample.
+pub inline fn vsample(comptime backend: Backend, seed: i64, x: VF64, y: VF64, z: VF64) VF64 {
+    switch (backend) {
+        .simplex => return widenf(opensimplex.vnoise3_ImproveXZ(splati64(seed), x, y, z)),
+        .lazy => {
+            const tys = y * splatf64(2);
+            var extraScales = tys - @floor(tys);
+            extraScales = @select(f64, extraScales < splatf64(0), extraScales + splatf64(1), extraScales);
+            extraScales = splatf64(1) + extraScales * splatf64(0.5);
+
+            return widenf(opensimplex.vnoise2(splati64(seed) +% castIUP(fastFloorV(tys)) *% splati64(87178291199), x, z)) * extraScales;
+        },
+        .fnl => {
+            // FastNoiseLite has no vector path, so this is just a loop
+            var ret: VF64 = undefined;
+            for (0..VLEN) |i| {
+                ret[i] = sample(.fnl, seed, x[i], y[i], z[i]);
+            }
+            return ret;
+        },
+        .improved => unreachable,
+    }
+}
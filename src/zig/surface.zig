@@ -0,0 +1,134 @@
+// This file is part of Cursor - a mod that _runs_.
+// Copyright (C) 2026 ah-OOG-ah
+//
+// Cursor is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Cursor is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+// A native port of NoiseGeneratorPerlin.func_151600_a, the 2D octave noise behind replaceBlocksForBiome's stone depth
+// (and whatever else mods build from it). Each octave is a NoiseGeneratorSimplex; MC samples it one column at a time,
+// here VLEN columns of a row go at once. Every lane does MC's arithmetic in MC's order, including its floor that's off
+// by one on non-positive integers, so the output matches to the bit.
+
+const types = @import("types.zig");
+const VLEN = types.VLEN;
+const VF64 = types.VF64_8;
+const VI32 = types.VI32_8;
+const splatf64 = types.splatf64;
+const splati32 = types.splati32;
+const castif = types.castif;
+
+/// One NoiseGeneratorSimplex: the x and y offsets its constructor rolled, and its permutation, repeated to 512
+pub const Octave = extern struct {
+    xo: f64,
+    yo: f64,
+    perm: [512]i32,
+};
+
+// Typed, so they're rounded to f64 at every step like Java's are
+const SQRT_3: f64 = @sqrt(@as(f64, 3.0));
+const F2: f64 = 0.5 * (SQRT_3 - 1.0);
+const G2: f64 = (3.0 - SQRT_3) / 6.0;
+
+// NoiseGeneratorSimplex's 12 gradients; the z column never gets used in 2D
+const GRAD_X = [12]f64{ 1, -1, 1, -1, 1, -1, 1, -1, 0, 0, 0, 0 };
+const GRAD_Y = [12]f64{ 1, 1, -1, -1, 0, 0, 0, 0, 1, -1, 1, -1 };
+
+/// `x > 0 ? (int) x : (int) x - 1`, which isn't quite floor
+inline fn mcFloor(x: VF64) VI32 {
+    var t: VI32 = undefined;
+    for (0..VLEN) |l| t[l] = @intFromFloat(x[l]);
+    return @select(i32, x > splatf64(0.0), t, t - splati32(1));
+}
+
+inline fn lookup(perm: *const [512]i32, i: VI32) VI32 {
+    var ret: VI32 = undefined;
+    for (0..VLEN) |l| ret[l] = perm[@intCast(i[l])];
+    return ret;
+}
+
+/// One corner's share, before the 70 * amplitude scaling
+inline fn corner(perm: *const [512]i32, i: VI32, x: VF64, y: VF64) VF64 {
+    const g = @rem(lookup(perm, i), splati32(12));
+    var gx: VF64 = undefined;
+    var gy: VF64 = undefined;
+    for (0..VLEN) |l| {
+        gx[l] = GRAD_X[@intCast(g[l])];
+        gy[l] = GRAD_Y[@intCast(g[l])];
+    }
+
+    const t0 = splatf64(0.5) - x * x - y * y;
+    const t = t0 * t0;
+    return @select(f64, t0 < splatf64(0.0), splatf64(0.0), t * t * (gx * x + gy * y));
+}
+
+/// NoiseGeneratorSimplex.func_151606_a for VLEN columns starting at `px`, in row `py`
+inline fn sample(o: *const Octave, px: VF64, py: f64, xScale: f64, yScale: f64) VF64 {
+    const x = px * splatf64(xScale) + splatf64(o.xo);
+    const y = splatf64(py * yScale + o.yo);
+
+    const s = (x + y) * splatf64(F2);
+    const i = mcFloor(x + s);
+    const j = mcFloor(y + s);
+    const t = castif(i + j) * splatf64(G2);
+    const x0 = x - (castif(i) - t);
+    const y0 = y - (castif(j) - t);
+
+    const upper = x0 > y0;
+    const bi = @select(i32, upper, splati32(1), splati32(0));
+    const bj = splati32(1) - bi;
+    const x1 = x0 - castif(bi) + splatf64(G2);
+    const y1 = y0 - castif(bj) + splatf64(G2);
+    const x2 = x0 - splatf64(1.0) + splatf64(2.0 * G2);
+    const y2 = y0 - splatf64(1.0) + splatf64(2.0 * G2);
+
+    const ii = i & splati32(255);
+    const jj = j & splati32(255);
+    const n0 = corner(&o.perm, ii + lookup(&o.perm, jj), x0, y0);
+    const n1 = corner(&o.perm, ii + bi + lookup(&o.perm, jj + bj), x1, y1);
+    const n2 = corner(&o.perm, ii + splati32(1) + lookup(&o.perm, jj + splati32(1)), x2, y2);
+    return n0 + n1 + n2;
+}
+
+/// func_151600_a: xSize by zSize values, x varying fastest, overwriting `out`
+pub fn fill(
+    octaves: []const Octave,
+    out: []f64,
+    x: f64, z: f64,
+    xSize: usize, zSize: usize,
+    xScale: f64, zScale: f64,
+    frequencyStep: f64, amplitudeStep: f64) void {
+    var lanes: VF64 = undefined;
+    for (0..VLEN) |l| lanes[l] = @floatFromInt(l);
+
+    for (0..zSize) |row| {
+        const py = z + @as(f64, @floatFromInt(row));
+        var col: usize = 0;
+        while (col < xSize) : (col += VLEN) {
+            const px = splatf64(x) + (splatf64(@floatFromInt(col)) + lanes);
+
+            // Per column, the octaves add up in MC's order, starting from the 0 it clears the array to
+            var acc = splatf64(0.0);
+            var frequency: f64 = 1.0;
+            var amplitude: f64 = 1.0;
+            for (octaves) |*o| {
+                const n = sample(o, px, py, xScale * frequency * amplitude, zScale * frequency * amplitude);
+                acc += splatf64(70.0) * n * splatf64(0.55 / amplitude);
+                frequency *= frequencyStep;
+                amplitude *= amplitudeStep;
+            }
+
+            const base = row * xSize + col;
+            for (0..@min(VLEN, xSize - col)) |l| out[base + l] = acc[l];
+        }
+    }
+}
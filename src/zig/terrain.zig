@@ -0,0 +1,107 @@
+// This file is part of Cursor - a mod that _runs_.
+// Copyright (C) 2026 ah-OOG-ah
+//
+// Cursor is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Cursor is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+// A native port of the interpolation in ChunkProviderGenerate.func_147424_a: the 5x33x5 density grid stretched over
+// 16x256x16 blocks, and each block sorted into solid, water or air. MC walks the 16 cells of a chunk one at a time;
+// here they're the 16 lanes of one vector, so every lane does exactly the additions MC would, in the same order, and
+// the output matches block for block.
+
+const density = @import("density.zig");
+
+pub const AIR: u8 = 0;
+pub const WATER: u8 = 1;
+pub const SOLID: u8 = 2;
+
+/// Same size and order as the Block[] func_147424_a fills: x << 12 | z << 8 | y
+pub const MASK_LEN = 16 * 16 * 256;
+
+/// Cells per chunk along x and z, each one 4 blocks wide
+const CELLS = 4;
+const LANES = CELLS * CELLS;
+
+fn Lanes(comptime T: type) type {
+    return @Vector(LANES, T);
+}
+
+/// Pulls grid[x][z][y] for every cell's corner at (x + dx, z + dz)
+inline fn corners(comptime T: type, grid: *const [density.GRID_LEN]T, dx: usize, dz: usize, y: usize) Lanes(T) {
+    var ret: Lanes(T) = undefined;
+    inline for (0..LANES) |lane| {
+        const cx = lane / CELLS + dx;
+        const cz = lane % CELLS + dz;
+        ret[lane] = grid[(cx * density.Z_SIZE + cz) * density.Y_SIZE + y];
+    }
+    return ret;
+}
+
+inline fn splat(comptime T: type, v: T) Lanes(T) {
+    return @splat(v);
+}
+
+/// Fills `out` from `grid`. T is f64 for ChunkProviderGenerate's own grid, which is what makes this exact; f32 grids
+/// work too, but can land on the other side of zero now and then.
+///
+/// Float mode is deliberately left strict: fusing or reordering any of these would change which blocks come out solid.
+pub fn fill(comptime T: type, grid: *const [density.GRID_LEN]T, out: *[MASK_LEN]u8, seaLevel: i32) void {
+    const V = Lanes(T);
+    const zero = splat(T, 0.0);
+
+    for (0..(density.Y_SIZE - 1)) |k2| {
+        var d1 = corners(T, grid, 0, 0, k2);
+        var d2 = corners(T, grid, 0, 1, k2);
+        var d3 = corners(T, grid, 1, 0, k2);
+        var d4 = corners(T, grid, 1, 1, k2);
+        const d5 = (corners(T, grid, 0, 0, k2 + 1) - d1) * splat(T, 0.125);
+        const d6 = (corners(T, grid, 0, 1, k2 + 1) - d2) * splat(T, 0.125);
+        const d7 = (corners(T, grid, 1, 0, k2 + 1) - d3) * splat(T, 0.125);
+        const d8 = (corners(T, grid, 1, 1, k2 + 1) - d4) * splat(T, 0.125);
+
+        for (0..8) |l2| {
+            const y = k2 * 8 + l2;
+            // Below sea level, whatever isn't solid is water
+            const fallback: u8 = if (@as(i32, @intCast(y)) < seaLevel) WATER else AIR;
+
+            var d10: V = d1;
+            var d11: V = d2;
+            const d12 = (d3 - d1) * splat(T, 0.25);
+            const d13 = (d4 - d2) * splat(T, 0.25);
+
+            for (0..CELLS) |i3| {
+                const d16 = (d11 - d10) * splat(T, 0.25);
+                var d15 = d10 - d16;
+
+                for (0..CELLS) |k3| {
+                    d15 += d16;
+                    const solid = d15 > zero;
+
+                    inline for (0..LANES) |lane| {
+                        const x = (lane / CELLS) * CELLS + i3;
+                        const z = (lane % CELLS) * CELLS + k3;
+                        out[x << 12 | z << 8 | y] = if (solid[lane]) SOLID else fallback;
+                    }
+                }
+
+                d10 += d12;
+                d11 += d13;
+            }
+
+            d1 += d5;
+            d2 += d6;
+            d3 += d7;
+            d4 += d8;
+        }
+    }
+}
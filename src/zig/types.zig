@@ -1,5 +1,9 @@
-// Theoretically caps out for f64/i64 on AVX-512
-pub const VLEN = 8;
+const std = @import("std");
+
+// One f64 register's worth for whatever CPU this is built for: 8 on AVX-512, 4 on AVX2, 2 on SSE. Each packaged library
+// variant gets its own width, and Java asks for it through vectorLength(). The _8 names predate this. Kernels keep the
+// default strict float mode, so lane count never changes a result and every variant generates the same world.
+pub const VLEN = std.simd.suggestVectorLength(f64) orelse 4;
 
 pub const VI64_8: type = @Vector(VLEN, i64);
 pub const VF64_8: type = @Vector(VLEN, f64);
@@ -46,6 +50,42 @@ pub fn castIUP(val: VI32_8) VI64_8 {
 pub fn fastFloorV(x: VF64_8) VI32_8 {
     const tmp = @floor(x);
     var ret: VI32_8 = undefined;
-    for (0..8) |i| { ret[i] = @as(i32, @intFromFloat(tmp[i])); }
+    for (0..VLEN) |i| { ret[i] = @as(i32, @intFromFloat(tmp[i])); }
+    return ret;
+}
+
+pub fn splati32(val: i32) VI32_8 {
+    return @splat(val);
+}
+
+pub fn castif32(val: VI32_8) VF32_8 {
+    var ret: VF32_8 = undefined;
+    for (0..VLEN) |i| {
+        ret[i] = @as(f32, @floatFromInt(val[i]));
+    }
+    return ret;
+}
+
+// Truncates, like @intFromFloat
+pub fn castfi(val: VF32_8) VI32_8 {
+    var ret: VI32_8 = undefined;
+    for (0..VLEN) |i| {
+        ret[i] = @as(i32, @intFromFloat(val[i]));
+    }
+    return ret;
+}
+
+pub fn fastRoundV(x: VF64_8) VI32_8 {
+    const tmp = @select(f64, x < splatf64(0.0), x - splatf64(0.5), x + splatf64(0.5));
+    var ret: VI32_8 = undefined;
+    for (0..VLEN) |i| { ret[i] = @as(i32, @intFromFloat(tmp[i])); }
+    return ret;
+}
+
+pub fn widenf(val: VF32_8) VF64_8 {
+    var ret: VF64_8 = undefined;
+    for (0..VLEN) |i| {
+        ret[i] = @as(f64, val[i]);
+    }
     return ret;
 }